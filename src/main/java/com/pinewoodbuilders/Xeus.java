@@ -47,6 +47,7 @@ import com.pinewoodbuilders.contracts.database.migrations.Migration;
 import com.pinewoodbuilders.contracts.database.seeder.Seeder;
 import com.pinewoodbuilders.contracts.scheduler.Job;
 import com.pinewoodbuilders.database.DatabaseManager;
+import com.pinewoodbuilders.database.controllers.PlayerController;
 import com.pinewoodbuilders.database.serializer.PlaylistSongSerializer;
 import com.pinewoodbuilders.database.transformers.PlaylistTransformer;
 import com.pinewoodbuilders.exceptions.InvalidApplicationEnvironmentException;
@@ -57,12 +58,14 @@ import com.pinewoodbuilders.handlers.MainEventHandler;
 import com.pinewoodbuilders.handlers.PluginEventHandler;
 import com.pinewoodbuilders.handlers.events.ApplicationShutdownEvent;
 import com.pinewoodbuilders.imagegen.RankBackgroundHandler;
+import com.pinewoodbuilders.imagegen.RenderExecutor;
 import com.pinewoodbuilders.language.I18n;
 import com.pinewoodbuilders.level.LevelManager;
 import com.pinewoodbuilders.metrics.Metrics;
 import com.pinewoodbuilders.middleware.*;
 import com.pinewoodbuilders.middleware.global.IsCategoryEnabled;
 import com.pinewoodbuilders.moderation.local.ban.BanManager;
+import com.pinewoodbuilders.moderation.global.filter.LinkAnalyzer;
 import com.pinewoodbuilders.moderation.global.filter.LinkFilterManager;
 import com.pinewoodbuilders.moderation.local.mute.MuteManager;
 import com.pinewoodbuilders.moderation.global.globalmute.GlobalMuteManager;
@@ -73,6 +76,7 @@ import com.pinewoodbuilders.moderation.global.globalwatch.GlobalWatchManager;
 import com.pinewoodbuilders.pinewood.VoiceWhitelistManager;
 import com.pinewoodbuilders.plugin.PluginLoader;
 import com.pinewoodbuilders.plugin.PluginManager;
+import com.pinewoodbuilders.reactionrole.ReactionRoleManager;
 import com.pinewoodbuilders.roblox.RobloxAPIManager;
 import com.pinewoodbuilders.scheduler.ScheduleHandler;
 import com.pinewoodbuilders.servlet.WebServlet;
@@ -113,6 +117,7 @@ import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 public class Xeus {
 
@@ -157,6 +162,9 @@ public class Xeus {
     private final GlobalPunishmentManager globalPunishmentManager;
     private final GlobalWatchManager globalWatchManager;
     private final LinkFilterManager linkFilterManager;
+    private final LinkAnalyzer linkAnalyzer;
+    private final RenderExecutor renderExecutor;
+    private final ReactionRoleManager reactionRoleManager;
 
     private Carbon shutdownTime = null;
     private int shutdownCode = ExitCodes.EXIT_CODE_RESTART;
@@ -308,6 +316,9 @@ public class Xeus {
         AutoloaderUtil.load(Constants.PACKAGE_JOB_PATH, job -> ScheduleHandler.registerJob((Job) job));
         log.info(String.format("\tRegistered %s jobs successfully!", ScheduleHandler.entrySet().size()));
 
+        log.info("Starting expiry wheel");
+        ScheduleHandler.startExpiryWheel();
+
         log.info("Preparing I18n");
         I18n.start(this);
 
@@ -460,6 +471,20 @@ public class Xeus {
 
         log.info("Preparing link filter manager");
         linkFilterManager = new LinkFilterManager(this);
+        linkAnalyzer = new LinkAnalyzer();
+
+        log.info("Preparing render executor");
+        int renderThreads = config.getInt("image-rendering.threads", 0);
+        renderExecutor = new RenderExecutor(
+            renderThreads > 0 ? renderThreads : Math.max(2, Runtime.getRuntime().availableProcessors() / 2),
+            Math.max(1, config.getInt("image-rendering.queue-size", 16))
+        );
+
+        log.info("Preparing reaction role manager");
+        reactionRoleManager = new ReactionRoleManager(this,
+            Math.max(1, config.getInt("reaction-roles.guild-budget", 5)),
+            Math.max(1, config.getInt("reaction-roles.global-budget", 40))
+        );
 
         log.info("Preparing global mute manager");
         globalMuteManager = new GlobalMuteManager(this);
@@ -685,8 +710,14 @@ public class Xeus {
             job.cancel(true);
         }
 
+        // The shards have been shutdown at this point, so no new changes will be made
+        // to the players, any pending changes are written to the database
+        // before the connection pool is closed, so nothing is lost.
+        log.info("Writing {} pending player changes to the database", PlayerController.getWriteBehind().getPendingWrites());
+        PlayerController.getWriteBehind().flush(this);
+
         try {
-            getDatabase().getConnection().close();
+            getDatabase().shutdown(shutdownDelay, TimeUnit.MILLISECONDS);
         } catch (SQLException ex) {
             getLogger().error("Failed to close database connection during shutdown: ", ex);
         }
@@ -777,4 +808,16 @@ public class Xeus {
     public LinkFilterManager getLinkFilterManager() {
         return linkFilterManager;
     }
+
+    public LinkAnalyzer getLinkAnalyzer() {
+        return linkAnalyzer;
+    }
+
+    public RenderExecutor getRenderExecutor() {
+        return renderExecutor;
+    }
+
+    public ReactionRoleManager getReactionRoleManager() {
+        return reactionRoleManager;
+    }
 }
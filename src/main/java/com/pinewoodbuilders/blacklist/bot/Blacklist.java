@@ -33,16 +33,29 @@ import net.dv8tion.jda.api.entities.User;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
-@SuppressWarnings("SuspiciousMethodCalls")
 public class Blacklist {
 
     private final Xeus avaire;
-    private final List<BlacklistEntity> blacklist;
     private final Ratelimit ratelimit;
+    private final BlacklistWriteQueue writeQueue;
+
+    /**
+     * The blacklist entities for each scope, mapping the ID of the user or guild to their entity.
+     */
+    private final Map<Scope, Map<Long, BlacklistEntity>> entities = new EnumMap<>(Scope.class);
+
+    /**
+     * The blacklist entities that expires, ordered by the time they expire, so expired entities
+     * can be removed without going through the entire blacklist. Entities that are removed
+     * or replaced are left in the queue, and are skipped once they reach the head.
+     */
+    private final PriorityQueue<BlacklistEntity> expirations = new PriorityQueue<>(
+        Comparator.comparingLong(BlacklistEntity::getExpiresAt)
+    );
 
     /**
      * Creates a new blacklist instance.
@@ -50,10 +63,24 @@ public class Blacklist {
      * @param avaire The main avaire instance.
      */
     public Blacklist(Xeus avaire) {
+        this(avaire, command -> avaire.getDatabase().getExecutor().execute(command));
+    }
+
+    /**
+     * Creates a new blacklist instance, running the database writes on the given executor.
+     *
+     * @param avaire        The main avaire instance.
+     * @param writeExecutor The executor that the blacklist database writes should be run on.
+     */
+    public Blacklist(Xeus avaire, Executor writeExecutor) {
         this.avaire = avaire;
 
-        this.blacklist = new BlacklistList();
+        for (Scope scope : Scope.values()) {
+            entities.put(scope, new ConcurrentHashMap<>());
+        }
+
         this.ratelimit = new Ratelimit(this);
+        this.writeQueue = new BlacklistWriteQueue(writeExecutor);
     }
 
     /**
@@ -72,7 +99,7 @@ public class Blacklist {
      * @return <code>True</code> if the ID is on the blacklist, <code>False</code> otherwise.
      */
     public boolean isBlacklisted(Long id) {
-        return blacklist.contains(id);
+        return getEntity(id) != null;
     }
 
     /**
@@ -96,12 +123,12 @@ public class Blacklist {
      * @return <code>True</code> if the user is on the blacklist, <code>False</code> otherwise.
      */
     public boolean isBlacklisted(@Nonnull User user) {
-        if (avaire.getBotAdmins().getUserById(user.getIdLong(), true).isAdmin()) {
+        BlacklistEntity entity = getEntity(user.getIdLong(), Scope.USER);
+        if (entity == null || !entity.isBlacklisted()) {
             return false;
         }
 
-        BlacklistEntity entity = getEntity(user.getIdLong(), Scope.USER);
-        return entity != null && entity.isBlacklisted();
+        return !avaire.getBotAdmins().getUserById(user.getIdLong(), true).isAdmin();
     }
 
     /**
@@ -143,27 +170,18 @@ public class Blacklist {
      * @param id The ID to remove from teh blacklist.
      */
     public void remove(long id) {
-        if (!isBlacklisted(id)) {
-            return;
+        boolean removed = false;
+        for (Map<Long, BlacklistEntity> scopeEntities : entities.values()) {
+            removed |= scopeEntities.remove(id) != null;
         }
 
-        Iterator<BlacklistEntity> iterator = blacklist.iterator();
-        while (iterator.hasNext()) {
-            BlacklistEntity next = iterator.next();
-
-            if (next.getId() == id) {
-                iterator.remove();
-                break;
-            }
+        if (!removed) {
+            return;
         }
 
-        try {
-            avaire.getDatabase().newQueryBuilder(Constants.BLACKLIST_TABLE_NAME)
-                .where("id", id)
-                .delete();
-        } catch (SQLException e) {
-            Xeus.getLogger().error("Failed to sync blacklist with the database: " + e.getMessage(), e);
-        }
+        writeQueue.submit(() -> avaire.getDatabase().newQueryBuilder(Constants.BLACKLIST_TABLE_NAME)
+            .where("id", id)
+            .delete());
     }
 
     /**
@@ -186,11 +204,13 @@ public class Blacklist {
      */
     @Nullable
     public BlacklistEntity getEntity(long id, @Nullable Scope scope) {
-        for (BlacklistEntity entity : blacklist) {
-            if (entity.getId() == id) {
-                if (scope != null && scope != entity.getScope()) {
-                    continue;
-                }
+        if (scope != null) {
+            return entities.get(scope).get(id);
+        }
+
+        for (Map<Long, BlacklistEntity> scopeEntities : entities.values()) {
+            BlacklistEntity entity = scopeEntities.get(id);
+            if (entity != null) {
                 return entity;
             }
         }
@@ -209,7 +229,9 @@ public class Blacklist {
     }
 
     /**
-     * Adds the ID to the blacklist with the given scope, reason, and expire time.
+     * Adds the ID to the blacklist with the given scope, reason, and expire time, the
+     * blacklist is updated right away, while the database record is replaced
+     * in the background by the blacklist write queue.
      *
      * @param scope     The scope to register the blacklist record under.
      * @param id        The ID that should be added to the blacklist.
@@ -217,20 +239,14 @@ public class Blacklist {
      * @param expiresIn The carbon time instance for when the entity should expire.
      */
     public void addIdToBlacklist(Scope scope, final long id, final @Nullable String reason, @Nullable Carbon expiresIn) {
-        BlacklistEntity entity = getEntity(id, scope);
-        if (entity != null) {
-            blacklist.remove(entity);
-        }
+        put(new BlacklistEntity(scope, id, reason, expiresIn));
 
-        blacklist.add(new BlacklistEntity(scope, id, reason, expiresIn));
-
-        try {
+        writeQueue.submit(() -> {
             avaire.getDatabase().newQueryBuilder(Constants.BLACKLIST_TABLE_NAME)
                 .where("id", id).andWhere("type", scope.getId())
                 .delete();
 
             avaire.getDatabase().newQueryBuilder(Constants.BLACKLIST_TABLE_NAME)
-                .useAsync(true)
                 .insert((ChangeableStatement statement) -> {
                     statement.set("id", id);
                     statement.set("type", scope.getId());
@@ -244,9 +260,7 @@ public class Blacklist {
                         statement.set("reason", reason);
                     }
                 });
-        } catch (SQLException e) {
-            Xeus.getLogger().error("Failed to sync blacklist with the database: " + e.getMessage(), e);
-        }
+        });
     }
 
     /**
@@ -254,17 +268,51 @@ public class Blacklist {
      * includes both users and guilds, the type can be checked
      * through the {@link BlacklistEntity#getScope() scope}.
      *
-     * @return The entities currently on the blacklist.
+     * @return A snapshot of the entities currently on the blacklist.
      */
     public List<BlacklistEntity> getBlacklistEntities() {
+        List<BlacklistEntity> blacklist = new ArrayList<>();
+        for (Map<Long, BlacklistEntity> scopeEntities : entities.values()) {
+            blacklist.addAll(scopeEntities.values());
+        }
         return blacklist;
     }
 
+    /**
+     * Removes all the blacklist entities that have expired, the entities are removed in the
+     * order they expire, stopping at the first entity that hasn't expired yet, so only
+     * the expired entities are looked at, regardless of the size of the blacklist.
+     *
+     * @return The amount of entities that were removed from the blacklist.
+     */
+    public int removeExpiredEntities() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+
+        synchronized (expirations) {
+            BlacklistEntity entity;
+            while ((entity = expirations.peek()) != null && entity.getExpiresAt() < now) {
+                expirations.poll();
+
+                if (entities.get(entity.getScope()).remove(entity.getId(), entity)) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
     /**
      * Syncs the blacklist with the database.
      */
     public synchronized void syncBlacklistWithDatabase() {
-        blacklist.clear();
+        for (Map<Long, BlacklistEntity> scopeEntities : entities.values()) {
+            scopeEntities.clear();
+        }
+        synchronized (expirations) {
+            expirations.clear();
+        }
+
         try {
             Collection collection = avaire.getDatabase().newQueryBuilder(Constants.BLACKLIST_TABLE_NAME)
                 .where("expires_in", ">", Carbon.now())
@@ -280,7 +328,7 @@ public class Blacklist {
                     long longId = Long.parseLong(id);
                     Scope scope = Scope.fromId(row.getInt("type", 0));
 
-                    blacklist.add(new BlacklistEntity(
+                    put(new BlacklistEntity(
                         scope, longId,
                         row.getString("reason"),
                         row.getTimestamp("expires_in")
@@ -294,21 +342,13 @@ public class Blacklist {
         }
     }
 
-    private class BlacklistList extends ArrayList<BlacklistEntity> {
+    private void put(BlacklistEntity entity) {
+        entities.get(entity.getScope()).put(entity.getId(), entity);
 
-        @Override
-        public boolean contains(Object o) {
-            if (o instanceof Long) {
-                long id = (long) o;
-                for (BlacklistEntity entity : this) {
-                    if (entity.getId() == id) {
-                        return true;
-                    }
-                }
-                return false;
+        if (entity.getExpiresAt() != Long.MAX_VALUE) {
+            synchronized (expirations) {
+                expirations.add(entity);
             }
-
-            return super.contains(o);
         }
     }
 }
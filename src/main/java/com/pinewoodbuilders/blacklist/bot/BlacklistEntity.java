@@ -32,6 +32,7 @@ public class BlacklistEntity extends Evalable {
     private final Scope scope;
     private final long id;
     private final Carbon expiresIn;
+    private final long expiresAt;
     private final String reason;
 
     /**
@@ -47,6 +48,7 @@ public class BlacklistEntity extends Evalable {
         this.id = id;
         this.reason = reason;
         this.expiresIn = expiresIn;
+        this.expiresAt = expiresIn == null ? Long.MAX_VALUE : expiresIn.getTime().getTimeInMillis();
     }
 
     /**
@@ -86,7 +88,17 @@ public class BlacklistEntity extends Evalable {
      * @return <code>True</code> if the user is still blacklisted, <code>False</code> otherwise.
      */
     public boolean isBlacklisted() {
-        return expiresIn == null || expiresIn.isFuture();
+        return System.currentTimeMillis() <= expiresAt;
+    }
+
+    /**
+     * Gets the time the blacklist entity expires at, in milliseconds since the epoch,
+     * entities that never expires will return {@link Long#MAX_VALUE}.
+     *
+     * @return The time the blacklist entity expires at.
+     */
+    long getExpiresAt() {
+        return expiresAt;
     }
 
     /**
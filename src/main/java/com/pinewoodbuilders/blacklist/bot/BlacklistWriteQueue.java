@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.blacklist.bot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.sql.SQLException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A queue of blacklist database writes, the writes are run one at a time on the database
+ * executor in the order they were submitted, so a delete and insert for the same
+ * blacklist record can never be run out of order, while still never blocking
+ * the thread that changed the blacklist.
+ */
+public final class BlacklistWriteQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(BlacklistWriteQueue.class);
+
+    private final Queue<Write> writes = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final Executor executor;
+
+    /**
+     * Creates a new blacklist write queue.
+     *
+     * @param executor The executor that the writes should be run on.
+     */
+    public BlacklistWriteQueue(@Nonnull Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Submits the given write to the queue, the write will be run after
+     * all the writes that were submitted before it has been run.
+     *
+     * @param write The write that should be run.
+     */
+    public void submit(@Nonnull Write write) {
+        writes.add(write);
+        schedule();
+    }
+
+    private void schedule() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+
+        executor.execute(this::drain);
+    }
+
+    private void drain() {
+        try {
+            Write write;
+            while ((write = writes.poll()) != null) {
+                try {
+                    write.run();
+                } catch (SQLException e) {
+                    log.error("Failed to sync blacklist with the database: {}", e.getMessage(), e);
+                } catch (Exception e) {
+                    log.error("An error occurred while writing the blacklist to the database: {}", e.getMessage(), e);
+                }
+            }
+        } finally {
+            draining.set(false);
+
+            // A write could have been added after the queue was found empty, but before
+            // the draining flag was cleared, in which case no drain was scheduled.
+            if (!writes.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Write {
+
+        /**
+         * Runs the database write.
+         *
+         * @throws SQLException If the write failed.
+         */
+        void run() throws SQLException;
+    }
+}
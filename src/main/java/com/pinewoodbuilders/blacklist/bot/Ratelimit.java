@@ -24,12 +24,12 @@ package com.pinewoodbuilders.blacklist.bot;
 import com.pinewoodbuilders.contracts.blacklist.PunishmentLevel;
 import com.pinewoodbuilders.factories.MessageFactory;
 import com.pinewoodbuilders.middleware.ThrottleMiddleware;
+import com.pinewoodbuilders.ratelimit.RateLimitKey;
+import com.pinewoodbuilders.ratelimit.RateLimiter;
 import com.pinewoodbuilders.time.Carbon;
-import com.pinewoodbuilders.utilities.CacheUtil;
 import com.pinewoodbuilders.utilities.RestActionUtil;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import net.dv8tion.jda.api.entities.MessageChannel;
 import net.dv8tion.jda.api.entities.User;
 import org.slf4j.Logger;
@@ -38,9 +38,7 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 import java.awt.*;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 public class Ratelimit {
@@ -62,12 +60,10 @@ public class Ratelimit {
     static final long hitTime = 30 * 1000;
 
     /**
-     * The cache loader for holding all the ratelimiter rates.
+     * The rate limiter used to keep track of how often each entity has hit the
+     * ratelimit, allowing {@link #hitLimit} - 1 hits every {@link #hitTime}.
      */
-    public static final LoadingCache<Long, Rate> cache = CacheBuilder.newBuilder()
-        .recordStats()
-        .expireAfterWrite(hitTime, TimeUnit.MILLISECONDS)
-        .build(CacheLoader.from(Rate::new));
+    public static final RateLimiter limiter = new RateLimiter("blacklist", 10000);
 
     /**
      * The slf4j logger instance.
@@ -75,11 +71,14 @@ public class Ratelimit {
     private static final Logger log = LoggerFactory.getLogger(Ratelimit.class);
 
     /**
-     * The punishment level holder, this map holds all the users and their current
+     * The punishment level holder, this cache holds all the entities and their current
      * punishment level, with each offence, the punishment level(value) will go
-     * up, increasing the time the user get auto-blacklisted for.
+     * up, increasing the time the entity get punished for, the level is
+     * forgotten after 30 days without any new offences.
      */
-    private static final Map<Long, Integer> punishments = new HashMap<>();
+    private static final Cache<Long, Integer> punishments = CacheBuilder.newBuilder()
+        .expireAfterWrite(30, TimeUnit.DAYS)
+        .build();
 
     /**
      * The punishment levels, each index of the levels list should be an
@@ -196,30 +195,17 @@ public class Ratelimit {
      */
     @Nullable
     public Carbon hit(ThrottleMiddleware.ThrottleType type, long id) {
-        Rate rate = CacheUtil.getUncheckedUnwrapped(cache, id);
-        if (rate == null) {
-            // This should never happen, if it does we'll just return
-            // null to not block any commands by a valid user.
+        RateLimitKey key = new RateLimitKey(type.ordinal(), id);
+        if (limiter.tryAcquire(key, hitLimit - 1, hitTime) == 0) {
             return null;
         }
 
-        //noinspection SynchronizationOnLocalVariableOrMethodParameter
-        synchronized (rate) {
-            rate.hit();
-
-            if (rate.getHits() < hitLimit) {
-                return null;
-            }
-        }
-
-        Long last = rate.getLast();
-
-        // Checks if the user was blacklisted within the last two and half seconds,
-        // the command handling process uses its own thread pool, because of that
-        // it's possible to have two commands come in from the same user in a
-        // very quick succession, instead of punishing the user twice, we
-        // just cancel the blacklist hit here instead.
-        if (last != null && last < System.currentTimeMillis() - 2500) {
+        // The command handling process uses its own thread pool, because of that
+        // it's possible to have two commands come in from the same entity in a
+        // very quick succession, resetting the key only succeeds for one of
+        // them, so instead of punishing the entity twice, we just cancel
+        // the hit for everything but the first request here instead.
+        if (!limiter.reset(key)) {
             return null;
         }
 
@@ -246,11 +232,7 @@ public class Ratelimit {
      * @return The Carbon instance with the punishment expire time.
      */
     private Carbon getPunishment(long userId) {
-        int level = punishments.getOrDefault(userId, -1) + 1;
-
-        punishments.put(userId, level);
-
-        return getPunishment(level);
+        return getPunishment(punishments.asMap().merge(userId, 0, (level, ignored) -> level + 1));
     }
 
     /**
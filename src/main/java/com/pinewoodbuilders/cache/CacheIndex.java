@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.cache;
+
+/**
+ * The index types a {@link RegisteredCache registered cache} can be invalidated by,
+ * allowing every cache entry linked to a guild or user to be forgotten at
+ * once, without having to scan over every key stored in the cache.
+ */
+public enum CacheIndex {
+
+    /**
+     * Indexes cache entries by the ID of the guild they belong to.
+     */
+    GUILD,
+
+    /**
+     * Indexes cache entries by the ID of the user they belong to.
+     */
+    USER
+}
@@ -72,12 +72,12 @@ public class CacheItem {
 
     /**
      * Checks if the cache item has expired, if the cache item is set
-     * to last forever this will always return <code>Falser</code>.
+     * to last forever this will always return <code>False</code>.
      *
      * @return <code>True</code> if the cache item has expired, <code>False</code> otherwise.
      */
     public boolean isExpired() {
-        return !lastForever() && getTime() > System.currentTimeMillis();
+        return !lastForever() && getTime() <= System.currentTimeMillis();
     }
 
     /**
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.cache;
+
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.metrics.Metrics;
+import io.prometheus.client.guava.cache.CacheMetricsCollector;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The cache registry keeps track of every {@link RegisteredCache registered cache}, allowing
+ * the size and expire time of each cache to be configured through the config, the
+ * caches to be exposed through the metrics collector, and cache entries to be
+ * invalidated by guild or user across every cache at once.
+ */
+public final class CacheRegistry {
+
+    private static final Map<String, RegisteredCache<?, ?>> CACHES = new ConcurrentHashMap<>();
+
+    private static CacheMetricsCollector metricsCollector;
+
+    private CacheRegistry() {
+        //
+    }
+
+    /**
+     * Creates a new cache builder for a cache with the given name, the name is used to
+     * look up the cache settings in the config, and as the cache name in the metrics.
+     *
+     * @param name The name of the cache.
+     * @param <K>  The type of key used by the cache.
+     * @param <V>  The type of value stored in the cache.
+     * @return The builder for the new cache.
+     */
+    public static <K, V> RegisteredCache.Builder<K, V> newCache(@Nonnull String name) {
+        return new RegisteredCache.Builder<>(name);
+    }
+
+    /**
+     * Gets the registered cache with the given name.
+     *
+     * @param name The name of the cache.
+     * @return The registered cache with the given name, or {@code NULL} if no cache exists with the given name.
+     */
+    @Nullable
+    public static RegisteredCache<?, ?> getCache(@Nonnull String name) {
+        return CACHES.get(name);
+    }
+
+    /**
+     * Gets all the registered caches.
+     *
+     * @return An unmodifiable collection of all the registered caches.
+     */
+    public static Collection<RegisteredCache<?, ?>> getCaches() {
+        return Collections.unmodifiableCollection(CACHES.values());
+    }
+
+    /**
+     * Forgets every cache entry linked to the guild with the given ID, in every registered cache.
+     *
+     * @param guildId The ID of the guild that the cache entries should be forgotten for.
+     */
+    public static void forgetGuild(long guildId) {
+        forget(CacheIndex.GUILD, guildId);
+    }
+
+    /**
+     * Forgets every cache entry linked to the user with the given ID, in every registered cache.
+     *
+     * @param userId The ID of the user that the cache entries should be forgotten for.
+     */
+    public static void forgetUser(long userId) {
+        forget(CacheIndex.USER, userId);
+    }
+
+    /**
+     * Sets the metrics collector the registered caches should be exposed through, any
+     * cache registered after the collector has been set will be added right away.
+     *
+     * @param collector The metrics collector the caches should be exposed through.
+     */
+    public static synchronized void setMetricsCollector(@Nonnull CacheMetricsCollector collector) {
+        metricsCollector = collector;
+
+        for (RegisteredCache<?, ?> cache : CACHES.values()) {
+            collector.addCache(cache.getName(), cache.getCache());
+        }
+    }
+
+    static synchronized void register(@Nonnull RegisteredCache<?, ?> cache) {
+        if (CACHES.putIfAbsent(cache.getName(), cache) != null) {
+            throw new IllegalArgumentException("A cache with the name " + cache.getName() + " has already been registered!");
+        }
+
+        Metrics.cacheMaximumSize.labels(cache.getName()).set(cache.getMaximumSize());
+        Metrics.cacheExpireSeconds.labels(cache.getName()).set(cache.getExpireAfterAccess());
+
+        if (metricsCollector != null) {
+            metricsCollector.addCache(cache.getName(), cache.getCache());
+        }
+    }
+
+    static long getConfigValue(String name, String key, long defaultValue) {
+        Xeus avaire = Xeus.getInstance();
+        if (avaire == null || avaire.getConfig() == null) {
+            return defaultValue;
+        }
+        return avaire.getConfig().getLong("cache." + name + "." + key, defaultValue);
+    }
+
+    private static void forget(CacheIndex index, long id) {
+        for (RegisteredCache<?, ?> cache : CACHES.values()) {
+            cache.forget(index, id);
+        }
+    }
+}
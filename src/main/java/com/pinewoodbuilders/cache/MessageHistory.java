@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.cache;
+
+import net.dv8tion.jda.api.entities.Message;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a short sliding window of the most recent messages sent by each user in each channel,
+ * the windows are fed from the message received event, and are used by the automod spam
+ * filters to count recent messages, attachments, and links, without having to request
+ * the message history of the channel from Discord for every message that is sent.
+ */
+public final class MessageHistory {
+
+    /**
+     * The message flag used for messages with one or more attachments.
+     */
+    public static final int ATTACHMENT = 1;
+
+    /**
+     * The message flag used for messages that contains a link.
+     */
+    public static final int LINK = 1 << 1;
+
+    /**
+     * The amount of messages kept in each channel window for a single user.
+     */
+    public static final int WINDOW_SIZE = 16;
+
+    private static final RegisteredCache<Key, Window> cache = CacheRegistry.<Key, Window>newCache("message-history")
+        .maximumSize(25000)
+        .expireAfterAccess(60, TimeUnit.SECONDS)
+        .build();
+
+    private MessageHistory() {
+        // This class should never be instantiated.
+    }
+
+    /**
+     * Records the given message in the window for the author of the message in the channel it was sent in.
+     *
+     * @param message The message that should be recorded.
+     */
+    public static void record(@Nonnull Message message) {
+        Key key = new Key(message.getChannel().getIdLong(), message.getAuthor().getIdLong());
+
+        cache.get(key, Window::new).add(
+            message.getIdLong(),
+            message.getTimeCreated().toInstant().toEpochMilli(),
+            getFlags(message)
+        );
+    }
+
+    /**
+     * Gets the window for the author of the given message in the channel the message was sent in.
+     *
+     * @param message The message that the window should be returned for.
+     * @return The window for the author of the message, or {@code NULL} if the author has no recent messages.
+     */
+    @Nullable
+    public static Window getWindow(@Nonnull Message message) {
+        return cache.getIfPresent(new Key(message.getChannel().getIdLong(), message.getAuthor().getIdLong()));
+    }
+
+    /**
+     * Gets the message flags for the given message.
+     *
+     * @param message The message that the flags should be returned for.
+     * @return The {@link #ATTACHMENT} and {@link #LINK} flags for the message.
+     */
+    public static int getFlags(@Nonnull Message message) {
+        int flags = 0;
+        if (!message.getAttachments().isEmpty()) {
+            flags |= ATTACHMENT;
+        }
+
+        String content = message.getContentRaw();
+        if (content.contains("http://") || content.contains("https://")) {
+            flags |= LINK;
+        }
+        return flags;
+    }
+
+    /**
+     * A fixed size ring buffer of the most recent messages sent by a single user in a
+     * single channel, once the window is full the oldest message is overwritten.
+     */
+    public static final class Window {
+
+        private static final int REMOVED = 1 << 30;
+
+        private final long[] ids = new long[WINDOW_SIZE];
+        private final long[] timestamps = new long[WINDOW_SIZE];
+        private final int[] flags = new int[WINDOW_SIZE];
+
+        private int head = 0;
+        private int size = 0;
+
+        /**
+         * Adds the message to the window, messages that are already in the window are ignored.
+         *
+         * @param messageId The ID of the message.
+         * @param createdAt The time the message was created at, in milliseconds since the epoch.
+         * @param flags     The {@link #ATTACHMENT} and {@link #LINK} flags for the message.
+         */
+        public synchronized void add(long messageId, long createdAt, int flags) {
+            for (int i = 0; i < size; i++) {
+                if (ids[index(i)] == messageId) {
+                    return;
+                }
+            }
+
+            ids[head] = messageId;
+            timestamps[head] = createdAt;
+            this.flags[head] = flags;
+
+            head = (head + 1) % WINDOW_SIZE;
+            if (size < WINDOW_SIZE) {
+                size++;
+            }
+        }
+
+        /**
+         * Counts the messages in the window that were created within the given period before the
+         * given time, that has all of the given flags, excluding the message with the given ID.
+         *
+         * @param excludedId The ID of the message that shouldn't be counted.
+         * @param now        The time the period ends at, in milliseconds since the epoch.
+         * @param period     The length of the period, in milliseconds.
+         * @param flags      The flags the messages must have to be counted.
+         * @return The amount of messages matching the given arguments.
+         */
+        public synchronized int count(long excludedId, long now, long period, int flags) {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (matches(index(i), excludedId, now, period, flags)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Removes the messages in the window that were created within the given period before the
+         * given time, that has all of the given flags, excluding the message with the given ID,
+         * and returns the IDs of the removed messages, so they can be deleted in bulk.
+         *
+         * @param excludedId The ID of the message that shouldn't be removed.
+         * @param now        The time the period ends at, in milliseconds since the epoch.
+         * @param period     The length of the period, in milliseconds.
+         * @param flags      The flags the messages must have to be removed.
+         * @return The IDs of the messages that were removed from the window.
+         */
+        @Nonnull
+        public synchronized List<String> take(long excludedId, long now, long period, int flags) {
+            List<String> messageIds = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                int index = index(i);
+                if (matches(index, excludedId, now, period, flags)) {
+                    messageIds.add(Long.toUnsignedString(ids[index]));
+                    this.flags[index] |= REMOVED;
+                }
+            }
+            return messageIds;
+        }
+
+        private boolean matches(int index, long excludedId, long now, long period, int flags) {
+            if (ids[index] == excludedId || (this.flags[index] & REMOVED) != 0) {
+                return false;
+            }
+
+            long age = now - timestamps[index];
+            return age < period && (this.flags[index] & flags) == flags;
+        }
+
+        private int index(int offset) {
+            return (head - size + offset + WINDOW_SIZE) % WINDOW_SIZE;
+        }
+    }
+
+    private static final class Key {
+
+        private final long channelId;
+        private final long authorId;
+
+        Key(long channelId, long authorId) {
+            this.channelId = channelId;
+            this.authorId = authorId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return channelId == key.channelId && authorId == key.authorId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(channelId, authorId);
+        }
+    }
+}
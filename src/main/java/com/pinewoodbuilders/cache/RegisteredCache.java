@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.pinewoodbuilders.utilities.CacheUtil;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * A Guava cache registered with the {@link CacheRegistry cache registry}, registered caches
+ * can be invalidated by guild or user through their {@link CacheIndex indexes}, either by
+ * being keyed directly by the guild or user ID, or through a secondary index that maps
+ * each guild or user ID to the cache keys linked to it.
+ *
+ * @param <K> The type of key used by the cache.
+ * @param <V> The type of value stored in the cache.
+ */
+public class RegisteredCache<K, V> {
+
+    private final String name;
+    private final long maximumSize;
+    private final long expireAfterAccess;
+    private final CacheIndex keyIndex;
+    private final Map<CacheIndex, SecondaryIndex<K>> indexes;
+    private final Cache<K, V> cache;
+
+    private RegisteredCache(Builder<K, V> builder) {
+        this.name = builder.name;
+        this.maximumSize = CacheRegistry.getConfigValue(name, "maximum-size", builder.maximumSize);
+        this.expireAfterAccess = CacheRegistry.getConfigValue(name, "expire-after-access", builder.expireAfterAccess);
+        this.keyIndex = builder.keyIndex;
+        this.indexes = builder.indexes;
+
+        CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder().recordStats();
+        if (maximumSize >= 0) {
+            cacheBuilder.maximumSize(maximumSize);
+        }
+        if (expireAfterAccess >= 0) {
+            cacheBuilder.expireAfterAccess(expireAfterAccess, TimeUnit.SECONDS);
+        }
+
+        if (indexes.isEmpty()) {
+            cache = cacheBuilder.build();
+        } else {
+            cache = cacheBuilder.<K, V>removalListener(notification -> {
+                if (notification.getCause() == RemovalCause.REPLACED || notification.getKey() == null) {
+                    return;
+                }
+
+                // Expired values can be reloaded before the removal notification for the old
+                // value is delivered, so the key is only removed from the indexes if
+                // the key is no longer stored in the cache.
+                if (getCache().asMap().containsKey(notification.getKey())) {
+                    return;
+                }
+
+                for (SecondaryIndex<K> index : indexes.values()) {
+                    index.remove(notification.getKey());
+                }
+            }).build();
+        }
+    }
+
+    /**
+     * Gets the value stored under the given key, or loads the value using the given
+     * loader if the key isn't cached, concurrent calls for the same key will only
+     * invoke the loader once, and then share the loaded value.
+     *
+     * @param key    The key the value is stored under.
+     * @param loader The loader that should be used to load the value if it isn't cached.
+     * @return The cached value, or the value returned by the loader.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(@Nonnull K key, @Nonnull Callable<V> loader) {
+        if (indexes.isEmpty()) {
+            return (V) CacheUtil.getUncheckedUnwrapped(cache, key, loader);
+        }
+
+        // The key is indexed before the value is stored in the cache, so the removal
+        // listener will always see the key in the index when the value is removed.
+        return (V) CacheUtil.getUncheckedUnwrapped(cache, key, () -> {
+            V value = loader.call();
+            if (value != null) {
+                index(key);
+            }
+            return value;
+        });
+    }
+
+    /**
+     * Gets the value stored under the given key if it is cached.
+     *
+     * @param key The key the value is stored under.
+     * @return The cached value, or {@code NULL} if the key isn't cached.
+     */
+    @Nullable
+    public V getIfPresent(@Nonnull K key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Stores the given value under the given key, replacing any existing value.
+     *
+     * @param key   The key the value should be stored under.
+     * @param value The value that should be stored.
+     */
+    public void put(@Nonnull K key, @Nonnull V value) {
+        index(key);
+        cache.put(key, value);
+    }
+
+    /**
+     * Invalidates the value stored under the given key.
+     *
+     * @param key The key that should be invalidated.
+     */
+    public void invalidate(@Nonnull K key) {
+        cache.invalidate(key);
+    }
+
+    /**
+     * Invalidates every value stored in the cache.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Forgets every value linked to the given ID for the given index type, if the cache is
+     * keyed directly by the index type the key is invalidated, if the cache has a
+     * secondary index for the index type all the keys in the index are
+     * invalidated, otherwise nothing happens.
+     *
+     * @param index The index type the ID belongs to.
+     * @param id    The guild or user ID that should be forgotten.
+     */
+    @SuppressWarnings("unchecked")
+    public void forget(@Nonnull CacheIndex index, long id) {
+        if (index == keyIndex) {
+            cache.invalidate((K) Long.valueOf(id));
+            return;
+        }
+
+        SecondaryIndex<K> secondaryIndex = indexes.get(index);
+        if (secondaryIndex == null) {
+            return;
+        }
+
+        Set<K> keys = secondaryIndex.keys.remove(id);
+        if (keys != null && !keys.isEmpty()) {
+            cache.invalidateAll(keys);
+        }
+    }
+
+    /**
+     * Gets the approximate amount of values stored in the cache.
+     *
+     * @return The approximate amount of values stored in the cache.
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Gets the name of the cache.
+     *
+     * @return The name of the cache.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the maximum amount of values the cache can hold, or <code>-1</code> if the cache is unbounded.
+     *
+     * @return The maximum amount of values the cache can hold.
+     */
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Gets the amount of seconds values are kept in the cache after they were last accessed,
+     * or <code>-1</code> if values never expire.
+     *
+     * @return The amount of seconds values are kept in the cache after they were last accessed.
+     */
+    public long getExpireAfterAccess() {
+        return expireAfterAccess;
+    }
+
+    /**
+     * Gets the underlying Guava cache.
+     *
+     * @return The underlying Guava cache.
+     */
+    public Cache<K, V> getCache() {
+        return cache;
+    }
+
+    private void index(K key) {
+        for (SecondaryIndex<K> index : indexes.values()) {
+            index.add(key);
+        }
+    }
+
+    private static class SecondaryIndex<K> {
+
+        private final ToLongFunction<K> extractor;
+        private final Map<Long, Set<K>> keys = new ConcurrentHashMap<>();
+
+        SecondaryIndex(ToLongFunction<K> extractor) {
+            this.extractor = extractor;
+        }
+
+        void add(K key) {
+            keys.computeIfAbsent(extractor.applyAsLong(key), id -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+
+        void remove(K key) {
+            keys.computeIfPresent(extractor.applyAsLong(key), (id, set) -> {
+                set.remove(key);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    public static class Builder<K, V> {
+
+        private final String name;
+        private final Map<CacheIndex, SecondaryIndex<K>> indexes = new EnumMap<>(CacheIndex.class);
+
+        private long maximumSize = -1;
+        private long expireAfterAccess = -1;
+        private CacheIndex keyIndex = null;
+
+        Builder(@Nonnull String name) {
+            this.name = name;
+        }
+
+        /**
+         * Sets the default maximum amount of values the cache can hold, this
+         * can be overwritten by the <code>maximum-size</code> config option.
+         *
+         * @param maximumSize The maximum amount of values the cache can hold.
+         * @return The cache builder instance.
+         */
+        public Builder<K, V> maximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the default amount of time values should be kept in the cache after they were last
+         * accessed, this can be overwritten by the <code>expire-after-access</code> config option.
+         *
+         * @param duration The amount of time values should be kept in the cache.
+         * @param unit     The unit of the duration.
+         * @return The cache builder instance.
+         */
+        public Builder<K, V> expireAfterAccess(long duration, @Nonnull TimeUnit unit) {
+            this.expireAfterAccess = unit.toSeconds(duration);
+            return this;
+        }
+
+        /**
+         * Marks the cache as keyed directly by the given index type, the key
+         * type of the cache must be a {@link Long} holding the ID.
+         *
+         * @param index The index type the cache is keyed by.
+         * @return The cache builder instance.
+         */
+        public Builder<K, V> keyedBy(@Nonnull CacheIndex index) {
+            this.keyIndex = index;
+            return this;
+        }
+
+        /**
+         * Adds a secondary index to the cache for the given index type, the
+         * extractor is used to get the guild or user ID from cache keys.
+         *
+         * @param index     The index type the keys should be indexed by.
+         * @param extractor The function used to get the ID from cache keys.
+         * @return The cache builder instance.
+         */
+        public Builder<K, V> indexedBy(@Nonnull CacheIndex index, @Nonnull ToLongFunction<K> extractor) {
+            indexes.put(index, new SecondaryIndex<>(extractor));
+            return this;
+        }
+
+        /**
+         * Builds the cache and registers it with the cache registry.
+         *
+         * @return The registered cache.
+         */
+        public RegisteredCache<K, V> build() {
+            RegisteredCache<K, V> cache = new RegisteredCache<>(this);
+            CacheRegistry.register(cache);
+
+            return cache;
+        }
+    }
+}
@@ -21,27 +21,28 @@
 
 package com.pinewoodbuilders.cache.adapters;
 
-import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.cache.CacheItem;
+import com.pinewoodbuilders.cache.store.LogStore;
 import com.pinewoodbuilders.contracts.cache.CacheAdapter;
 import com.avairebot.shared.ExitCodes;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
 import java.util.function.Supplier;
 
 public class FileAdapter extends CacheAdapter {
 
+    /**
+     * The size of each segment file used by the log store, in bytes.
+     */
+    private static final int SEGMENT_SIZE = 8 * 1024 * 1024;
+
     private final File storagePath;
+    private final LogStore store;
 
     /**
      * Creates the new file cache adapter, the file cache adapter
@@ -55,210 +56,169 @@ public class FileAdapter extends CacheAdapter {
             LoggerFactory.getLogger(FileAdapter.class).error("Failed to create cache storage folder, exiting application...");
             System.exit(ExitCodes.EXIT_CODE_NORMAL);
         }
+
+        deleteLegacyCacheFiles();
+
+        LogStore logStore = null;
+        try {
+            logStore = new LogStore(new File(storagePath, "segments"), SEGMENT_SIZE);
+        } catch (IOException e) {
+            LoggerFactory.getLogger(FileAdapter.class).error("Failed to open the cache log store, exiting application...", e);
+            System.exit(ExitCodes.EXIT_CODE_NORMAL);
+        }
+        store = logStore;
     }
 
     @Override
     public boolean put(String token, Object value, int seconds) {
-        return writeTo(generateCacheFile(token), value, seconds);
+        return write(token, value, System.currentTimeMillis() + (seconds * 1000L));
     }
 
     @Override
     public Object remember(String token, int seconds, Supplier<Object> closure) {
-        if (has(token)) {
-            return get(token);
+        CacheItem item = getRaw(token);
+        if (item != null) {
+            return item.getValue();
         }
 
-        try {
-            writeTo(generateCacheFile(token), closure.get(), seconds);
+        synchronized (this) {
+            item = getRaw(token);
+            if (item != null) {
+                return item.getValue();
+            }
 
-            return get(token);
-        } catch (Exception e) {
-            Xeus.getLogger().error(e.getMessage(), e);
-            return null;
+            try {
+                Object value = closure.get();
+                if (!put(token, value, seconds)) {
+                    return value;
+                }
+
+                return get(token);
+            } catch (Exception e) {
+                Xeus.getLogger().error(e.getMessage(), e);
+                return null;
+            }
         }
     }
 
     @Override
     public boolean forever(String token, Object value) {
-        return writeTo(generateCacheFile(token), value, Integer.MAX_VALUE);
+        return write(token, value, -1);
     }
 
     @Override
     public Object get(String token) {
-        File cacheFile = generateCacheFile(token);
-        if (cacheFile == null || !cacheFile.exists()) {
+        CacheItem item = getRaw(token);
+        if (item == null) {
             return null;
         }
-
-        try {
-            CacheItem item = Xeus.gson.fromJson(new String(Files.readAllBytes(cacheFile.toPath())), CacheItem.class);
-            if (item == null) {
-                return false;
-            }
-
-            if (item.getTime() > System.currentTimeMillis()) {
-                return item.getValue();
-            }
-        } catch (IOException e) {
-            Xeus.getLogger().error("ERROR: ", e);
-        }
-        return null;
+        return item.getValue();
     }
 
     @Override
     public CacheItem getRaw(String token) {
-        File cacheFile = generateCacheFile(token);
-        if (cacheFile == null || !cacheFile.exists()) {
-            return null;
-        }
+        String key = normalize(token);
 
-        try {
-            return Xeus.gson.fromJson(new String(Files.readAllBytes(cacheFile.toPath())), CacheItem.class);
-        } catch (IOException e) {
-            Xeus.getLogger().error("ERROR: ", e);
+        LogStore.Entry entry = store.getEntry(key);
+        if (entry == null || entry.getValue() == null) {
             return null;
         }
+
+        return new CacheItem(key, decode(entry.getValue()), entry.getExpiresAt());
     }
 
     @Override
     public boolean has(String token) {
-        File cacheFile = generateCacheFile(token);
-        if (cacheFile == null || !cacheFile.exists()) {
-            return false;
-        }
-
-        try {
-            CacheItem item = Xeus.gson.fromJson(new String(Files.readAllBytes(cacheFile.toPath())), CacheItem.class);
-            if (item == null) {
-                return false;
-            }
-
-            return item.getTime() > System.currentTimeMillis();
-        } catch (IOException e) {
-            Xeus.getLogger().error("ERROR: ", e);
-            return false;
-        }
+        return store.has(normalize(token));
     }
 
     @Override
     public CacheItem forget(String token) {
-        File cacheFile = generateCacheFile(token);
-        if (cacheFile == null || !cacheFile.exists()) {
+        CacheItem item = getRaw(token);
+        if (item == null) {
             return null;
         }
 
         try {
-            CacheItem item = Xeus.gson.fromJson(new String(Files.readAllBytes(cacheFile.toPath())), CacheItem.class);
-            if (item == null) {
-                return null;
-            }
-            cacheFile.delete();
-
-            return item;
+            store.remove(item.getKey());
         } catch (IOException e) {
             Xeus.getLogger().error("ERROR: ", e);
-            return null;
         }
+
+        return item;
     }
 
     @Override
     public boolean flush() {
-        deleteRecursively(storagePath, true);
-
-        return true;
-    }
-
-    private void deleteRecursively(File folder, boolean isRoot) {
-        File[] files = folder.listFiles();
-        if (files != null) { //some JVMs return null for empty dirs
-            for (File f : files) {
-                if (f.isDirectory()) {
-                    deleteRecursively(f, false);
-                } else {
-                    f.delete();
-                }
-            }
-        }
+        try {
+            store.clear();
 
-        if (!isRoot) {
-            folder.delete();
+            return true;
+        } catch (IOException e) {
+            Xeus.getLogger().error("ERROR: ", e);
+            return false;
         }
     }
 
-    private boolean writeTo(File file, Object value, long seconds) {
+    /**
+     * Compacts the underlying log store, dropping expired, overwritten,
+     * and forgotten cache items from the segment files on disk.
+     */
+    public void compact() {
         try {
-            if (!file.exists() && !file.createNewFile()) {
-                return false;
-            }
-        } catch (IOException ignored) {
+            store.compact();
+        } catch (IOException e) {
+            Xeus.getLogger().error("Failed to compact the file cache: {}", e.getMessage(), e);
         }
+    }
 
-        Map<String, Object> cacheItem = new HashMap<>();
-        cacheItem.put("time", System.currentTimeMillis() + (seconds * 1000));
-        cacheItem.put("value", value);
-        cacheItem.put("key", file.getName());
-
-        FileWriter fw = null;
-        BufferedWriter bw = null;
-
+    private boolean write(String token, Object value, long expiresAt) {
         try {
-            fw = new FileWriter(file, false);
-            bw = new BufferedWriter(fw);
+            store.put(normalize(token), Xeus.gson.toJson(value).getBytes(StandardCharsets.UTF_8), expiresAt);
 
-            bw.write(Xeus.gson.toJson(cacheItem) + "\n");
+            return true;
         } catch (IOException e) {
             Xeus.getLogger().error("ERROR: ", e);
             return false;
-        } finally {
-            try {
-                if (bw != null) {
-                    bw.close();
-                }
-
-                if (fw != null) {
-                    fw.close();
-                }
-            } catch (IOException ex) {
-                ex.printStackTrace();
-            }
         }
-        return true;
     }
 
-    private File generateCacheFile(String string) {
-        String cacheToken = encrypt(string);
-        if (cacheToken == null) {
-            return null;
-        }
+    private Object decode(byte[] value) {
+        return Xeus.gson.fromJson(new String(value, StandardCharsets.UTF_8), Object.class);
+    }
 
-        File cachePath = new File(storagePath,
-            cacheToken.substring(0, 2) + File.separator
-                + cacheToken.substring(2, 4) + File.separator
-        );
+    private String normalize(String token) {
+        return token.trim().toLowerCase();
+    }
 
-        if (!cachePath.exists()) {
-            cachePath.mkdirs();
+    /**
+     * Deletes the cache files created by the old file cache, which stored every
+     * cache item in its own file, spread out over two levels of folders.
+     */
+    private void deleteLegacyCacheFiles() {
+        File[] files = storagePath.listFiles();
+        if (files == null) {
+            return;
         }
 
-        return new File(cachePath, cacheToken.substring(4, cacheToken.length()));
+        for (File file : files) {
+            if (file.isDirectory() && file.getName().length() == 2) {
+                deleteRecursively(file);
+            }
+        }
     }
 
-    private String encrypt(String string) {
-        try {
-            MessageDigest md5 = MessageDigest.getInstance("SHA-256");
-            md5.update(string.trim().toLowerCase().getBytes());
-
-            byte[] digest = md5.digest();
-
-            StringBuilder sb = new StringBuilder();
-            for (byte aDigest : digest) {
-                sb.append(Integer.toString((aDigest & 0xff) + 0x100, 16).substring(1));
+    private void deleteRecursively(File folder) {
+        File[] files = folder.listFiles();
+        if (files != null) { //some JVMs return null for empty dirs
+            for (File f : files) {
+                if (f.isDirectory()) {
+                    deleteRecursively(f);
+                } else {
+                    f.delete();
+                }
             }
-
-            return sb.toString();
-        } catch (NoSuchAlgorithmException e) {
-            Xeus.getLogger().error("ERROR: ", e);
-            return null;
         }
+        folder.delete();
     }
 }
@@ -21,38 +21,84 @@
 
 package com.pinewoodbuilders.cache.adapters;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.cache.CacheItem;
 import com.pinewoodbuilders.contracts.cache.CacheAdapter;
 
-import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
 
 public class MemoryAdapter extends CacheAdapter {
 
-    private final Map<String, CacheItem> cache = new WeakHashMap<>();
+    /**
+     * The default maximum amount of items the memory cache can hold at once, when
+     * the cache is full, the least recently used items will be evicted first.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 25000;
+
+    /**
+     * The memory cache, items are stored with their own expire time, which is checked
+     * whenever the item is read, expired items that are never read again are
+     * removed by the {@link #cleanUp() clean up} method, which is called
+     * periodically by the garbage collector task.
+     */
+    private final Cache<String, CacheItem> cache;
+
+    public MemoryAdapter() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public MemoryAdapter(int maximumSize) {
+        cache = CacheBuilder.newBuilder()
+            .recordStats()
+            .maximumSize(maximumSize)
+            .build();
+    }
 
     @Override
     public boolean put(String token, Object value, int seconds) {
-        cache.put(token, new CacheItem(token, value, System.currentTimeMillis() + (seconds * 1000)));
+        cache.put(token, new CacheItem(token, value, System.currentTimeMillis() + (seconds * 1000L)));
         return true;
     }
 
+    /**
+     * Gets the item stored under the given token, or loads the item using the given closure if
+     * the item doesn't exist, or has expired. Concurrent calls for the same token will only
+     * run the closure once, every other call will wait for the closure to finish, and
+     * then return the same value, if the closure returns <code>NULL</code>, or
+     * throws an exception, nothing is stored in the cache.
+     *
+     * @param token   The token the item should be stored under.
+     * @param seconds The amount of seconds the item should be stored for.
+     * @param closure The closure that should be used to load the item.
+     * @return The cached item, or the item returned by the closure.
+     */
     @Override
     public Object remember(String token, int seconds, Supplier<Object> closure) {
-        if (has(token)) {
-            return get(token);
+        CacheItem item = getRaw(token);
+        if (item != null) {
+            return item.getValue();
         }
 
         try {
-            CacheItem item = new CacheItem(token, closure.get(), System.currentTimeMillis() + (seconds * 1000));
-            cache.put(token, item);
-
-            return item.getValue();
-        } catch (Exception e) {
-            Xeus.getLogger().error(e.getMessage(), e);
+            return cache.get(token, () -> {
+                Object value = closure.get();
+                if (value == null) {
+                    throw new NullValueException();
+                }
+                return new CacheItem(token, value, System.currentTimeMillis() + (seconds * 1000L));
+            }).getValue();
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            if (e.getCause() instanceof NullValueException) {
+                return null;
+            }
+
+            Xeus.getLogger().error(e.getMessage(), e.getCause());
             return null;
         }
     }
@@ -66,10 +112,6 @@ public class MemoryAdapter extends CacheAdapter {
 
     @Override
     public Object get(String token) {
-        if (!has(token)) {
-            return null;
-        }
-
         CacheItem item = getRaw(token);
         if (item == null) {
             return null;
@@ -79,34 +121,72 @@ public class MemoryAdapter extends CacheAdapter {
 
     @Override
     public CacheItem getRaw(String token) {
-        if (!has(token)) {
+        CacheItem item = cache.getIfPresent(token);
+        if (item == null) {
             return null;
         }
-        return cache.getOrDefault(token, null);
+
+        if (item.isExpired()) {
+            // Only removes the item if it hasn't been replaced by another thread since we read it.
+            cache.asMap().remove(token, item);
+            return null;
+        }
+        return item;
     }
 
     @Override
     public boolean has(String token) {
-        return cache.containsKey(token) && cache.get(token).isExpired();
+        return getRaw(token) != null;
     }
 
     @Override
     public CacheItem forget(String token) {
-        return cache.remove(token);
+        return cache.asMap().remove(token);
     }
 
     @Override
     public boolean flush() {
-        cache.clear();
+        cache.invalidateAll();
         return true;
     }
 
     /**
-     * Gets the cache keys currently in the memory cache.
+     * Removes every expired item from the memory cache, and runs any
+     * pending maintenance operations for the underlying cache.
+     */
+    public void cleanUp() {
+        cache.asMap().values().removeIf(CacheItem::isExpired);
+        cache.cleanUp();
+    }
+
+    /**
+     * Gets the cache keys currently in the memory cache, this
+     * may include keys for items that have expired.
      *
      * @return The cache keys currently in the memory cache.
      */
     public Set<String> getCacheKeys() {
-        return cache.keySet();
+        return cache.asMap().keySet();
+    }
+
+    /**
+     * Gets the underlying cache used to store the items, used to
+     * export the hit, miss, and eviction stats to the metrics.
+     *
+     * @return The underlying cache used to store the items.
+     */
+    public Cache<String, CacheItem> getCache() {
+        return cache;
+    }
+
+    /**
+     * Thrown by the remember loader when the closure returns <code>NULL</code>,
+     * since the cache doesn't support storing <code>NULL</code> values.
+     */
+    private static class NullValueException extends RuntimeException {
+
+        NullValueException() {
+            super(null, null, false, false);
+        }
     }
 }
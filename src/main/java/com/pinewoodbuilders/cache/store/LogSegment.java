@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.pinewoodbuilders.cache.store;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * A single memory mapped segment file in the log store, records are appended to the end of
+ * the segment until it is full, the segment file is allocated up front, so the end of
+ * the written records can be found by looking for the first empty record header.
+ * <p>
+ * Every record is stored as a record header followed by the key and value bytes, the
+ * header holds the record type, the expire time, the key and value lengths, and a
+ * checksum of the key and value, which is used to detect records that was only
+ * partially written if the application was killed while writing to the log.
+ */
+final class LogSegment {
+
+    static final byte TYPE_END = 0;
+    static final byte TYPE_PUT = 1;
+    static final byte TYPE_DELETE = 2;
+
+    /**
+     * The size of the record header, made up of the type (1 byte), the expire time
+     * (8 bytes), the key length (4 bytes), the value length (4 bytes),
+     * and the checksum of the key and value (4 bytes).
+     */
+    static final int HEADER_SIZE = 21;
+
+    private final int id;
+    private final File file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    /**
+     * The position the next record will be written at, only
+     * modified while holding the log store write lock.
+     */
+    private int writePosition = 0;
+
+    private LogSegment(int id, File file, MappedByteBuffer buffer, int capacity) {
+        this.id = id;
+        this.file = file;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Opens the given segment file, creating the file if it doesn't exist, and
+     * maps it into memory, the mapping is at least the given capacity.
+     *
+     * @param id       The ID of the segment, segments are replayed in order of their IDs.
+     * @param file     The segment file.
+     * @param capacity The minimum capacity of the segment in bytes.
+     * @return The opened segment.
+     * @throws IOException If the segment file could not be created or mapped.
+     */
+    static LogSegment open(int id, File file, int capacity) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             FileChannel channel = raf.getChannel()) {
+            int size = (int) Math.max(capacity, channel.size());
+
+            // The mapping stays valid after the channel is closed.
+            return new LogSegment(id, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size), size);
+        }
+    }
+
+    /**
+     * Replays every valid record in the segment, calling the given consumer with the offset
+     * and type of each record, the write position is moved to the end of the last valid
+     * record, so new records are written over any partially written record.
+     *
+     * @param consumer The consumer that should be called for every record.
+     */
+    void replay(BiConsumer<Integer, Byte> consumer) {
+        int position = 0;
+
+        while (position + HEADER_SIZE <= capacity) {
+            byte type = buffer.get(position);
+            if (type != TYPE_PUT && type != TYPE_DELETE) {
+                break;
+            }
+
+            int keyLength = buffer.getInt(position + 9);
+            int valueLength = buffer.getInt(position + 13);
+            if (keyLength < 0 || valueLength < 0 || (long) position + HEADER_SIZE + keyLength + valueLength > capacity) {
+                break;
+            }
+
+            if (buffer.getInt(position + 17) != checksum(position + HEADER_SIZE, keyLength + valueLength)) {
+                break;
+            }
+
+            consumer.accept(position, type);
+            position += HEADER_SIZE + keyLength + valueLength;
+        }
+
+        // Anything left after the last valid record is a partially written record, since the
+        // type is always written last, its type is still empty, and it will be overwritten
+        // by the next record, any bytes left behind after that fails the checksum.
+        writePosition = position;
+    }
+
+    /**
+     * Appends a new record to the end of the segment.
+     *
+     * @param type      The record type.
+     * @param expiresAt The unix timestamp in milliseconds the record expires at, or <code>-1</code>.
+     * @param key       The key bytes.
+     * @param value     The value bytes.
+     * @return The offset of the record, or <code>-1</code> if the segment doesn't have room for the record.
+     */
+    int append(byte type, long expiresAt, byte[] key, byte[] value) {
+        int length = HEADER_SIZE + key.length + value.length;
+        if (writePosition + length > capacity) {
+            return -1;
+        }
+
+        int offset = writePosition;
+
+        buffer.putLong(offset + 1, expiresAt);
+        buffer.putInt(offset + 9, key.length);
+        buffer.putInt(offset + 13, value.length);
+        buffer.put(offset + HEADER_SIZE, key);
+        buffer.put(offset + HEADER_SIZE + key.length, value);
+        buffer.putInt(offset + 17, checksum(offset + HEADER_SIZE, key.length + value.length));
+
+        // The type is written last, so the record is never seen as
+        // valid by a replay before the rest of the record is written.
+        buffer.put(offset, type);
+
+        writePosition += length;
+
+        return offset;
+    }
+
+    long getExpiresAt(int offset) {
+        return buffer.getLong(offset + 1);
+    }
+
+    String getKey(int offset) {
+        byte[] key = new byte[buffer.getInt(offset + 9)];
+        buffer.get(offset + HEADER_SIZE, key);
+
+        return new String(key, StandardCharsets.UTF_8);
+    }
+
+    byte[] getValue(int offset) {
+        int keyLength = buffer.getInt(offset + 9);
+        byte[] value = new byte[buffer.getInt(offset + 13)];
+        buffer.get(offset + HEADER_SIZE + keyLength, value);
+
+        return value;
+    }
+
+    int getRecordLength(int offset) {
+        return HEADER_SIZE + buffer.getInt(offset + 9) + buffer.getInt(offset + 13);
+    }
+
+    int getId() {
+        return id;
+    }
+
+    int getWritePosition() {
+        return writePosition;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    /**
+     * Forces any changes made to the segment to be written to the storage device.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    private int checksum(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+
+        return (int) crc.getValue();
+    }
+}
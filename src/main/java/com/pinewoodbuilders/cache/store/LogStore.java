@@ -0,0 +1,406 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.pinewoodbuilders.cache.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The log store is a persistent key-value store made up of append-only memory mapped segment
+ * files, every write is appended to the active segment, and an in-memory index keeps
+ * track of where the latest value for each key is stored, so lookups never has to
+ * open or read a file, they just copy the value out of the mapped segment.
+ * <p>
+ * Overwritten, deleted, and expired values are left in the segments until the store is
+ * {@link #compact() compacted}, which rewrites the values that are still alive from the
+ * full segments into the active segment, and then deletes the old segment files.
+ */
+public class LogStore {
+
+    private static final Logger log = LoggerFactory.getLogger(LogStore.class);
+    private static final Pattern segmentPattern = Pattern.compile("^segment-(\\d+)\\.log$");
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final File directory;
+    private final int segmentSize;
+
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final List<LogSegment> segments = new ArrayList<>();
+    private LogSegment active;
+
+    /**
+     * Opens the log store in the given directory, creating the directory if it doesn't exist,
+     * any existing segments in the directory are replayed to rebuild the index.
+     *
+     * @param directory   The directory the segment files should be stored in.
+     * @param segmentSize The size of each segment file in bytes.
+     * @throws IOException If the directory could not be created, or a segment could not be opened.
+     */
+    public LogStore(File directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Failed to create the log store directory: " + directory);
+        }
+
+        load();
+    }
+
+    /**
+     * Gets the value stored under the given key.
+     *
+     * @param key The key the value is stored under.
+     * @return The value, or {@code NULL} if the key doesn't exist, or the value has expired.
+     */
+    @Nullable
+    public byte[] get(String key) {
+        Location location = getLocation(key);
+        if (location == null) {
+            return null;
+        }
+        return location.segment.getValue(location.offset);
+    }
+
+    /**
+     * Gets the unix timestamp in milliseconds for when the value stored
+     * under the given key expires, or <code>-1</code> if it never expires.
+     *
+     * @param key The key the value is stored under.
+     * @return The expire time, or {@code NULL} if the key doesn't exist, or the value has expired.
+     */
+    @Nullable
+    public Long getExpiresAt(String key) {
+        Location location = getLocation(key);
+        if (location == null) {
+            return null;
+        }
+        return location.expiresAt;
+    }
+
+    /**
+     * Gets the value stored under the given key along with its expire time, both are read
+     * from the same index entry, so a write to the key made at the same time can't
+     * pair the value from one write with the expire time from another.
+     *
+     * @param key The key the value is stored under.
+     * @return The entry, or {@code NULL} if the key doesn't exist, or the value has expired.
+     */
+    @Nullable
+    public Entry getEntry(String key) {
+        Location location = getLocation(key);
+        if (location == null) {
+            return null;
+        }
+        return new Entry(location.segment.getValue(location.offset), location.expiresAt);
+    }
+
+    /**
+     * Checks if the given key exists, and the value stored under it hasn't expired.
+     *
+     * @param key The key that should be checked.
+     * @return {@code True} if the key exists, {@code False} otherwise.
+     */
+    public boolean has(String key) {
+        return getLocation(key) != null;
+    }
+
+    /**
+     * Stores the given value under the given key, replacing any existing value.
+     *
+     * @param key       The key the value should be stored under.
+     * @param value     The value that should be stored.
+     * @param expiresAt The unix timestamp in milliseconds the value expires at, or <code>-1</code> to never expire.
+     * @throws IOException If a new segment had to be created, and failed to open.
+     */
+    public synchronized void put(String key, byte[] value, long expiresAt) throws IOException {
+        Location location = append(LogSegment.TYPE_PUT, expiresAt, key.getBytes(StandardCharsets.UTF_8), value);
+
+        index.put(key, location);
+    }
+
+    /**
+     * Removes the value stored under the given key, a delete record is written
+     * to the log, so the value isn't restored when the store is reopened.
+     *
+     * @param key The key that should be removed.
+     * @return {@code True} if the key existed, {@code False} otherwise.
+     * @throws IOException If a new segment had to be created, and failed to open.
+     */
+    public synchronized boolean remove(String key) throws IOException {
+        if (index.remove(key) == null) {
+            return false;
+        }
+
+        append(LogSegment.TYPE_DELETE, -1, key.getBytes(StandardCharsets.UTF_8), EMPTY);
+
+        return true;
+    }
+
+    /**
+     * Removes every value from the store, deleting all the segment files.
+     *
+     * @throws IOException If the new active segment failed to open.
+     */
+    public synchronized void clear() throws IOException {
+        index.clear();
+
+        int nextId = active.getId() + 1;
+        for (LogSegment segment : segments) {
+            deleteSegment(segment);
+        }
+        segments.clear();
+
+        active = openSegment(nextId, segmentSize);
+    }
+
+    /**
+     * Compacts the store if less than half of the bytes written to the full segments belongs
+     * to values that are still alive, every live value in the full segments is rewritten
+     * to the active segment, expired values are dropped from the index, and then the
+     * full segment files are deleted.
+     *
+     * @return {@code True} if the store was compacted, {@code False} otherwise.
+     * @throws IOException If a new segment had to be created, and failed to open.
+     */
+    public synchronized boolean compact() throws IOException {
+        List<LogSegment> sealed = new ArrayList<>(segments);
+        sealed.remove(active);
+
+        if (sealed.isEmpty()) {
+            active.force();
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        long total = 0;
+        long live = 0;
+
+        for (LogSegment segment : sealed) {
+            total += segment.getWritePosition();
+        }
+
+        for (Location location : index.values()) {
+            if (location.segment != active && !location.isExpired(now)) {
+                live += location.segment.getRecordLength(location.offset);
+            }
+        }
+
+        if (live * 2 > total) {
+            return false;
+        }
+
+        // Every full segment is compacted at the same time, so delete records are never
+        // dropped while an older segment that holds the deleted value is still around.
+        Set<LogSegment> compacting = Collections.newSetFromMap(new IdentityHashMap<>());
+        compacting.addAll(sealed);
+
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            Location location = entry.getValue();
+            if (!compacting.contains(location.segment)) {
+                continue;
+            }
+
+            if (location.isExpired(now)) {
+                index.remove(entry.getKey(), location);
+                continue;
+            }
+
+            index.replace(entry.getKey(), location, append(
+                LogSegment.TYPE_PUT,
+                location.expiresAt,
+                entry.getKey().getBytes(StandardCharsets.UTF_8),
+                location.segment.getValue(location.offset)
+            ));
+        }
+
+        active.force();
+
+        for (LogSegment segment : sealed) {
+            segments.remove(segment);
+            deleteSegment(segment);
+        }
+
+        log.debug("Compacted {} log store segments, {} of {} bytes was still alive", sealed.size(), live, total);
+
+        return true;
+    }
+
+    /**
+     * Gets the amount of keys in the store, this may include keys for values that have expired.
+     *
+     * @return The amount of keys in the store.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Gets the amount of segment files the store is using.
+     *
+     * @return The amount of segment files the store is using.
+     */
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    private Location getLocation(String key) {
+        Location location = index.get(key);
+        if (location == null) {
+            return null;
+        }
+
+        if (location.isExpired(System.currentTimeMillis())) {
+            index.remove(key, location);
+            return null;
+        }
+        return location;
+    }
+
+    private Location append(byte type, long expiresAt, byte[] key, byte[] value) throws IOException {
+        int offset = active.append(type, expiresAt, key, value);
+
+        if (offset < 0) {
+            active.force();
+            active = openSegment(
+                active.getId() + 1,
+                Math.max(segmentSize, LogSegment.HEADER_SIZE + key.length + value.length)
+            );
+            offset = active.append(type, expiresAt, key, value);
+        }
+
+        return new Location(active, offset, expiresAt);
+    }
+
+    private void load() throws IOException {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            List<File> segmentFiles = new ArrayList<>();
+            for (File file : files) {
+                if (segmentPattern.matcher(file.getName()).matches()) {
+                    segmentFiles.add(file);
+                }
+            }
+            segmentFiles.sort(Comparator.comparingInt(LogStore::getSegmentId));
+
+            for (File file : segmentFiles) {
+                LogSegment segment = LogSegment.open(getSegmentId(file), file, segmentSize);
+                segment.replay((offset, type) -> {
+                    String key = segment.getKey(offset);
+
+                    if (type == LogSegment.TYPE_DELETE) {
+                        index.remove(key);
+                    } else {
+                        index.put(key, new Location(segment, offset, segment.getExpiresAt(offset)));
+                    }
+                });
+                segments.add(segment);
+            }
+        }
+
+        active = segments.isEmpty()
+            ? openSegment(0, segmentSize)
+            : segments.get(segments.size() - 1);
+
+        index.values().removeIf(location -> location.isExpired(System.currentTimeMillis()));
+    }
+
+    private LogSegment openSegment(int id, int capacity) throws IOException {
+        LogSegment segment = LogSegment.open(id, new File(directory, String.format("segment-%08d.log", id)), capacity);
+        segments.add(segment);
+
+        return segment;
+    }
+
+    private void deleteSegment(LogSegment segment) {
+        // Readers may still be copying a value out of the segment, which is safe, since the
+        // mapping stays valid until the buffer is garbage collected, even after the file
+        // is deleted, on systems that don't allow deleting mapped files we retry on exit.
+        if (!segment.getFile().delete()) {
+            segment.getFile().deleteOnExit();
+        }
+    }
+
+    private static int getSegmentId(File file) {
+        Matcher matcher = segmentPattern.matcher(file.getName());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    /**
+     * A value read from the store, along with the time it expires at.
+     */
+    public static final class Entry {
+
+        private final byte[] value;
+        private final long expiresAt;
+
+        Entry(byte[] value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Gets the value stored in the entry.
+         *
+         * @return The value stored in the entry.
+         */
+        public byte[] getValue() {
+            return value;
+        }
+
+        /**
+         * Gets the unix timestamp in milliseconds for when the
+         * entry expires, or <code>-1</code> if it never expires.
+         *
+         * @return The expire time of the entry.
+         */
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+
+    private static final class Location {
+
+        private final LogSegment segment;
+        private final int offset;
+        private final long expiresAt;
+
+        Location(LogSegment segment, int offset, long expiresAt) {
+            this.segment = segment;
+            this.offset = offset;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt != -1 && expiresAt <= now;
+        }
+    }
+}
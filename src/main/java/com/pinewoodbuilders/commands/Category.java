@@ -77,6 +77,15 @@ public class Category {
         });
     }
 
+    /**
+     * Forgets the cached prefix for the category in the guild with the given ID.
+     *
+     * @param guildId The ID of the guild the prefix should be forgotten for.
+     */
+    public void forgetPrefix(@Nonnull String guildId) {
+        cache.invalidate(asKey(guildId));
+    }
+
     public boolean hasCommands() {
         return CommandHandler.getCommands().stream().
             filter(container -> container.getCategory().equals(this))
@@ -97,6 +106,10 @@ public class Category {
     }
 
     private String asKey(Message message) {
-        return message.getGuild().getId() + ":" + name;
+        return asKey(message.getGuild().getId());
+    }
+
+    private String asKey(String guildId) {
+        return guildId + ":" + name;
     }
 }
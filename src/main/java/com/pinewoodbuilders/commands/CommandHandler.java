@@ -45,6 +45,12 @@ public class CommandHandler {
 
     private static final Set<CommandContainer> COMMANDS = new HashSet<>();
 
+    /**
+     * The command index used to look up commands by their prefix and trigger, the
+     * index is rebuilt every time a command is registered or unregistered.
+     */
+    private static volatile CommandIndex INDEX = new CommandIndex(COMMANDS, CategoryHandler.getValues());
+
     /**
      * Get command container from the given command instance.
      *
@@ -109,7 +115,7 @@ public class CommandHandler {
      * @return Possibly-null, The command matching the given command with the highest priority, or the alias command matching the given command.
      */
     public static CommandContainer getCommand(Xeus avaire, Message message, @Nonnull String command) {
-        CommandContainer commandContainer = getCommand(message);
+        CommandContainer commandContainer = getCommand(message, command.split(" ")[0].toLowerCase());
         if (commandContainer != null) {
             return commandContainer;
         }
@@ -131,17 +137,11 @@ public class CommandHandler {
      * @return Possibly-null, The command matching the given command with the highest priority.
      */
     public static CommandContainer getCommand(Message message, @Nonnull String command) {
-        List<CommandContainer> commands = new ArrayList<>();
-        for (CommandContainer container : COMMANDS) {
-            String commandPrefix = container.getCommand().generateCommandPrefix(message);
-            for (String trigger : container.getTriggers()) {
-                if (command.equalsIgnoreCase(commandPrefix + trigger)) {
-                    commands.add(container);
-                }
-            }
-        }
+        CommandIndex index = INDEX;
 
-        return getHighPriorityCommandFromCommands(commands);
+        return getHighPriorityCommandFromCommands(
+            index.getCommands(index.getPrefixes(message), command.toLowerCase())
+        );
     }
 
     /**
@@ -157,17 +157,7 @@ public class CommandHandler {
      * @return Possibly-null, The command matching the given command with the highest priority.
      */
     public static CommandContainer getRawCommand(@Nonnull String command) {
-        List<CommandContainer> commands = new ArrayList<>();
-        for (CommandContainer container : COMMANDS) {
-            String commandPrefix = container.getDefaultPrefix();
-            for (String trigger : container.getTriggers()) {
-                if (command.equalsIgnoreCase(commandPrefix + trigger)) {
-                    commands.add(container);
-                }
-            }
-        }
-
-        return getHighPriorityCommandFromCommands(commands);
+        return getHighPriorityCommandFromCommands(INDEX.getRawCommands(command.toLowerCase()));
     }
 
     /**
@@ -185,26 +175,21 @@ public class CommandHandler {
             return null;
         }
 
-        String[] aliasArguments = null;
-        String commandString = command.split(" ")[0].toLowerCase();
-        List<CommandContainer> commands = new ArrayList<>();
-        for (Map.Entry<String, String> entry : transformer.getAliases().entrySet()) {
-            if (commandString.equalsIgnoreCase(entry.getKey())) {
-                CommandContainer commandContainer = getRawCommand(entry.getValue().split(" ")[0]);
-                if (commandContainer != null) {
-                    commands.add(commandContainer);
-                    aliasArguments = entry.getValue().split(" ");
-                }
-            }
+        // Alias keys are always stored in lowercase, so we can look
+        // the alias up directly instead of comparing every alias.
+        String alias = transformer.getAliases().get(command.split(" ")[0].toLowerCase());
+        if (alias == null) {
+            return null;
         }
 
-        CommandContainer commandContainer = getHighPriorityCommandFromCommands(commands);
+        String[] aliasArguments = alias.split(" ");
+        CommandContainer commandContainer = getRawCommand(aliasArguments[0]);
 
         if (commandContainer == null) {
             return null;
         }
 
-        if (aliasArguments == null || aliasArguments.length == 1) {
+        if (aliasArguments.length == 1) {
             return commandContainer;
         }
         return new AliasCommandContainer(commandContainer, Arrays.copyOfRange(aliasArguments, 1, aliasArguments.length));
@@ -221,20 +206,21 @@ public class CommandHandler {
      * @return Possibly-null, The command matching the given command trigger with the highest priority.
      */
     public static CommandContainer getLazyCommand(@Nonnull String commandTrigger) {
-        List<CommandContainer> commands = new ArrayList<>();
-        for (CommandContainer container : COMMANDS) {
-            if (container.getPriority().equals(CommandPriority.IGNORED)) {
-                continue;
-            }
+        return getHighPriorityCommandFromCommands(INDEX.getLazyCommands(commandTrigger.toLowerCase()));
+    }
 
-            for (String trigger : container.getTriggers()) {
-                if (commandTrigger.equalsIgnoreCase(trigger)) {
-                    commands.add(container);
-                }
-            }
+    /**
+     * Forgets the cached category prefixes for the guild with the given ID, this
+     * should be called whenever a guild changes any of their category prefixes,
+     * so the new prefixes are used for matching commands right away.
+     *
+     * @param guildId The ID of the guild the prefixes should be forgotten for.
+     */
+    public static void forgetPrefixes(@Nonnull String guildId) {
+        for (Category category : CategoryHandler.getValues()) {
+            category.forgetPrefix(guildId);
         }
-
-        return getHighPriorityCommandFromCommands(commands);
+        INDEX.forgetPrefixes(guildId);
     }
 
     /**
@@ -358,7 +344,11 @@ public class CommandHandler {
 
         Metrics.commandsExecuted.labels(command.getClass().getSimpleName()).inc(0D);
 
-        COMMANDS.add(new CommandContainer(command, category, commandUri));
+        synchronized (COMMANDS) {
+            COMMANDS.add(new CommandContainer(command, category, commandUri));
+
+            rebuildIndex();
+        }
     }
 
     /**
@@ -376,6 +366,7 @@ public class CommandHandler {
                 CommandContainer container = iterator.next();
                 if (container.getCommand().getClass().getTypeName().equals(commandClass.getTypeName())) {
                     iterator.remove();
+                    rebuildIndex();
 
                     return true;
                 }
@@ -394,6 +385,15 @@ public class CommandHandler {
         return COMMANDS;
     }
 
+    /**
+     * Rebuilds the command index from the registered commands, this must be called while
+     * holding the lock on the commands set, the prefix tables cached by the previous
+     * index are dropped along with it.
+     */
+    private static void rebuildIndex() {
+        INDEX = new CommandIndex(COMMANDS, CategoryHandler.getValues());
+    }
+
     private static boolean hasImplementedADescriptionMethod(Command command) {
         try {
             Xeus.getLogger().info("{} called hasImplementedADescriptionMethod::withArgs", command.getClass().getTypeName());
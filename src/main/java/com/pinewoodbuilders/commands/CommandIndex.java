@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.commands;
+
+import com.pinewoodbuilders.utilities.CacheUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.dv8tion.jda.api.entities.Message;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A lookup table for the registered commands, the index is rebuilt by the
+ * {@link CommandHandler command handler} every time a command is registered or
+ * unregistered, and then swapped out with the previous index, so lookups
+ * never has to lock or iterate over every registered command. The index
+ * also caches the prefix tables for each guild, which are dropped
+ * together with the index when it is replaced.
+ */
+public final class CommandIndex {
+
+    private final Map<Category, Map<String, List<CommandContainer>>> triggersByCategory = new HashMap<>();
+    private final Map<String, List<CommandContainer>> defaultTriggers = new HashMap<>();
+    private final Map<String, List<CommandContainer>> lazyTriggers = new HashMap<>();
+
+    /**
+     * The prefix tables for each guild, the tables are built from the category prefixes
+     * for the guild, and expire at the same rate as the category prefix cache.
+     */
+    private final Cache<String, PrefixTable> guildPrefixes = CacheBuilder.newBuilder()
+        .recordStats()
+        .expireAfterWrite(2500, TimeUnit.MILLISECONDS)
+        .build();
+
+    private final List<Category> categories;
+    private final PrefixTable defaultPrefixes;
+
+    /**
+     * Creates a new command index for the given command containers.
+     *
+     * @param commands   The command containers that should be indexed.
+     * @param categories The categories the commands can belong to.
+     */
+    public CommandIndex(@Nonnull Collection<CommandContainer> commands, @Nonnull List<Category> categories) {
+        this.categories = new ArrayList<>(categories);
+
+        for (CommandContainer container : commands) {
+            Map<String, List<CommandContainer>> categoryTriggers = triggersByCategory.computeIfAbsent(
+                container.getCategory(), category -> new HashMap<>()
+            );
+
+            for (String trigger : container.getTriggers()) {
+                trigger = trigger.toLowerCase();
+
+                add(categoryTriggers, trigger, container);
+                add(defaultTriggers, container.getDefaultPrefix().toLowerCase() + trigger, container);
+
+                if (!container.getPriority().equals(CommandPriority.IGNORED)) {
+                    add(lazyTriggers, trigger, container);
+                }
+            }
+        }
+
+        defaultPrefixes = buildPrefixes(Category::getPrefix);
+    }
+
+    /**
+     * Gets the commands matching the given command string, using the category
+     * prefixes from the given prefix table to split the command string
+     * into the category prefix and the command trigger.
+     *
+     * @param prefixes The prefix table that should be used to match the category prefix.
+     * @param command  The lowercase command string, including the command prefix.
+     * @return A list of the commands matching the given command string.
+     */
+    public List<CommandContainer> getCommands(@Nonnull PrefixTable prefixes, @Nonnull String command) {
+        if (command.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<PrefixTable.Prefix> candidates = prefixes.getCandidates(command.charAt(0));
+        if (candidates == null) {
+            return Collections.emptyList();
+        }
+
+        List<CommandContainer> commands = new ArrayList<>();
+        for (PrefixTable.Prefix prefix : candidates) {
+            if (!command.startsWith(prefix.value)) {
+                continue;
+            }
+
+            String trigger = command.substring(prefix.value.length());
+            for (Category category : prefix.categories) {
+                Map<String, List<CommandContainer>> categoryTriggers = triggersByCategory.get(category);
+                if (categoryTriggers == null) {
+                    continue;
+                }
+
+                List<CommandContainer> containers = categoryTriggers.get(trigger);
+                if (containers != null) {
+                    commands.addAll(containers);
+                }
+            }
+        }
+        return commands;
+    }
+
+    /**
+     * Gets the commands matching the given command string using
+     * the default category prefixes for every category.
+     *
+     * @param command The lowercase command string, including the command prefix.
+     * @return A list of the commands matching the given command string.
+     */
+    public List<CommandContainer> getRawCommands(@Nonnull String command) {
+        return defaultTriggers.getOrDefault(command, Collections.emptyList());
+    }
+
+    /**
+     * Gets the commands matching the given command trigger, commands
+     * with the {@link CommandPriority#IGNORED ignored} priority
+     * are not included in the lazy index.
+     *
+     * @param trigger The lowercase command trigger, without any command prefix.
+     * @return A list of the commands matching the given command trigger.
+     */
+    public List<CommandContainer> getLazyCommands(@Nonnull String trigger) {
+        return lazyTriggers.getOrDefault(trigger, Collections.emptyList());
+    }
+
+    /**
+     * Gets the prefix table using the default prefix for every category.
+     *
+     * @return The prefix table using the default prefix for every category.
+     */
+    public PrefixTable getDefaultPrefixes() {
+        return defaultPrefixes;
+    }
+
+    /**
+     * Gets the prefix table for the guild the given message was sent in, messages sent
+     * outside of guilds will always use the default prefix table, and global
+     * categories will always use their default prefix.
+     *
+     * @param message The JDA message object the prefix table should be returned for.
+     * @return The prefix table for the guild the message was sent in.
+     */
+    public PrefixTable getPrefixes(Message message) {
+        if (message == null || !message.isFromGuild()) {
+            return defaultPrefixes;
+        }
+        return getPrefixes(message.getGuild().getId(), category -> category.getPrefix(message));
+    }
+
+    /**
+     * Gets the prefix table for the guild with the given ID, if the guild doesn't have a
+     * prefix table cached already, one will be built using the given prefix resolver,
+     * and cached until it expires or is {@link #forgetPrefixes(String) forgotten}.
+     *
+     * @param guildId  The ID of the guild the prefix table should be returned for.
+     * @param resolver The resolver used to get the prefix each category uses in the guild.
+     * @return The prefix table for the guild with the given ID.
+     */
+    public PrefixTable getPrefixes(@Nonnull String guildId, @Nonnull Function<Category, String> resolver) {
+        return (PrefixTable) CacheUtil.getUncheckedUnwrapped(
+            guildPrefixes, guildId, () -> buildPrefixes(resolver)
+        );
+    }
+
+    /**
+     * Forgets the cached prefix table for the guild with the given ID.
+     *
+     * @param guildId The ID of the guild the prefix table should be forgotten for.
+     */
+    public void forgetPrefixes(@Nonnull String guildId) {
+        guildPrefixes.invalidate(guildId);
+    }
+
+    private PrefixTable buildPrefixes(Function<Category, String> resolver) {
+        Map<String, String> prefixes = new HashMap<>();
+        for (Category category : categories) {
+            prefixes.put(category.getName(), resolver.apply(category));
+        }
+        return new PrefixTable(categories, prefixes);
+    }
+
+    private void add(Map<String, List<CommandContainer>> index, String key, CommandContainer container) {
+        List<CommandContainer> containers = index.computeIfAbsent(key, k -> new ArrayList<>(1));
+        if (!containers.contains(container)) {
+            containers.add(container);
+        }
+    }
+
+    /**
+     * The prefix table maps the first character of every category prefix used in a guild to
+     * the prefixes starting with that character, so messages that doesn't start with any
+     * of the category prefixes can be rejected with a single lookup.
+     */
+    public static final class PrefixTable {
+
+        private final Map<Character, List<Prefix>> prefixes = new HashMap<>();
+
+        PrefixTable(List<Category> categories, Map<String, String> categoryPrefixes) {
+            Map<String, Prefix> byValue = new HashMap<>();
+            for (Category category : categories) {
+                String value = categoryPrefixes.get(category.getName());
+                if (value == null || value.isEmpty()) {
+                    continue;
+                }
+
+                value = value.toLowerCase();
+                Prefix prefix = byValue.get(value);
+                if (prefix == null) {
+                    prefix = new Prefix(value);
+                    byValue.put(value, prefix);
+                    prefixes.computeIfAbsent(value.charAt(0), character -> new ArrayList<>(1)).add(prefix);
+                }
+                prefix.categories.add(category);
+            }
+        }
+
+        List<Prefix> getCandidates(char character) {
+            return prefixes.get(character);
+        }
+
+        static final class Prefix {
+
+            private final String value;
+            private final List<Category> categories = new ArrayList<>(1);
+
+            Prefix(String value) {
+                this.value = value;
+            }
+        }
+    }
+}
@@ -189,6 +189,9 @@ public class AddReactionRoleCommand extends Command {
                     .queue(successMessage -> successMessage.delete().queueAfter(15, TimeUnit.SECONDS, null, RestActionUtil.ignore));
 
                 ReactionController.forgetCache(context.getGuild().getIdLong());
+                ReactionController.updateReactionRoleIndex(
+                    context.getGuild().getIdLong(), reactionTransformer.getMessageId(), reactionTransformer.getRoles()
+                );
             } catch (SQLException e) {
                 log.error("Failed to save the reaction role to the database: {}", e.getMessage(), e);
                 sendErrorMessage(context, "Failed to save the reaction role to the database, {0}", e.getMessage());
@@ -260,6 +263,9 @@ public class AddReactionRoleCommand extends Command {
                     .queue(successMessage -> successMessage.delete().queueAfter(15, TimeUnit.SECONDS, null, RestActionUtil.ignore));
 
                 ReactionController.forgetCache(context.getGuild().getIdLong());
+                ReactionController.updateReactionRoleIndex(
+                    context.getGuild().getIdLong(), message.getIdLong(), reactionTransformer.getRoles()
+                );
             } catch (SQLException e) {
                 log.error("Failed to save the reaction role to the database: {}", e.getMessage(), e);
                 sendErrorMessage(context, "Failed to save the reaction role to the database, {0}", e.getMessage());
@@ -312,6 +312,7 @@ public class AdministrateExperienceCommand extends Command {
                     });
 
             PlayerController.forgetCacheForGuild(context.getGuild().getIdLong());
+            avaire.getLevelManager().getLeaderboardManager().forget(context.getGuild().getIdLong());
 
             context.makeSuccess(context.i18n("success.syncEveryone")).queue();
         } catch (SQLException e) {
@@ -354,6 +355,7 @@ public class AdministrateExperienceCommand extends Command {
                     });
 
             PlayerController.forgetCacheForGuild(context.getGuild().getIdLong());
+            avaire.getLevelManager().getLeaderboardManager().forget(context.getGuild().getIdLong());
 
             context.makeSuccess(context.i18n("success.everything")).queue();
         } catch (SQLException e) {
@@ -376,6 +378,8 @@ public class AdministrateExperienceCommand extends Command {
             return false;
         }
 
+        avaire.getLevelManager().getLeaderboardManager().update(player);
+
         return true;
     }
 
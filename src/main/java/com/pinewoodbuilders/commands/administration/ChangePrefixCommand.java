@@ -25,6 +25,7 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.commands.Category;
 import com.pinewoodbuilders.commands.CategoryHandler;
+import com.pinewoodbuilders.commands.CommandHandler;
 import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.commands.CommandPriority;
 import com.pinewoodbuilders.contracts.commands.Command;
@@ -193,5 +194,7 @@ public class ChangePrefixCommand extends Command {
             .update(statement -> {
                 statement.set("prefixes", Xeus.gson.toJson(transformer.getPrefixes()), true);
             });
+
+        CommandHandler.forgetPrefixes(context.getGuild().getId());
     }
 }
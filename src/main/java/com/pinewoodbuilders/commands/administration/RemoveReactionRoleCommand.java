@@ -160,6 +160,9 @@ public class RemoveReactionRoleCommand extends Command {
                 .delete();
 
             ReactionController.forgetCache(context.getGuild().getIdLong());
+            ReactionController.updateReactionRoleIndex(
+                context.getGuild().getIdLong(), row.getLong("message_id"), Collections.emptyMap()
+            );
 
             context.makeSuccess(context.i18n("deletedMessage"))
                 .set("id", index)
@@ -207,6 +210,10 @@ public class RemoveReactionRoleCommand extends Command {
             }
 
             ReactionController.forgetCache(context.getGuild().getIdLong());
+            ReactionController.updateReactionRoleIndex(
+                context.getGuild().getIdLong(), transformer.getMessageId(), transformer.getRoles()
+            );
+
             GuildTypeTransformer.GuildTypeLimits.GuildReactionRoles reactionLimits = context.getGuildTransformer()
                 .getType().getLimits().getReactionRoles();
 
@@ -152,6 +152,8 @@ public class AddAutoModExactCommand extends Command {
 
     private void updateGuildAutoModExact(CommandMessage message, GuildSettingsTransformer transformer)
             throws SQLException {
+        transformer.forgetWordFilter();
+
         avaire.getDatabase().newQueryBuilder(Constants.GUILD_SETTINGS_TABLE).where("id", message.getGuild().getId())
                 .update(statement -> statement.set("filter_exact", Xeus.gson.toJson(transformer.getBadWordsExact()),
                         true));
@@ -24,9 +24,11 @@ import org.json.JSONObject;
 import javax.annotation.Nonnull;
 import java.awt.*;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import static com.pinewoodbuilders.utilities.JsonReader.readJsonFromUrl;
@@ -127,6 +129,8 @@ public class EvaluationCommand extends Command {
         try {
             Collection collection = avaire.getDatabase().newQueryBuilder(Constants.EVALS_DATABASE_TABLE_NAME).get();
             context.makeInfo("Syncing `" + collection.size() + "`eval records to Kronos").queue();
+
+            List<CompletableFuture<Object>> requests = new ArrayList<>();
             for (DataRow dr : collection) {
                 Long robloxId = dr.getLong("roblox_id");
                 EvaluationStatus status = avaire.getRobloxAPIManager().getEvaluationManager().getEvaluationStatus(robloxId);
@@ -135,9 +139,11 @@ public class EvaluationCommand extends Command {
                     continue;
                 }
 
-                avaire.getRobloxAPIManager().getKronosManager().modifyEvalStatus(dr.getLong("roblox_id"), "pbst", status.isPassed());
+                requests.add(avaire.getRobloxAPIManager().getKronosManager().modifyEvalStatusAsync(dr.getLong("roblox_id"), "pbst", status.isPassed()));
             }
-            context.makeSuccess("Synced data with Kronos!").queue();
+
+            CompletableFuture.allOf(requests.toArray(new CompletableFuture[0]))
+                .thenRun(() -> context.makeSuccess("Synced data with Kronos!").queue());
         } catch (SQLException e) {
             // TODO Auto-generated catch block
             e.printStackTrace();
@@ -396,7 +402,7 @@ public class EvaluationCommand extends Command {
                                     if (status.isPassed()) {
                                         avaire.getShardManager().getTextChannelById("690731696387260541").sendMessageEmbeds(context.makeSuccess("`" + args[0] + "` has now passed all evaluations!").setColor(new Color(255, 215, 0)).requestedBy(context).buildEmbed()).queue();
 
-                                        avaire.getRobloxAPIManager().getKronosManager().modifyEvalStatus(roblox_id, "pbst", true);
+                                        avaire.getRobloxAPIManager().getKronosManager().modifyEvalStatusAsync(roblox_id, "pbst", true);
 
                                         return true;
                                     }
@@ -475,7 +481,7 @@ public class EvaluationCommand extends Command {
 
                                 EvaluationStatus status = avaire.getRobloxAPIManager().getEvaluationManager().getEvaluationStatus(roblox_id);
                                 if (status.isPassed()) {
-                                    avaire.getRobloxAPIManager().getKronosManager().modifyEvalStatus(roblox_id, "pbst", false);
+                                    avaire.getRobloxAPIManager().getKronosManager().modifyEvalStatusAsync(roblox_id, "pbst", false);
                                     return false;
                                 }
                                 return true;
@@ -135,13 +135,12 @@ public class UpdateCommand extends Command {
         AtomicInteger count = new AtomicInteger();
 
 
-        HashMap <Long, List <TrellobanLabels>> trellobans = null;
+        Map <Long, List <TrellobanLabels>> trellobans = null;
 
         if (context.getGuildSettingsTransformer().getPbVerificationTrelloban()) {
-            long mgi = context.getGuildSettingsTransformer().getMainGroupId();
             if (context.getGuildSettingsTransformer().getMainGroupId() != 0) {
                 trellobans = avaire.getRobloxAPIManager().getKronosManager()
-                    .getTrelloBans(mgi);
+                    .getTrelloBans();
             }
         }
 
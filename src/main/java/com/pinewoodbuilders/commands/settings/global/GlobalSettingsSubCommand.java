@@ -310,6 +310,8 @@ public class GlobalSettingsSubCommand extends SettingsSubCommand {
 
     private void updateGuildAutoModExact(CommandMessage message, GlobalSettingsTransformer transformer)
         throws SQLException {
+        transformer.forgetWordFilter();
+
         for (String id : Constants.guilds) {
             avaire.getDatabase().newQueryBuilder(Constants.GUILD_SETTINGS_TABLE).where("id", id)
                 .update(statement -> statement.set("global_filter_exact",
@@ -421,6 +423,7 @@ public class GlobalSettingsSubCommand extends SettingsSubCommand {
 
     private void updateGuildAutoModWildcard(CommandMessage message, GlobalSettingsTransformer transformer)
         throws SQLException {
+        transformer.forgetWordFilter();
 
         avaire.getDatabase().newQueryBuilder(Constants.GLOBAL_SETTINGS_TABLE).where("main_group_id", transformer.getMainGroupId())
             .update(statement -> statement.set("global_filter_wildcard",
@@ -42,7 +42,7 @@ public class ReloadCommand extends SystemCommand {
 
     @Override
     public String getDescription() {
-        return "Reloads the main configuration, and all the configs for loaded plugins.";
+        return "Reloads the main configuration, all the configs for loaded plugins, and the link filters.";
     }
 
     @Override
@@ -59,6 +59,8 @@ public class ReloadCommand extends SystemCommand {
             loader.getClassLoader().getPlugin().reloadConfig();
         }
 
+        avaire.getLinkFilterManager().reload();
+
         context.makeSuccess("Configuration has been successfully reloaded!").queue();
 
         return true;
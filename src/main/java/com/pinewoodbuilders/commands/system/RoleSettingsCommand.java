@@ -631,6 +631,8 @@ public class RoleSettingsCommand extends SystemCommand {
                 }
         }
 
+        guildTransformer.forgetPermissionRoles();
+
         boolean isEnabled = guildTransformer.getHRRoles().contains(role.getIdLong()) ||
             guildTransformer.getLeadRoles().contains(role.getIdLong()) ||
             guildTransformer.getLeadRoles().contains(role.getIdLong()) ||
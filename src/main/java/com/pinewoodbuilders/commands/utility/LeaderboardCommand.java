@@ -22,7 +22,6 @@
 package com.pinewoodbuilders.commands.utility;
 
 import com.pinewoodbuilders.Xeus;
-import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.chat.PlaceholderMessage;
 import com.pinewoodbuilders.chat.SimplePaginator;
 import com.pinewoodbuilders.commands.CommandHandler;
@@ -32,35 +31,21 @@ import com.pinewoodbuilders.contracts.commands.CacheFingerprint;
 import com.pinewoodbuilders.contracts.commands.Command;
 import com.pinewoodbuilders.contracts.commands.CommandGroup;
 import com.pinewoodbuilders.contracts.commands.CommandGroups;
-import com.pinewoodbuilders.database.collection.Collection;
-import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.database.transformers.GuildTransformer;
-import com.pinewoodbuilders.utilities.CacheUtil;
+import com.pinewoodbuilders.level.GuildLeaderboard;
+import com.pinewoodbuilders.level.LeaderboardEntry;
 import com.pinewoodbuilders.utilities.NumberUtil;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import net.dv8tion.jda.api.entities.Member;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 @CacheFingerprint(name = "leaderboard-command")
 public class LeaderboardCommand extends Command {
 
-    public static final Cache<String, Collection> cache = CacheBuilder.newBuilder()
-        .recordStats()
-        .expireAfterWrite(60, TimeUnit.SECONDS)
-        .build();
-
-    private static final Logger log = LoggerFactory.getLogger(GlobalLeaderboardCommand.class);
-
     public LeaderboardCommand(Xeus avaire) {
         super(avaire, false);
     }
@@ -122,28 +107,31 @@ public class LeaderboardCommand extends Command {
             );
         }
 
-        Collection collection = loadTop100From(context);
-        if (collection == null || collection.isEmpty()) {
+        GuildLeaderboard leaderboard = avaire.getLevelManager().getLeaderboardManager()
+            .getLeaderboard(avaire, context.getGuild().getIdLong());
+
+        List<LeaderboardEntry> entries = leaderboard == null ? Collections.emptyList() : leaderboard.getTop(100);
+        if (entries.isEmpty()) {
             context.makeWarning(context.i18n("noData")).queue();
             return false;
         }
 
         List<String> messages = new ArrayList<>();
-        SimplePaginator<DataRow> paginator = new SimplePaginator<>(collection.getItems(), 10);
+        SimplePaginator<LeaderboardEntry> paginator = new SimplePaginator<>(entries, 10);
         if (args.length > 0) {
             paginator.setCurrentPage(NumberUtil.parseInt(args[0], 1));
         }
 
         long zeroExperience = avaire.getLevelManager().getExperienceFromLevel(transformer, 0) - 100;
 
-        paginator.forEach((index, key, row) -> {
-            Member member = context.getGuild().getMemberById(row.getLong("user_id"));
-            String username = row.getString("username") + "#" + row.getString("discriminator");
+        paginator.forEach((index, key, entry) -> {
+            Member member = context.getGuild().getMemberById(entry.getUserId());
+            String username = entry.getUsername() + "#" + entry.getDiscriminator();
             if (member != null) {
                 username = member.getEffectiveName();
             }
 
-            long experience = row.getLong("experience", 100);
+            long experience = entry.getExperience();
 
             messages.add(context.i18n("line")
                 .replace(":num", "" + (index + 1))
@@ -162,21 +150,18 @@ public class LeaderboardCommand extends Command {
             )
             .requestedBy(context.getMember());
 
-        Collection userRank = loadUserRank(context);
-        if (userRank != null && !userRank.isEmpty()) {
-            int rank = userRank.first().getInt("rank", -1);
-            if (++rank > 0) {
-                message.addField("➡ " + context.i18n("yourRank"), context.i18n("line")
-                        .replace(":num", NumberUtil.formatNicely(rank))
-                        .replace(":username", context.getMember().getEffectiveName())
-                        .replace(":level", NumberUtil.formatNicely(avaire.getLevelManager().getLevelFromExperience(
-                            context.getGuildTransformer(), context.getPlayerTransformer().getExperience() + zeroExperience
-                        )))
-                        .replace(":experience", NumberUtil.formatNicely(context.getPlayerTransformer().getExperience() - 100))
-                        + "\n\n" + paginator.generateFooter(context.getGuild(), generateCommandTrigger(context.getMessage())),
-                    false
-                );
-            }
+        int rank = leaderboard.getRank(context.getAuthor().getIdLong());
+        if (rank > 0) {
+            message.addField("➡ " + context.i18n("yourRank"), context.i18n("line")
+                    .replace(":num", NumberUtil.formatNicely(rank))
+                    .replace(":username", context.getMember().getEffectiveName())
+                    .replace(":level", NumberUtil.formatNicely(avaire.getLevelManager().getLevelFromExperience(
+                        context.getGuildTransformer(), context.getPlayerTransformer().getExperience() + zeroExperience
+                    )))
+                    .replace(":experience", NumberUtil.formatNicely(context.getPlayerTransformer().getExperience() - 100))
+                    + "\n\n" + paginator.generateFooter(context.getGuild(), generateCommandTrigger(context.getMessage())),
+                false
+            );
         }
 
         if (message.build().getFields().isEmpty()) {
@@ -188,44 +173,4 @@ public class LeaderboardCommand extends Command {
 
         return true;
     }
-
-    private Collection loadTop100From(CommandMessage context) {
-        return (Collection) CacheUtil.getUncheckedUnwrapped(cache, asKey(context, false), () -> {
-            try {
-                return avaire.getDatabase().newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
-                    .where("guild_id", context.getGuild().getId())
-                    .where("active", 1)
-                    .orderBy("experience", "desc")
-                    .take(100)
-                    .get();
-            } catch (SQLException e) {
-                log.error("Failed to fetch leaderboard data for server: " + context.getGuild().getId(), e);
-
-                return Collection.EMPTY_COLLECTION;
-            }
-        });
-    }
-
-    private Collection loadUserRank(CommandMessage context) {
-        return (Collection) CacheUtil.getUncheckedUnwrapped(cache, asKey(context, true), () -> {
-            try {
-                return avaire.getDatabase().query(String.format(
-                    "SELECT COUNT(*) AS rank FROM (" +
-                        "    SELECT `user_id` FROM `experiences` WHERE `guild_id` = '%s' AND `active` = 1 GROUP BY `user_id` HAVING SUM(`experience`) > (" +
-                        "        SELECT SUM(`experience`) FROM `experiences` WHERE `user_id` = '%s' AND `guild_id` = '%s' AND `active` = 1" +
-                        "    )" +
-                        ") t;",
-                    context.getGuild().getId(), context.getAuthor().getId(), context.getGuild().getId()
-                ));
-            } catch (SQLException e) {
-                log.error("Failed to fetch leaderboard data for user: " + context.getGuild().getId(), e);
-
-                return Collection.EMPTY_COLLECTION;
-            }
-        });
-    }
-
-    private String asKey(CommandMessage context, boolean isUser) {
-        return context.getGuild().getId() + (isUser ? "." + context.getAuthor().getId() : "");
-    }
 }
@@ -50,7 +50,6 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -241,18 +240,23 @@ public class RankBackgroundCommand extends Command {
             .setColor(background.getBackgroundColors().getExperienceForegroundColor());
         message.setEmbeds(embed.build());
 
-        try {
+        avaire.getRenderExecutor().renderToBytes(render).whenComplete((bytes, throwable) -> {
+            if (throwable != null || bytes == null) {
+                String error = throwable == null ? "Nothing was rendered" : throwable.getMessage();
+
+                log.error("Failed to render background image: {}", error, throwable);
+                sendErrorMessage(context, context.i18n("failedToSendExampleMessage",
+                    background.getName(), error
+                ));
+                return;
+            }
+
             //noinspection ConstantConditions
             context.getMessageChannel().sendMessage(message.build()).addFile(
-                new ByteArrayInputStream(render.renderToBytes()),
+                new ByteArrayInputStream(bytes),
                 "rank-background.png"
             ).queue();
-        } catch (IOException e) {
-            log.error("Failed to render background image: {}", e.getMessage(), e);
-            return sendErrorMessage(context, context.i18n("failedToSendExampleMessage",
-                background.getName(), e.getMessage()
-            ));
-        }
+        });
 
         return true;
     }
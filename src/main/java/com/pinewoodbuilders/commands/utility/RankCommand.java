@@ -22,7 +22,6 @@
 package com.pinewoodbuilders.commands.utility;
 
 import com.pinewoodbuilders.Xeus;
-import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.commands.CommandHandler;
 import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.commands.CommandPriority;
@@ -30,8 +29,6 @@ import com.pinewoodbuilders.commands.administration.LevelCommand;
 import com.pinewoodbuilders.contracts.commands.Command;
 import com.pinewoodbuilders.contracts.commands.CommandGroup;
 import com.pinewoodbuilders.contracts.commands.CommandGroups;
-import com.pinewoodbuilders.database.collection.Collection;
-import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.database.controllers.PlayerController;
 import com.pinewoodbuilders.database.transformers.GuildTransformer;
 import com.pinewoodbuilders.database.transformers.PlayerTransformer;
@@ -40,11 +37,9 @@ import com.pinewoodbuilders.imagegen.RankBackground;
 import com.pinewoodbuilders.imagegen.RankBackgroundHandler;
 import com.pinewoodbuilders.imagegen.renders.RankBackgroundRender;
 import com.pinewoodbuilders.language.I18n;
-import com.pinewoodbuilders.utilities.CacheUtil;
+import com.pinewoodbuilders.level.GuildLeaderboard;
 import com.pinewoodbuilders.utilities.MentionableUtil;
 import com.pinewoodbuilders.utilities.NumberUtil;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.MessageBuilder;
 import net.dv8tion.jda.api.entities.Guild;
@@ -55,22 +50,13 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import java.awt.*;
 import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 
 public class RankCommand extends Command {
 
-    public static final Cache<Long, Collection> cache = CacheBuilder.newBuilder()
-        .recordStats()
-        .expireAfterWrite(120, TimeUnit.SECONDS)
-        .build();
-
     private static final Logger log = LoggerFactory.getLogger(RankCommand.class);
 
     public RankCommand(Xeus avaire) {
@@ -290,14 +276,19 @@ public class RankCommand extends Command {
             .setColor(background.getBackgroundColors().getExperienceForegroundColor());
         message.setEmbeds(embed.build());
 
-        try {
-            //noinspection ConstantConditions
-            context.getMessageChannel().sendMessage(message.build()).addFile(
-                new ByteArrayInputStream(render.renderToBytes()),
-                attachmentName
-            ).queue();
-        } catch (IOException e) {
-            log.error("Failed to generate the rank background: {}", e.getMessage(), e);
+        avaire.getRenderExecutor().renderToBytes(render).whenComplete((bytes, throwable) -> {
+            if (throwable == null && bytes != null) {
+                //noinspection ConstantConditions
+                context.getMessageChannel().sendMessage(message.build()).addFile(
+                    new ByteArrayInputStream(bytes),
+                    attachmentName
+                ).queue();
+                return;
+            }
+
+            if (throwable != null) {
+                log.error("Failed to generate the rank background: {}", throwable.getMessage(), throwable);
+            }
 
             sendEmbeddedMessage(
                 context, author,
@@ -307,48 +298,33 @@ public class RankCommand extends Command {
                 percentage,
                 properties
             );
-        }
+        });
     }
 
     private CompletableFuture<DatabaseProperties> loadProperties(CommandMessage context, User author) {
         return CompletableFuture.supplyAsync(() -> {
-            try {
-                PlayerTransformer player = context.getAuthor().getIdLong() == author.getIdLong()
-                    ? context.getPlayerTransformer() : PlayerController.fetchPlayer(avaire, context.getMessage(), author);
-
-                DataRow data = avaire.getDatabase().newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
-                    .selectRaw("sum(`global_experience`) - (count(`user_id`) * 100) as `total`")
-                    .where("user_id", author.getId())
-                    .where("active", 1)
-                    .get().first();
-
-                long total = data == null ? (player == null ? 0 : player.getExperience()) : data.getLong("total");
-
-                return new DatabaseProperties(player, total, getScore(context, author.getId()));
-            } catch (SQLException e) {
-                log.error("Error getting player experience : {}", e.getMessage(), e);
-                return null;
+            PlayerTransformer player = context.getAuthor().getIdLong() == author.getIdLong()
+                ? context.getPlayerTransformer() : PlayerController.fetchPlayer(avaire, context.getMessage(), author);
+
+            long total = avaire.getLevelManager().getLeaderboardManager().getGlobalExperience(avaire, author.getIdLong());
+            if (total < 0) {
+                total = player == null ? 0 : player.getExperience();
             }
-        });
+
+            return new DatabaseProperties(player, total, getScore(context, author.getIdLong()));
+        }, avaire.getDatabase().getExecutor());
     }
 
-    private String getScore(CommandMessage context, String userId) throws SQLException {
-        Collection users = (Collection) CacheUtil.getUncheckedUnwrapped(cache, context.getGuild().getIdLong(), () ->
-            avaire.getDatabase().newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
-                .select("user_id as id")
-                .orderBy("experience", "desc")
-                .where("guild_id", context.getGuild().getId())
-                .where("active", 1)
-                .get()
-        );
+    private String getScore(CommandMessage context, long userId) {
+        GuildLeaderboard leaderboard = avaire.getLevelManager().getLeaderboardManager()
+            .getLeaderboard(avaire, context.getGuild().getIdLong());
 
-        for (int i = 0; i < users.size(); i++) {
-            if (Objects.equals(users.get(i).getString("id"), userId)) {
-                return "" + (i + 1);
-            }
+        int rank = leaderboard == null ? -1 : leaderboard.getRank(userId);
+        if (rank < 0) {
+            return context.i18n("unranked");
         }
 
-        return context.i18n("unranked");
+        return "" + rank;
     }
 
     private long getUsersInGuild(Guild guild) {
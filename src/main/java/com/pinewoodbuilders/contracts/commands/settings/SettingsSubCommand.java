@@ -10,6 +10,7 @@ import com.pinewoodbuilders.commands.settings.server.ServerSettingsSubCommand;
 import com.pinewoodbuilders.contracts.commands.Command;
 import com.pinewoodbuilders.contracts.verification.VerificationEntity;
 import com.pinewoodbuilders.database.collection.Collection;
+import com.pinewoodbuilders.database.controllers.GroupModeratorController;
 import com.pinewoodbuilders.database.query.QueryBuilder;
 
 public abstract class SettingsSubCommand {
@@ -66,6 +67,8 @@ public abstract class SettingsSubCommand {
                          .set("is_global_lead", isGroupLead)
                          .set("is_global_admin", isGlobalAdmin);
             });
+
+        GroupModeratorController.forgetCache(mainGroupId);
     }
 
     /**
@@ -76,6 +79,9 @@ public abstract class SettingsSubCommand {
      */
     protected final void removeUserFromModerationTable(Long discordId) throws SQLException {
         avaire.getDatabase().newQueryBuilder(Constants.GROUP_MODERATORS_TABLE).where("discord_id", discordId).delete();
+
+        // The moderator may be listed in multiple groups, so every group is forgotten.
+        GroupModeratorController.forgetAll();
     }
 
     protected final Collection getModeratorByDiscordId(Long discordId) {
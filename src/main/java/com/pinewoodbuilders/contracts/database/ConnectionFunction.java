@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.contracts.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface ConnectionFunction<R> {
+
+    /**
+     * Runs the function with a connection that has been checked out from the
+     * connection pool, the connection is handed back to the pool once the
+     * function returns, so it should never be stored outside the function.
+     *
+     * @param connection The connection checked out for the function.
+     * @return The result of the function.
+     * @throws SQLException If an SQL exception is thrown within the
+     *                      function, it will be passed down the stack.
+     */
+    R run(Connection connection) throws SQLException;
+}
@@ -24,22 +24,25 @@ package com.pinewoodbuilders.contracts.database;
 import com.pinewoodbuilders.contracts.database.grammar.AlterGrammar;
 import com.pinewoodbuilders.contracts.database.grammar.Grammarable;
 import com.pinewoodbuilders.contracts.database.grammar.TableGrammar;
+import com.pinewoodbuilders.contracts.database.query.RowConsumer;
 import com.pinewoodbuilders.database.DatabaseManager;
+import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.query.QueryBuilder;
 import com.pinewoodbuilders.database.schema.Blueprint;
 import com.pinewoodbuilders.metrics.Metrics;
+import com.zaxxer.hikari.HikariDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.WillClose;
-import javax.annotation.WillCloseWhenClosed;
 import javax.annotation.WillNotClose;
 import java.sql.*;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class Database implements DatabaseConnection, Grammarable {
 
@@ -55,28 +58,21 @@ public abstract class Database implements DatabaseConnection, Grammarable {
      * Represents our prepared query statements and their statement
      * type, allowing us to quickly render and compile statements.
      */
-    protected Map<PreparedStatement, StatementInterface> preparedStatements = new HashMap<>();
+    protected Map<PreparedStatement, StatementInterface> preparedStatements = new ConcurrentHashMap<>();
 
     /**
-     * Represents our current database connection, this is
-     * used to send queries to the database, as well as
-     * fetch, and persist data.
+     * Represents our database connection pool, a connection is checked out
+     * from the pool for every query or transaction, and is handed back
+     * to the pool again once the connection is closed.
      */
-    protected Connection connection;
+    protected HikariDataSource dataSource;
 
     /**
-     * Represents the last connection state the
-     * last time the connection was checked.
+     * The amount of time in seconds a single query is allowed to run
+     * for before the driver attempts to cancel it, if the value
+     * is set to zero there is no limit.
      */
-    private boolean lastState;
-
-    /**
-     * Represents the last time in milliseconds the state of the connection
-     * was checked, if the connection was checked less then a few seconds
-     * before, the last state will be returned instead, preventing
-     * checking the actually database by querying it every time.
-     */
-    private long lastChecked;
+    protected int queryTimeout = 0;
 
     /**
      * Sets the Database Manager instance to the database.
@@ -85,9 +81,6 @@ public abstract class Database implements DatabaseConnection, Grammarable {
      */
     public Database(DatabaseManager dbm) {
         this.dbm = dbm;
-
-        lastState = false;
-        lastChecked = 0L;
     }
 
     /**
@@ -123,10 +116,11 @@ public abstract class Database implements DatabaseConnection, Grammarable {
     public abstract String prepareDataValueString(String str);
 
     /**
-     * Attempts to close the database connection.
+     * Attempts to close the database connection pool, any connections that are
+     * currently checked out will be closed once they're handed back to the pool.
      *
-     * @return either (1) <code>TRUE</code> if the database connection was closed successfully
-     * or (2) <code>FALSE</code> if the connection is already close, or an exception was thrown
+     * @return either (1) <code>TRUE</code> if the connection pool was closed successfully
+     * or (2) <code>FALSE</code> if the connection pool is already closed
      * @throws SQLException if a database access error occurs,
      *                      this method is called on a closed <code>Statement</code>, the given
      *                      SQL statement produces anything other than a single
@@ -134,111 +128,136 @@ public abstract class Database implements DatabaseConnection, Grammarable {
      *                      <code>PreparedStatement</code> or <code>CallableStatement</code>
      */
     public final boolean close() throws SQLException {
-        if (connection == null) {
-            log.warn("Could not close connection, it is null.");
+        if (dataSource == null || dataSource.isClosed()) {
+            log.warn("Could not close the connection pool, it is not open.");
             return false;
         }
 
-        try {
-            connection.close();
-            lastState = false;
-            lastChecked = 0L;
+        dataSource.close();
 
-            return true;
-        } catch (SQLException e) {
-            log.warn("Could not close connection, SQLException: " + e.getMessage(), e);
-        }
-        return false;
+        return true;
     }
 
     /**
-     * Returns the current database connection, if the connection is not open/active, it
-     * will attempt to open the connection for you.
+     * Checks out a connection from the connection pool, if the pool is not open it will
+     * attempt to open the pool for you. The connection must be closed by the caller
+     * once it's done with it, closing the connection hands it back to the pool.
      *
      * @return the database connection
-     * @throws SQLException if a database access error occurs,
-     *                      this method is called on a closed <code>Statement</code>, the given
-     *                      SQL statement produces anything other than a single
-     *                      <code>ResultSet</code> object, the method is called on a
-     *                      <code>PreparedStatement</code> or <code>CallableStatement</code>
+     * @throws SQLException if a database access error occurs, or if no connection
+     *                      could be checked out of the pool before the timeout
      */
-    public synchronized Connection getConnection() throws SQLException {
+    public Connection getConnection() throws SQLException {
         if (!isOpen()) {
-            open();
-            lastState = true;
+            synchronized (this) {
+                if (!isOpen() && !open()) {
+                    throw new SQLException("Failed to open the database connection pool.");
+                }
+            }
         }
 
-        return connection;
+        return dataSource.getConnection();
     }
 
     /**
-     * Checks to see if the database connection is still valid.
+     * Checks out a connection from the connection pool and runs the given function with
+     * it, once the function is done the connection is handed back to the pool again.
      *
-     * @return either (1) <code>TRUE</code> if the database connection is open and valid
-     * or (2) <code>FALSE</code> if the database connection is closed
+     * @param function The function that should be run with the connection.
+     * @param <R>      The type of the result returned by the function.
+     * @return The result of the function.
+     * @throws SQLException if a database access error occurs, or if no connection
+     *                      could be checked out of the pool before the timeout
+     */
+    public final <R> R withConnection(ConnectionFunction<R> function) throws SQLException {
+        try (Connection connection = getConnection()) {
+            return function.run(connection);
+        }
+    }
+
+    /**
+     * Checks to see if the database connection pool is open.
+     *
+     * @return either (1) <code>TRUE</code> if the database connection pool is open
+     * or (2) <code>FALSE</code> if the database connection pool is closed
      */
     public final boolean isOpen() {
-        return isOpen(2);
+        return dataSource != null && !dataSource.isClosed();
     }
 
     /**
-     * Checks to see if the database connection is still valid.
+     * Checks to see if the database connection pool is open, and
+     * can hand out valid connections to the database.
      *
      * @param seconds The amount of time to wait for the connection for.
      * @return either (1) <code>TRUE</code> if the database connection is open and valid
      * or (2) <code>FALSE</code> if the database connection is closed
      */
-    public final synchronized boolean isOpen(int seconds) {
-        if (connection != null) {
-            // Returns the last state if the connection was checked less than three seconds ago.
-            if (System.currentTimeMillis() - 5000 < lastChecked) {
-                return lastState;
-            }
-
-            try {
-                if (connection.isClosed()) {
-                    return false;
-                }
-
-                lastState = connection.isValid(seconds);
-                lastChecked = System.currentTimeMillis() - (lastState ? 0L : 250L);
+    public final boolean isOpen(int seconds) {
+        if (!isOpen()) {
+            return false;
+        }
 
-                return lastState;
-            } catch (SQLException e) {
-                if (e instanceof SQLNonTransientConnectionException) {
-                    log.warn("Failed to check if the database connection is open due to a non transient connection exception!", e);
-                }
-                // If the exception type is anything else, we just ignore it.
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(seconds);
+        } catch (SQLException e) {
+            if (e instanceof SQLNonTransientConnectionException) {
+                log.warn("Failed to check if the database connection is open due to a non transient connection exception!", e);
             }
+            // If the exception type is anything else, we just ignore it.
         }
 
         return false;
     }
 
     /**
-     * Queries the database with the given query, the
-     * query should be a <code>SELECT</code> query.
+     * Gets the amount of time in seconds a single query is allowed to run for.
+     *
+     * @return The query timeout in seconds, or zero if there is no limit.
+     */
+    public int getQueryTimeout() {
+        return queryTimeout;
+    }
+
+    /**
+     * Gets the connection pool used by the database.
+     *
+     * @return The connection pool, or {@code NULL} if the pool haven't been opened yet.
+     */
+    @Nullable
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Queries the database with the given query, the query should be a <code>SELECT</code>
+     * query, the result is read into a collection before the connection used to run
+     * the query is handed back to the connection pool.
      *
      * @param query The query to run.
-     * @return the current result as a <code>ResultSet</code> object or
-     * <code>null</code> if the result is an update count or there are no more results
+     * @return the result of the query as a <code>Collection</code> object, if the
+     * query didn't produce a result an empty collection will be returned
      * @throws SQLException if a database access error occurs or this method is called on a
      *                      closed <code>Statement</code>
      */
-    @Nullable
-    @WillCloseWhenClosed
-    public final ResultSet query(String query) throws SQLException {
-        return handleQuery(() -> {
+    @Nonnull
+    public final Collection query(String query) throws SQLException {
+        Collection collection = withConnection(connection -> handleQuery(() -> {
             queryValidation(getStatement(query));
 
-            Statement statement = createPreparedStatement(query);
-            statement.closeOnCompletion();
+            try (Statement statement = createPreparedStatement(connection, query)) {
+                boolean hasResult = statement instanceof PreparedStatement
+                    ? ((PreparedStatement) statement).execute()
+                    : statement.execute(query);
 
-            if (statement.execute(query)) {
-                return statement.getResultSet();
+                if (hasResult) {
+                    return new Collection(statement.getResultSet());
+                }
             }
             throw new SQLException("The query failed to execute successfully: " + query);
-        });
+        }));
+
+        return collection == null ? new Collection() : collection;
     }
 
     /**
@@ -246,19 +265,93 @@ public abstract class Database implements DatabaseConnection, Grammarable {
      * query should be a <code>SELECT</code> query.
      *
      * @param query The query to run.
-     * @return the current result as a <code>ResultSet</code> object or
-     * <code>null</code> if the result is an update count or there are no more results
+     * @return the result of the query as a <code>Collection</code> object, if the
+     * query didn't produce a result an empty collection will be returned
      * @throws SQLException if a database access error occurs or this method is called on a
      *                      closed <code>Statement</code>
      */
-    @Nullable
-    @WillCloseWhenClosed
-    public final ResultSet query(QueryBuilder query) throws SQLException {
+    @Nonnull
+    public final Collection query(QueryBuilder query) throws SQLException {
         return query(query.toSQL());
     }
 
     /**
-     * Queries the database with the given prepared statement.
+     * Queries the database with the given parameterised query, binding the given values to the
+     * placeholders in the query, the query should be a <code>SELECT</code> query. The result
+     * is read into a collection before the connection is handed back to the pool.
+     *
+     * @param query    The parameterised query to run.
+     * @param bindings The values that should be bound to the placeholders in the query.
+     * @return the result of the query as a <code>Collection</code> object, if the
+     * query didn't produce a result an empty collection will be returned
+     * @throws SQLException if a database access error occurs or this method is called on a
+     *                      closed <code>Statement</code>
+     */
+    @Nonnull
+    public final Collection query(String query, List<Object> bindings) throws SQLException {
+        Collection collection = withConnection(connection -> handleQuery(() -> {
+            queryValidation(getStatement(query));
+
+            try (PreparedStatement statement = createBoundStatement(connection, query, bindings, Statement.NO_GENERATED_KEYS)) {
+                if (statement.execute()) {
+                    return new Collection(statement.getResultSet());
+                }
+            }
+            throw new SQLException("The query failed to execute successfully: " + query);
+        }));
+
+        return collection == null ? new Collection() : collection;
+    }
+
+    /**
+     * Streams the result of the given parameterised query row by row to the given consumer,
+     * binding the given values to the placeholders in the query. Unlike the other query
+     * methods the result is never read into a collection, the consumer is called for
+     * each row while the statement and connection is still open, so the consumer
+     * should be quick and must never run other queries on the same thread.
+     *
+     * @param query    The parameterised query to run.
+     * @param bindings The values that should be bound to the placeholders in the query.
+     * @param consumer The consumer that should be called for every row in the result.
+     * @return The amount of rows that was streamed to the consumer, or <code>-1</code>
+     * if the query was run on a broken connection.
+     * @throws SQLException if a database access error occurs, or the consumer fails to read a row
+     */
+    public final int stream(String query, List<Object> bindings, RowConsumer consumer) throws SQLException {
+        Integer rows = withConnection(connection -> handleQuery(() -> {
+            queryValidation(getStatement(query));
+
+            try (PreparedStatement statement = createBoundStatement(connection, query, bindings, Statement.NO_GENERATED_KEYS)) {
+                statement.setFetchSize(getStreamingFetchSize());
+
+                int count = 0;
+                try (ResultSet result = statement.executeQuery()) {
+                    while (result.next()) {
+                        consumer.accept(result);
+                        count++;
+                    }
+                }
+                return count;
+            }
+        }));
+
+        return rows == null ? -1 : rows;
+    }
+
+    /**
+     * Gets the fetch size hint that should be given to the driver when streaming
+     * the result of a query, drivers that buffers the entire result by
+     * default can override this to enable row by row streaming.
+     *
+     * @return The fetch size used for streamed queries, <code>0</code> to use the driver default.
+     */
+    protected int getStreamingFetchSize() {
+        return 0;
+    }
+
+    /**
+     * Queries the database with the given prepared statement, the statement, and
+     * the connection it was created from, is owned and closed by the caller.
      *
      * @param query The prepared statement to run.
      * @return the current result as a <code>ResultSet</code> object or
@@ -277,7 +370,8 @@ public abstract class Database implements DatabaseConnection, Grammarable {
     }
 
     /**
-     * Queries the database with the given prepared statement.
+     * Queries the database with the given prepared statement, the statement, and
+     * the connection it was created from, is owned and closed by the caller.
      *
      * @param query     The prepared statement to run.
      * @param statement The query statement.
@@ -300,17 +394,18 @@ public abstract class Database implements DatabaseConnection, Grammarable {
     }
 
     /**
-     * Prepares a query as a prepared statement before executing it.
+     * Prepares a query as a prepared statement on the given connection before executing it.
      *
-     * @param query The query to prepare.
+     * @param connection The connection the statement should be prepared on.
+     * @param query      The query to prepare.
      * @return The JDBC prepared statement object for the given query.
      * @throws SQLException if a database access error occurs or this method is called on a
      *                      closed <code>Statement</code>
      */
     @WillNotClose
-    public final Statement prepare(String query) throws SQLException {
+    public final Statement prepare(Connection connection, String query) throws SQLException {
         StatementInterface statement = getStatement(query);
-        Statement ps = createPreparedStatement(query);
+        Statement ps = createPreparedStatement(connection, query);
 
         if (ps instanceof PreparedStatement) {
             preparedStatements.put((PreparedStatement) ps, statement);
@@ -319,6 +414,49 @@ public abstract class Database implements DatabaseConnection, Grammarable {
         return ps;
     }
 
+    /**
+     * Creates a statement for the given query on the given connection, unlike the
+     * {@link #prepare(Connection, String) prepare method} the statement is not
+     * tracked by the database, so it can be used for one-off queries.
+     *
+     * @param connection The connection the statement should be created on.
+     * @param query      The query the statement should be created for.
+     * @return The JDBC statement object for the given query.
+     * @throws SQLException if a database access error occurs or this method is called on a
+     *                      closed <code>Statement</code>
+     */
+    @WillNotClose
+    public final Statement createStatement(Connection connection, String query) throws SQLException {
+        return createPreparedStatement(connection, query);
+    }
+
+    /**
+     * Creates a prepared statement for the given parameterised query on the given connection,
+     * and binds the given values to the placeholders in the query. Drivers that support
+     * statement caching will reuse the server-side statement for queries that has
+     * already been prepared on the same connection.
+     *
+     * @param connection        The connection the statement should be prepared on.
+     * @param query             The parameterised query to prepare.
+     * @param bindings          The values that should be bound to the placeholders in the query.
+     * @param autoGeneratedKeys A flag indicating whether auto-generated keys should be returned,
+     *                          either {@link Statement#RETURN_GENERATED_KEYS} or {@link Statement#NO_GENERATED_KEYS}.
+     * @return The JDBC prepared statement object for the given query.
+     * @throws SQLException if a database access error occurs or this method is called on a
+     *                      closed <code>Statement</code>
+     */
+    @WillNotClose
+    public final PreparedStatement createBoundStatement(Connection connection, String query, List<Object> bindings, int autoGeneratedKeys) throws SQLException {
+        PreparedStatement statement = createPreparedStatement(connection, query, autoGeneratedKeys);
+
+        int index = 1;
+        for (Object binding : bindings) {
+            statement.setObject(index++, binding);
+        }
+
+        return statement;
+    }
+
     /**
      * Executes the provided SQL statement as a <code>PreparedStatement</code> object,
      * which must be an SQL Data Manipulation Language (DML) statement, such as <code>INSERT</code>, <code>UPDATE</code> or
@@ -341,16 +479,20 @@ public abstract class Database implements DatabaseConnection, Grammarable {
      */
     @WillClose
     public final List<Long> insert(String query) throws SQLException {
-        List<Long> keys = new ArrayList<>();
+        return withConnection(connection -> {
+            List<Long> keys = new ArrayList<>();
 
-        try (PreparedStatement pstmt = createPreparedStatement(query, 1)) {
-            ResultSet key = pstmt.getGeneratedKeys();
-            if (key.next()) {
-                keys.add(key.getLong(1));
-            }
+            try (PreparedStatement pstmt = createPreparedStatement(connection, query, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.executeUpdate();
 
-            return keys;
-        }
+                ResultSet key = pstmt.getGeneratedKeys();
+                if (key.next()) {
+                    keys.add(key.getLong(1));
+                }
+
+                return keys;
+            }
+        });
     }
 
     /**
@@ -387,39 +529,44 @@ public abstract class Database implements DatabaseConnection, Grammarable {
     }
 
     @Nullable
-    private ResultSet handleQuery(SupplierWithSQL<ResultSet> callback) throws SQLException {
+    private <R> R handleQuery(SupplierWithSQL<R> callback) throws SQLException {
         try {
             return callback.get();
         } catch (SQLNonTransientConnectionException e) {
-            if (e.getMessage().contains("connection closed")) {
-                log.error("Attempted to run a query after the connection was closed, closing and re-opening the connection.", e);
+            // The connection pool evicts connections that throws non transient connection
+            // exceptions by itself, so the next query will be given a fresh connection.
+            log.error("Attempted to run a query on a broken connection, the connection will be evicted from the pool.", e);
 
-                // The connection should already be closed, we're just forcefully close the
-                // connection here so that the database manage can see that connection is
-                // closed, and so the connection can be reopened on the next request.
-                close();
-            }
             return null;
         }
     }
 
-    protected Statement createPreparedStatement(String query) throws SQLException {
+    protected Statement createPreparedStatement(Connection connection, String query) throws SQLException {
         Metrics.databaseQueries.labels(query.split(" ")[0].toUpperCase()).inc();
 
-        return getConnection().prepareStatement(query);
+        PreparedStatement statement = connection.prepareStatement(query);
+        statement.setQueryTimeout(queryTimeout);
+
+        return statement;
     }
 
-    private PreparedStatement createPreparedStatement(String query, int autoGeneratedKeys) throws SQLException {
+    private PreparedStatement createPreparedStatement(Connection connection, String query, int autoGeneratedKeys) throws SQLException {
         Metrics.databaseQueries.labels(query.split(" ")[0].toUpperCase()).inc();
 
-        return getConnection().prepareStatement(query, autoGeneratedKeys);
+        PreparedStatement statement = connection.prepareStatement(query, autoGeneratedKeys);
+        statement.setQueryTimeout(queryTimeout);
+
+        return statement;
     }
 
     protected String setupAndRun(TableGrammar grammar, QueryBuilder builder, DatabaseManager manager, Map<String, Boolean> options) {
         grammar.setDBM(manager);
         grammar.setOptions(options);
 
-        return grammar.format(builder);
+        String query = grammar.format(builder);
+        builder.setBindings(grammar.getBindings());
+
+        return query;
     }
 
     protected String setupAndRun(AlterGrammar grammar, Blueprint blueprint, DatabaseManager manager, Map<String, Boolean> options) {
@@ -23,6 +23,7 @@ package com.pinewoodbuilders.contracts.database.grammar;
 
 import com.pinewoodbuilders.database.DatabaseManager;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -56,6 +57,13 @@ public abstract class Grammar {
      */
     protected String query;
 
+    /**
+     * The values that should be bound to the placeholders in the query, in the
+     * same order as the placeholders appear in the query, this is only used
+     * when the grammar is generating a prepared query.
+     */
+    protected final List<Object> bindings = new ArrayList<>();
+
     public void setDBM(DatabaseManager dbm) {
         this.dbm = dbm;
     }
@@ -68,6 +76,41 @@ public abstract class Grammar {
         return query;
     }
 
+    public List<Object> getBindings() {
+        return bindings;
+    }
+
+    /**
+     * Checks if the grammar should generate a prepared query, where values are
+     * replaced with placeholders and bound to the statement separately.
+     *
+     * @return either (1) <code>TRUE</code> if the grammar should use placeholders for values
+     * or (2) <code>FALSE</code> if the values should be rendered inline
+     */
+    protected boolean isPrepared() {
+        return options != null && options.getOrDefault("prepared", Boolean.FALSE);
+    }
+
+    /**
+     * Adds the given value to the list of bindings and returns the placeholder
+     * that should be used for the value in the query, booleans are stored as
+     * 1 or 0, and any other non-primitive type is stored as its string value.
+     *
+     * @param value The value that should be bound to the query.
+     * @return the placeholder for the value.
+     */
+    protected String bind(Object value) {
+        if (value instanceof Boolean) {
+            value = (Boolean) value ? 1 : 0;
+        } else if (!(value instanceof Number) && !(value instanceof String)) {
+            value = value.toString();
+        }
+
+        bindings.add(value);
+
+        return "?";
+    }
+
     /**
      * Checks to see if a string is numeric, this will help
      * determine how to format values into the query.
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.contracts.database.query;
+
+import com.pinewoodbuilders.database.query.QueryBuilder;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Maps a single row to a typed object while streaming the result of a query, used by
+     * {@link QueryBuilder#map(RowMapper) map}, the result set is already moved
+     * to the row, and must not be moved or closed by the mapper.
+     *
+     * @param row The result set, positioned at the current row.
+     * @return The object the row was mapped to.
+     * @throws SQLException If a database access error occurs while reading the row.
+     */
+    T map(ResultSet row) throws SQLException;
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.pinewoodbuilders.database;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.pinewoodbuilders.contracts.database.SupplierWithSQL;
+import com.pinewoodbuilders.metrics.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.sql.SQLException;
+import java.util.concurrent.*;
+
+/**
+ * The database executor is a bounded thread pool used for running blocking database
+ * work off the JDA event threads, and off the common fork join pool, which is
+ * shared with the rest of the JVM. The size of the pool should match the size
+ * of the database connection pool, since every thread can only ever hold
+ * one connection, anymore threads would just wait for a connection.
+ * <p>
+ * When the queue is full the task is run on the thread that submitted it, slowing
+ * down whatever is producing the database work, instead of dropping the task.
+ */
+public class DatabaseExecutor extends ThreadPoolExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseExecutor.class);
+
+    /**
+     * Creates a new database executor with the given amount of
+     * threads, and the given maximum amount of queued tasks.
+     *
+     * @param threads   The amount of threads that should be used to run database work.
+     * @param queueSize The maximum amount of tasks that can be waiting to run.
+     */
+    DatabaseExecutor(int threads, int queueSize) {
+        super(
+            threads, threads,
+            60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(queueSize),
+            new ThreadFactoryBuilder()
+                .setNameFormat("database-executor-%d")
+                .setDaemon(true)
+                .build(),
+            (task, executor) -> {
+                Metrics.databaseExecutorRejected.inc();
+
+                if (executor.isShutdown()) {
+                    throw new RejectedExecutionException("The database executor has been shutdown");
+                }
+
+                log.debug("The database executor queue is full, running task on the calling thread instead");
+                task.run();
+            }
+        );
+
+        allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs the given supplier on the database executor, the returned future will be
+     * completed exceptionally if the supplier throws a {@link SQLException}, or
+     * any other exception, instead of the exception being swallowed.
+     *
+     * @param supplier The supplier that should be run on the database executor.
+     * @param <R>      The result type of the supplier.
+     * @return A future that will be completed with the result of the supplier.
+     */
+    public <R> CompletableFuture<R> supply(@Nonnull SupplierWithSQL<R> supplier) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+
+        execute(() -> {
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        return future;
+    }
+
+    @Override
+    public void execute(@Nonnull Runnable command) {
+        super.execute(command);
+        Metrics.databaseExecutorQueue.set(getQueue().size());
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable runnable) {
+        Metrics.databaseExecutorActive.inc();
+        Metrics.databaseExecutorQueue.set(getQueue().size());
+    }
+
+    @Override
+    protected void afterExecute(Runnable runnable, Throwable throwable) {
+        Metrics.databaseExecutorActive.dec();
+    }
+}
@@ -23,6 +23,7 @@ package com.pinewoodbuilders.database;
 
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.database.BatchQueryFunction;
+import com.pinewoodbuilders.contracts.database.ConnectionFunction;
 import com.pinewoodbuilders.contracts.database.Database;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.connections.MySQL;
@@ -32,17 +33,21 @@ import com.pinewoodbuilders.database.migrate.Migrations;
 import com.pinewoodbuilders.database.query.QueryBuilder;
 import com.pinewoodbuilders.database.schema.Schema;
 import com.pinewoodbuilders.database.seeder.SeederManager;
-import com.pinewoodbuilders.metrics.Metrics;
 import com.mysql.cj.jdbc.exceptions.MySQLTransactionRollbackException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
+import javax.annotation.Nullable;
 import javax.annotation.WillClose;
 import java.sql.*;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class DatabaseManager {
@@ -58,7 +63,8 @@ public class DatabaseManager {
     private final Set<Integer> runningBatchRequests;
 
     private int queryRetries = 5;
-    private Database connection = null;
+    private volatile Database connection = null;
+    private volatile DatabaseExecutor executor = null;
 
     public DatabaseManager(Xeus avaire) {
         this.avaire = avaire;
@@ -67,7 +73,7 @@ public class DatabaseManager {
         this.seeder = new SeederManager();
 
         this.batchIncrementer = new AtomicInteger(0);
-        this.runningBatchRequests = new HashSet<>();
+        this.runningBatchRequests = ConcurrentHashMap.newKeySet();
     }
 
     public Xeus getAvaire() {
@@ -86,31 +92,104 @@ public class DatabaseManager {
         return seeder;
     }
 
+    /**
+     * Gets the database connection pool, creating and opening the pool if it
+     * doesn't exist yet, connections should be checked out from the pool
+     * for each query or transaction using {@link Database#getConnection()},
+     * or {@link Database#withConnection(ConnectionFunction)}.
+     *
+     * @return The database connection pool.
+     * @throws SQLException      If the connection pool failed to open.
+     * @throws DatabaseException If the database type is invalid, or the connection failed.
+     */
     public Database getConnection() throws SQLException, DatabaseException {
-        if (connection == null) {
-            switch (avaire.getConfig().getString("database.type", "invalid").toLowerCase()) {
-                case "mysql":
-                    connection = new MySQL(this);
-                    break;
-
-                case "sqlite":
-                    connection = new SQLite(this);
-                    break;
-
-                default:
-                    throw new DatabaseException("Invalid database type given, failed to create a new database connection.");
-            }
+        Database database = connection;
+        if (database != null && database.isOpen()) {
+            return database;
         }
 
-        if (connection.isOpen()) {
+        synchronized (this) {
+            if (connection == null) {
+                switch (avaire.getConfig().getString("database.type", "invalid").toLowerCase()) {
+                    case "mysql":
+                        connection = new MySQL(this);
+                        break;
+
+                    case "sqlite":
+                        connection = new SQLite(this);
+                        break;
+
+                    default:
+                        throw new DatabaseException("Invalid database type given, failed to create a new database connection.");
+                }
+            }
+
+            if (connection.isOpen()) {
+                return connection;
+            }
+
+            if (!connection.open()) {
+                throw new DatabaseException("Failed to connect to the database.");
+            }
+
             return connection;
         }
+    }
 
-        if (!connection.open()) {
-            throw new DatabaseException("Failed to connect to the database.");
+    /**
+     * Gets the database executor, creating the executor if it doesn't exist yet, the
+     * executor should be used for running any blocking database work that
+     * shouldn't block the current thread, like the JDA event threads.
+     *
+     * @return The database executor.
+     */
+    public DatabaseExecutor getExecutor() {
+        DatabaseExecutor current = executor;
+        if (current != null) {
+            return current;
         }
 
-        return connection;
+        synchronized (this) {
+            if (executor == null) {
+                executor = new DatabaseExecutor(
+                    Math.max(1, avaire.getConfig().getInt("database.pool.executor-threads",
+                        avaire.getConfig().getInt("database.pool.maximum-size", 10)
+                    )),
+                    Math.max(1, avaire.getConfig().getInt("database.pool.executor-queue-size", 5000))
+                );
+            }
+            return executor;
+        }
+    }
+
+    /**
+     * Shuts down the database executor, waiting up to the given amount of time
+     * for any queued database work to finish, and then closes the connection
+     * pool, any connections still checked out will be closed as well.
+     *
+     * @param timeout The amount of time to wait for queued work to finish.
+     * @param unit    The unit of the timeout.
+     * @throws SQLException If the connection pool failed to close.
+     */
+    public void shutdown(long timeout, TimeUnit unit) throws SQLException {
+        DatabaseExecutor current = executor;
+        if (current != null) {
+            current.shutdown();
+
+            try {
+                if (!current.awaitTermination(timeout, unit)) {
+                    log.warn("Database executor failed to finish {} queued tasks before shutting down", current.getQueue().size());
+                    current.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                current.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (connection != null) {
+            connection.close();
+        }
     }
 
     public void setRetries(int retries) {
@@ -143,7 +222,7 @@ public class DatabaseManager {
         log.debug("query(String query) was called with the following SQL query.\nSQL: " + query);
         MDC.put("query", query);
 
-        return runQuery(query, queryRetries);
+        return runQuery(query, null, queryRetries);
     }
 
     /**
@@ -166,7 +245,11 @@ public class DatabaseManager {
      */
     @WillClose
     public Collection query(QueryBuilder query) throws SQLException {
-        return query(query.toSQL());
+        String sql = query.toPreparedSQL();
+        log.debug("query(QueryBuilder query) was called with the following SQL query.\nSQL: " + sql);
+        MDC.put("query", sql);
+
+        return runQuery(sql, query.getBindings(), queryRetries);
     }
 
     /**
@@ -190,7 +273,7 @@ public class DatabaseManager {
         log.debug("queryUpdate(String query) was called with the following SQL query.\nSQL: " + query);
         MDC.put("query", query);
 
-        return runQueryUpdate(query, queryRetries);
+        return runQueryUpdate(query, null, queryRetries);
     }
 
     /**
@@ -212,7 +295,11 @@ public class DatabaseManager {
      */
     @WillClose
     public int queryUpdate(QueryBuilder query) throws SQLException {
-        return queryUpdate(query.toSQL());
+        String sql = query.toPreparedSQL();
+        log.debug("queryUpdate(QueryBuilder query) was called with the following SQL query.\nSQL: " + sql);
+        MDC.put("query", sql);
+
+        return runQueryUpdate(sql, query.getBindings(), queryRetries);
     }
 
     /**
@@ -235,14 +322,13 @@ public class DatabaseManager {
         if (log.isDebugEnabled()) {
             log.debug("queryInsert(String query) was called with the following SQL query.\nSQL: " + query);
         }
-        Metrics.databaseQueries.labels("INSERT").inc();
         MDC.put("query", query);
 
         if (!query.toUpperCase().startsWith("INSERT INTO")) {
             throw new DatabaseException("queryInsert was called with a query without an INSERT statement!");
         }
 
-        return runQueryInsert(query, queryRetries);
+        return runQueryInsert(query, Collections.emptyList(), queryRetries);
     }
 
     /**
@@ -263,9 +349,8 @@ public class DatabaseManager {
      */
     @WillClose
     public Set<Integer> queryInsert(QueryBuilder queryBuilder) throws SQLException {
-        String query = queryBuilder.toSQL();
+        String query = queryBuilder.toPreparedSQL();
         log.debug("queryInsert(QueryBuilder queryBuilder) was called with the following SQL query.\nSQL: " + query);
-        Metrics.databaseQueries.labels("INSERT").inc();
         MDC.put("query", query);
 
         if (query == null) {
@@ -276,7 +361,78 @@ public class DatabaseManager {
             throw new DatabaseException("queryInsert was called with a query without an INSERT statement!");
         }
 
-        return runQueryInsert(queryBuilder, queryRetries);
+        return runQueryInsert(query, queryBuilder.getBindings(), queryRetries);
+    }
+
+    /**
+     * Executes the given SQL statement on the {@link #getExecutor() database executor},
+     * the returned future will be completed with the result of the query, or
+     * completed exceptionally if the query failed.
+     *
+     * @param query an SQL statement to be sent to the database, typically a
+     *              static SQL <code>SELECT</code> statement
+     * @return a future that will be completed with the <code>Collection</code> object
+     * that contains the data produced by the given query
+     * @see #query(String)
+     */
+    public CompletableFuture<Collection> queryAsync(String query) {
+        return getExecutor().supply(() -> query(query));
+    }
+
+    /**
+     * Executes the SQL statement generated by the query builder on the {@link #getExecutor() database
+     * executor}, the returned future will be completed with the result of the query,
+     * or completed exceptionally if the query failed.
+     *
+     * @param query a QueryBuilder instance that should be sent to the database, typically a
+     *              static SQL <code>SELECT</code> statement
+     * @return a future that will be completed with the <code>Collection</code> object
+     * that contains the data produced by the given query
+     * @see #query(QueryBuilder)
+     */
+    public CompletableFuture<Collection> queryAsync(QueryBuilder query) {
+        return getExecutor().supply(() -> query(query));
+    }
+
+    /**
+     * Executes the given SQL DML statement on the {@link #getExecutor() database executor},
+     * the returned future will be completed with the row count of the query, or
+     * completed exceptionally if the query failed.
+     *
+     * @param query an SQL statement to be sent to the database, typically a static SQL DML statement
+     * @return a future that will be completed with the row count for the query
+     * @see #queryUpdate(String)
+     */
+    public CompletableFuture<Integer> queryUpdateAsync(String query) {
+        return getExecutor().supply(() -> queryUpdate(query));
+    }
+
+    /**
+     * Executes the SQL DML statement generated by the query builder on the {@link #getExecutor()
+     * database executor}, the returned future will be completed with the row count
+     * of the query, or completed exceptionally if the query failed.
+     *
+     * @param query a QueryBuilder instance that should be sent to the database, typically a
+     *              static SQL DML statement
+     * @return a future that will be completed with the row count for the query
+     * @see #queryUpdate(QueryBuilder)
+     */
+    public CompletableFuture<Integer> queryUpdateAsync(QueryBuilder query) {
+        return getExecutor().supply(() -> queryUpdate(query));
+    }
+
+    /**
+     * Executes the SQL INSERT statement generated by the query builder on the {@link #getExecutor()
+     * database executor}, the returned future will be completed with the IDs of the
+     * inserted rows, or completed exceptionally if the query failed.
+     *
+     * @param queryBuilder a QueryBuilder instance that should be sent to the database, typically a
+     *                     static SQL INSERT statement
+     * @return a future that will be completed with a set of IDs referring to the insert rows
+     * @see #queryInsert(QueryBuilder)
+     */
+    public CompletableFuture<Set<Integer>> queryInsertAsync(QueryBuilder queryBuilder) {
+        return getExecutor().supply(() -> queryInsert(queryBuilder));
     }
 
     /**
@@ -284,7 +440,8 @@ public class DatabaseManager {
      * up a batch request which is then invoked at the end of the {@code queryFunction}, the
      * {@code queryFunction} should only add batches to the prepared statement, the actual
      * executing of the batch request, committing the query, and rolling back in case of
-     * errors is all done by the queryBatch method.
+     * errors is all done by the queryBatch method, the exception that caused the rollback is
+     * re-thrown once the batch has been rolled back, so callers can retry the batch later.
      * <p>
      * <strong>Example:</strong>
      * <pre><code>
@@ -327,30 +484,16 @@ public class DatabaseManager {
     }
 
     @WillClose
-    private Collection runQuery(String query, int retriesLeft) throws SQLException {
-        try (ResultSet resultSet = getConnection().query(query)) {
-            return new Collection(resultSet);
-        } catch (MySQLTransactionRollbackException e) {
-            if (--retriesLeft > 0) {
-                return runQuery(query, --retriesLeft);
-            }
-            throw new MySQLTransactionRollbackException(
-                e.getMessage(), e.getSQLState(), e.getErrorCode()
-            );
-        }
-    }
-
-    @WillClose
-    private int runQueryUpdate(String query, int retriesLeft) throws SQLException {
-        try (Statement stmt = getConnection().prepare(query)) {
-            if (stmt instanceof PreparedStatement) {
-                return ((PreparedStatement) stmt).executeUpdate();
+    private Collection runQuery(String query, @Nullable List<Object> bindings, int retriesLeft) throws SQLException {
+        try {
+            if (bindings == null) {
+                return getConnection().query(query);
             }
 
-            return stmt.executeUpdate(query);
+            return getConnection().query(query, bindings);
         } catch (MySQLTransactionRollbackException e) {
             if (--retriesLeft > 0) {
-                return runQueryUpdate(query, retriesLeft);
+                return runQuery(query, bindings, --retriesLeft);
             }
             throw new MySQLTransactionRollbackException(
                 e.getMessage(), e.getSQLState(), e.getErrorCode()
@@ -359,21 +502,26 @@ public class DatabaseManager {
     }
 
     @WillClose
-    private Set<Integer> runQueryInsert(String query, int retriesLeft) throws SQLException {
-        try (PreparedStatement stmt = getConnection().getConnection().prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.executeUpdate();
-
-            Set<Integer> ids = new HashSet<>();
+    private int runQueryUpdate(String query, @Nullable List<Object> bindings, int retriesLeft) throws SQLException {
+        Database database = getConnection();
 
-            ResultSet keys = stmt.getGeneratedKeys();
-            while (keys.next()) {
-                ids.add(keys.getInt(1));
+        try (Connection connection = database.getConnection()) {
+            if (bindings != null) {
+                try (PreparedStatement stmt = database.createBoundStatement(connection, query, bindings, Statement.NO_GENERATED_KEYS)) {
+                    return stmt.executeUpdate();
+                }
             }
 
-            return ids;
+            try (Statement stmt = database.createStatement(connection, query)) {
+                if (stmt instanceof PreparedStatement) {
+                    return ((PreparedStatement) stmt).executeUpdate();
+                }
+
+                return stmt.executeUpdate(query);
+            }
         } catch (MySQLTransactionRollbackException e) {
             if (--retriesLeft > 0) {
-                return runQueryInsert(query, retriesLeft);
+                return runQueryUpdate(query, bindings, retriesLeft);
             }
             throw new MySQLTransactionRollbackException(
                 e.getMessage(), e.getSQLState(), e.getErrorCode()
@@ -382,30 +530,11 @@ public class DatabaseManager {
     }
 
     @WillClose
-    private Set<Integer> runQueryInsert(QueryBuilder queryBuilder, int retriesLeft) throws SQLException {
-        String query = queryBuilder.toSQL();
-
-        try (PreparedStatement stmt = getConnection().getConnection().prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
-            int preparedIndex = 1;
-            for (Map<String, Object> row : queryBuilder.getItems()) {
-                for (Map.Entry<String, Object> item : row.entrySet()) {
-                    if (item.getValue() == null) {
-                        continue;
-                    }
-
-                    String value = item.getValue().toString();
-
-                    if (value.startsWith("RAW:") ||
-                        value.equalsIgnoreCase("true") ||
-                        value.equalsIgnoreCase("false") ||
-                        value.matches("[-+]?\\d*\\.?\\d+")) {
-                        continue;
-                    }
-
-                    stmt.setString(preparedIndex++, value);
-                }
-            }
+    private Set<Integer> runQueryInsert(String query, List<Object> bindings, int retriesLeft) throws SQLException {
+        Database database = getConnection();
 
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = database.createBoundStatement(connection, query, bindings, Statement.RETURN_GENERATED_KEYS)) {
             stmt.executeUpdate();
 
             Set<Integer> ids = new HashSet<>();
@@ -418,7 +547,7 @@ public class DatabaseManager {
             return ids;
         } catch (MySQLTransactionRollbackException e) {
             if (--retriesLeft > 0) {
-                return runQueryInsert(query, retriesLeft);
+                return runQueryInsert(query, bindings, retriesLeft);
             }
             throw new MySQLTransactionRollbackException(
                 e.getMessage(), e.getSQLState(), e.getErrorCode()
@@ -431,41 +560,51 @@ public class DatabaseManager {
             query, batchId, retriesLeft
         );
 
-        Connection connection = getConnection().getConnection();
+        runningBatchRequests.add(batchId);
 
-        if (!runningBatchRequests.contains(batchId)) {
-            runningBatchRequests.add(batchId);
-        }
+        boolean shouldRetry = false;
 
-        try {
+        // Batch requests are run as a single transaction on a connection that is checked out
+        // from the pool just for the batch, so other queries running at the same time
+        // are never affected by the auto commit state of the batch request.
+        try (Connection connection = getConnection().getConnection()) {
             connection.setAutoCommit(false);
 
             try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
                 queryFunction.run(preparedStatement);
 
                 preparedStatement.executeBatch();
-            }
-        } catch (SQLException e) {
-            log.error("An SQL exception was thrown while running a batch query: {}", query, e);
-
-            try {
-                connection.rollback();
-            } catch (SQLException e1) {
-                log.error("An SQL exception was thrown while attempting to rollback a batch query: {}", query, e);
-            }
-        } finally {
-            try {
                 connection.commit();
-
-                runningBatchRequests.remove(batchId);
-                if (runningBatchRequests.isEmpty()) {
-                    connection.setAutoCommit(true);
-                }
             } catch (MySQLTransactionRollbackException e) {
-                if (--retriesLeft > 0) {
-                    runQueryBatch(query, queryFunction, batchId, retriesLeft);
+                rollback(connection, query);
+
+                shouldRetry = --retriesLeft > 0;
+                if (!shouldRetry) {
+                    throw e;
                 }
+            } catch (SQLException e) {
+                log.error("An SQL exception was thrown while running a batch query: {}", query, e);
+
+                rollback(connection, query);
+
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
             }
+        } finally {
+            runningBatchRequests.remove(batchId);
+        }
+
+        if (shouldRetry) {
+            runQueryBatch(query, queryFunction, batchId, retriesLeft);
+        }
+    }
+
+    private void rollback(Connection connection, String query) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            log.error("An SQL exception was thrown while attempting to rollback a batch query: {}", query, e);
         }
     }
 }
@@ -30,10 +30,12 @@ import org.apache.commons.collections4.ListUtils;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.security.SecureRandom;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.*;
 
 @SuppressWarnings({"WeakerAccess", "unused"})
@@ -122,18 +124,25 @@ public class Collection implements Cloneable, Iterable<DataRow> {
         }
 
         ResultSetMetaData meta = result.getMetaData();
-        for (int i = 1; i <= meta.getColumnCount(); i++) {
+        int columnCount = meta.getColumnCount();
+
+        Map<String, Integer> columns = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        boolean[] integerColumns = new boolean[columnCount];
+
+        for (int i = 1; i <= columnCount; i++) {
             keys.put(meta.getColumnLabel(i), meta.getColumnClassName(i));
+            columns.putIfAbsent(meta.getColumnLabel(i), i - 1);
+            integerColumns[i - 1] = isIntegerColumn(meta, i);
         }
 
         while (result.next()) {
-            Map<String, Object> array = new HashMap<>();
+            Object[] values = new Object[columnCount];
 
-            for (String key : keys.keySet()) {
-                array.put(key, result.getString(key));
+            for (int i = 0; i < columnCount; i++) {
+                values[i] = readColumn(result, i + 1, integerColumns[i]);
             }
 
-            items.add(new DataRow(array));
+            items.add(new DataRow(columns, values));
         }
 
         if (!result.isClosed()) {
@@ -141,6 +150,51 @@ public class Collection implements Cloneable, Iterable<DataRow> {
         }
     }
 
+    /**
+     * Reads the value of the given column from the current row of the result set, integer
+     * columns are read as their native long value, while every other column type is
+     * read as a string, so date, decimal, and text columns are parsed by the
+     * {@link DataRow} getters the same way they always have been.
+     *
+     * @param result  The result set to read the column from.
+     * @param column  The index of the column that should be read, starting at 1.
+     * @param integer Whether the column is an integer column or not.
+     * @return The value of the column, or {@code NULL} if the column is SQL <code>NULL</code>.
+     * @throws SQLException If the column index isn't valid, or a database access error occurs.
+     */
+    static Object readColumn(ResultSet result, int column, boolean integer) throws SQLException {
+        if (!integer) {
+            return result.getString(column);
+        }
+
+        long value = result.getLong(column);
+        return result.wasNull() ? null : value;
+    }
+
+    /**
+     * Checks if the given column is an integer column that fits
+     * within a long, allowing it to be read natively.
+     *
+     * @param meta   The meta data for the result set.
+     * @param column The index of the column that should be checked, starting at 1.
+     * @return {@code True} if the column can be read as a long, {@code False} otherwise.
+     * @throws SQLException If the column index isn't valid, or a database access error occurs.
+     */
+    static boolean isIntegerColumn(ResultSetMetaData meta, int column) throws SQLException {
+        switch (meta.getColumnType(column)) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                // Unsigned bigint columns are mapped to BigInteger by the MySQL driver,
+                // which won't always fit within a long, so we read them as strings.
+                return !BigInteger.class.getName().equals(meta.getColumnClassName(column));
+
+            default:
+                return false;
+        }
+    }
+
     /**
      * Gets all the <code>DataRow</code> items from the collection.
      *
@@ -238,8 +292,11 @@ public class Collection implements Cloneable, Iterable<DataRow> {
      */
     public boolean contains(Object item) {
         return items.stream().anyMatch((row)
-            -> (row.keySet().stream().anyMatch((key)
-            -> (row.get(key).equals(item)))));
+            -> (row.keySet().stream().anyMatch((key) -> {
+            Object value = row.get(key);
+
+            return value != null && (value.equals(item) || value.toString().equals(item));
+        })));
     }
 
     /**
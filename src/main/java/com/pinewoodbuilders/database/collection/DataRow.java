@@ -36,8 +36,21 @@ import java.util.TreeMap;
 @SuppressWarnings("WeakerAccess")
 public class DataRow {
 
-    private final Map<String, Object> items;
-    private final Map<String, String> decodedItems;
+    /**
+     * The column index shared by every row created from the same result set, mapping
+     * the column label to the position of the value in the values array, this is
+     * {@code NULL} for rows that was created from a map of items.
+     */
+    private final Map<String, Integer> columns;
+
+    /**
+     * The column values for rows created from a result set, in
+     * the same order as the columns in the result set.
+     */
+    private final Object[] values;
+
+    private Map<String, Object> items;
+    private Map<String, String> decodedItems;
 
     /**
      * Creates a new data row object from the provided data row.
@@ -45,7 +58,15 @@ public class DataRow {
      * @param row The row to generate the data row from.
      */
     public DataRow(DataRow row) {
-        this(row.items);
+        if (row.values != null) {
+            this.columns = row.columns;
+            this.values = row.values.clone();
+            return;
+        }
+
+        this.columns = null;
+        this.values = null;
+        this.items = copyItems(row.items);
     }
 
     /**
@@ -54,12 +75,22 @@ public class DataRow {
      * @param items The map to generate the data row from.
      */
     public DataRow(Map<String, Object> items) {
-        this.items = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        this.decodedItems = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        this.columns = null;
+        this.values = null;
+        this.items = copyItems(items);
+    }
 
-        for (Map.Entry<String, Object> item : items.entrySet()) {
-            this.items.put(item.getKey(), item.getValue());
-        }
+    /**
+     * Creates a new column indexed data row object, the column index is shared between
+     * every row created from the same result set, so each row only has to store
+     * its values, instead of building a map of items for every row.
+     *
+     * @param columns The case-insensitive column index for the row.
+     * @param values  The column values for the row.
+     */
+    DataRow(Map<String, Integer> columns, Object[] values) {
+        this.columns = columns;
+        this.values = values;
     }
 
     /**
@@ -82,6 +113,12 @@ public class DataRow {
      * or (2) the default value given.
      */
     public Object get(String name, Object def) {
+        if (values != null) {
+            Integer index = columns.get(name);
+
+            return index == null ? def : values[index];
+        }
+
         if (has(name)) {
             return items.get(name);
         }
@@ -121,6 +158,10 @@ public class DataRow {
             return isEqual(str, "1", "true");
         }
 
+        if (value instanceof Number) {
+            return ((Number) value).intValue() == 1;
+        }
+
         return (boolean) value;
     }
 
@@ -160,25 +201,11 @@ public class DataRow {
             }
         }
 
-        switch (getType(value)) {
-            case "Integer":
-                value = ((Integer) value).doubleValue();
-                break;
-
-            case "Long":
-                value = ((Long) value).doubleValue();
-                break;
-
-            case "Float":
-                value = ((Float) value).doubleValue();
-                break;
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
         }
 
-        try {
-            return (double) value;
-        } catch (ClassCastException ex) {
-            return def;
-        }
+        return def;
     }
 
     /**
@@ -213,25 +240,11 @@ public class DataRow {
             return NumberUtil.parseInt(str, def);
         }
 
-        switch (getType(value)) {
-            case "Double":
-                value = ((Double) value).intValue();
-                break;
-
-            case "Long":
-                value = ((Long) value).intValue();
-                break;
-
-            case "Float":
-                value = ((Float) value).intValue();
-                break;
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
         }
 
-        try {
-            return (int) value;
-        } catch (ClassCastException ex) {
-            return def;
-        }
+        return def;
     }
 
     /**
@@ -270,25 +283,11 @@ public class DataRow {
             }
         }
 
-        switch (getType(value)) {
-            case "Double":
-                value = ((Double) value).longValue();
-                break;
-
-            case "Integer":
-                value = ((Integer) value).longValue();
-                break;
-
-            case "Float":
-                value = ((Float) value).longValue();
-                break;
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
         }
 
-        try {
-            return (long) value;
-        } catch (ClassCastException ex) {
-            return def;
-        }
+        return def;
     }
 
     /**
@@ -327,25 +326,11 @@ public class DataRow {
             }
         }
 
-        switch (getType(value)) {
-            case "Double":
-                value = ((Double) value).floatValue();
-                break;
-
-            case "Integer":
-                value = ((Integer) value).floatValue();
-                break;
-
-            case "Long":
-                value = ((Long) value).floatValue();
-                break;
+        if (value instanceof Number) {
+            return ((Number) value).floatValue();
         }
 
-        try {
-            return (float) value;
-        } catch (ClassCastException ex) {
-            return def;
-        }
+        return def;
     }
 
     /**
@@ -380,7 +365,9 @@ public class DataRow {
             return string;
         }
 
-        if (decodedItems.containsKey(name)) {
+        if (decodedItems == null) {
+            decodedItems = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        } else if (decodedItems.containsKey(name)) {
             return decodedItems.get(name);
         }
 
@@ -435,6 +422,10 @@ public class DataRow {
      * @return true if the index exists, otherwise it will return false.
      */
     public boolean has(String name) {
+        if (values != null) {
+            return columns.containsKey(name);
+        }
+
         return items.containsKey(name);
     }
 
@@ -444,6 +435,10 @@ public class DataRow {
      * @return All the keys from the data row.
      */
     public Set<String> keySet() {
+        if (values != null) {
+            return columns.keySet();
+        }
+
         return items.keySet();
     }
 
@@ -453,6 +448,14 @@ public class DataRow {
      * @return The raw data of the data row.
      */
     public Map<String, Object> getRaw() {
+        if (items == null) {
+            items = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+            for (Map.Entry<String, Integer> column : columns.entrySet()) {
+                items.put(column.getKey(), values[column.getValue()]);
+            }
+        }
+
         return items;
     }
 
@@ -467,7 +470,14 @@ public class DataRow {
      * @return the JSON collection string
      */
     public String toJson() {
-        return Xeus.gson.toJson(items);
+        return Xeus.gson.toJson(getRaw());
+    }
+
+    private Map<String, Object> copyItems(Map<String, Object> items) {
+        Map<String, Object> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        copy.putAll(items);
+
+        return copy;
     }
 
     private boolean isString(Object name) {
@@ -22,6 +22,7 @@
 package com.pinewoodbuilders.database.connections;
 
 import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.config.Configuration;
 import com.pinewoodbuilders.contracts.database.StatementInterface;
 import com.pinewoodbuilders.contracts.database.connections.HostnameDatabase;
 import com.pinewoodbuilders.database.DatabaseManager;
@@ -34,12 +35,12 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
 import javax.annotation.Nonnull;
+import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Map;
-import java.util.concurrent.Executors;
 
 public class MySQL extends HostnameDatabase {
 
@@ -96,28 +97,48 @@ public class MySQL extends HostnameDatabase {
             );
 
             if (initialize()) {
-                HikariConfig config = new HikariConfig();
-                config.setJdbcUrl(url);
-                config.setUsername(getUsername());
-                config.setPassword(getPassword());
-                config.setDriverClassName("com.mysql.jdbc.Driver");
-                HikariDataSource ds = new HikariDataSource(config);
-
-                connection = ds.getConnection();
+                Configuration config = dbm.getAvaire().getConfig();
+
+                HikariConfig hikari = new HikariConfig();
+                hikari.setPoolName("xeus-mysql");
+                hikari.setJdbcUrl(url);
+                hikari.setUsername(getUsername());
+                hikari.setPassword(getPassword());
+                hikari.setDriverClassName("com.mysql.cj.jdbc.Driver");
+
+                hikari.setMaximumPoolSize(Math.max(1, config.getInt("database.pool.maximum-size", 10)));
+                hikari.setMinimumIdle(Math.max(0, Math.min(
+                    hikari.getMaximumPoolSize(), config.getInt("database.pool.minimum-idle", 2)
+                )));
+                hikari.setConnectionTimeout(Math.max(250L, config.getLong("database.pool.connection-timeout", 10000L)));
+                hikari.setLeakDetectionThreshold(Math.max(0L, config.getLong("database.pool.leak-detection-threshold", 60000L)));
+
+                // Query builder queries are sent as parameterised prepared statements, so we let the driver
+                // prepare them on the server, and cache them per connection, so lookups that only differ
+                // by their values reuses the same parsed statement instead of being parsed every time.
+                int statementCacheSize = Math.max(0, config.getInt("database.pool.statement-cache-size", 250));
+                if (statementCacheSize > 0) {
+                    hikari.addDataSourceProperty("useServerPrepStmts", "true");
+                    hikari.addDataSourceProperty("cachePrepStmts", "true");
+                    hikari.addDataSourceProperty("prepStmtCacheSize", String.valueOf(statementCacheSize));
+                    hikari.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+                }
 
+                // Sets a timeout of 20 seconds by default for each query, this is an extremely long
+                // time, however the driver has no limit by default so this should give some
+                // improvements with the threads not being blocked for ages due to
+                // hanging database queries.
+                queryTimeout = Math.max(0, config.getInt("database.pool.query-timeout", 20));
 
-                // Sets a timeout of 20 seconds(This is an extremely long time, however the default
-                // is around 10 minutes so this should give some improvements with the threads
-                // not being blocked for ages due to hanging database queries.
-                connection.setNetworkTimeout(Executors.newCachedThreadPool(), 1000 * 20);
+                dataSource = new HikariDataSource(hikari);
 
                 return true;
             }
-        } catch (SQLException ex) {
-            String reason = "Could not establish a MySQL connection, SQLException: " + ex.getMessage();
+        } catch (RuntimeException ex) {
+            String reason = "Could not establish a MySQL connection pool, exception: " + ex.getMessage();
 
             Xeus.getLogger().error(reason, ex);
-            throw new SQLException(reason);
+            throw new SQLException(reason, ex);
         }
 
         return false;
@@ -144,6 +165,14 @@ public class MySQL extends HostnameDatabase {
         }
     }
 
+    @Override
+    protected int getStreamingFetchSize() {
+        // Connector/J buffers the entire result set in memory unless the
+        // fetch size is set to Integer.MIN_VALUE, which makes the
+        // driver stream the result from the server row by row.
+        return Integer.MIN_VALUE;
+    }
+
     @Override
     public String prepareDataValueString(String str) {
         if (NumberUtil.isNumeric(str)) {
@@ -175,8 +204,8 @@ public class MySQL extends HostnameDatabase {
 
     @Override
     public boolean hasTable(String table) {
-        try {
-            DatabaseMetaData md = getConnection().getMetaData();
+        try (Connection connection = getConnection()) {
+            DatabaseMetaData md = connection.getMetaData();
 
             try (ResultSet tables = md.getTables(null, null, table, new String[]{"TABLE"})) {
                 if (tables.next()) {
@@ -199,7 +228,7 @@ public class MySQL extends HostnameDatabase {
                 return false;
             }
 
-            try (Statement statement = getConnection().createStatement()) {
+            try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
                 statement.executeUpdate(String.format("DELETE FROM `%s`;", table));
             }
 
@@ -31,6 +31,8 @@ import com.pinewoodbuilders.database.query.QueryBuilder;
 import com.pinewoodbuilders.database.schema.Blueprint;
 import com.pinewoodbuilders.language.I18n;
 import com.pinewoodbuilders.metrics.Metrics;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 
 import javax.annotation.Nonnull;
 import java.sql.*;
@@ -85,14 +87,27 @@ public class SQLite extends FilenameDatabase {
     public boolean open() throws SQLException {
         if (initialize()) {
             try {
-                connection = DriverManager.getConnection("jdbc:sqlite:" + (getFile() == null ? ":memory:" : getFile().getAbsolutePath()));
+                HikariConfig hikari = new HikariConfig();
+                hikari.setPoolName("xeus-sqlite");
+                hikari.setJdbcUrl("jdbc:sqlite:" + (getFile() == null ? ":memory:" : getFile().getAbsolutePath()));
+
+                // SQLite only allows a single writer at a time, so we keep a single connection
+                // around for the lifetime of the pool, this also ensures in-memory databases
+                // are not dropped when the pool would otherwise retire the connection.
+                hikari.setMaximumPoolSize(1);
+                hikari.setMinimumIdle(1);
+                hikari.setMaxLifetime(0);
+                hikari.setIdleTimeout(0);
+
+                queryTimeout = 5;
+                dataSource = new HikariDataSource(hikari);
 
                 return true;
-            } catch (SQLException ex) {
-                String reason = "DBM - Could not establish an SQLite connection, SQLException: " + ex.getMessage();
+            } catch (RuntimeException ex) {
+                String reason = "DBM - Could not establish an SQLite connection, exception: " + ex.getMessage();
 
                 Xeus.getLogger().error(reason, ex);
-                throw new SQLException(reason);
+                throw new SQLException(reason, ex);
             }
         }
 
@@ -116,13 +131,6 @@ public class SQLite extends FilenameDatabase {
         );
     }
 
-    @Override
-    public Connection getConnection() throws SQLException {
-        open();
-
-        return connection;
-    }
-
     @Override
     public StatementInterface getStatement(String query) throws SQLException {
         String[] statement = query.trim().split(" ", 2);
@@ -136,8 +144,8 @@ public class SQLite extends FilenameDatabase {
 
     @Override
     public boolean hasTable(String table) {
-        try {
-            DatabaseMetaData md = getConnection().getMetaData();
+        try (Connection connection = getConnection()) {
+            DatabaseMetaData md = connection.getMetaData();
 
             try (ResultSet tables = md.getTables(null, null, table, null)) {
                 if (tables.next()) {
@@ -160,7 +168,7 @@ public class SQLite extends FilenameDatabase {
                 return false;
             }
 
-            try (Statement statement = connection.createStatement()) {
+            try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
                 statement.executeQuery(String.format("DELETE FROM `%s`;", table));
             }
 
@@ -175,10 +183,10 @@ public class SQLite extends FilenameDatabase {
     }
 
     @Override
-    protected Statement createPreparedStatement(String query) throws SQLException {
+    protected Statement createPreparedStatement(Connection connection, String query) throws SQLException {
         Metrics.databaseQueries.labels(query.split(" ")[0].toUpperCase()).inc();
 
-        Statement statement = getConnection().createStatement();
+        Statement statement = connection.createStatement();
 
         statement.setQueryTimeout(5);
         statement.setMaxRows(25000);
@@ -21,14 +21,13 @@
 
 package com.pinewoodbuilders.database.controllers;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.cache.CacheRegistry;
+import com.pinewoodbuilders.cache.RegisteredCache;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.transformers.GlobalSettingsTransformer;
 import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
-import com.pinewoodbuilders.utilities.CacheUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,8 +36,9 @@ import java.util.concurrent.TimeUnit;
 
 public class GlobalSettingsController {
 
-    public static final Cache<Long, GlobalSettingsTransformer> cache = CacheBuilder.newBuilder().recordStats()
-            .expireAfterAccess(5, TimeUnit.MINUTES).build();
+    public static final RegisteredCache<Long, GlobalSettingsTransformer> cache = CacheRegistry.<Long, GlobalSettingsTransformer>newCache("global-settings")
+        .expireAfterAccess(5, TimeUnit.MINUTES)
+        .build();
 
     private static final Logger log = LoggerFactory.getLogger(GlobalSettingsController.class);
 
@@ -70,7 +70,7 @@ public class GlobalSettingsController {
 
     @CheckReturnValue
     public static GlobalSettingsTransformer fetchGlobalSettingsFromGroupSettings(Xeus avaire, long mgi) {
-        return (GlobalSettingsTransformer) CacheUtil.getUncheckedUnwrapped(cache, mgi,
+        return cache.get(mgi,
                 () -> loadGuildSettingsFromDatabase(avaire, mgi));
     }
 
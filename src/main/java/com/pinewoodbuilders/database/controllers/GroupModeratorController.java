@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.database.controllers;
+
+import com.google.common.cache.CacheLoader;
+import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.cache.CacheRegistry;
+import com.pinewoodbuilders.cache.RegisteredCache;
+import com.pinewoodbuilders.database.collection.Collection;
+import com.pinewoodbuilders.permissions.GroupModeratorSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nullable;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+public class GroupModeratorController {
+
+    public static final RegisteredCache<Long, GroupModeratorSet> cache = CacheRegistry.<Long, GroupModeratorSet>newCache("group-moderators")
+        .expireAfterAccess(30, TimeUnit.MINUTES)
+        .build();
+
+    private static final Logger log = LoggerFactory.getLogger(GroupModeratorController.class);
+
+    /**
+     * Fetches the moderators for the given main group from the cache, if they don't exist
+     * in the cache they will be loaded into the cache and then returned afterwords, the
+     * global admins are stored under the main group ID <code>0</code>.
+     *
+     * @param avaire      The avaire instance, used to talking to the database.
+     * @param mainGroupId The ID of the main group the moderators should be fetched for.
+     * @return Possibly null, the moderators for the given main group, or null if they failed to load.
+     */
+    @Nullable
+    @CheckReturnValue
+    public static GroupModeratorSet fetchModerators(Xeus avaire, long mainGroupId) {
+        try {
+            return cache.get(mainGroupId, () -> loadModeratorsFromDatabase(avaire, mainGroupId));
+        } catch (CacheLoader.InvalidCacheLoadException e) {
+            return null;
+        }
+    }
+
+    public static void forgetCache(long mainGroupId) {
+        cache.invalidate(mainGroupId);
+    }
+
+    public static void forgetAll() {
+        cache.invalidateAll();
+    }
+
+    private static GroupModeratorSet loadModeratorsFromDatabase(Xeus avaire, long mainGroupId) {
+        if (log.isDebugEnabled()) {
+            log.debug("Group moderator cache for " + mainGroupId + " was refreshed");
+        }
+
+        try {
+            Collection collection = avaire.getDatabase()
+                .newQueryBuilder(Constants.GROUP_MODERATORS_TABLE)
+                .select("discord_id", "roblox_id", "is_global_lead", "is_global_admin")
+                .where("main_group_id", mainGroupId)
+                .get();
+
+            return new GroupModeratorSet(collection);
+        } catch (SQLException ex) {
+            log.error("Failed to fetch the group moderators for {}, error: {}", mainGroupId, ex.getMessage(), ex);
+
+            return null;
+        }
+    }
+}
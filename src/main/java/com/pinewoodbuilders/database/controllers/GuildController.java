@@ -23,10 +23,10 @@ package com.pinewoodbuilders.database.controllers;
 
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.cache.CacheIndex;
+import com.pinewoodbuilders.cache.CacheRegistry;
+import com.pinewoodbuilders.cache.RegisteredCache;
 import com.pinewoodbuilders.database.transformers.GuildTransformer;
-import com.pinewoodbuilders.utilities.CacheUtil;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import net.dv8tion.jda.api.entities.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,9 +40,9 @@ import java.util.concurrent.TimeUnit;
 
 public class GuildController {
 
-    public static final Cache<Long, GuildTransformer> cache = CacheBuilder.newBuilder()
-        .recordStats()
+    public static final RegisteredCache<Long, GuildTransformer> cache = CacheRegistry.<Long, GuildTransformer>newCache("guilds")
         .expireAfterAccess(5, TimeUnit.MINUTES)
+        .keyedBy(CacheIndex.GUILD)
         .build();
 
     private static final Logger log = LoggerFactory.getLogger(GuildController.class);
@@ -81,7 +81,7 @@ public class GuildController {
      */
     @CheckReturnValue
     public static GuildTransformer fetchGuild(Xeus avaire, Guild guild) {
-        return (GuildTransformer) CacheUtil.getUncheckedUnwrapped(cache, guild.getIdLong(), () -> loadGuildFromDatabase(avaire, guild));
+        return cache.get(guild.getIdLong(), () -> loadGuildFromDatabase(avaire, guild));
     }
 
     public static String buildChannelData(List<TextChannel> textChannels) {
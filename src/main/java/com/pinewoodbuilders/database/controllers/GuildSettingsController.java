@@ -21,12 +21,12 @@
 
 package com.pinewoodbuilders.database.controllers;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.cache.CacheIndex;
+import com.pinewoodbuilders.cache.CacheRegistry;
+import com.pinewoodbuilders.cache.RegisteredCache;
 import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
-import com.pinewoodbuilders.utilities.CacheUtil;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Message;
 import org.slf4j.Logger;
@@ -37,8 +37,10 @@ import java.util.concurrent.TimeUnit;
 
 public class GuildSettingsController {
 
-    public static final Cache <Long, GuildSettingsTransformer> cache = CacheBuilder.newBuilder().recordStats()
-        .expireAfterAccess(5, TimeUnit.MINUTES).build();
+    public static final RegisteredCache<Long, GuildSettingsTransformer> cache = CacheRegistry.<Long, GuildSettingsTransformer>newCache("guild-settings")
+        .expireAfterAccess(5, TimeUnit.MINUTES)
+        .keyedBy(CacheIndex.GUILD)
+        .build();
 
     private static final Logger log = LoggerFactory.getLogger(GuildSettingsController.class);
 
@@ -93,7 +95,7 @@ public class GuildSettingsController {
      */
     @CheckReturnValue
     public static GuildSettingsTransformer fetchGuildSettingsFromGuild(Xeus avaire, Guild guild) {
-        return (GuildSettingsTransformer) CacheUtil.getUncheckedUnwrapped(cache, guild.getIdLong(),
+        return cache.get(guild.getIdLong(),
             () -> loadGuildSettingsFromDatabase(avaire, guild));
     }
 
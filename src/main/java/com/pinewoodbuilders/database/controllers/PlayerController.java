@@ -23,11 +23,12 @@ package com.pinewoodbuilders.database.controllers;
 
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.cache.CacheIndex;
+import com.pinewoodbuilders.cache.CacheRegistry;
+import com.pinewoodbuilders.cache.RegisteredCache;
+import com.pinewoodbuilders.database.persistence.PlayerKey;
+import com.pinewoodbuilders.database.persistence.PlayerWriteBehind;
 import com.pinewoodbuilders.database.transformers.PlayerTransformer;
-import com.pinewoodbuilders.level.ExperienceEntity;
-import com.pinewoodbuilders.utilities.CacheUtil;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.User;
@@ -41,16 +42,17 @@ import java.util.concurrent.TimeUnit;
 
 public class PlayerController {
 
-    public static final Cache<String, PlayerTransformer> cache = CacheBuilder.newBuilder()
-        .recordStats()
+    public static final RegisteredCache<PlayerKey, PlayerTransformer> cache = CacheRegistry.<PlayerKey, PlayerTransformer>newCache("players")
         .expireAfterAccess(210, TimeUnit.SECONDS) // 3½ minute
+        .indexedBy(CacheIndex.GUILD, PlayerKey::getGuildId)
+        .indexedBy(CacheIndex.USER, PlayerKey::getUserId)
         .build();
 
-    private static final Map<Long, PlayerUpdateReference> playerQueue = new LinkedHashMap<>();
+    private static final PlayerWriteBehind writeBehind = new PlayerWriteBehind();
     private static final Logger log = LoggerFactory.getLogger(PlayerController.class);
 
     private static final String[] requiredPlayerColumns = new String[]{
-        "username", "discriminator", "avatar", "experience"
+        "username", "discriminator", "avatar", "experience", "active"
     };
 
     @CheckReturnValue
@@ -65,7 +67,7 @@ public class PlayerController {
             return null;
         }
 
-        return (PlayerTransformer) CacheUtil.getUncheckedUnwrapped(cache, asKey(message.getGuild(), user), () -> {
+        return cache.get(asKey(message.getGuild(), user), () -> {
             if (log.isDebugEnabled()) {
                 log.debug("User cache for " + user.getId() + " was refreshed");
             }
@@ -110,13 +112,7 @@ public class PlayerController {
                 }
 
                 if (!transformer.isActive()) {
-                    avaire.getDatabase()
-                        .newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
-                        .where("experiences.user_id", user.getId())
-                        .andWhere("experiences.guild_id", message.getGuild().getId())
-                        .update(statement -> {
-                            statement.set("active", true);
-                        });
+                    writeBehind.markActive(user.getIdLong(), message.getGuild().getIdLong());
                 }
 
                 return mergeWithExperienceEntity(avaire, transformer);
@@ -129,24 +125,30 @@ public class PlayerController {
     }
 
     private static PlayerTransformer mergeWithExperienceEntity(Xeus avaire, PlayerTransformer transformer) {
-        List<ExperienceEntity> entities = avaire.getLevelManager().getExperienceEntities(transformer);
-        if (entities.isEmpty()) {
-            return transformer;
+        long pendingExperience = avaire.getLevelManager().getPendingExperience(transformer);
+        if (pendingExperience != 0) {
+            transformer.incrementExperienceBy(pendingExperience);
         }
 
-        transformer.incrementExperienceBy(
-            entities.stream().mapToInt(ExperienceEntity::getExperience).sum()
-        );
+        // New and reactivated players aren't on the leaderboard until they're
+        // loaded, so they're added to the guilds leaderboard here instead.
+        avaire.getLevelManager().getLeaderboardManager().update(transformer);
 
         return transformer;
     }
 
-    public static Map<Long, PlayerUpdateReference> getPlayerQueue() {
-        return playerQueue;
+    /**
+     * Gets the player write behind, any changes made to player rows that have
+     * yet to be written to the database are stored in the write behind.
+     *
+     * @return The player write behind.
+     */
+    public static PlayerWriteBehind getWriteBehind() {
+        return writeBehind;
     }
 
     public static void updateUserData(User user) {
-        playerQueue.put(user.getIdLong(), new PlayerUpdateReference(user));
+        writeBehind.updateReference(user.getIdLong(), new PlayerUpdateReference(user));
     }
 
     private static boolean isChanged(User user, PlayerTransformer transformer) {
@@ -156,34 +158,16 @@ public class PlayerController {
             || !transformer.getUsernameRaw().startsWith("base64:");
     }
 
-    private static String asKey(@Nonnull Guild guild, @Nonnull User user) {
-        return guild.getId() + ":" + user.getId();
+    private static PlayerKey asKey(@Nonnull Guild guild, @Nonnull User user) {
+        return new PlayerKey(user.getIdLong(), guild.getIdLong());
     }
 
     public static void forgetCache(long userId) {
-        List<String> toRemove = new ArrayList<>();
-        for (String key : cache.asMap().keySet()) {
-            if (key.endsWith(":" + userId)) {
-                toRemove.add(key);
-            }
-        }
-
-        if (!toRemove.isEmpty()) {
-            cache.invalidateAll(toRemove);
-        }
+        cache.forget(CacheIndex.USER, userId);
     }
 
     public static void forgetCacheForGuild(long guildId) {
-        List<String> toRemove = new ArrayList<>();
-        for (String key : cache.asMap().keySet()) {
-            if (key.startsWith(guildId + ":")) {
-                toRemove.add(key);
-            }
-        }
-
-        if (!toRemove.isEmpty()) {
-            cache.invalidateAll(toRemove);
-        }
+        cache.forget(CacheIndex.GUILD, guildId);
     }
 
     public static class PlayerUpdateReference {
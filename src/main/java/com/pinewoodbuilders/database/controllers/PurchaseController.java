@@ -23,11 +23,11 @@ package com.pinewoodbuilders.database.controllers;
 
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.cache.CacheIndex;
+import com.pinewoodbuilders.cache.CacheRegistry;
+import com.pinewoodbuilders.cache.RegisteredCache;
 import com.pinewoodbuilders.database.transformers.PurchasesTransformer;
 import com.pinewoodbuilders.language.I18n;
-import com.pinewoodbuilders.utilities.CacheUtil;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import net.dv8tion.jda.api.entities.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,9 +40,9 @@ import java.util.concurrent.TimeUnit;
 
 public class PurchaseController {
 
-    public static final Cache<Long, PurchasesTransformer> cache = CacheBuilder.newBuilder()
-        .recordStats()
+    public static final RegisteredCache<Long, PurchasesTransformer> cache = CacheRegistry.<Long, PurchasesTransformer>newCache("purchases")
         .expireAfterAccess(45, TimeUnit.MINUTES)
+        .keyedBy(CacheIndex.USER)
         .build();
 
     private static final Logger log = LoggerFactory.getLogger(PurchaseController.class);
@@ -65,7 +65,7 @@ public class PurchaseController {
     @CheckReturnValue
     @SuppressWarnings("ConstantConditions")
     public static PurchasesTransformer fetchPurchases(long userId) {
-        return (PurchasesTransformer) CacheUtil.getUncheckedUnwrapped(cache, userId, () -> {
+        return cache.get(userId, () -> {
             log.debug("Purchase cache for {} was refreshed", userId);
 
             try {
@@ -23,12 +23,13 @@ package com.pinewoodbuilders.database.controllers;
 
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.cache.CacheIndex;
+import com.pinewoodbuilders.cache.CacheRegistry;
+import com.pinewoodbuilders.cache.RegisteredCache;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.database.transformers.ReactionTransformer;
-import com.pinewoodbuilders.utilities.CacheUtil;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import com.pinewoodbuilders.reactionrole.ReactionRoleIndex;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Message;
 import org.slf4j.Logger;
@@ -37,14 +38,21 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 public class ReactionController {
 
-    public static final Cache<Long, Collection> cache = CacheBuilder.newBuilder()
-        .recordStats()
+    public static final RegisteredCache<Long, Collection> cache = CacheRegistry.<Long, Collection>newCache("reaction-roles")
         .expireAfterAccess(5, TimeUnit.MINUTES)
+        .keyedBy(CacheIndex.GUILD)
+        .build();
+
+    public static final RegisteredCache<Long, ReactionRoleIndex> indexCache = CacheRegistry.<Long, ReactionRoleIndex>newCache("reaction-role-index")
+        .expireAfterAccess(30, TimeUnit.MINUTES)
+        .keyedBy(CacheIndex.GUILD)
         .build();
 
     private static final Logger log = LoggerFactory.getLogger(ReactionController.class);
@@ -82,7 +90,7 @@ public class ReactionController {
             return null;
         }
 
-        return (Collection) CacheUtil.getUncheckedUnwrapped(cache, guild.getIdLong(), () -> {
+        return cache.get(guild.getIdLong(), () -> {
             if (log.isDebugEnabled()) {
                 log.debug("Guild Reaction cache for " + guild.getId() + " was refreshed");
             }
@@ -101,6 +109,50 @@ public class ReactionController {
         });
     }
 
+    /**
+     * Fetches the reaction role index for the given server, the index maps each
+     * reaction role message to the emotes and the roles linked to them, and
+     * is updated in place when reaction roles are changed, instead of
+     * being reloaded from the database.
+     *
+     * @param avaire The avaire instance, used to talking to the database.
+     * @param guild  The JDA guild instance for the current guild.
+     * @return The reaction role index for the given guild.
+     */
+    @Nonnull
+    public static ReactionRoleIndex fetchReactionRoleIndex(@Nonnull Xeus avaire, @Nonnull Guild guild) {
+        return indexCache.get(guild.getIdLong(), () -> {
+            Collection collection = fetchReactions(avaire, guild);
+            if (collection == null || collection.isEmpty()) {
+                return ReactionRoleIndex.EMPTY;
+            }
+
+            Map<Long, Map<Long, Long>> messages = new HashMap<>();
+            for (DataRow row : collection) {
+                ReactionTransformer transformer = new ReactionTransformer(row);
+                messages.put(transformer.getMessageId(), transformer.getRoles());
+            }
+
+            return ReactionRoleIndex.of(messages);
+        });
+    }
+
+    /**
+     * Updates the reaction role index for the given guild with the new roles for
+     * the given message, if the roles are empty the message is removed from the
+     * index. Guilds that doesn't have their index loaded are left alone, since
+     * the index will be built from the database the next time it is needed.
+     *
+     * @param guildId   The ID of the guild the reaction role message belongs to.
+     * @param messageId The ID of the reaction role message that was changed.
+     * @param roles     The emote to role map for the message.
+     */
+    public static void updateReactionRoleIndex(long guildId, long messageId, @Nonnull Map<Long, Long> roles) {
+        indexCache.getCache().asMap().computeIfPresent(guildId,
+            (key, index) -> index.withMessage(messageId, roles)
+        );
+    }
+
     /**
      * Fetches the reaction message transformer for the given message,
      * if the message doesn't have any reaction roles attached to it
@@ -1,11 +1,11 @@
 package com.pinewoodbuilders.database.controllers;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.cache.CacheIndex;
+import com.pinewoodbuilders.cache.CacheRegistry;
+import com.pinewoodbuilders.cache.RegisteredCache;
 import com.pinewoodbuilders.database.transformers.RemindersTransformer;
-import com.pinewoodbuilders.utilities.CacheUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,9 +17,9 @@ import java.util.concurrent.TimeUnit;
 public class RemindersController
 {
 
-    public static final Cache <Long, RemindersTransformer> cache = CacheBuilder.newBuilder()
-        .recordStats()
+    public static final RegisteredCache<Long, RemindersTransformer> cache = CacheRegistry.<Long, RemindersTransformer>newCache("reminders")
         .expireAfterAccess(90, TimeUnit.MINUTES)
+        .keyedBy(CacheIndex.USER)
         .build();
 
     private static final Logger log = LoggerFactory.getLogger(RemindersController.class);
@@ -27,7 +27,7 @@ public class RemindersController
     @Nonnull
     @CheckReturnValue
     public static RemindersTransformer fetchPendingReminders(Xeus xeus, long userId) {
-        return (RemindersTransformer) CacheUtil.getUncheckedUnwrapped(cache, userId, () -> {
+        return cache.get(userId, () -> {
             log.debug("Reminders cache for {} was refreshed", userId);
             try
             {
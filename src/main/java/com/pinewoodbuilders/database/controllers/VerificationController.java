@@ -23,10 +23,10 @@ package com.pinewoodbuilders.database.controllers;
 
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.cache.CacheIndex;
+import com.pinewoodbuilders.cache.CacheRegistry;
+import com.pinewoodbuilders.cache.RegisteredCache;
 import com.pinewoodbuilders.database.transformers.VerificationTransformer;
-import com.pinewoodbuilders.utilities.CacheUtil;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.Role;
@@ -42,10 +42,10 @@ import java.util.concurrent.TimeUnit;
 
 public class VerificationController {
 
-    public static final Cache<Long, VerificationTransformer> cache = CacheBuilder.newBuilder()
-            .recordStats()
-            .expireAfterAccess(5, TimeUnit.MINUTES)
-            .build();
+    public static final RegisteredCache<Long, VerificationTransformer> cache = CacheRegistry.<Long, VerificationTransformer>newCache("verification")
+        .expireAfterAccess(5, TimeUnit.MINUTES)
+        .keyedBy(CacheIndex.GUILD)
+        .build();
 
     private static final Logger log = LoggerFactory.getLogger(VerificationController.class);
 
@@ -83,7 +83,7 @@ public class VerificationController {
      */
     @CheckReturnValue
     public static VerificationTransformer fetchVerificationFromGuild(Xeus avaire, Guild guild) {
-        return (VerificationTransformer) CacheUtil.getUncheckedUnwrapped(cache, guild.getIdLong(), () -> loadGuildFromDatabase(avaire, guild));
+        return cache.get(guild.getIdLong(), () -> loadGuildFromDatabase(avaire, guild));
     }
 
     public static String buildRoleData(List<Role> roles) {
@@ -92,6 +92,12 @@ public class Insert extends InsertGrammar {
                     continue;
                 }
 
+                if (isPrepared()) {
+                    addPart("%s, ", bind(row.get(key)));
+
+                    continue;
+                }
+
                 if (isNumeric(value)) {
                     addPart(String.format("%s, ", value));
 
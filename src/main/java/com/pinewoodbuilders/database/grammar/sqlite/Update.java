@@ -87,6 +87,12 @@ public class Update extends UpdateGrammar {
                     continue;
                 }
 
+                if (isPrepared()) {
+                    addPart(" %s = %s, ", formatKey, bind(row.get(key)));
+
+                    continue;
+                }
+
                 addPart(String.format("%s = '%s', ", formatKey, value.replaceAll("'", "\'")));
             }
 
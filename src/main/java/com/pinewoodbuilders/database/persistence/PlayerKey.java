@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.pinewoodbuilders.database.persistence;
+
+/**
+ * Identifies a single player row in the experiences table, made
+ * up of the ID of the user, and the ID of the guild.
+ */
+public final class PlayerKey {
+
+    private final long userId;
+    private final long guildId;
+    private final int hash;
+
+    /**
+     * Creates a new player key for the given user and guild ID.
+     *
+     * @param userId  The ID of the user the row belongs to.
+     * @param guildId The ID of the guild the row belongs to.
+     */
+    public PlayerKey(long userId, long guildId) {
+        this.userId = userId;
+        this.guildId = guildId;
+        this.hash = 31 * Long.hashCode(userId) + Long.hashCode(guildId);
+    }
+
+    /**
+     * Gets the ID of the user the row belongs to.
+     *
+     * @return The ID of the user the row belongs to.
+     */
+    public long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Gets the ID of the guild the row belongs to.
+     *
+     * @return The ID of the guild the row belongs to.
+     */
+    public long getGuildId() {
+        return guildId;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof PlayerKey)) {
+            return false;
+        }
+
+        PlayerKey other = (PlayerKey) obj;
+        return userId == other.userId && guildId == other.guildId;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return guildId + ":" + userId;
+    }
+}
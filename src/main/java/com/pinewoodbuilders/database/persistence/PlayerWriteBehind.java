@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.pinewoodbuilders.database.persistence;
+
+import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.database.DatabaseManager;
+import com.pinewoodbuilders.database.controllers.PlayerController.PlayerUpdateReference;
+import com.pinewoodbuilders.level.ExperienceAccumulator;
+import com.pinewoodbuilders.level.ExperienceEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The player write behind keeps track of every change made to player rows that have yet to
+ * be written to the database, changes to the same row are merged together, so each row
+ * is only written once per flush, no matter how many times it was changed.
+ * <p>
+ * The pending changes are flushed once a minute by the {@link com.pinewoodbuilders.scheduler.tasks.SyncPlayerWritesWithDatabaseTask
+ * sync task}, or early on the database executor if the amount of pending changes goes above the
+ * flush threshold, the changes are written in batches of a fixed size, and any batch that fails
+ * is merged back into the pending changes so it can be retried on the next flush.
+ */
+public class PlayerWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerWriteBehind.class);
+
+    /**
+     * The maximum amount of rows that are written in a single batch.
+     */
+    private static final int batchSize = 500;
+
+    /**
+     * The amount of pending changes that will trigger an early flush.
+     */
+    private static final int flushThreshold = 5000;
+
+    private final ExperienceAccumulator experience = new ExperienceAccumulator();
+    private final Set<PlayerKey> activations = ConcurrentHashMap.newKeySet();
+    private final Map<Long, PlayerUpdateReference> references = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean(false);
+
+    /**
+     * Adds the given amount of experience to the pending experience for the given player.
+     *
+     * @param userId       The ID of the user that was rewarded the experience.
+     * @param guildId      The ID of the guild the user was rewarded the experience in.
+     * @param amount       The amount of experience that was rewarded.
+     * @param excludeLocal Whether the experience should be excluded from the local server based XP.
+     */
+    public void addExperience(long userId, long guildId, long amount, boolean excludeLocal) {
+        experience.add(userId, guildId, amount, excludeLocal);
+        flushIfFull();
+    }
+
+    /**
+     * Marks the row for the given player as active again.
+     *
+     * @param userId  The ID of the user the row belongs to.
+     * @param guildId The ID of the guild the row belongs to.
+     */
+    public void markActive(long userId, long guildId) {
+        activations.add(new PlayerKey(userId, guildId));
+        flushIfFull();
+    }
+
+    /**
+     * Queues the username, discriminator, and avatar of the given user reference to
+     * be written to every row belonging to the user, replacing any older
+     * reference for the user that have yet to be written.
+     *
+     * @param userId    The ID of the user the reference belongs to.
+     * @param reference The reference that should be written to the users rows.
+     */
+    public void updateReference(long userId, @Nonnull PlayerUpdateReference reference) {
+        references.put(userId, reference);
+        flushIfFull();
+    }
+
+    /**
+     * Gets the experience accumulator used to keep
+     * track of the pending player experience.
+     *
+     * @return The experience accumulator.
+     */
+    public ExperienceAccumulator getExperienceAccumulator() {
+        return experience;
+    }
+
+    /**
+     * Gets the amount of rows with pending changes.
+     *
+     * @return The amount of rows with pending changes.
+     */
+    public int getPendingWrites() {
+        return experience.size() + activations.size() + references.size();
+    }
+
+    /**
+     * Writes every pending change to the database, the experience is written first, then the
+     * activations, and lastly the references, only one flush can run at a time, so calling
+     * this while another flush is running will wait for the other flush to finish.
+     *
+     * @param avaire The Xeus application class instance.
+     * @return The amount of rows that was written to the database.
+     */
+    public int flush(@Nonnull Xeus avaire) {
+        return flush(avaire.getDatabase());
+    }
+
+    /**
+     * Writes every pending change to the database using the given database manager,
+     * see {@link #flush(Xeus)} for the order the changes are written in.
+     *
+     * @param database The database manager the changes should be written with.
+     * @return The amount of rows that was written to the database.
+     */
+    public synchronized int flush(@Nonnull DatabaseManager database) {
+        return flushExperience(database) + flushActivations(database) + flushReferences(database);
+    }
+
+    private void flushIfFull() {
+        if (getPendingWrites() < flushThreshold || !earlyFlushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        Xeus avaire = Xeus.getInstance();
+        if (avaire == null) {
+            earlyFlushScheduled.set(false);
+            return;
+        }
+
+        // The database executor runs the task on the calling thread if its queue is full,
+        // slowing down whatever is producing the writes until the database catches up.
+        avaire.getDatabase().getExecutor().execute(() -> {
+            try {
+                log.debug("The player write behind reached {} pending writes, flushing early", getPendingWrites());
+                flush(avaire);
+            } finally {
+                earlyFlushScheduled.set(false);
+            }
+        });
+    }
+
+    private int flushExperience(DatabaseManager database) {
+        List<ExperienceEntity> entities = experience.drain();
+        if (entities.isEmpty()) {
+            return 0;
+        }
+
+        String query = String.format(
+            "UPDATE `%s` SET `experience` = ? + `experience`, `global_experience` = ? + `global_experience` WHERE `user_id` = ? AND `guild_id` = ?",
+            Constants.PLAYER_EXPERIENCE_TABLE_NAME
+        );
+
+        int written = 0;
+        for (List<ExperienceEntity> batch : partition(entities)) {
+            try {
+                database.queryBatch(query, statement -> {
+                    for (ExperienceEntity entity : batch) {
+                        statement.setLong(1, entity.getLocalExperience());
+                        statement.setLong(2, entity.getExperience());
+                        statement.setString(3, String.valueOf(entity.getUserId()));
+                        statement.setString(4, String.valueOf(entity.getGuildId()));
+                        statement.addBatch();
+                    }
+                });
+                written += batch.size();
+            } catch (SQLException e) {
+                log.error("An SQL exception was thrown while updating player experience, the experience will be retried on the next flush: ", e);
+
+                // Each batch is run in its own transaction that is rolled back on errors, so
+                // the failed batch, and every batch after it, can be safely retried.
+                experience.restore(entities.subList(written, entities.size()));
+                break;
+            }
+        }
+
+        log.debug("Finished flushing player experience, updated {} records in the process", written);
+
+        return written;
+    }
+
+    private int flushActivations(DatabaseManager database) {
+        List<PlayerKey> keys = new ArrayList<>(activations);
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        activations.removeAll(keys);
+
+        String query = String.format(
+            "UPDATE `%s` SET `active` = 1 WHERE `user_id` = ? AND `guild_id` = ?",
+            Constants.PLAYER_EXPERIENCE_TABLE_NAME
+        );
+
+        int written = 0;
+        for (List<PlayerKey> batch : partition(keys)) {
+            try {
+                database.queryBatch(query, statement -> {
+                    for (PlayerKey key : batch) {
+                        statement.setString(1, String.valueOf(key.getUserId()));
+                        statement.setString(2, String.valueOf(key.getGuildId()));
+                        statement.addBatch();
+                    }
+                });
+                written += batch.size();
+            } catch (SQLException e) {
+                log.error("An SQL exception was thrown while activating player records, the records will be retried on the next flush: ", e);
+
+                activations.addAll(keys.subList(written, keys.size()));
+                break;
+            }
+        }
+
+        log.debug("Finished flushing player activations, updated {} records in the process", written);
+
+        return written;
+    }
+
+    private int flushReferences(DatabaseManager database) {
+        List<Map.Entry<Long, PlayerUpdateReference>> entries = new ArrayList<>();
+        for (Long userId : references.keySet()) {
+            PlayerUpdateReference reference = references.remove(userId);
+            if (reference != null) {
+                entries.add(Map.entry(userId, reference));
+            }
+        }
+
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        String query = String.format(
+            "UPDATE `%s` SET `avatar` = ?, `username` = ?, `discriminator` = ? WHERE `user_id` = ?",
+            Constants.PLAYER_EXPERIENCE_TABLE_NAME
+        );
+
+        int written = 0;
+        for (List<Map.Entry<Long, PlayerUpdateReference>> batch : partition(entries)) {
+            try {
+                database.queryBatch(query, statement -> {
+                    for (Map.Entry<Long, PlayerUpdateReference> entry : batch) {
+                        statement.setString(1, entry.getValue().getAvatar());
+                        statement.setString(2, entry.getValue().getUsername());
+                        statement.setString(3, entry.getValue().getDiscriminator());
+                        statement.setString(4, entry.getKey().toString());
+                        statement.addBatch();
+                    }
+                });
+                written += batch.size();
+            } catch (SQLException e) {
+                log.error("An SQL exception was thrown while updating player references, the references will be retried on the next flush: ", e);
+
+                // Newer references queued while the flush was running takes priority
+                // over the failed ones, so we only put back references that are missing.
+                for (Map.Entry<Long, PlayerUpdateReference> entry : entries.subList(written, entries.size())) {
+                    references.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+                break;
+            }
+        }
+
+        log.debug("Finished flushing player references, updated {} records in the process", written);
+
+        return written;
+    }
+
+    private <T> List<List<T>> partition(List<T> items) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += batchSize) {
+            batches.add(items.subList(i, Math.min(items.size(), i + batchSize)));
+        }
+        return batches;
+    }
+}
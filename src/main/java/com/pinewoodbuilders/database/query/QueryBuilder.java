@@ -25,17 +25,20 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.database.Database;
 import com.pinewoodbuilders.contracts.database.Database.QueryType;
 import com.pinewoodbuilders.contracts.database.QueryClause;
+import com.pinewoodbuilders.contracts.database.SupplierWithSQL;
 import com.pinewoodbuilders.contracts.database.query.ChangeableClosure;
 import com.pinewoodbuilders.contracts.database.query.ClauseConsumer;
+import com.pinewoodbuilders.contracts.database.query.RowConsumer;
+import com.pinewoodbuilders.contracts.database.query.RowMapper;
 import com.pinewoodbuilders.database.DatabaseManager;
 import com.pinewoodbuilders.database.collection.Collection;
-import com.pinewoodbuilders.scheduler.ScheduleHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public final class QueryBuilder {
 
@@ -96,10 +99,17 @@ public final class QueryBuilder {
 
     /**
      * Determines if the query should be executed async or not, if the query is
-     * executed async it will not return any results, or throw any errors.
+     * executed async it will be run on the database executor, and it will
+     * not return any results, or throw any errors.
      */
     private boolean async = false;
 
+    /**
+     * The values bound to the placeholders of the last query that was generated
+     * for the builder, in the same order as the placeholders in the query.
+     */
+    private List<Object> bindings = Collections.emptyList();
+
     /**
      * Creates a new Query Builder instance.
      *
@@ -707,10 +717,11 @@ public final class QueryBuilder {
     }
 
     /**
-     * Sets the async status for the query, if async is set to true the query will be executed on a separate
-     * thread, only <code>update</code>, <code>insert</code>, and <code>delete</code> queries can be
-     * executed as async, when async is enabled for a query it will not return any response or
-     * throw any exceptions that can be catched.
+     * Sets the async status for the query, if async is set to true the query will be executed on the
+     * {@link DatabaseManager#getExecutor() database executor}, only <code>update</code>, <code>insert</code>,
+     * and <code>delete</code> queries can be executed as async, when async is enabled for a query it will
+     * not return any response or throw any exceptions that can be catched, use the methods
+     * returning a {@link CompletableFuture} instead if the result is needed.
      *
      * @param async The query async value.
      * @return the query builder instance.
@@ -757,6 +768,66 @@ public final class QueryBuilder {
         return null;
     }
 
+    /**
+     * Generates the parameterised SQL query for the query builder, values used in where clauses,
+     * inserts and updates are replaced with placeholders, and can be retrieved in the same
+     * order as the placeholders using {@link #getBindings()} after the query is generated.
+     *
+     * @return the parameterised SQL query.
+     */
+    public String toPreparedSQL() {
+        return toPreparedSQL(type);
+    }
+
+    /**
+     * Generates the parameterised SQL query for the query builder using the given query type, values
+     * used in where clauses, inserts and updates are replaced with placeholders, and can be retrieved
+     * in the same order as the placeholders using {@link #getBindings()} after the query is generated.
+     *
+     * @param type The query type that should be generated.
+     * @return the parameterised SQL query.
+     */
+    public String toPreparedSQL(QueryType type) {
+        Map<String, Boolean> options = new HashMap<>();
+        options.put("prepared", true);
+
+        try {
+            switch (type) {
+                case SELECT:
+                    return dbm.getConnection().select(dbm, this, options);
+                case INSERT:
+                    return dbm.getConnection().insert(dbm, this, options);
+                case UPDATE:
+                    return dbm.getConnection().update(dbm, this, options);
+                case DELETE:
+                    return dbm.getConnection().delete(dbm, this, options);
+            }
+        } catch (SQLException e) {
+            Xeus.getLogger().error("ERROR: ", e);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the values bound to the placeholders of the last query that was
+     * generated for the query builder, in the same order as the placeholders.
+     *
+     * @return the values bound to the placeholders of the last generated query.
+     */
+    public List<Object> getBindings() {
+        return bindings;
+    }
+
+    /**
+     * Sets the values bound to the placeholders of the query, this is
+     * called by the grammar after the query has been generated.
+     *
+     * @param bindings the values bound to the placeholders of the query.
+     */
+    public void setBindings(List<Object> bindings) {
+        this.bindings = bindings;
+    }
+
     /**
      * Runs the {@link Database#query(String)} method with the generated query.
      *
@@ -769,16 +840,116 @@ public final class QueryBuilder {
      *                      <code>PreparedStatement</code> or <code>CallableStatement</code>
      */
     public Collection get() throws SQLException {
-        String query = toSQL();
+        String query = toPreparedSQL();
 
         log.debug("QueryBuilder#get() was called with the following SQL query.\nSQL: " + query);
         MDC.put("query", query);
 
-        // Note: When parsing the result to a collection, we can't use the DBM query method since it auto closes the result,
-        // and the collection still needs to communicated with the result set to get meta data so it can build the keysets
-        // for the column names, this isn't possible if we close the result before parsing it to the collection, instead
-        // we use the direct connection and have the collection close the connection instead.
-        return new Collection(dbm.getConnection().query(query));
+        // Note: The collection is built from the result set before the connection used to run the query is handed
+        // back to the connection pool, so the collection never holds on to a connection, or a result set.
+        return dbm.getConnection().query(query, bindings);
+    }
+
+    /**
+     * Runs the {@link Database#stream(String, List, RowConsumer)} method with the generated
+     * query, streaming the result row by row to the given consumer instead of reading
+     * the entire result into a collection first, useful for queries that can
+     * return a lot of rows, where only a few of the columns are needed.
+     *
+     * @param consumer The consumer that should be called for every row in the result.
+     * @return The amount of rows that was passed to the consumer.
+     * @throws SQLException if a database access error occurs, or the consumer fails to read a row
+     */
+    public int each(RowConsumer consumer) throws SQLException {
+        String query = toPreparedSQL();
+
+        log.debug("QueryBuilder#each() was called with the following SQL query.\nSQL: " + query);
+        MDC.put("query", query);
+
+        return Math.max(dbm.getConnection().stream(query, bindings, consumer), 0);
+    }
+
+    /**
+     * Streams the result of the generated query through the given row mapper, mapping
+     * each row directly to a typed object, without building a {@link Collection}
+     * or a data row for any of the rows in the result.
+     *
+     * @param mapper The mapper that should be used to map every row in the result.
+     * @param <T>    The type the rows are mapped to.
+     * @return A list of the mapped rows, in the order they were returned by the query.
+     * @throws SQLException if a database access error occurs, or the mapper fails to read a row
+     */
+    public <T> List<T> map(RowMapper<T> mapper) throws SQLException {
+        List<T> result = new ArrayList<>();
+        each(row -> result.add(mapper.map(row)));
+
+        return result;
+    }
+
+    /**
+     * Runs the {@link DatabaseManager#queryAsync(QueryBuilder)} method with the current
+     * instance of the query builder, running the query on the database executor
+     * instead of blocking the current thread.
+     *
+     * @return a future that will be completed with the <code>Collection</code> object that
+     * contains the data produced by the query, or completed exceptionally if the query failed.
+     */
+    public CompletableFuture<Collection> getAsync() {
+        return dbm.queryAsync(this);
+    }
+
+    /**
+     * Runs the {@link DatabaseManager#queryUpdateAsync(QueryBuilder)} method with the current
+     * instance of the query builder, and the given items from the changeable closure,
+     * running the query on the database executor instead of blocking the current thread.
+     *
+     * @param closure The changeable closure that should be run.
+     * @return a future that will be completed with the row count for the
+     * query, or completed exceptionally if the query failed.
+     */
+    public CompletableFuture<Integer> updateAsync(ChangeableClosure closure) {
+        type = QueryType.UPDATE;
+
+        ChangeableStatement statement = new ChangeableStatement(this);
+        closure.run(statement);
+
+        this.items.addAll(Collections.singletonList(statement.getItems()));
+
+        return dbm.queryUpdateAsync(this);
+    }
+
+    /**
+     * Runs the {@link DatabaseManager#queryInsertAsync(QueryBuilder)} method with the current
+     * instance of the query builder, and the given items from the changeable closure,
+     * running the query on the database executor instead of blocking the current thread.
+     *
+     * @param closure The changeable closure that should be run.
+     * @return a future that will be completed with a set of IDs referring to the
+     * inserted rows, or completed exceptionally if the query failed.
+     */
+    public CompletableFuture<Set<Integer>> insertAsync(ChangeableClosure closure) {
+        type = QueryType.INSERT;
+
+        ChangeableStatement statement = new ChangeableStatement(this);
+        closure.run(statement);
+
+        this.items.addAll(Collections.singletonList(statement.getItems()));
+
+        return dbm.queryInsertAsync(this);
+    }
+
+    /**
+     * Runs the {@link DatabaseManager#queryUpdateAsync(QueryBuilder)} method as a delete query
+     * with the current instance of the query builder, running the query on the database
+     * executor instead of blocking the current thread.
+     *
+     * @return a future that will be completed with the row count for the
+     * query, or completed exceptionally if the query failed.
+     */
+    public CompletableFuture<Integer> deleteAsync() {
+        type = QueryType.DELETE;
+
+        return dbm.queryUpdateAsync(this);
     }
 
     /**
@@ -804,13 +975,7 @@ public final class QueryBuilder {
             return dbm.queryUpdate(this);
         }
 
-        ScheduleHandler.getScheduler().submit(() -> {
-            try {
-                dbm.queryUpdate(this);
-            } catch (SQLException e) {
-                log.error("Error thrown during async update query: " + toSQL(), e);
-            }
-        });
+        runInBackground("update", () -> dbm.queryUpdate(this));
 
         return 0;
     }
@@ -850,13 +1015,7 @@ public final class QueryBuilder {
             return dbm.queryUpdate(this);
         }
 
-        ScheduleHandler.getScheduler().submit(() -> {
-            try {
-                dbm.queryUpdate(this);
-            } catch (SQLException e) {
-                log.error("Error thrown during async update query: " + toSQL(), e);
-            }
-        });
+        runInBackground("update", () -> dbm.queryUpdate(this));
 
         return 0;
     }
@@ -883,13 +1042,7 @@ public final class QueryBuilder {
             return runInsertQuery();
         }
 
-        ScheduleHandler.getScheduler().submit(() -> {
-            try {
-                dbm.queryInsert(this);
-            } catch (SQLException e) {
-                log.error("Error thrown during async insert query: " + toSQL(), e);
-            }
-        });
+        runInBackground("insert", () -> dbm.queryInsert(this));
 
         return new Collection();
     }
@@ -927,13 +1080,7 @@ public final class QueryBuilder {
             return runInsertQuery();
         }
 
-        ScheduleHandler.getScheduler().submit(() -> {
-            try {
-                dbm.queryInsert(this);
-            } catch (SQLException e) {
-                log.error("Error thrown during async insert query: " + toSQL(), e);
-            }
-        });
+        runInBackground("insert", () -> dbm.queryInsert(this));
 
         return new Collection();
     }
@@ -955,13 +1102,7 @@ public final class QueryBuilder {
             return dbm.queryUpdate(this);
         }
 
-        ScheduleHandler.getScheduler().submit(() -> {
-            try {
-                dbm.queryUpdate(this);
-            } catch (SQLException e) {
-                log.error("Error thrown during async delete query: " + toSQL(), e);
-            }
-        });
+        runInBackground("delete", () -> dbm.queryUpdate(this));
 
         return 0;
     }
@@ -1008,6 +1149,21 @@ public final class QueryBuilder {
         return new Collection(collectionItems);
     }
 
+    /**
+     * Runs the given query on the database executor, logging
+     * any error thrown while the query is being executed.
+     *
+     * @param type  The type of query, used in the error message.
+     * @param query The query that should be run in the background.
+     */
+    private void runInBackground(String type, SupplierWithSQL<?> query) {
+        dbm.getExecutor().supply(query).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                log.error("Error thrown during async " + type + " query: " + toSQL(), throwable);
+            }
+        });
+    }
+
     /**
      * Gets the list of item maps for the query builder.
      *
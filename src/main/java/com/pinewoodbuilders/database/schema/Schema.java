@@ -21,14 +21,15 @@
 
 package com.pinewoodbuilders.database.schema;
 
+import com.pinewoodbuilders.contracts.database.Database;
 import com.pinewoodbuilders.contracts.database.schema.DatabaseClosure;
 import com.pinewoodbuilders.database.DatabaseManager;
 import com.pinewoodbuilders.metrics.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.HashMap;
@@ -86,7 +87,11 @@ public class Schema {
      *                      <code>PreparedStatement</code> or <code>CallableStatement</code>
      */
     public boolean hasColumn(String table, String column) throws SQLException {
-        return getMetaData().getColumns(null, null, table, column).next();
+        return dbm.getConnection().withConnection(connection -> {
+            try (ResultSet columns = connection.getMetaData().getColumns(null, null, table, column)) {
+                return columns.next();
+            }
+        });
     }
 
     /**
@@ -107,15 +112,10 @@ public class Schema {
         Map<String, Boolean> options = new HashMap<>();
         options.put("ignoreExistingTable", true);
         String query = dbm.getConnection().create(dbm, blueprint, options);
-        Statement stmt = dbm.getConnection().prepare(query);
 
         log.debug("Schema create was called with: {}", query);
 
-        if (stmt instanceof PreparedStatement) {
-            return !((PreparedStatement) stmt).execute();
-        }
-
-        return !stmt.execute(query);
+        return execute(query);
     }
 
     /**
@@ -139,15 +139,10 @@ public class Schema {
         Map<String, Boolean> options = new HashMap<>();
         options.put("ignoreExistingTable", false);
         String query = dbm.getConnection().create(dbm, blueprint, options);
-        Statement stmt = dbm.getConnection().prepare(query);
 
         log.debug("Schema createIfNotExists was called with: {}", query);
 
-        if (stmt instanceof PreparedStatement) {
-            return !((PreparedStatement) stmt).execute();
-        }
-
-        return !stmt.execute(query);
+        return execute(query);
     }
 
     /**
@@ -258,9 +253,32 @@ public class Schema {
     public boolean alterQuery(String query) throws SQLException {
         log.debug("alertQuery(String query) was called with the following SQL query.\nSQL: " + query);
 
-        Statement stmt = dbm.getConnection().getConnection().createStatement();
+        return dbm.getConnection().withConnection(connection -> {
+            try (Statement stmt = connection.createStatement()) {
+                return !stmt.execute(query);
+            }
+        });
+    }
 
-        return !stmt.execute(query);
+    /**
+     * Executes the given query using a connection checked out from the connection pool.
+     *
+     * @param query The query that should be executed
+     * @return <code>TRUE</code> if the query didn't produce a result set, <code>FALSE</code> otherwise.
+     * @throws SQLException if a database access error occurs, or the query failed to execute.
+     */
+    private boolean execute(String query) throws SQLException {
+        Database database = dbm.getConnection();
+
+        return database.withConnection(connection -> {
+            try (Statement stmt = database.createStatement(connection, query)) {
+                if (stmt instanceof PreparedStatement) {
+                    return !((PreparedStatement) stmt).execute();
+                }
+
+                return !stmt.execute(query);
+            }
+        });
     }
 
     /**
@@ -274,14 +292,4 @@ public class Schema {
     private String format(String query, Object... items) {
         return String.format(query, items);
     }
-
-    /**
-     * Gets the database meta data object from the default database connection.
-     *
-     * @return The database meta data object.
-     * @throws SQLException
-     */
-    private DatabaseMetaData getMetaData() throws SQLException {
-        return dbm.getConnection().getConnection().getMetaData();
-    }
 }
@@ -25,6 +25,7 @@ import com.google.gson.reflect.TypeToken;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.database.transformers.Transformer;
 import com.pinewoodbuilders.database.collection.DataRow;
+import com.pinewoodbuilders.moderation.filter.WordFilter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -39,6 +40,9 @@ public class GlobalSettingsTransformer extends Transformer {
     private final List<String> globalFilterWildcard = new ArrayList<>();
     private long globalFilterLogChannel;
 
+    // Word filter, compiled from the exact and wildcard words the first time it's needed.
+    private volatile WordFilter wordFilter = null;
+
     // Global Settings
     private long appealsDiscordId = 0;
     private long mgmLogsId = 0;
@@ -100,7 +104,30 @@ public class GlobalSettingsTransformer extends Transformer {
         this.mainGroupId = mainGroupId;
     }
 
-        public List<String> getGlobalFilterExact() {
+    /**
+     * Gets the compiled word filter for the global filter, the filter is compiled the
+     * first time it is needed, and must be forgotten using {@link #forgetWordFilter()}
+     * whenever any of the filtered words are changed.
+     *
+     * @return The compiled word filter for the global filter.
+     */
+    public WordFilter getWordFilter() {
+        WordFilter filter = wordFilter;
+        if (filter == null) {
+            filter = new WordFilter(globalFilterExact, globalFilterWildcard);
+            wordFilter = filter;
+        }
+        return filter;
+    }
+
+    /**
+     * Forgets the compiled word filter, forcing it to be compiled from the filtered words the next time it is needed.
+     */
+    public void forgetWordFilter() {
+        wordFilter = null;
+    }
+
+    public List<String> getGlobalFilterExact() {
         return this.globalFilterExact;
     }
 
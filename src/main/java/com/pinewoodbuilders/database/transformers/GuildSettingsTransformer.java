@@ -21,14 +21,21 @@
 
 package com.pinewoodbuilders.database.transformers;
 
+import com.google.common.collect.ForwardingIterator;
+import com.google.common.collect.ForwardingSet;
 import com.google.gson.reflect.TypeToken;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.database.transformers.Transformer;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.database.controllers.GlobalSettingsController;
+import com.pinewoodbuilders.moderation.filter.AutomodRules;
+import com.pinewoodbuilders.moderation.filter.WordFilter;
+import com.pinewoodbuilders.permissions.PermissionRoleIndex;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -44,10 +51,10 @@ public class GuildSettingsTransformer extends Transformer {
     private long mainDiscordRole = 0;
     private int minimumHrRank = 255;
     private int minimumLeadRank = 255;
-    private Set<Long> localLeadRoles = new HashSet<>();
-    private Set<Long> localHRRoles = new HashSet<>();
+    private final Set<Long> localLeadRoles = new PermissionRoleSet();
+    private final Set<Long> localHRRoles = new PermissionRoleSet();
     private Set<Long> noLinksRoles = new HashSet<>();
-    private Set<Long> groupShoutRoles = new HashSet<>();
+    private final Set<Long> groupShoutRoles = new PermissionRoleSet();
     private boolean pbVerificationTrelloban;
     private String pbVerificationBlacklistLink;
     private boolean verificationAntiMainGlobalModImpersonation;
@@ -57,6 +64,13 @@ public class GuildSettingsTransformer extends Transformer {
     // Global Transformer
     private GlobalSettingsTransformer globalTransformer = null;
 
+    // Permission roles, built from the lead, HR, and group shout roles the first time they're needed.
+    private volatile PermissionRoleIndex permissionRoles = null;
+
+    // Word filter and automod rules, compiled from the settings the first time they're needed.
+    private volatile WordFilter wordFilter = null;
+    private volatile AutomodRules automodRules = null;
+
     // Global Settings
     private boolean globalBan;
     private boolean globalKick;
@@ -330,6 +344,29 @@ public class GuildSettingsTransformer extends Transformer {
         return this.groupShoutRoles;
     }
     
+    /**
+     * Gets the permission role index for the local lead, HR, and group shout roles, the
+     * index is built the first time it is needed, and is forgotten again whenever
+     * any of the role sets are changed, so the index is never out of date.
+     *
+     * @return The permission role index for the guild.
+     */
+    public PermissionRoleIndex getPermissionRoles() {
+        PermissionRoleIndex index = permissionRoles;
+        if (index == null) {
+            index = new PermissionRoleIndex(localLeadRoles, localHRRoles, groupShoutRoles);
+            permissionRoles = index;
+        }
+        return index;
+    }
+
+    /**
+     * Forgets the permission role index, forcing it to be rebuilt from the role sets the next time it is needed.
+     */
+    public void forgetPermissionRoles() {
+        permissionRoles = null;
+    }
+
     public Set<Long> getNoLinksRoles() {
         return this.noLinksRoles;
     }
@@ -378,6 +415,44 @@ public class GuildSettingsTransformer extends Transformer {
         this.permissionBypass = permissionBypass;
     }
 
+    /**
+     * Gets the compiled word filter for the local filter, the filter is compiled the
+     * first time it is needed, and must be forgotten using {@link #forgetWordFilter()}
+     * whenever any of the filtered words are changed.
+     *
+     * @return The compiled word filter for the local filter.
+     */
+    public WordFilter getWordFilter() {
+        WordFilter filter = wordFilter;
+        if (filter == null) {
+            filter = new WordFilter(badWordsExact, badWordsWildcard);
+            wordFilter = filter;
+        }
+        return filter;
+    }
+
+    /**
+     * Forgets the compiled word filter, forcing it to be compiled from the filtered words the next time it is needed.
+     */
+    public void forgetWordFilter() {
+        wordFilter = null;
+    }
+
+    /**
+     * Gets the compiled automod rules for the guild, the rules are compiled the first time they
+     * are needed, and are forgotten whenever any of the automod thresholds are changed.
+     *
+     * @return The compiled automod rules for the guild.
+     */
+    public AutomodRules getAutomodRules() {
+        AutomodRules rules = automodRules;
+        if (rules == null) {
+            rules = new AutomodRules(automodMassMention, automodCharacterSpam, automodEmojiSpam);
+            automodRules = rules;
+        }
+        return rules;
+    }
+
     public List<String> getBadWordsExact() {
         return this.badWordsExact;
     }
@@ -516,6 +591,7 @@ public class GuildSettingsTransformer extends Transformer {
 
     public void setMassMention(int automodMassMention) {
         this.automodMassMention = automodMassMention;
+        this.automodRules = null;
     }
 
     public int getEmojiSpam() {
@@ -524,6 +600,7 @@ public class GuildSettingsTransformer extends Transformer {
 
     public void setEmojiSpam(int automodEmojiSpam) {
         this.automodEmojiSpam = automodEmojiSpam;
+        this.automodRules = null;
     }
 
     public int getLinkSpam() {
@@ -556,6 +633,7 @@ public class GuildSettingsTransformer extends Transformer {
 
     public void setCharacterSpam(int automodCharacterSpam) {
         this.automodCharacterSpam = automodCharacterSpam;
+        this.automodRules = null;
     }
 
     public long getSuggestionChannelId() {
@@ -647,4 +725,72 @@ public class GuildSettingsTransformer extends Transformer {
     public void setIsOfficialSubGroup(boolean sOSG) {
         this.isOfficialSubGroup = sOSG;
     }
+
+    /**
+     * A role set that forgets the permission role index whenever the set
+     * is changed, so the index is rebuilt the next time it is needed.
+     */
+    private final class PermissionRoleSet extends ForwardingSet<Long> {
+
+        private final Set<Long> roles = new HashSet<>();
+
+        @Override
+        protected Set<Long> delegate() {
+            return roles;
+        }
+
+        @Override
+        public boolean add(Long element) {
+            forgetPermissionRoles();
+            return super.add(element);
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends Long> collection) {
+            forgetPermissionRoles();
+            return super.addAll(collection);
+        }
+
+        @Override
+        public boolean remove(Object object) {
+            forgetPermissionRoles();
+            return super.remove(object);
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> collection) {
+            forgetPermissionRoles();
+            return super.removeAll(collection);
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> collection) {
+            forgetPermissionRoles();
+            return super.retainAll(collection);
+        }
+
+        @Override
+        public void clear() {
+            forgetPermissionRoles();
+            super.clear();
+        }
+
+        @Override
+        public Iterator<Long> iterator() {
+            Iterator<Long> iterator = super.iterator();
+
+            return new ForwardingIterator<Long>() {
+                @Override
+                protected Iterator<Long> delegate() {
+                    return iterator;
+                }
+
+                @Override
+                public void remove() {
+                    forgetPermissionRoles();
+                    super.remove();
+                }
+            };
+        }
+    }
 }
@@ -325,9 +325,18 @@ public class MainEventHandler extends EventHandler {
         if (changelogEventAdapter.isChangelogMessage(event.getChannel())) {
             changelogEventAdapter.onMessageReceived(event);
         }
-        messageEvent.onMessageReceived(event);
 
-        if (event.getChannel().getId().equals("691337332661420082")) {
+        boolean isImageOnlyChannel = event.getChannel().getId().equals("691337332661420082");
+        boolean isDevelopment = Xeus.getEnvironment().getName().equals(Environment.DEVELOPMENT.getName());
+
+        // The commands, levels, and automod filters share a single database
+        // load for each message, so the guild, settings, and player are
+        // only looked up once, instead of once for every stage.
+        messageEvent.onMessageReceived(event,
+            !isImageOnlyChannel && !isDevelopment && event.isFromGuild() && !event.getAuthor().isBot()
+        );
+
+        if (isImageOnlyChannel) {
             if (!event.getMessage().getContentRaw().contains("img.pizzabyte.xyz")) {
                 event.getMessage().delete()
                     .flatMap(l -> event.getMember().getUser().openPrivateChannel())
@@ -339,16 +348,12 @@ public class MainEventHandler extends EventHandler {
             return;
         }
 
-        if (Xeus.getEnvironment().getName().equals(Environment.DEVELOPMENT.getName())) {
+        if (isDevelopment) {
             return;
         }
 
         if (event.isFromGuild()) {
             if (!event.getAuthor().isBot()) {
-                messageEvent.onLocalFilterMessageReceived(event);
-                messageEvent.onGlobalFilterMessageReceived(event);
-                messageEvent.onNoLinksFilterMessageReceived(event);
-
                 if (event.getChannel().getId().equals("769274801768235028") || event.getChannel().getId().equals("777903149511082005")) {
                     messageEvent.onEventGalleryMessageSent(event);
                 }
@@ -390,8 +395,6 @@ public class MainEventHandler extends EventHandler {
         }
         if (event.isFromGuild()) {
             messageEvent.onGuildMessageUpdate(event);
-            messageEvent.onGlobalFilterEditReceived(event);
-            messageEvent.onLocalFilterEditReceived(event);
         }
     }
 
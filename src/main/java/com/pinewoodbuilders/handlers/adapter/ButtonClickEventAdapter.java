@@ -831,7 +831,7 @@ public class ButtonClickEventAdapter extends EventAdapter {
                 return new DatabaseEventHolder(guild, null, null, GuildSettingsController.fetchGuildSettingsFromGuild(avaire, event.getGuild()));
             }
             return new DatabaseEventHolder(guild, null, null, GuildSettingsController.fetchGuildSettingsFromGuild(avaire, event.getGuild()));
-        });
+        }, avaire.getDatabase().getExecutor());
     }
 
     private String getImageByName(Guild guild, String username) {
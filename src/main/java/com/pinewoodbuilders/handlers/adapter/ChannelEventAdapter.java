@@ -25,6 +25,7 @@ import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.handlers.EventAdapter;
 import com.pinewoodbuilders.database.collection.Collection;
+import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.database.controllers.GuildController;
 import com.pinewoodbuilders.database.controllers.ReactionController;
 import com.pinewoodbuilders.database.transformers.GuildTransformer;
@@ -34,6 +35,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
+import java.util.Collections;
 
 public class ChannelEventAdapter extends EventAdapter {
 
@@ -75,7 +77,8 @@ public class ChannelEventAdapter extends EventAdapter {
             return;
         }
 
-        if (collection.where("channel_id", event.getChannel().getId()).isEmpty()) {
+        Collection channelReactions = collection.where("channel_id", event.getChannel().getId());
+        if (channelReactions.isEmpty()) {
             return;
         }
 
@@ -85,6 +88,11 @@ public class ChannelEventAdapter extends EventAdapter {
                 .delete();
 
             ReactionController.forgetCache(event.getGuild().getIdLong());
+            for (DataRow row : channelReactions) {
+                ReactionController.updateReactionRoleIndex(
+                    event.getGuild().getIdLong(), row.getLong("message_id"), Collections.emptyMap()
+                );
+            }
         } catch (SQLException e) {
             log.error("Failed to delete reaction roles from {} for channel ID {}, error: {}",
                 event.getGuild().getId(), event.getChannel().getId(), e.getMessage(), e
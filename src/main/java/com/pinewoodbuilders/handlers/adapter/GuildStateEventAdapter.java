@@ -23,6 +23,7 @@ package com.pinewoodbuilders.handlers.adapter;
 
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.cache.CacheRegistry;
 import com.pinewoodbuilders.chat.ConsoleColor;
 import com.pinewoodbuilders.contracts.handlers.EventAdapter;
 import com.pinewoodbuilders.metrics.Metrics;
@@ -119,6 +120,8 @@ public class GuildStateEventAdapter extends EventAdapter {
     }
 
     public void onGuildLeave(GuildLeaveEvent event) {
+        CacheRegistry.forgetGuild(event.getGuild().getIdLong());
+
         handleSendGuildLeaveWebhook(event.getGuild());
     }
 
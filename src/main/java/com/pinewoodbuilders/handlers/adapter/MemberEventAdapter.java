@@ -23,6 +23,7 @@ package com.pinewoodbuilders.handlers.adapter;
 
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.cache.CacheRegistry;
 import com.pinewoodbuilders.contracts.handlers.EventAdapter;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.controllers.GuildController;
@@ -174,6 +175,13 @@ public class MemberEventAdapter extends EventAdapter {
     }
 
     public void onGuildMemberRemove(GuildMemberRemoveEvent event) {
+        // Once the bot no longer shares any servers with the user, nothing will
+        // use the cached user entries anymore, so they're forgotten right
+        // away instead of being kept around until they expire.
+        if (avaire.getShardManager().getMutualGuilds(event.getUser()).isEmpty()) {
+            CacheRegistry.forgetUser(event.getUser().getIdLong());
+        }
+
         GuildTransformer transformer = GuildController.fetchGuild(avaire, event.getGuild());
         if (transformer == null) {
             log.warn("Failed to get a valid guild transformer during member leave! User:{}, Guild:{}",
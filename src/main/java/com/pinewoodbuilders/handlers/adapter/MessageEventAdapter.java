@@ -27,6 +27,7 @@ import com.pinewoodbuilders.AppInfo;
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.cache.MessageCache;
+import com.pinewoodbuilders.cache.MessageHistory;
 import com.pinewoodbuilders.chat.PlaceholderMessage;
 import com.pinewoodbuilders.commands.CommandContainer;
 import com.pinewoodbuilders.commands.CommandHandler;
@@ -48,7 +49,9 @@ import com.pinewoodbuilders.handlers.DatabaseEventHolder;
 import com.pinewoodbuilders.language.I18n;
 import com.pinewoodbuilders.middleware.MiddlewareStack;
 import com.pinewoodbuilders.middleware.ThrottleMiddleware;
+import com.pinewoodbuilders.moderation.filter.AutomodRules;
 import com.pinewoodbuilders.moderation.global.automute.MuteRatelimit;
+import com.pinewoodbuilders.moderation.global.filter.LinkAnalyzer;
 import com.pinewoodbuilders.moderation.global.filter.filter.LinkContainer;
 import com.pinewoodbuilders.modlog.local.moderation.Modlog;
 import com.pinewoodbuilders.modlog.local.shared.ModlogAction;
@@ -56,7 +59,6 @@ import com.pinewoodbuilders.modlog.local.shared.ModlogType;
 import com.pinewoodbuilders.utilities.ArrayUtil;
 import com.pinewoodbuilders.utilities.RestActionUtil;
 import com.pinewoodbuilders.utilities.XeusPermissionUtil;
-import com.vdurmont.emoji.EmojiParser;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.*;
@@ -65,16 +67,10 @@ import net.dv8tion.jda.api.events.message.GenericMessageEvent;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 import net.dv8tion.jda.api.events.message.MessageUpdateEvent;
 import okhttp3.HttpUrl;
-import org.nibor.autolink.LinkExtractor;
-import org.nibor.autolink.LinkSpan;
-import org.nibor.autolink.LinkType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.awt.*;
-import java.io.IOException;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.List;
@@ -96,6 +92,7 @@ public class MessageEventAdapter extends EventAdapter {
             .build()
     );
     private static final Logger log = LoggerFactory.getLogger(MessageEventAdapter.class);
+    private static final long SPAM_PERIOD = TimeUnit.SECONDS.toMillis(10);
     private static final Pattern userRegEX = Pattern.compile("<@(!|)+[0-9]{16,}+>", Pattern.CASE_INSENSITIVE);
     private static final String mentionMessage = String.join("\n", Arrays.asList(
         "Hi there! I'm **%s**, a multipurpose Discord bot built for fun by %s!",
@@ -116,21 +113,44 @@ public class MessageEventAdapter extends EventAdapter {
         super(avaire);
     }
 
-    public static List<String> replace(List<String> strings) {
-        ListIterator<String> iterator = strings.listIterator();
-        while (iterator.hasNext()) {
-            iterator.set(iterator.next().toLowerCase());
+    /**
+     * Handles the given message received event, loading the database properties for the
+     * message once, and then running the level, command, local filter, global filter,
+     * and link filter stages in order with the same database event holder.
+     *
+     * @param event        The message received event that should be handled.
+     * @param applyFilters Whether the automod filters should be applied to the message.
+     */
+    public void onMessageReceived(MessageReceivedEvent event, boolean applyFilters) {
+        if (applyFilters && event.isFromType(ChannelType.TEXT) && !event.getAuthor().isBot()) {
+            MessageHistory.record(event.getMessage());
+        }
+
+        boolean handleCommands = shouldHandleCommands(event);
+        if (!handleCommands && !applyFilters) {
+            return;
         }
-        return strings;
+
+        loadDatabasePropertiesIntoMemory(event).thenAccept(databaseEventHolder -> {
+            if (handleCommands) {
+                runStage("commands", event, () -> handleCommands(event, databaseEventHolder));
+            }
+
+            if (applyFilters) {
+                runStage("local-filter", event, () -> checkFilters(event, databaseEventHolder));
+                runStage("global-filter", event, () -> checkPublicFilter(event, databaseEventHolder));
+                runStage("link-filter", event, () -> checkNoLinksFilter(event, databaseEventHolder));
+            }
+        });
     }
 
-    public void onMessageReceived(MessageReceivedEvent event) {
+    private boolean shouldHandleCommands(MessageReceivedEvent event) {
         if (!isValidMessage(event.getAuthor())) {
-            return;
+            return false;
         }
 
         if (event.getChannelType().isGuild() && !event.getTextChannel().canTalk()) {
-            return;
+            return false;
         }
 
         if (!event.getAuthor().isBot()) {
@@ -139,146 +159,114 @@ public class MessageEventAdapter extends EventAdapter {
             }
         }
 
-        if (avaire.getBlacklist().isBlacklisted(event.getMessage())) {
-            return;
+        return !avaire.getBlacklist().isBlacklisted(event.getMessage());
+    }
+
+    private void handleCommands(MessageReceivedEvent event, DatabaseEventHolder databaseEventHolder) {
+        if (databaseEventHolder.getGuild() != null && databaseEventHolder.getPlayer() != null) {
+            avaire.getLevelManager().rewardPlayer(event, databaseEventHolder.getGuild(), databaseEventHolder.getPlayer());
         }
 
-        loadDatabasePropertiesIntoMemory(event).thenAccept(databaseEventHolder -> {
-            if (databaseEventHolder.getGuild() != null && databaseEventHolder.getPlayer() != null) {
-                avaire.getLevelManager().rewardPlayer(event, databaseEventHolder.getGuild(), databaseEventHolder.getPlayer());
-            }
+        CommandContainer container = CommandHandler.getCommand(avaire, event.getMessage(), event.getMessage().getContentRaw());
+        if (container != null && canExecuteCommand(event, container)) {
+            invokeMiddlewareStack(new MiddlewareStack(event.getMessage(), container, databaseEventHolder));
+            return;
+        }
 
-            CommandContainer container = CommandHandler.getCommand(avaire, event.getMessage(), event.getMessage().getContentRaw());
+        if (isMentionableAction(event)) {
+            container = CommandHandler.getLazyCommand(ArrayUtil.toArguments(event.getMessage().getContentRaw())[1]);
             if (container != null && canExecuteCommand(event, container)) {
-                invokeMiddlewareStack(new MiddlewareStack(event.getMessage(), container, databaseEventHolder));
+                invokeMiddlewareStack(new MiddlewareStack(event.getMessage(), container, databaseEventHolder, true));
                 return;
             }
+        }
 
-            if (isMentionableAction(event)) {
-                container = CommandHandler.getLazyCommand(ArrayUtil.toArguments(event.getMessage().getContentRaw())[1]);
-                if (container != null && canExecuteCommand(event, container)) {
-                    invokeMiddlewareStack(new MiddlewareStack(event.getMessage(), container, databaseEventHolder, true));
-                    return;
-                }
-            }
-
-            if (isSingleBotMention(event.getMessage().getContentRaw().trim())) {
-                sendTagInformationMessage(event);
-                return;
-            }
+        if (isSingleBotMention(event.getMessage().getContentRaw().trim())) {
+            sendTagInformationMessage(event);
+            return;
+        }
 
-            if (!event.getChannelType().isGuild()) {
-                sendInformationMessage(event);
-            }
-        });
+        if (!event.getChannelType().isGuild()) {
+            sendInformationMessage(event);
+        }
+    }
 
+    /**
+     * Runs a single stage of the message pipeline, any exception thrown by the stage
+     * is logged, so a failing stage doesn't prevent the stages after it from running.
+     */
+    private void runStage(String stage, GenericMessageEvent event, Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (Exception e) {
+            log.error("The {} stage failed to handle message {}: {}", stage, event.getMessageId(), e.getMessage(), e);
+        }
     }
 
     private boolean checkWildcardFilter(String contentStripped, GuildSettingsTransformer guild, Message messageId) {
-        String words = contentStripped.toLowerCase();
-        List<String> badWordsList = replace(guild.getBadWordsWildcard());
-        // system.out.println("UFWords: " + words);
-        // system.out.println("FWords: " + badWordsList);
-
-        for (String word : badWordsList) {
-            if (words.contains(word)) {
-                warnUser(messageId, guild, "**AUTOMOD**: Filter was activated!\n**Type**: " + "``WILDCARD``\n**Word Filtered**: " + word);
-                return true;
-            }
+        String word = guild.getWordFilter().findWildcard(contentStripped);
+        if (word == null) {
+            return false;
         }
-        return false;
+
+        warnUser(messageId, guild, "**AUTOMOD**: Filter was activated!\n**Type**: " + "``WILDCARD``\n**Word Filtered**: " + word);
+        return true;
     }
 
     private boolean checkExactFilter(String contentRaw, GuildSettingsTransformer databaseEventHolder, Message messageId) {
-        // system.out.println("FILTER ENABLED");
-        List<String> words = replace(Arrays.asList(contentRaw.split(" ")));
-        List<String> badWordsList = replace(databaseEventHolder.getBadWordsExact());
-
-        // system.out.println("UWords: " + words);
-        // system.out.println("FWords: " + badWordsList);
-
-        boolean b = words.stream().anyMatch(badWordsList::contains);
-        if (b) {
-            warnUser(messageId, databaseEventHolder, "**AUTOMOD**: Filter was activated!\n**Type**: " + "``EXACT``\n**Sentence Filtered**: \n" + contentRaw);
+        String word = databaseEventHolder.getWordFilter().findExact(contentRaw);
+        if (word == null) {
+            return false;
         }
-        return b;
+
+        warnUser(messageId, databaseEventHolder, "**AUTOMOD**: Filter was activated!\n**Type**: " + "``EXACT``\n**Word Filtered**: " + word + "\n**Sentence Filtered**: \n" + contentRaw);
+        return true;
     }
 
     private boolean checkGlobalWildcardFilter(String contentStripped, GlobalSettingsTransformer guild, Message messageId, GuildSettingsTransformer settings) {
-        String words = contentStripped.toLowerCase();
-        List<String> badWordsList = replace(guild.getGlobalFilterWildcard());
-        //System.out.println("UFWords: " + words);
-        //System.out.println("FWords: " + badWordsList);
-
-        for (String word : badWordsList) {
-            if (words.contains(word)) {
-                warnUserColor(messageId, settings, "**GLOBAL AUTOMOD**: Global Filter was activated!\n**Type**: " + "``WILDCARD``\n**Sentence Filtered**: " + contentStripped, new Color(0, 0, 0), messageId.getTextChannel());
-                return true;
-            }
+        String word = guild.getWordFilter().findWildcard(contentStripped);
+        if (word == null) {
+            return false;
         }
-        return false;
+
+        warnUserColor(messageId, settings, "**GLOBAL AUTOMOD**: Global Filter was activated!\n**Type**: " + "``WILDCARD``\n**Word Filtered**: " + word + "\n**Sentence Filtered**: " + contentStripped, new Color(0, 0, 0), messageId.getTextChannel());
+        return true;
     }
 
     private boolean checkGlobalExactFilter(String contentRaw, GlobalSettingsTransformer databaseEventHolder, Message messageId, GuildSettingsTransformer guild) {
-        // system.out.println("FILTER ENABLED");
-        List<String> words = replace(Arrays.asList(contentRaw.split(" ")));
-        List<String> badWordsList = replace(databaseEventHolder.getGlobalFilterExact());
-
-        // system.out.println("UWords: " + words);
-        // system.out.println("FWords: " + badWordsList);
-
-        boolean b = words.stream().anyMatch(badWordsList::contains);
-        if (b) {
-            return warnUserColor(messageId, guild, "**GLOBAL AUTOMOD**: Global Filter was activated!\n**Type**: " + "``EXACT``\n**Sentence Filtered**: \n" + contentRaw, new Color(0, 0, 0), messageId.getTextChannel());
+        String word = databaseEventHolder.getWordFilter().findExact(contentRaw);
+        if (word == null) {
+            return false;
         }
-        return b;
-    }
 
-    private boolean checkLinkFilter(String m) {
-        return m.contains("https://") || m.contains("http://") || m.startsWith("porn") || m.contains("www.") || m.contains(".com") || m.contains(".nl") || m.contains(".net") ||
-            m.startsWith("http") || m.startsWith("https") || m.contains("http//") || m.contains("https//") || m.matches("[-a-zA-Z0-9@:%._\\+~#=]{1,256}\\.[a-zA-Z0-9()]{1,6}\\b([-a-zA-Z0-9()@:%_\\+.~#?&//=]*)") || m.contains("%E2");
+        return warnUserColor(messageId, guild, "**GLOBAL AUTOMOD**: Global Filter was activated!\n**Type**: " + "``EXACT``\n**Word Filtered**: " + word + "\n**Sentence Filtered**: \n" + contentRaw, new Color(0, 0, 0), messageId.getTextChannel());
     }
 
+    /**
+     * Handles the given guild message update event, loading the database properties
+     * for the message once, and then running the watch link check, global
+     * filter, and local filter stages in order with the same holder.
+     *
+     * @param event The message update event that should be handled.
+     */
     public void onGuildMessageUpdate(MessageUpdateEvent event) {
         loadDatabasePropertiesIntoMemory(event).thenAccept(databaseEventHolder -> {
-            if (checkLinkFilter(event.getMessage().getContentRaw())) {
-                if (databaseEventHolder.getGuildSettings() == null) return;
-                if (databaseEventHolder.getGuildSettings().getOnWatchRole() != 0) {
-                    Role watchRole = event.getGuild().getRoleById(databaseEventHolder.getGuildSettings().getOnWatchRole());
-                    if (event.getMember().getRoles().contains(watchRole)) {
-                        event.getMessage().delete().queue();
-                    }
-                }
-            }
+            runStage("watch-link-filter", event, () -> checkWatchLinkFilter(event, databaseEventHolder));
+            runStage("global-filter", event, () -> checkPublicFilter(event, databaseEventHolder));
+            runStage("local-filter", event, () -> checkFilters(event, databaseEventHolder));
         });
     }
 
-
-    public void onLocalFilterMessageReceived(MessageReceivedEvent event) {
-        loadDatabasePropertiesIntoMemory(event).thenAccept(databaseEventHolder -> {
-            checkFilters(event, databaseEventHolder);
-        });
-    }
-
-
-    public void onLocalFilterEditReceived(MessageUpdateEvent event) {
-        loadDatabasePropertiesIntoMemory(event).thenAccept(databaseEventHolder -> {
-            checkFilters(event, databaseEventHolder);
-        });
-    }
-
-    public void onGlobalFilterMessageReceived(MessageReceivedEvent event) {
-        loadDatabasePropertiesIntoMemory(event).thenAccept(databaseEventHolder -> {
-                checkPublicFilter(event, databaseEventHolder);
+    private void checkWatchLinkFilter(MessageUpdateEvent event, DatabaseEventHolder databaseEventHolder) {
+        if (AutomodRules.containsLink(event.getMessage().getContentRaw())) {
+            if (databaseEventHolder.getGuildSettings() == null) return;
+            if (databaseEventHolder.getGuildSettings().getOnWatchRole() != 0) {
+                Role watchRole = event.getGuild().getRoleById(databaseEventHolder.getGuildSettings().getOnWatchRole());
+                if (event.getMember().getRoles().contains(watchRole)) {
+                    event.getMessage().delete().queue();
+                }
             }
-        );
-    }
-
-    public void onGlobalFilterEditReceived(MessageUpdateEvent event) {
-        loadDatabasePropertiesIntoMemory(event).thenAccept(databaseEventHolder -> {
-            checkPublicFilter(event, databaseEventHolder);
-        });
-
+        }
     }
 
     private void checkPublicFilter(GenericMessageEvent genericMessageEvent, DatabaseEventHolder databaseEventHolder) {
@@ -302,7 +290,7 @@ public class MessageEventAdapter extends EventAdapter {
         }
 
 
-        String message = event.getContentStripped().replaceAll("[!@#$%^&*()\\[\\]\\-=';/\\\\{}:\"><?|+_`~]", "");
+        String message = AutomodRules.stripSymbols(event.getContentStripped(), AutomodRules.GLOBAL_FILTER_SYMBOLS);
 
         if (checkGlobalExactFilter(message, settings, event, guild)) {
             System.out.println("Exact Filter removed: `" + message + "` in " + event.getGuild().getName() + " (<#" + event.getTextChannel().getId() + ">)");
@@ -315,8 +303,7 @@ public class MessageEventAdapter extends EventAdapter {
             MuteRatelimit.hit(ThrottleMiddleware.ThrottleType.USER, event.getAuthor().getIdLong(), event);
             return;
         } else if (checkAutomodFilters(event, guild)) {
-            event.getTextChannel().retrieveMessageById(event.getId()).queue(l -> {
-                l.delete().reason("Auto-Mod Violation").queue();
+            event.delete().reason("Auto-Mod Violation").queue(l -> {
                 System.out.println("AutoMod removed in " + event.getGuild().getName() + " (<#" + event.getTextChannel().getId() + ">): " + event.getContentRaw());
             }, failure -> {
                 System.out.println("AutoMod failed to remove in " + event.getGuild().getName() + " (<#" + event.getTextChannel().getId() + ">): " + event.getContentRaw());
@@ -327,7 +314,7 @@ public class MessageEventAdapter extends EventAdapter {
         checkPIAInviteFilter(event, databaseEventHolder);
         checkAutoLinkFilter(event, databaseEventHolder);
 
-        if (checkLinkFilter(event.getContentRaw())) {
+        if (AutomodRules.containsLink(event.getContentRaw())) {
             if (guild.getOnWatchRole() != 0) {
                 Role watchRole = event.getGuild().getRoleById(guild.getOnWatchRole());
                 if (event.getMember().getRoles().contains(watchRole)) {
@@ -343,18 +330,10 @@ public class MessageEventAdapter extends EventAdapter {
             return;
         }
 
-        String input = message.getContentRaw();
-        LinkExtractor linkExtractor = LinkExtractor.builder()
-            .linkTypes(EnumSet.of(LinkType.URL, LinkType.WWW)) // limit to URLs
-            .build();
-
-        Iterable<LinkSpan> links = linkExtractor.extractLinks(input);
-
-        for (LinkSpan link : links) {
-            String validLink = input.substring(link.getBeginIndex(), link.getEndIndex());
+        for (String validLink : LinkAnalyzer.extractLinks(message.getContentRaw())) {
             HttpUrl url = HttpUrl.parse(validLink);
             if (url != null) {
-                LinkContainer lc = avaire.getLinkFilterManager().getLinkContainer(databaseEventHolder.getGuildSettings().getMainGroupId(), url.topPrivateDomain());
+                LinkContainer lc = avaire.getLinkFilterManager().getLinkContainer(databaseEventHolder.getGuildSettings().getMainGroupId(), url);
                 if (lc != null) {
                     LinkLevel level = LinkLevel.getLinkLevelFromId(lc.getAction());
 
@@ -362,13 +341,14 @@ public class MessageEventAdapter extends EventAdapter {
                         if (databaseEventHolder.getGuildSettings().getLinkFilterLog() == 0) {
                             continue;
                         }
-                        if (message.getGuild().getTextChannelById(databaseEventHolder.getGuildSettings().getLinkFilterLog()) == null) {
+                        TextChannel linkFilterLog = message.getGuild().getTextChannelById(databaseEventHolder.getGuildSettings().getLinkFilterLog());
+                        if (linkFilterLog == null) {
                             continue;
                         }
 
                         List<MessageEmbed> lme = new ArrayList<>();
 
-                        PlaceholderMessage phm = MessageFactory.makeEmbeddedMessage(message.getGuild().getTextChannelById(databaseEventHolder.getGuildSettings().getLinkFilterLog()))
+                        PlaceholderMessage phm = MessageFactory.makeEmbeddedMessage(linkFilterLog)
                             .setTitle("Link Found - Level " + level.name())
                             .setDescription("""
                                 **• Offender**: :offender in :channel
@@ -390,21 +370,18 @@ public class MessageEventAdapter extends EventAdapter {
                         lme.add(phm.buildEmbed());
 
                         if (level.isCheckRedirect()) {
-                            try {
-                                List<String> redirects = fetchRedirect(validLink, new ArrayList<>());
-                                if (redirects.size() > 1) {
+                            // The redirects are resolved in the background, so the log message is sent once the
+                            // redirects are known, or without them if the link couldn't be resolved.
+                            avaire.getLinkAnalyzer().resolveRedirects(validLink).whenComplete((redirects, throwable) -> {
+                                if (redirects != null && redirects.size() > 1) {
                                     lme.add(new EmbedBuilder()
                                         .setDescription(redirects.stream().map(l -> " - " + l + "\n").collect(Collectors.joining())).setColor(level.getColor()).build());
                                 }
-                            } catch (IOException e) {
-                                e.printStackTrace();
-                            }
+                                linkFilterLog.sendMessageEmbeds(lme).queue();
+                            });
+                        } else {
+                            linkFilterLog.sendMessageEmbeds(lme).queue();
                         }
-
-                        message.getGuild()
-                            .getTextChannelById(databaseEventHolder.getGuildSettings().getLinkFilterLog())
-                            .sendMessageEmbeds(lme)
-                            .queue();
                     }
 
                     if (level.isDelete()) {
@@ -417,98 +394,76 @@ public class MessageEventAdapter extends EventAdapter {
         }
     }
 
-    private List<String> fetchRedirect(String url, List<String> redirects) throws IOException {
-        redirects.add(url);
-
-        HttpURLConnection con = (HttpURLConnection) (new URL(url).openConnection());
-        con.setRequestMethod("GET");
-        con.setRequestProperty("User-Agent", "Mozilla/5.0");
-        con.setInstanceFollowRedirects(false);
-        con.connect();
-
-        if (con.getHeaderField("Location") == null) {
-            return redirects;
-        }
-        return fetchRedirect(con.getHeaderField("Location"), redirects);
-    }
-
     private boolean checkAutomodFilters(Message message, GuildSettingsTransformer guild) {
-        if (guild.getMassMention() > 0) {
-            if (message.getMentionedMembers().size() >= guild.getMassMention()) {
-                warnUserColor(message, guild, "**GLOBAL AUTOMOD**: Global Automod was triggered!\n**Type**: " + "``Mass Mention``\n**Sentence Filtered**: \n" + message.getContentRaw(), new Color(0, 0, 0), message.getTextChannel());
+        AutomodRules.Violation violation = guild.getAutomodRules().check(message.getContentRaw(), message.getMentionedMembers().size());
+        if (violation != null) {
+            warnUserColor(message, guild, "**GLOBAL AUTOMOD**: Global Automod was triggered!\n**Type**: " + "``" + violation.getName() + "``\n**Sentence Filtered**: \n" + message.getContentRaw(), new Color(0, 0, 0), message.getTextChannel());
+
+            if (violation == AutomodRules.Violation.MASS_MENTION) {
                 message.getChannel().sendMessage("Please do not mass mention multiple people. " + message.getMember().getAsMention()).queue();
                 return false;
             }
+            return true;
         }
-        if (guild.getCharacterSpam() > 0) {
-            Pattern pattern = Pattern.compile("(.)\\1{" + (guild.getCharacterSpam() - 1) + ",}", Pattern.CASE_INSENSITIVE);
-            Matcher m = pattern.matcher(message.getContentRaw());
-            if (m.find()) {
-                warnUserColor(message, guild, "**GLOBAL AUTOMOD**: Global Automod was triggered!\n**Type**: " + "``Character Spam``\n**Sentence Filtered**: \n" + message.getContentRaw(), new Color(0, 0, 0), message.getTextChannel());
-                return true;
-            }
+        if (guild.getMessageSpam() > 0 || guild.getImageSpam() > 0 || guild.getLinkSpam() > 0) {
+            return checkSpamFilters(message, guild);
         }
-        if (guild.getEmojiSpam() > 0) {
-            Pattern pattern = Pattern.compile("(:[^:\\s]*(?:::[^:\\s]*)*:)", Pattern.CASE_INSENSITIVE);
-            Matcher m = pattern.matcher(message.getContentRaw());
-
-            int count = EmojiParser.extractEmojis(message.getContentRaw()).size();
-            while (m.find()) {
-                count++;
-            }
+        return false;
+    }
 
-            if (count >= guild.getEmojiSpam()) {
-                warnUserColor(message, guild, "**GLOBAL AUTOMOD**: Global Automod was triggered!\n**Type**: " + "``Emoji Spam``\n**Sentence Filtered**: \n" + message.getContentRaw(), new Color(0, 0, 0), message.getTextChannel());
-                message.delete().queue();
-                return true;
-            }
+    /**
+     * Checks the message, image, and link spam filters using the local message history window for the
+     * author of the message, if one of the filters are triggered, the other messages in the window
+     * that caused the filter to trigger are deleted in bulk, the message itself is deleted by
+     * the caller.
+     */
+    private boolean checkSpamFilters(Message message, GuildSettingsTransformer guild) {
+        MessageHistory.Window window = MessageHistory.getWindow(message);
+        if (window == null || message.getAuthor().isBot() || message.getMember() == null || message.getMember().isOwner()) {
+            return false;
         }
-        if (guild.getMessageSpam() > 0) {
-            List<Message> history = message.getTextChannel().getIterableHistory().stream().limit(10).filter(msg -> !msg.equals(message)).collect(Collectors.toList());
-            int spam = (int) history.stream().filter(m -> m.getAuthor().equals(message.getAuthor()) && !message.getAuthor().isBot()).filter(msg -> (message.getTimeCreated().toEpochSecond() - msg.getTimeCreated().toEpochSecond()) < 10).count();
 
-            if (spam >= guild.getMessageSpam() && !message.getGuild().getOwner().equals(message.getMember())) {
-                warnUserColor(message, guild, "**GLOBAL AUTOMOD**: Global Automod was triggered!\n**Type**: " + "``Message Spam``\n**Sentence Filtered**: \n" + message.getContentRaw(), new Color(0, 0, 0), message.getTextChannel());
-                for (Message m : history) {
-                    message.getTextChannel().retrieveMessageById(m.getId()).queue(l -> {
-                        l.delete().reason("Auto-Mod Violation").queue();
-                    }, null);
-                }
-                return true;
-            }
+        long now = message.getTimeCreated().toInstant().toEpochMilli();
+        int flags = MessageHistory.getFlags(message);
+
+        if (guild.getMessageSpam() > 0 && window.count(message.getIdLong(), now, SPAM_PERIOD, 0) >= guild.getMessageSpam()) {
+            warnUserColor(message, guild, "**GLOBAL AUTOMOD**: Global Automod was triggered!\n**Type**: " + "``Message Spam``\n**Sentence Filtered**: \n" + message.getContentRaw(), new Color(0, 0, 0), message.getTextChannel());
+            deleteMessages(message.getTextChannel(), window.take(message.getIdLong(), now, SPAM_PERIOD, 0));
+            return true;
         }
-        if (guild.getImageSpam() > 0) {
-            List<Message> history = message.getTextChannel().getIterableHistory().stream().limit(10).filter(msg -> !msg.equals(message)).collect(Collectors.toList());
-            int spam = (int) history.stream().filter(m -> m.getAuthor().equals(message.getAuthor()) && !message.getAuthor().isBot()).filter(msg -> (message.getTimeCreated().toEpochSecond() - msg.getTimeCreated().toEpochSecond()) < 10 && (msg.getAttachments().size() > 0 && message.getAttachments().size() > 0)).count();
-            if (spam >= guild.getImageSpam() && !message.getGuild().getOwner().equals(message.getMember())) {
-                warnUserColor(message, guild, "**GLOBAL AUTOMOD**: Global Automod was triggered!\n**Type**: " + "``Image Spam``\n**Sentence Filtered**: \n" + message.getContentRaw(), new Color(0, 0, 0), message.getTextChannel());
-                for (Message m : history) {
-                    message.getTextChannel().retrieveMessageById(m.getId()).queue(l -> {
-                        l.delete().reason("Auto-Mod Violation").queue();
-                    }, failure -> {
-
-                    });
-                }
-                return true;
-            }
+
+        if (guild.getImageSpam() > 0 && (flags & MessageHistory.ATTACHMENT) != 0
+            && window.count(message.getIdLong(), now, SPAM_PERIOD, MessageHistory.ATTACHMENT) >= guild.getImageSpam()) {
+            warnUserColor(message, guild, "**GLOBAL AUTOMOD**: Global Automod was triggered!\n**Type**: " + "``Image Spam``\n**Sentence Filtered**: \n" + message.getContentRaw(), new Color(0, 0, 0), message.getTextChannel());
+            deleteMessages(message.getTextChannel(), window.take(message.getIdLong(), now, SPAM_PERIOD, MessageHistory.ATTACHMENT));
+            return true;
         }
-        if (guild.getLinkSpam() > 0) {
-            List<Message> history = message.getTextChannel().getIterableHistory().stream().limit(10).filter(msg -> !msg.equals(message)).collect(Collectors.toList());
-            int spam = (int) history.stream().filter(m -> m.getAuthor().equals(message.getAuthor()) && !message.getAuthor().isBot()).filter(msg -> (message.getTimeCreated().toEpochSecond() - msg.getTimeCreated().toEpochSecond()) < 10 && (message.getContentRaw().contains("http://") || message.getContentRaw().contains("https://"))).count();
-            if (spam >= guild.getLinkSpam() && !message.getGuild().getOwner().equals(message.getMember())) {
-                for (Message m : history) {
-                    message.getTextChannel().retrieveMessageById(m.getId()).queue(l -> {
-                        l.delete().reason("Auto-Mod Violation").queue();
-                    }, failure -> {
 
-                    });
-                }
-                return true;
-            }
+        if (guild.getLinkSpam() > 0 && (flags & MessageHistory.LINK) != 0
+            && window.count(message.getIdLong(), now, SPAM_PERIOD, MessageHistory.LINK) >= guild.getLinkSpam()) {
+            deleteMessages(message.getTextChannel(), window.take(message.getIdLong(), now, SPAM_PERIOD, MessageHistory.LINK));
+            return true;
         }
         return false;
     }
 
+    private void deleteMessages(TextChannel channel, List<String> messageIds) {
+        if (messageIds.isEmpty()) {
+            return;
+        }
+
+        if (messageIds.size() == 1) {
+            channel.deleteMessageById(messageIds.get(0)).reason("Auto-Mod Violation").queue(null, failure -> {
+                // The message was most likely already deleted.
+            });
+            return;
+        }
+
+        channel.deleteMessagesByIds(messageIds).queue(null, failure -> {
+            log.debug("Failed to bulk delete {} spam messages in {}: {}", messageIds.size(), channel.getId(), failure.getMessage());
+        });
+    }
+
     private Message getActualMessage(GenericMessageEvent genericMessageEvent) {
         if (genericMessageEvent instanceof MessageReceivedEvent) {
             return ((MessageReceivedEvent) genericMessageEvent).getMessage();
@@ -519,7 +474,7 @@ public class MessageEventAdapter extends EventAdapter {
 
 
     private void checkFilters(GenericMessageEvent event, DatabaseEventHolder databaseEventHolder) {
-        MessageReceivedEvent messageId = (MessageReceivedEvent) event;
+        Message actualMessage = getActualMessage(event);
 
         if (!event.getChannelType().equals(ChannelType.TEXT)) {
             return;
@@ -532,26 +487,26 @@ public class MessageEventAdapter extends EventAdapter {
                 return;
             }
 
-            int permissionLevel = XeusPermissionUtil.getPermissionLevel(databaseEventHolder.getGuildSettings(), event.getGuild(), messageId.getMember()).getLevel();
+            int permissionLevel = XeusPermissionUtil.getPermissionLevel(databaseEventHolder.getGuildSettings(), event.getGuild(), actualMessage.getMember()).getLevel();
             if (permissionLevel >= GuildPermissionCheckType.LOCAL_GROUP_HR.getLevel()) {
                 return;
             }
 
-            String message = messageId.getMessage().getContentStripped().replaceAll("[,.!@#$%^&*()\\[\\]\\-=';/\\\\{}:\"><?|+_`~]", "");
-            if (checkExactFilter(message, guild, messageId.getMessage())) {
+            String message = AutomodRules.stripSymbols(actualMessage.getContentStripped(), AutomodRules.LOCAL_FILTER_SYMBOLS);
+            if (checkExactFilter(message, guild, actualMessage)) {
                 System.out.println("[EF] Exact Filter removed: " + message);
-                messageId.getMessage().delete().queue();
+                actualMessage.delete().queue();
 
-            } else if (checkWildcardFilter(message, guild, messageId.getMessage())) {
+            } else if (checkWildcardFilter(message, guild, actualMessage)) {
                 System.out.println("[WCF] Wildcard Filter removed: " + message);
-                messageId.getMessage().delete().queue();
+                actualMessage.delete().queue();
 
-            } else if (checkExactFilter(messageId.getMessage().getContentStripped(), guild, messageId.getMessage())) {
+            } else if (checkExactFilter(actualMessage.getContentStripped(), guild, actualMessage)) {
                 System.out.println("[EEF] Exact Filter removed: " + message);
-                messageId.getMessage().delete().queue();
-            } else if (checkWildcardFilter(messageId.getMessage().getContentStripped(), guild, messageId.getMessage())) {
+                actualMessage.delete().queue();
+            } else if (checkWildcardFilter(actualMessage.getContentStripped(), guild, actualMessage)) {
                 System.out.println("[EWCF] Wildcard Filter removed: " + message);
-                messageId.getMessage().delete().queue();
+                actualMessage.delete().queue();
             }
         }
     }
@@ -760,8 +715,8 @@ public class MessageEventAdapter extends EventAdapter {
                 return new DatabaseEventHolder(guild, null, VerificationController.fetchGuild(avaire, event.getMessage()), settings);
             }
 
-            return new DatabaseEventHolder(guild, PlayerController.fetchPlayer(avaire, event.getMessage()), VerificationController.fetchGuild(avaire, event.getMessage()), GuildSettingsController.fetchGuildSettingsFromGuild(avaire, event.getGuild()));
-        });
+            return new DatabaseEventHolder(guild, PlayerController.fetchPlayer(avaire, event.getMessage()), VerificationController.fetchGuild(avaire, event.getMessage()), settings);
+        }, avaire.getDatabase().getExecutor());
     }
 
     private CompletableFuture<DatabaseEventHolder> loadDatabasePropertiesIntoMemory(final MessageUpdateEvent event) {
@@ -777,8 +732,8 @@ public class MessageEventAdapter extends EventAdapter {
                 return new DatabaseEventHolder(guild, null, VerificationController.fetchGuild(avaire, event.getMessage()), settings);
             }
 
-            return new DatabaseEventHolder(guild, PlayerController.fetchPlayer(avaire, event.getMessage()), VerificationController.fetchGuild(avaire, event.getMessage()), GuildSettingsController.fetchGuildSettingsFromGuild(avaire, event.getGuild()));
-        });
+            return new DatabaseEventHolder(guild, PlayerController.fetchPlayer(avaire, event.getMessage()), VerificationController.fetchGuild(avaire, event.getMessage()), settings);
+        }, avaire.getDatabase().getExecutor());
     }
 
     public void onMessageDelete(TextChannel channel, List<String> messageIds) {
@@ -811,6 +766,11 @@ public class MessageEventAdapter extends EventAdapter {
             ReactionController.forgetCache(
                 channel.getGuild().getIdLong()
             );
+            for (String messageId : removedReactionMessageIds) {
+                ReactionController.updateReactionRoleIndex(
+                    channel.getGuild().getIdLong(), Long.parseLong(messageId), Collections.emptyMap()
+                );
+            }
         } catch (SQLException e) {
             log.error("Failed to delete {} reaction messages for the guild with an ID of {}",
                 removedReactionMessageIds.size(), channel.getGuild().getId(), e
@@ -856,36 +816,34 @@ public class MessageEventAdapter extends EventAdapter {
         }
     }
 
-    public void onNoLinksFilterMessageReceived(MessageReceivedEvent event) {
-        loadDatabasePropertiesIntoMemory(event).thenAccept(databaseEventHolder -> {
-            if (databaseEventHolder.getGuildSettings().getNoLinksRoles().size() < 1) {
-                return;
-            }
+    private void checkNoLinksFilter(MessageReceivedEvent event, DatabaseEventHolder databaseEventHolder) {
+        if (databaseEventHolder.getGuildSettings() == null || databaseEventHolder.getGuildSettings().getNoLinksRoles().size() < 1) {
+            return;
+        }
 
-            ArrayList<Role> list = new ArrayList<>();
+        ArrayList<Role> list = new ArrayList<>();
 
-            for (Long r : databaseEventHolder.getGuildSettings().getNoLinksRoles()) {
-                if (event.getGuild().getRoleById(r) != null) {
-                    list.add(event.getGuild().getRoleById(r));
-                }
+        for (Long r : databaseEventHolder.getGuildSettings().getNoLinksRoles()) {
+            if (event.getGuild().getRoleById(r) != null) {
+                list.add(event.getGuild().getRoleById(r));
             }
+        }
 
-            if (event.getMember().getRoles().stream().anyMatch(list::contains)) {
-                if (event.getGuild().getId().equals("438134543837560832")) {
-                    if (event.getMember().getRoles().contains(event.getGuild().getRoleById("768310651768537099"))) {
-                        return;
-                    } else {
-                        if (checkLinkFilter(event.getMessage().getContentStripped())) {
-                            cadetRemoveLinksMessage(event.getMessage(), event.getMessage(),
-                                "Hey there! It seems like you just tried to send a link in the PBST discord. However this is not possible due to [this recent change](https://discordapp.com/channels/438134543837560832/459764670782504961/768310524927672380).\n" +
-                                    "If you'd like to send a link in the discord. Please earn 10 points, and then run ``k!mp`` in the PBST discord.");
-                        }
-                    }
+        if (event.getMember().getRoles().stream().anyMatch(list::contains)) {
+            if (event.getGuild().getId().equals("438134543837560832")) {
+                if (event.getMember().getRoles().contains(event.getGuild().getRoleById("768310651768537099"))) {
+                    return;
                 } else {
-                    event.getMessage().delete().queue();
+                    if (AutomodRules.containsLink(event.getMessage().getContentStripped())) {
+                        cadetRemoveLinksMessage(event.getMessage(), event.getMessage(),
+                            "Hey there! It seems like you just tried to send a link in the PBST discord. However this is not possible due to [this recent change](https://discordapp.com/channels/438134543837560832/459764670782504961/768310524927672380).\n" +
+                                "If you'd like to send a link in the discord. Please earn 10 points, and then run ``k!mp`` in the PBST discord.");
+                    }
                 }
+            } else {
+                event.getMessage().delete().queue();
             }
-        });
+        }
     }
 
     private void cadetRemoveLinksMessage(Message message, Message event, String sendMessage) {
@@ -37,7 +37,7 @@ import com.pinewoodbuilders.database.transformers.GuildTransformer;
 import com.pinewoodbuilders.database.transformers.ReactionTransformer;
 import com.pinewoodbuilders.factories.MessageFactory;
 import com.pinewoodbuilders.handlers.DatabaseEventHolder;
-import com.pinewoodbuilders.scheduler.tasks.DrainReactionRoleQueueTask;
+import com.pinewoodbuilders.reactionrole.ReactionRoleIndex;
 import com.pinewoodbuilders.utilities.RoleUtil;
 import com.pinewoodbuilders.utilities.XeusPermissionUtil;
 import net.dv8tion.jda.api.EmbedBuilder;
@@ -104,6 +104,10 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
                         });
                     }
 
+                    ReactionController.updateReactionRoleIndex(
+                        transformer.getGuildId(), transformer.getMessageId(), transformer.getRoles()
+                    );
+
                     wasActionTaken = true;
                 } catch (SQLException ignored) {
                     // Since the query is running asynchronously the error will never
@@ -121,16 +125,10 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
     @SuppressWarnings("ConstantConditions")
     public void onMessageReactionAdd(MessageReactionAddEvent event) {
         if (event.getReactionEmote().isEmote()) {
-
-            ReactionTransformer transformer = getReactionTransformerFromMessageIdAndCheckPermissions(
-                event.getGuild(), event.getMessageId(), event.getReactionEmote().getEmote().getIdLong()
+            Role role = getReactionRoleAndCheckPermissions(
+                event.getGuild(), event.getMessageIdLong(), event.getReactionEmote().getEmote().getIdLong()
             );
 
-            if (transformer == null) {
-                return;
-            }
-
-            Role role = event.getGuild().getRoleById(transformer.getRoleIdFromEmote(event.getReactionEmote().getEmote()));
             if (role == null) {
                 return;
             }
@@ -139,28 +137,18 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
                 return;
             }
 
-            DrainReactionRoleQueueTask.queueReactionActionEntity(new DrainReactionRoleQueueTask.ReactionActionEntity(
-                event.getGuild().getIdLong(),
-                event.getMember().getUser().getIdLong(),
-                role.getIdLong(),
-                DrainReactionRoleQueueTask.ReactionActionType.ADD
-            ));
+            avaire.getReactionRoleManager().queueRoleAdd(event.getMember(), role);
         }
     }
 
     @SuppressWarnings("ConstantConditions")
     public void onMessageReactionRemove(MessageReactionRemoveEvent event) {
         if (event.getReactionEmote().isEmote()) {
-            ReactionTransformer transformer = getReactionTransformerFromMessageIdAndCheckPermissions(
-                event.getGuild(), event.getMessageId(), event.getReactionEmote().getEmote().getIdLong()
+            Role role = getReactionRoleAndCheckPermissions(
+                event.getGuild(), event.getMessageIdLong(), event.getReactionEmote().getEmote().getIdLong()
             );
 
-            if (transformer == null) {
-                return;
-            }
-
-            Role role = event.getGuild().getRoleById(transformer.getRoleIdFromEmote(event.getReactionEmote().getEmote()));
-            if (role == null) {
+            if (role == null || event.getMember() == null) {
                 return;
             }
 
@@ -168,30 +156,26 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
                 return;
             }
 
-            DrainReactionRoleQueueTask.queueReactionActionEntity(new DrainReactionRoleQueueTask.ReactionActionEntity(
-                event.getGuild().getIdLong(),
-                event.getMember().getUser().getIdLong(),
-                role.getIdLong(),
-                DrainReactionRoleQueueTask.ReactionActionType.REMOVE
-            ));
+            avaire.getReactionRoleManager().queueRoleRemove(event.getMember(), role);
         }
     }
 
-    private ReactionTransformer getReactionTransformerFromMessageIdAndCheckPermissions(@Nonnull Guild guild, @Nonnull String messageId, long emoteId) {
+    @Nullable
+    private Role getReactionRoleAndCheckPermissions(@Nonnull Guild guild, long messageId, long emoteId) {
         if (!hasPermission(guild)) {
             return null;
         }
 
-        Collection collection = ReactionController.fetchReactions(avaire, guild);
-        if (collection == null || collection.isEmpty()) {
+        ReactionRoleIndex index = ReactionController.fetchReactionRoleIndex(avaire, guild);
+        if (index.isEmpty()) {
             return null;
         }
 
-        ReactionTransformer transformer = getReactionTransformerFromId(collection, messageId);
-        if (transformer == null || !transformer.getRoles().containsKey(emoteId)) {
+        Long roleId = index.getRoleId(messageId, emoteId);
+        if (roleId == null) {
             return null;
         }
-        return transformer;
+        return guild.getRoleById(roleId);
     }
 
     private boolean hasPermission(Guild guild) {
@@ -199,15 +183,6 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
             || guild.getSelfMember().hasPermission(Permission.MANAGE_ROLES);
     }
 
-    @Nullable
-    private ReactionTransformer getReactionTransformerFromId(@Nonnull Collection collection, @Nonnull String messageId) {
-        List <DataRow> messages = collection.where("message_id", messageId);
-        if (messages.isEmpty()) {
-            return null;
-        }
-        return new ReactionTransformer(messages.get(0));
-    }
-
     /**
      * Some custom stuff, related to Pinewood specifically.
      */
@@ -818,7 +793,7 @@ public class ReactionEmoteEventAdapter extends EventAdapter {
                 return new DatabaseEventHolder(guild, null, null, GuildSettingsController.fetchGuildSettingsFromGuild(avaire, event.getGuild()));
             }
             return new DatabaseEventHolder(guild, null, null, GuildSettingsController.fetchGuildSettingsFromGuild(avaire, event.getGuild()));
-        });
+        }, avaire.getDatabase().getExecutor());
     }
 
 
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.imagegen;
+
+import com.pinewoodbuilders.cache.CacheRegistry;
+import com.pinewoodbuilders.cache.RegisteredCache;
+import com.pinewoodbuilders.contracts.imagegen.Renderer;
+
+import javax.annotation.Nonnull;
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the decoded, and pre-scaled, assets used by the image renders, so
+ * background files are only read from disk and scaled once, and avatars
+ * are only downloaded and scaled once for each avatar hash.
+ * <p>
+ * The cached images are shared between renders and must never be drawn
+ * on directly, backgrounds are copied before they're drawn on, while
+ * avatars are only ever drawn onto other images.
+ */
+public final class RenderAssets {
+
+    private static final RegisteredCache<String, BufferedImage> backgrounds = CacheRegistry.<String, BufferedImage>newCache("rank-backgrounds")
+        .expireAfterAccess(1, TimeUnit.HOURS)
+        .build();
+
+    private static final RegisteredCache<String, BufferedImage> avatars = CacheRegistry.<String, BufferedImage>newCache("rank-avatars")
+        .maximumSize(500)
+        .expireAfterAccess(30, TimeUnit.MINUTES)
+        .build();
+
+    private RenderAssets() {
+        //
+    }
+
+    /**
+     * Gets a copy of the background image for the given rank background, scaled to
+     * the given size, the copy can safely be drawn on by the renderer.
+     *
+     * @param background The rank background the image should be fetched for.
+     * @param width      The width the background should be scaled to.
+     * @param height     The height the background should be scaled to.
+     * @return A copy of the scaled background image.
+     * @throws IOException If the background file couldn't be read.
+     */
+    public static BufferedImage getBackground(@Nonnull RankBackground background, int width, int height) throws IOException {
+        BufferedImage image = load(backgrounds, background.getId() + ":" + width + "x" + height, () -> loadBackground(background, width, height));
+
+        BufferedImage copy = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D graphics = copy.createGraphics();
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+
+        return copy;
+    }
+
+    /**
+     * Gets the avatar image from the given URL, scaled to the given size, the avatar
+     * URLs includes the avatar hash, so avatars are downloaded again whenever
+     * a user changes their avatar, the returned image must not be drawn on.
+     *
+     * @param avatarUrl The URL of the avatar.
+     * @param size      The width and height the avatar should be scaled to.
+     * @return The scaled avatar image.
+     * @throws IOException If the avatar couldn't be downloaded or decoded.
+     */
+    public static BufferedImage getAvatar(@Nonnull String avatarUrl, int size) throws IOException {
+        return load(avatars, avatarUrl + ":" + size, () -> loadAvatar(avatarUrl, size));
+    }
+
+    private static BufferedImage load(RegisteredCache<String, BufferedImage> cache, String key, ImageLoader loader) throws IOException {
+        BufferedImage image = cache.getIfPresent(key);
+        if (image != null) {
+            return image;
+        }
+
+        // The images are loaded outside of the cache, so a slow avatar download
+        // doesn't block other renders that are waiting for the same cache.
+        image = loader.load();
+        cache.put(key, image);
+
+        return image;
+    }
+
+    private static BufferedImage loadBackground(RankBackground background, int width, int height) throws IOException {
+        if (background.getBackgroundFile() != null) {
+            BufferedImage image = ImageIO.read(new File("backgrounds/" + background.getBackgroundFile()));
+            if (image == null) {
+                throw new IOException("Failed to decode the background file " + background.getBackgroundFile());
+            }
+            return Renderer.scale(image, height, width);
+        }
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(background.getBackgroundColors().getBackgroundColor());
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+
+        return image;
+    }
+
+    private static BufferedImage loadAvatar(String avatarUrl, int size) throws IOException {
+        URLConnection connection = new URL(avatarUrl).openConnection();
+        connection.setRequestProperty("User-Agent", "Xeus-Discord-Bot");
+        connection.setConnectTimeout(5000);
+        connection.setReadTimeout(5000);
+
+        try (InputStream stream = connection.getInputStream()) {
+            BufferedImage image = ImageIO.read(stream);
+            if (image == null) {
+                throw new IOException("Failed to decode the avatar from " + avatarUrl);
+            }
+            return Renderer.scale(image, size, size);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ImageLoader {
+
+        BufferedImage load() throws IOException;
+    }
+}
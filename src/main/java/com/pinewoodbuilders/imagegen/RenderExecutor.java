@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.imagegen;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.pinewoodbuilders.cache.CacheRegistry;
+import com.pinewoodbuilders.cache.RegisteredCache;
+import com.pinewoodbuilders.contracts.imagegen.Renderer;
+import com.pinewoodbuilders.metrics.Metrics;
+import io.prometheus.client.Histogram;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.*;
+
+/**
+ * The render executor is a small bounded thread pool used for rendering images off the
+ * command threads, since rendering is CPU bound, the pool only uses a few threads,
+ * and when the queue is full new renders are rejected straight away, so the
+ * commands can fall back to a text response instead of waiting.
+ * <p>
+ * Renders that provide a {@link Renderer#getCacheKey() cache key} are cached, along
+ * with any render that is still in progress, so identical renders requested at the
+ * same time, or shortly after each other, are only ever rendered once.
+ */
+public class RenderExecutor extends ThreadPoolExecutor {
+
+    private static final RegisteredCache<String, CompletableFuture<byte[]>> renders = CacheRegistry.<String, CompletableFuture<byte[]>>newCache("rendered-images")
+        .maximumSize(100)
+        .expireAfterAccess(5, TimeUnit.MINUTES)
+        .build();
+
+    /**
+     * Creates a new render executor with the given amount of
+     * threads, and the given maximum amount of queued renders.
+     *
+     * @param threads   The amount of threads that should be used to render images.
+     * @param queueSize The maximum amount of renders that can be waiting to run.
+     */
+    public RenderExecutor(int threads, int queueSize) {
+        super(
+            threads, threads,
+            60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(queueSize),
+            new ThreadFactoryBuilder()
+                .setNameFormat("render-executor-%d")
+                .setDaemon(true)
+                .build(),
+            (task, executor) -> {
+                Metrics.renderExecutorRejected.inc();
+
+                throw new RejectedExecutionException("The render executor queue is full");
+            }
+        );
+
+        allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Renders the given renderer to an array of bytes on the render executor, if the
+     * renderer has a cache key, the previous render for the same key is returned
+     * instead, if one exists, and hasn't expired yet.
+     *
+     * @param renderer The renderer that should be rendered.
+     * @return A future that will be completed with the rendered image, or completed
+     * exceptionally if the render failed, or the render executor queue was full.
+     */
+    public CompletableFuture<byte[]> renderToBytes(@Nonnull Renderer renderer) {
+        String cacheKey = renderer.getCacheKey();
+        if (cacheKey == null) {
+            return supply(renderer);
+        }
+
+        CompletableFuture<byte[]> future = renders.get(cacheKey, () -> supply(renderer));
+
+        // Failed renders are removed from the cache, so the next
+        // request for the same render will try to render it again.
+        future.whenComplete((bytes, throwable) -> {
+            if (throwable != null || bytes == null) {
+                renders.getCache().asMap().remove(cacheKey, future);
+            }
+        });
+
+        return future;
+    }
+
+    private CompletableFuture<byte[]> supply(Renderer renderer) {
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+
+        try {
+            execute(() -> {
+                Histogram.Timer timer = Metrics.renderTime.labels(renderer.getClass().getSimpleName()).startTimer();
+                try {
+                    future.complete(renderer.renderToBytes());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    timer.observeDuration();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    @Override
+    public void execute(@Nonnull Runnable command) {
+        super.execute(command);
+        Metrics.renderExecutorQueue.set(getQueue().size());
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable runnable) {
+        Metrics.renderExecutorActive.inc();
+        Metrics.renderExecutorQueue.set(getQueue().size());
+    }
+
+    @Override
+    protected void afterExecute(Runnable runnable, Throwable throwable) {
+        Metrics.renderExecutorActive.dec();
+    }
+}
@@ -24,21 +24,26 @@ package com.pinewoodbuilders.imagegen.renders;
 import com.pinewoodbuilders.contracts.imagegen.Renderer;
 import com.pinewoodbuilders.imagegen.Fonts;
 import com.pinewoodbuilders.imagegen.RankBackground;
+import com.pinewoodbuilders.imagegen.RenderAssets;
 import net.dv8tion.jda.api.entities.User;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.net.URL;
-import java.net.URLConnection;
 
 @SuppressWarnings("FieldCanBeLocal")
 public class RankBackgroundRender extends Renderer {
 
+    private static final Font usernameFont = Fonts.bold.deriveFont(Font.PLAIN, 26F);
+    private static final Font discriminatorFont = Fonts.medium.deriveFont(Font.PLAIN, 17F);
+    private static final Font xpBarFont = Fonts.medium.deriveFont(Font.PLAIN, 20F);
+    private static final Font labelFont = Fonts.medium.deriveFont(Font.PLAIN, 28F);
+    private static final Font valueFont = Fonts.extraBold.deriveFont(Font.PLAIN, 48F);
+    private static final Font experienceLabelFont = Fonts.medium.deriveFont(Font.PLAIN, 26F);
+    private static final Font experienceValueFont = Fonts.regular.deriveFont(Font.PLAIN, 24F);
+
     private final int xpBarLength = 420;
     private final int startingX = 145;
     private final int startingY = 35;
@@ -64,7 +69,7 @@ public class RankBackgroundRender extends Renderer {
      * @param user The user that should be sued for the rank background render.
      */
     public RankBackgroundRender(@Nonnull User user) {
-        this(user.getName(), user.getDiscriminator(), user.getEffectiveAvatarUrl());
+        this(user.getName(), user.getDiscriminator(), user.getEffectiveAvatarUrl() + "?size=128");
     }
 
     /**
@@ -186,14 +191,24 @@ public class RankBackgroundRender extends Renderer {
     }
 
     @Override
-    protected BufferedImage handleRender() throws IOException {
-        URL url = new URL(avatarUrl);
-        URLConnection urlConnection = url.openConnection();
-        urlConnection.setRequestProperty("User-Agent", "Xeus-Discord-Bot");
+    public String getCacheKey() {
+        if (!canRender()) {
+            return null;
+        }
 
+        return String.join("\u0000",
+            "rank-background", String.valueOf(background.getId()),
+            username, discriminator, avatarUrl,
+            rank, level, currentXpInLevel, totalXpInLevel,
+            serverExperience, globalExperience, String.valueOf(percentage)
+        );
+    }
+
+    @Override
+    protected BufferedImage handleRender() throws IOException {
         final String xpBarText = String.format("%s out of %s xp", currentXpInLevel, totalXpInLevel);
 
-        BufferedImage backgroundImage = loadAndBuildBackground();
+        BufferedImage backgroundImage = RenderAssets.getBackground(background, 600, 200);
 
         // Creates our graphics and prepares it for use.
         Graphics2D graphics = backgroundImage.createGraphics();
@@ -205,44 +220,25 @@ public class RankBackgroundRender extends Renderer {
         }
 
         // Draws the avatar image on top of the background.
-        graphics.drawImage(resize(ImageIO.read(urlConnection.getInputStream()), 95, 95), 25, 15, null);
+        graphics.drawImage(RenderAssets.getAvatar(avatarUrl, 95), 25, 15, null);
 
         createUserGraphics(graphics);
         createBackgroundGraphics(graphics, xpBarText);
         createLevelAndRankGraphics(graphics);
         createExperienceGraphics(graphics);
-        urlConnection.getInputStream().close();
         graphics.dispose();
         return backgroundImage;
     }
 
-    private BufferedImage loadAndBuildBackground() throws IOException {
-        if (background.getBackgroundFile() != null) {
-            FileInputStream fileInputStream = new FileInputStream("backgrounds/" + background.getBackgroundFile());
-            return resize(
-                ImageIO.read(fileInputStream),
-                200, 600
-            );
-        }
-
-        BufferedImage backgroundImage = new BufferedImage(600, 200, BufferedImage.TYPE_INT_ARGB);
-
-        Graphics2D avatarGraphics = backgroundImage.createGraphics();
-        avatarGraphics.setColor(background.getBackgroundColors().getBackgroundColor());
-        avatarGraphics.fillRect(0, 0, 600, 200);
-
-        return backgroundImage;
-    }
-
     private void createUserGraphics(Graphics2D graphics) {
-        graphics.setFont(Fonts.bold.deriveFont(Font.PLAIN, 26F));
+        graphics.setFont(usernameFont);
         graphics.setColor(background.getBackgroundColors().getMainTextColor());
 
         graphics.drawString(username, startingX + 5, startingY);
 
         FontMetrics fontMetrics = graphics.getFontMetrics();
 
-        graphics.setFont(Fonts.medium.deriveFont(Font.PLAIN, 17));
+        graphics.setFont(discriminatorFont);
         graphics.setColor(background.getBackgroundColors().getSecondaryTextColor());
 
         graphics.drawString("#" + discriminator, startingX + 5 + fontMetrics.stringWidth(username), startingY);
@@ -263,10 +259,9 @@ public class RankBackgroundRender extends Renderer {
         // Create the text that should be displayed in the middle of the XP bar
         graphics.setColor(background.getBackgroundColors().getExperienceTextColor());
 
-        Font smallText = Fonts.medium.deriveFont(Font.PLAIN, 20F);
-        graphics.setFont(smallText);
+        graphics.setFont(xpBarFont);
 
-        FontMetrics fontMetrics = graphics.getFontMetrics(smallText);
+        FontMetrics fontMetrics = graphics.getFontMetrics(xpBarFont);
         graphics.drawString(xpBarText, startingX + 5 + ((xpBarLength - fontMetrics.stringWidth(xpBarText)) / 2), startingY + 42);
     }
 
@@ -274,11 +269,11 @@ public class RankBackgroundRender extends Renderer {
         graphics.setColor(background.getBackgroundColors().getMainTextColor());
 
         // Create Level text
-        graphics.setFont(Fonts.medium.deriveFont(Font.PLAIN, 28));
+        graphics.setFont(labelFont);
         graphics.drawString("LEVEL", 35, 140);
 
         FontMetrics infoTextGraphicsFontMetricsLarge = graphics.getFontMetrics();
-        graphics.setFont(Fonts.extraBold.deriveFont(Font.PLAIN, 48));
+        graphics.setFont(valueFont);
 
         FontMetrics infoTextGraphicsFontMetricsSmall = graphics.getFontMetrics();
         graphics.drawString(level, 35 + (
@@ -286,9 +281,9 @@ public class RankBackgroundRender extends Renderer {
         ), 185);
 
         // Create Score Text
-        graphics.setFont(Fonts.medium.deriveFont(Font.PLAIN, 28));
+        graphics.setFont(labelFont);
         graphics.drawString("RANK", 165, 140);
-        graphics.setFont(Fonts.extraBold.deriveFont(Font.PLAIN, 48));
+        graphics.setFont(valueFont);
         graphics.drawString(rank, 165 + (
             (infoTextGraphicsFontMetricsLarge.stringWidth("RANK") - infoTextGraphicsFontMetricsSmall.stringWidth(rank)) / 2
         ), 185);
@@ -297,11 +292,11 @@ public class RankBackgroundRender extends Renderer {
     private void createExperienceGraphics(Graphics2D graphics) {
         graphics.setColor(background.getBackgroundColors().getMainTextColor());
 
-        graphics.setFont(Fonts.medium.deriveFont(Font.PLAIN, 26F));
+        graphics.setFont(experienceLabelFont);
         graphics.drawString("Server XP:", 300, 140);
         graphics.drawString("Global XP:", 300, 180);
 
-        graphics.setFont(Fonts.regular.deriveFont(Font.PLAIN, 24F));
+        graphics.setFont(experienceValueFont);
         graphics.setColor(background.getBackgroundColors().getSecondaryTextColor());
         graphics.drawString(serverExperience, 455, 140);
         graphics.drawString(globalExperience, 455, 180);
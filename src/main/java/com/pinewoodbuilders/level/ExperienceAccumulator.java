@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.pinewoodbuilders.level;
+
+import com.pinewoodbuilders.database.persistence.PlayerKey;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The experience accumulator keeps track of the experience that has been rewarded
+ * to players, but not yet synced with the database, every reward for the same
+ * player in the same guild is added to a single pending entry, so awarding
+ * experience, and looking up the pending experience for a player, is done
+ * in constant time, and the database sync only has to update one row
+ * for each player, no matter how many messages they have sent.
+ * <p>
+ * Rewards are added using {@link ConcurrentHashMap#compute(Object, java.util.function.BiFunction) compute},
+ * which only locks the hash bin the player is in, this makes draining an entry with
+ * {@link ConcurrentHashMap#remove(Object) remove} atomic with any reward being added
+ * at the same time, so rewards are never lost between two syncs.
+ */
+public class ExperienceAccumulator {
+
+    private final ConcurrentHashMap<PlayerKey, PendingExperience> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Adds the given amount of experience to the pending experience
+     * for the player with the given user and guild ID.
+     *
+     * @param userId       The ID of the user that was rewarded the experience.
+     * @param guildId      The ID of the guild the user was rewarded the experience in.
+     * @param amount       The amount of experience that was rewarded.
+     * @param excludeLocal Whether the experience should be excluded from the local server based XP.
+     */
+    public void add(long userId, long guildId, long amount, boolean excludeLocal) {
+        pending.compute(new PlayerKey(userId, guildId), (key, entry) -> {
+            if (entry == null) {
+                entry = new PendingExperience();
+            }
+
+            entry.experience += amount;
+            if (!excludeLocal) {
+                entry.localExperience += amount;
+            }
+
+            return entry;
+        });
+    }
+
+    /**
+     * Gets the total amount of pending experience for the player
+     * with the given user and guild ID, that have yet to be
+     * synced with the database.
+     *
+     * @param userId  The ID of the user that should be looked up.
+     * @param guildId The ID of the guild that should be looked up.
+     * @return The amount of experience that have yet to be synced, or <code>0</code>.
+     */
+    public long getPendingExperience(long userId, long guildId) {
+        PendingExperience entry = pending.get(new PlayerKey(userId, guildId));
+
+        return entry == null ? 0 : entry.experience;
+    }
+
+    /**
+     * Drains every pending entry from the accumulator, returning a single
+     * experience entity for each player that has been rewarded
+     * experience since the accumulator was last drained.
+     *
+     * @return A list of coalesced experience entities, one for each player.
+     */
+    public List<ExperienceEntity> drain() {
+        List<ExperienceEntity> entities = new ArrayList<>(pending.size());
+
+        for (PlayerKey key : pending.keySet()) {
+            PendingExperience entry = pending.remove(key);
+            if (entry == null) {
+                continue;
+            }
+
+            entities.add(new ExperienceEntity(key.getUserId(), key.getGuildId(), entry.experience, entry.localExperience));
+        }
+
+        return entities;
+    }
+
+    /**
+     * Adds the given experience entities back into the accumulator, this
+     * is used to retry entities that failed to be synced with the
+     * database, merging them with any newer rewards.
+     *
+     * @param entities The experience entities that should be re-added.
+     */
+    public void restore(@Nonnull Collection<ExperienceEntity> entities) {
+        for (ExperienceEntity entity : entities) {
+            pending.compute(new PlayerKey(entity.getUserId(), entity.getGuildId()), (key, entry) -> {
+                if (entry == null) {
+                    entry = new PendingExperience();
+                }
+
+                entry.experience += entity.getExperience();
+                entry.localExperience += entity.getLocalExperience();
+
+                return entry;
+            });
+        }
+    }
+
+    /**
+     * Checks if there are no pending experience waiting to be synced.
+     *
+     * @return {@code True} if there are no pending experience, {@code False} otherwise.
+     */
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Gets the amount of players that have pending experience.
+     *
+     * @return The amount of players with pending experience.
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    private static final class PendingExperience {
+
+        // Only modified from within the compute functions, which are run while holding
+        // the lock for the hash bin, the fields are volatile so the pending lookups,
+        // which doesn't lock anything, can read the latest values.
+        private volatile long experience = 0;
+        private volatile long localExperience = 0;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.level;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * The leaderboard for a single guild, the entries are kept in an array sorted
+ * by experience, highest first, with ties broken by user ID, so looking up
+ * the rank of a player, or the top players, is done using a binary
+ * search, rather than scanning every player in the guild.
+ * <p>
+ * Updating the experience for a player only shifts the entries between its
+ * old and new position, which for the small amounts of experience that is
+ * rewarded per message, is usually only a handful of entries.
+ */
+public class GuildLeaderboard {
+
+    private static final Comparator<LeaderboardEntry> ORDER = (left, right) -> {
+        int experience = Long.compare(right.getExperience(), left.getExperience());
+        if (experience != 0) {
+            return experience;
+        }
+        return Long.compare(left.getUserId(), right.getUserId());
+    };
+
+    private final Map<Long, LeaderboardEntry> entriesByUser;
+    private LeaderboardEntry[] entries;
+    private int size;
+
+    /**
+     * Creates a new guild leaderboard using the given entries.
+     *
+     * @param entries The entries the leaderboard should start with.
+     */
+    public GuildLeaderboard(@Nonnull List<LeaderboardEntry> entries) {
+        this.entriesByUser = new HashMap<>(Math.max(16, entries.size() * 4 / 3 + 1));
+        for (LeaderboardEntry entry : entries) {
+            entriesByUser.put(entry.getUserId(), entry);
+        }
+
+        this.entries = entriesByUser.values().toArray(new LeaderboardEntry[Math.max(16, entriesByUser.size())]);
+        this.size = entriesByUser.size();
+
+        Arrays.sort(this.entries, 0, size, ORDER);
+    }
+
+    /**
+     * Adds the given entry to the leaderboard, replacing any
+     * existing entry for the same user, and moving it
+     * to its new position on the leaderboard.
+     *
+     * @param entry The entry that should be added to the leaderboard.
+     */
+    public synchronized void update(@Nonnull LeaderboardEntry entry) {
+        LeaderboardEntry previous = entriesByUser.put(entry.getUserId(), entry);
+        if (previous == null) {
+            insert(entry);
+            return;
+        }
+
+        int from = Arrays.binarySearch(entries, 0, size, previous, ORDER);
+        int to = Arrays.binarySearch(entries, 0, size, entry, ORDER);
+
+        if (to >= 0) {
+            // The entry has the same experience as before, so it stays where it is.
+            entries[to] = entry;
+            return;
+        }
+
+        to = -to - 1;
+        if (to <= from) {
+            System.arraycopy(entries, to, entries, to + 1, from - to);
+            entries[to] = entry;
+        } else {
+            System.arraycopy(entries, from + 1, entries, from, to - from - 1);
+            entries[to - 1] = entry;
+        }
+    }
+
+    /**
+     * Removes the user with the given ID from the leaderboard.
+     *
+     * @param userId The ID of the user that should be removed.
+     */
+    public synchronized void remove(long userId) {
+        LeaderboardEntry previous = entriesByUser.remove(userId);
+        if (previous == null) {
+            return;
+        }
+
+        int index = Arrays.binarySearch(entries, 0, size, previous, ORDER);
+        System.arraycopy(entries, index + 1, entries, index, size - index - 1);
+        entries[--size] = null;
+    }
+
+    /**
+     * Gets the rank of the user with the given ID, users with the same amount
+     * of experience share the same rank, the rank starts from {@code 1}.
+     *
+     * @param userId The ID of the user that the rank should be fetched for.
+     * @return The rank of the user, or {@code -1} if the user isn't on the leaderboard.
+     */
+    public synchronized int getRank(long userId) {
+        LeaderboardEntry entry = entriesByUser.get(userId);
+        if (entry == null) {
+            return -1;
+        }
+
+        // The probe sorts before every entry with the same amount of experience, so the
+        // insertion point is the amount of players with more experience than the user.
+        LeaderboardEntry probe = new LeaderboardEntry(Long.MIN_VALUE, entry.getExperience(), null, null, null, null);
+
+        return -Arrays.binarySearch(entries, 0, size, probe, ORDER);
+    }
+
+    /**
+     * Gets the entry for the user with the given ID.
+     *
+     * @param userId The ID of the user that the entry should be fetched for.
+     * @return The entry for the user, or {@code null} if the user isn't on the leaderboard.
+     */
+    public synchronized LeaderboardEntry getEntry(long userId) {
+        return entriesByUser.get(userId);
+    }
+
+    /**
+     * Gets the top entries on the leaderboard.
+     *
+     * @param limit The maximum amount of entries that should be returned.
+     * @return A list of the top entries, ordered by experience, highest first.
+     */
+    public synchronized List<LeaderboardEntry> getTop(int limit) {
+        return new ArrayList<>(Arrays.asList(entries).subList(0, Math.max(0, Math.min(limit, size))));
+    }
+
+    /**
+     * Gets the amount of users on the leaderboard.
+     *
+     * @return The amount of users on the leaderboard.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void insert(LeaderboardEntry entry) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size + (size >> 1));
+        }
+
+        int index = -Arrays.binarySearch(entries, 0, size, entry, ORDER) - 1;
+        System.arraycopy(entries, index, entries, index + 1, size - index);
+        entries[index] = entry;
+        size++;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.level;
+
+import com.pinewoodbuilders.database.transformers.PlayerTransformer;
+
+import javax.annotation.Nonnull;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Base64;
+
+/**
+ * An immutable leaderboard entry, holding the experience for a single
+ * player, along with the profile information that is displayed on
+ * the leaderboards, so the leaderboards can be built without
+ * having to query the database.
+ */
+public class LeaderboardEntry {
+
+    private final long userId;
+    private final long experience;
+    private final String username;
+    private final String rawUsername;
+    private final String discriminator;
+    private final String avatar;
+
+    /**
+     * Creates a new leaderboard entry.
+     *
+     * @param userId        The ID of the user the entry is for.
+     * @param experience    The amount of experience the user has in the guild.
+     * @param username      The decoded username of the user.
+     * @param rawUsername   The username as it's stored in the database.
+     * @param discriminator The discriminator of the user.
+     * @param avatar        The avatar ID of the user.
+     */
+    public LeaderboardEntry(long userId, long experience, String username, String rawUsername, String discriminator, String avatar) {
+        this.userId = userId;
+        this.experience = experience;
+        this.username = username;
+        this.rawUsername = rawUsername;
+        this.discriminator = discriminator;
+        this.avatar = avatar;
+    }
+
+    /**
+     * Creates a new leaderboard entry from the current row in the given experience result set.
+     *
+     * @param row The result set, positioned at the row the entry should be created from.
+     * @throws SQLException If a database access error occurs while reading the row.
+     */
+    LeaderboardEntry(@Nonnull ResultSet row) throws SQLException {
+        this(
+            row.getLong("user_id"),
+            row.getLong("experience"),
+            decodeUsername(row.getString("username")),
+            row.getString("username"),
+            row.getString("discriminator"),
+            row.getString("avatar")
+        );
+    }
+
+    /**
+     * Creates a new leaderboard entry from the given player transformer.
+     *
+     * @param player The player transformer the entry should be created from.
+     */
+    LeaderboardEntry(@Nonnull PlayerTransformer player) {
+        this(
+            player.getUserId(),
+            player.getExperience(),
+            player.getUsername(),
+            player.getUsernameRaw(),
+            player.getDiscriminator(),
+            player.getAvatar()
+        );
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public long getExperience() {
+        return experience;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getRawUsername() {
+        return rawUsername;
+    }
+
+    public String getDiscriminator() {
+        return discriminator;
+    }
+
+    public String getAvatar() {
+        return avatar;
+    }
+
+    private static String decodeUsername(String username) {
+        if (username == null || !username.startsWith("base64:")) {
+            return username;
+        }
+
+        try {
+            return new String(Base64.getDecoder().decode(username.substring(7)));
+        } catch (IllegalArgumentException e) {
+            return username;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.level;
+
+import com.pinewoodbuilders.Constants;
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.cache.CacheIndex;
+import com.pinewoodbuilders.cache.CacheRegistry;
+import com.pinewoodbuilders.cache.RegisteredCache;
+import com.pinewoodbuilders.database.collection.DataRow;
+import com.pinewoodbuilders.database.transformers.PlayerTransformer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The leaderboard manager keeps an in-memory leaderboard for each guild that has
+ * recently used the rank or leaderboard features, the leaderboards are loaded
+ * from the database once, and then kept up to date as experience is rewarded
+ * to players, so ranks and top players can be looked up without having
+ * to query, and scan through, every player in the guild.
+ */
+public class LeaderboardManager {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardManager.class);
+
+    private static final RegisteredCache<Long, GuildLeaderboard> leaderboards = CacheRegistry.<Long, GuildLeaderboard>newCache("leaderboards")
+        .maximumSize(1000)
+        .expireAfterAccess(30, TimeUnit.MINUTES)
+        .keyedBy(CacheIndex.GUILD)
+        .build();
+
+    private static final RegisteredCache<Long, AtomicLong> globalExperience = CacheRegistry.<Long, AtomicLong>newCache("global-experience")
+        .maximumSize(10000)
+        .expireAfterAccess(10, TimeUnit.MINUTES)
+        .keyedBy(CacheIndex.USER)
+        .build();
+
+    /**
+     * Gets the leaderboard for the guild with the given ID, loading
+     * it from the database if it isn't already in memory.
+     *
+     * @param avaire  The Xeus application instance.
+     * @param guildId The ID of the guild the leaderboard should be fetched for.
+     * @return The leaderboard for the guild, or {@code null} if it failed to load.
+     */
+    @Nullable
+    public GuildLeaderboard getLeaderboard(@Nonnull Xeus avaire, long guildId) {
+        try {
+            return leaderboards.get(guildId, () -> loadLeaderboard(avaire, guildId));
+        } catch (RuntimeException e) {
+            log.error("Failed to load the leaderboard for {}, error: {}", guildId, e.getMessage(), e);
+
+            return null;
+        }
+    }
+
+    /**
+     * Updates the given player on the leaderboard for the guild they're
+     * from, if the leaderboard for the guild is currently loaded.
+     *
+     * @param player The player that should be updated.
+     */
+    public void update(@Nonnull PlayerTransformer player) {
+        GuildLeaderboard leaderboard = leaderboards.getIfPresent(player.getGuildId());
+        if (leaderboard != null) {
+            leaderboard.update(new LeaderboardEntry(player));
+        }
+    }
+
+    /**
+     * Removes the user with the given ID from the leaderboard for
+     * the guild with the given ID, if the leaderboard is loaded.
+     *
+     * @param guildId The ID of the guild the user should be removed from.
+     * @param userId  The ID of the user that should be removed.
+     */
+    public void remove(long guildId, long userId) {
+        GuildLeaderboard leaderboard = leaderboards.getIfPresent(guildId);
+        if (leaderboard != null) {
+            leaderboard.remove(userId);
+        }
+    }
+
+    /**
+     * Forgets the leaderboard for the guild with the given ID, this should be
+     * used when the experience for many players is changed at once, the
+     * leaderboard will then be reloaded the next time it's requested.
+     *
+     * @param guildId The ID of the guild the leaderboard should be forgotten for.
+     */
+    public void forget(long guildId) {
+        leaderboards.invalidate(guildId);
+    }
+
+    /**
+     * Gets the total amount of experience the user with the given ID has across
+     * all the guilds they're active in, the total is loaded from the database
+     * once, and then kept up to date as experience is rewarded to the user.
+     *
+     * @param avaire The Xeus application instance.
+     * @param userId The ID of the user the experience should be fetched for.
+     * @return The total amount of experience for the user, or {@code -1} if it failed to load.
+     */
+    public long getGlobalExperience(@Nonnull Xeus avaire, long userId) {
+        try {
+            return globalExperience.get(userId, () -> {
+                DataRow row = avaire.getDatabase().newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
+                    .selectRaw("sum(`global_experience`) - (count(`user_id`) * 100) as `total`")
+                    .where("user_id", String.valueOf(userId))
+                    .where("active", 1)
+                    .get().first();
+
+                return new AtomicLong(row == null ? 0 : row.getLong("total"));
+            }).get();
+        } catch (RuntimeException e) {
+            log.error("Failed to load the global experience for {}, error: {}", userId, e.getMessage(), e);
+
+            return -1;
+        }
+    }
+
+    /**
+     * Adds the given amount of experience to the global experience
+     * total for the user with the given ID, if it's loaded.
+     *
+     * @param userId The ID of the user the experience was rewarded to.
+     * @param amount The amount of experience that was rewarded.
+     */
+    public void addGlobalExperience(long userId, long amount) {
+        AtomicLong total = globalExperience.getIfPresent(userId);
+        if (total != null) {
+            total.addAndGet(amount);
+        }
+    }
+
+    private GuildLeaderboard loadLeaderboard(Xeus avaire, long guildId) throws SQLException {
+        List<LeaderboardEntry> entries = avaire.getDatabase().newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
+            .select("user_id", "username", "discriminator", "avatar", "experience")
+            .where("guild_id", String.valueOf(guildId))
+            .where("active", 1)
+            .map(LeaderboardEntry::new);
+
+        GuildLeaderboard leaderboard = new GuildLeaderboard(entries);
+
+        // The database doesn't include experience that is still waiting to be written by
+        // the player write behind, so the pending experience is added on top here.
+        ExperienceAccumulator accumulator = avaire.getLevelManager().getExperienceAccumulator();
+        for (LeaderboardEntry entry : entries) {
+            long pending = accumulator.getPendingExperience(entry.getUserId(), guildId);
+            if (pending != 0) {
+                leaderboard.update(new LeaderboardEntry(
+                    entry.getUserId(), entry.getExperience() + pending, entry.getUsername(),
+                    entry.getRawUsername(), entry.getDiscriminator(), entry.getAvatar()
+                ));
+            }
+        }
+
+        return leaderboard;
+    }
+}
@@ -49,9 +49,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 @SuppressWarnings({"WeakerAccess", "unused"})
 public class LevelManager {
@@ -69,13 +67,6 @@ public class LevelManager {
         .expireAfterWrite(60, TimeUnit.SECONDS)
         .build();
 
-    /**
-     * The experience queue, users who have been rewarded experience will
-     * be added to the queue, the queue is then consumed once a minute
-     * to sync the database with the user data.
-     */
-    private static final List<ExperienceEntity> experienceQueue = new CopyOnWriteArrayList<>();
-
     /**
      * The experience modifier as an percentage.
      */
@@ -115,6 +106,12 @@ public class LevelManager {
      */
     private final int C = 100;
 
+    /**
+     * The leaderboard manager, used to keep the guild leaderboards
+     * up to date as experience is rewarded to players.
+     */
+    private final LeaderboardManager leaderboardManager = new LeaderboardManager();
+
     /**
      * Gets the default level experience modifier.
      *
@@ -305,12 +302,15 @@ public class LevelManager {
             player.setExperience(getHardCap());
         }
 
-        experienceQueue.add(new ExperienceEntity(
+        PlayerController.getWriteBehind().addExperience(
             user.getIdLong(),
             message.getGuild().getIdLong(),
             amount,
             exclude
-        ));
+        );
+
+        leaderboardManager.update(player);
+        leaderboardManager.addGlobalExperience(user.getIdLong(), amount);
 
         if (getLevelFromExperience(guild, player.getExperience() + zxp) > lvl) {
             long newLevel = getLevelFromExperience(guild, player.getExperience() + zxp);
@@ -392,26 +392,35 @@ public class LevelManager {
     }
 
     /**
-     * Gets the experience queue, any user who has received experience and
-     * have yet to be updated in the database are stored in this queue.
+     * Gets the leaderboard manager, the leaderboard manager keeps the
+     * rank of every player in the guilds that are loaded in memory.
+     *
+     * @return The leaderboard manager.
+     */
+    public LeaderboardManager getLeaderboardManager() {
+        return leaderboardManager;
+    }
+
+    /**
+     * Gets the experience accumulator, any user who has received experience and
+     * have yet to be updated in the database are stored in the accumulator,
+     * the accumulator is flushed by the player write behind.
      *
-     * @return The experience queue.
+     * @return The experience accumulator.
      */
-    public List<ExperienceEntity> getExperienceQueue() {
-        return experienceQueue;
+    public ExperienceAccumulator getExperienceAccumulator() {
+        return PlayerController.getWriteBehind().getExperienceAccumulator();
     }
 
     /**
-     * Gets all the experience entities that belongs to the given player
-     * transformer, or an empty list of no entities were found.
+     * Gets the amount of experience that have been rewarded to the given
+     * player transformer, but have yet to be synced with the database.
      *
-     * @param transformer The transformer that should be matched with the experience eateries.
-     * @return A list of experience entities that belongs to the given player transformer.
+     * @param transformer The transformer that the pending experience should be looked up for.
+     * @return The amount of pending experience for the given player transformer.
      */
-    public List<ExperienceEntity> getExperienceEntities(@Nonnull PlayerTransformer transformer) {
-        return experienceQueue.stream()
-            .filter(entity -> entity.getUserId() == transformer.getUserId() && entity.getGuildId() == transformer.getGuildId())
-            .collect(Collectors.toList());
+    public long getPendingExperience(@Nonnull PlayerTransformer transformer) {
+        return getExperienceAccumulator().getPendingExperience(transformer.getUserId(), transformer.getGuildId());
     }
 
     /**
@@ -23,18 +23,16 @@ package com.pinewoodbuilders.metrics;
 
 import ch.qos.logback.classic.LoggerContext;
 import com.pinewoodbuilders.Xeus;
-import com.pinewoodbuilders.blacklist.bot.Ratelimit;
+import com.pinewoodbuilders.cache.CacheRegistry;
+import com.pinewoodbuilders.cache.CacheType;
+import com.pinewoodbuilders.cache.adapters.MemoryAdapter;
 import com.pinewoodbuilders.commands.Category;
 import com.pinewoodbuilders.commands.administration.MuteRoleCommand;
 import com.pinewoodbuilders.commands.utility.GlobalLeaderboardCommand;
-import com.pinewoodbuilders.commands.utility.LeaderboardCommand;
-import com.pinewoodbuilders.commands.utility.RankCommand;
 import com.pinewoodbuilders.contracts.middleware.Middleware;
-import com.pinewoodbuilders.database.controllers.*;
 import com.pinewoodbuilders.handlers.adapter.JDAStateEventAdapter;
 import com.pinewoodbuilders.level.LevelManager;
 import com.pinewoodbuilders.metrics.routes.GetMetrics;
-import com.pinewoodbuilders.middleware.ThrottleMiddleware;
 import io.prometheus.client.Counter;
 import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
@@ -174,6 +172,58 @@ public class Metrics {
         .labelNames("type")
         .register();
 
+    public static final Gauge databaseExecutorQueue = Gauge.build()
+        .name("avaire_database_executor_queue_size")
+        .help("The amount of database tasks waiting for a database executor thread")
+        .register();
+
+    public static final Gauge databaseExecutorActive = Gauge.build()
+        .name("avaire_database_executor_active_threads")
+        .help("The amount of database executor threads currently running a task")
+        .register();
+
+    public static final Counter databaseExecutorRejected = Counter.build()
+        .name("avaire_database_executor_rejected_total")
+        .help("Total database tasks that was run on the calling thread because the database executor queue was full")
+        .register();
+
+    // Image rendering
+
+    public static final Gauge renderExecutorQueue = Gauge.build()
+        .name("avaire_render_executor_queue_size")
+        .help("The amount of render tasks waiting for a render executor thread")
+        .register();
+
+    public static final Gauge renderExecutorActive = Gauge.build()
+        .name("avaire_render_executor_active_threads")
+        .help("The amount of render executor threads currently rendering an image")
+        .register();
+
+    public static final Counter renderExecutorRejected = Counter.build()
+        .name("avaire_render_executor_rejected_total")
+        .help("Total render tasks that was rejected because the render executor queue was full")
+        .register();
+
+    public static final Histogram renderTime = Histogram.build()
+        .name("avaire_render_time_seconds")
+        .help("Time spent rendering and encoding images, split up by the renderer")
+        .labelNames("renderer")
+        .register();
+
+    // Caches
+
+    public static final Gauge cacheMaximumSize = Gauge.build()
+        .name("avaire_cache_maximum_size")
+        .help("The maximum amount of entries each registered cache can hold, -1 if unbounded")
+        .labelNames("cache")
+        .register();
+
+    public static final Gauge cacheExpireSeconds = Gauge.build()
+        .name("avaire_cache_expire_after_access_seconds")
+        .help("The amount of seconds entries are kept in each registered cache after they were last accessed, -1 if they never expire")
+        .labelNames("cache")
+        .register();
+
     // Vote statistics
 
     public static final Counter dblVotes = Counter.build()
@@ -195,6 +245,34 @@ public class Metrics {
         .labelNames("type")
         .register();
 
+    // Rate limiters
+
+    public static final Counter rateLimiterRequests = Counter.build()
+        .name("avaire_rate_limiter_requests_total")
+        .help("Total requests made to each rate limiter, split up by whether they were allowed or limited")
+        .labelNames("limiter", "result")
+        .register();
+
+    public static final Gauge rateLimiterKeys = Gauge.build()
+        .name("avaire_rate_limiter_keys")
+        .help("The amount of keys currently tracked by each rate limiter")
+        .labelNames("limiter")
+        .register();
+
+    // Reaction roles
+
+    public static final Gauge reactionRoleQueue = Gauge.build()
+        .name("avaire_reaction_role_queue_size")
+        .help("The amount of members with reaction role changes waiting to be applied")
+        .register();
+
+    // Expiry wheel
+
+    public static final Gauge expiryWheelTimeouts = Gauge.build()
+        .name("avaire_expiry_wheel_timeouts")
+        .help("The amount of temporary mutes, warns, and watches waiting to expire on the expiry wheel")
+        .register();
+
     // ################################################################################
     // ##                           Method Stuff
     // ################################################################################
@@ -222,20 +300,14 @@ public class Metrics {
         Metrics.initializeEventMetrics();
 
         CacheMetricsCollector cacheMetrics = new CacheMetricsCollector().register();
+        CacheRegistry.setMetricsCollector(cacheMetrics);
         cacheMetrics.addCache("levels", LevelManager.cache);
-        cacheMetrics.addCache("guilds", GuildController.cache);
-        cacheMetrics.addCache("players", PlayerController.cache);
-        cacheMetrics.addCache("purchases", PurchaseController.cache);
         cacheMetrics.addCache("categoryPrefixes", Category.cache);
-        cacheMetrics.addCache("reaction-roles", ReactionController.cache);
-        cacheMetrics.addCache("throttleCommands", ThrottleMiddleware.cache);
         cacheMetrics.addCache("middlewareThrottleMessages", Middleware.messageCache);
         cacheMetrics.addCache("autorole", JDAStateEventAdapter.cache);
         cacheMetrics.addCache("muterole", MuteRoleCommand.cache);
-        cacheMetrics.addCache("rankScores", RankCommand.cache);
-        cacheMetrics.addCache("leaderboard", LeaderboardCommand.cache);
         cacheMetrics.addCache("global-leaderboard", GlobalLeaderboardCommand.cache);
-        cacheMetrics.addCache("blacklist-ratelimit", Ratelimit.cache);
+        cacheMetrics.addCache("memory-adapter", ((MemoryAdapter) CacheType.MEMORY.getAdapter()).getCache());
 
         if (!avaire.getConfig().getBoolean("web-servlet.metrics",
             avaire.getConfig().getBoolean("metrics.enabled", true)
@@ -21,8 +21,6 @@
 
 package com.pinewoodbuilders.middleware;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.commands.CommandMessage;
 import com.pinewoodbuilders.contracts.commands.CacheFingerprint;
@@ -31,8 +29,9 @@ import com.pinewoodbuilders.contracts.middleware.ThrottleMessage;
 import com.pinewoodbuilders.contracts.permission.GuildPermissionCheckType;
 import com.pinewoodbuilders.factories.MessageFactory;
 import com.pinewoodbuilders.metrics.Metrics;
+import com.pinewoodbuilders.ratelimit.RateLimitKey;
+import com.pinewoodbuilders.ratelimit.RateLimiter;
 import com.pinewoodbuilders.time.Carbon;
-import com.pinewoodbuilders.utilities.CacheUtil;
 import com.pinewoodbuilders.utilities.NumberUtil;
 import com.pinewoodbuilders.utilities.RestActionUtil;
 import com.pinewoodbuilders.utilities.XeusPermissionUtil;
@@ -43,10 +42,7 @@ import java.util.concurrent.TimeUnit;
 
 public class ThrottleMiddleware extends Middleware {
 
-    public static final Cache<String, ThrottleEntity> cache = CacheBuilder.newBuilder()
-        .recordStats()
-        .expireAfterWrite(60, TimeUnit.SECONDS)
-        .build();
+    public static final RateLimiter limiter = new RateLimiter("throttle", 50000);
 
     public ThrottleMiddleware(Xeus avaire) {
         super(avaire);
@@ -81,10 +77,12 @@ public class ThrottleMiddleware extends Middleware {
             int maxAttempts = NumberUtil.parseInt(args[1], 2);
             int decaySeconds = NumberUtil.parseInt(args[2], 5);
 
-            String fingerprint = type.generateCacheString(message, stack);
+            long decayMillis = decaySeconds * 1000L;
 
-            ThrottleEntity entity = getEntityFromCache(fingerprint, maxAttempts, decaySeconds);
-            if (entity.getHits() >= maxAttempts) {
+            RateLimitKey key = type.generateKey(message, stack);
+
+            long retryAfter = limiter.tryAcquire(key, maxAttempts, decayMillis);
+            if (retryAfter > 0) {
                 Carbon expires = type.equals(ThrottleType.USER)
                     ? avaire.getBlacklist().getRatelimit().hit(type, message.getAuthor().getIdLong())
                     : avaire.getBlacklist().getRatelimit().hit(type, message.getGuild().getIdLong());
@@ -95,13 +93,13 @@ public class ThrottleMiddleware extends Middleware {
                     );
                     return false;
                 }
-                return cancelCommandThrottleRequest(message, stack, entity);
+                return cancelCommandThrottleRequest(message, stack, retryAfter);
             }
 
             boolean response = stack.next();
 
-            if (response) {
-                entity.incrementHit();
+            if (!response) {
+                limiter.release(key, maxAttempts, decayMillis);
             }
 
             return response;
@@ -113,7 +111,7 @@ public class ThrottleMiddleware extends Middleware {
         return false;
     }
 
-    private boolean cancelCommandThrottleRequest(Message message, MiddlewareStack stack, ThrottleEntity entity) {
+    private boolean cancelCommandThrottleRequest(Message message, MiddlewareStack stack, long retryAfter) {
         Metrics.commandsRatelimited.labels(stack.getCommand().getClass().getSimpleName()).inc();
 
         return runMessageCheck(message, () -> {
@@ -130,7 +128,7 @@ public class ThrottleMiddleware extends Middleware {
 
             MessageFactory.makeWarning(message, throttleMessage)
                 .set("command", stack.getCommand().getName())
-                .set("time", ((entity.getTime() - System.currentTimeMillis()) / 1000) + 1)
+                .set("time", (retryAfter / 1000) + 1)
                 .set("prefix", stack.getCommand().generateCommandPrefix(message))
                 .queue(newMessage -> newMessage.delete().queueAfter(45, TimeUnit.SECONDS, null, RestActionUtil.ignore));
 
@@ -138,31 +136,16 @@ public class ThrottleMiddleware extends Middleware {
         });
     }
 
-    private ThrottleEntity getEntityFromCache(String fingerprint, int maxAttempts, int decaySeconds) {
-        ThrottleEntity entity = (ThrottleEntity) CacheUtil.getUncheckedUnwrapped(cache, fingerprint,
-            () -> new ThrottleEntity(maxAttempts, decaySeconds)
-        );
-
-        if (entity.hasExpired()) {
-            cache.invalidate(fingerprint);
-            return getEntityFromCache(fingerprint, maxAttempts, decaySeconds);
-        }
-
-        return entity;
-    }
-
     public enum ThrottleType {
 
-        USER("user", "throttle.user.%s.%s.%s"),
-        CHANNEL("channel", "throttle.channel.%s.%s.%s"),
-        GUILD("guild", "throttle.guild.%s.%s");
+        USER("user"),
+        CHANNEL("channel"),
+        GUILD("guild");
 
         private final String name;
-        private final String cache;
 
-        ThrottleType(String name, String cache) {
+        ThrottleType(String name) {
             this.name = name;
-            this.cache = cache;
         }
 
         public static ThrottleType fromName(String name) {
@@ -178,33 +161,31 @@ public class ThrottleMiddleware extends Middleware {
             return name;
         }
 
-        public String generateCacheString(Message message, MiddlewareStack stack) {
+        public RateLimitKey generateKey(Message message, MiddlewareStack stack) {
             if (!this.equals(ThrottleType.USER) && !message.isFromGuild()) {
-                return USER.generateCacheString(message, stack);
+                return USER.generateKey(message, stack);
             }
 
             String cacheFingerprint = generateCacheFingerprint(stack);
 
             switch (this) {
-                case USER:
-                    return String.format(cache,
-                        message.isFromGuild() ? message.getGuild().getId() : "private",
-                        message.getAuthor().getId(),
-                        cacheFingerprint);
-
                 case CHANNEL:
-                    return String.format(cache,
-                        message.getGuild().getId(),
-                        message.getChannel().getId(),
+                    return new RateLimitKey(ordinal(),
+                        message.getGuild().getIdLong(),
+                        message.getChannel().getIdLong(),
                         cacheFingerprint);
 
                 case GUILD:
-                    return String.format(cache,
-                        message.getGuild().getId(),
+                    return new RateLimitKey(ordinal(),
+                        message.getGuild().getIdLong(),
+                        0L,
                         cacheFingerprint);
 
                 default:
-                    return ThrottleType.USER.generateCacheString(message, stack);
+                    return new RateLimitKey(USER.ordinal(),
+                        message.isFromGuild() ? message.getGuild().getIdLong() : 0L,
+                        message.getAuthor().getIdLong(),
+                        cacheFingerprint);
             }
         }
 
@@ -218,37 +199,4 @@ public class ThrottleMiddleware extends Middleware {
             return annotation.name();
         }
     }
-
-    private static class ThrottleEntity {
-
-        private final int maxAttempts;
-        private final long time;
-        private int hit;
-
-        ThrottleEntity(int maxAttempts, int decaySeconds) {
-            this.time = System.currentTimeMillis() + (decaySeconds * 1000L);
-            this.maxAttempts = maxAttempts;
-            this.hit = 0;
-        }
-
-        public int getHits() {
-            return hit;
-        }
-
-        public void incrementHit() {
-            hit++;
-        }
-
-        public int getMaxAttempts() {
-            return maxAttempts;
-        }
-
-        public long getTime() {
-            return time;
-        }
-
-        public boolean hasExpired() {
-            return System.currentTimeMillis() > time;
-        }
-    }
 }
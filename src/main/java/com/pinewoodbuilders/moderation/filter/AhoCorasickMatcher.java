@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.filter;
+
+import java.util.*;
+
+/**
+ * An Aho-Corasick automaton used to find any of a set of words anywhere inside of a message
+ * in a single pass, regardless of how many words the automaton was built from. The
+ * message is lower cased one character at a time while it is being scanned,
+ * so matching a message doesn't allocate any objects.
+ */
+final class AhoCorasickMatcher {
+
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] failures;
+    private final int[] matches;
+    private final String[] words;
+
+    /**
+     * Builds the automaton from the given words, the words are lower cased,
+     * and empty words are ignored, since they would match everything.
+     *
+     * @param words The words that the automaton should match.
+     */
+    AhoCorasickMatcher(Collection<String> words) {
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        List<String> uniqueWords = new ArrayList<>();
+
+        trie.add(new HashMap<>());
+        ends.add(-1);
+
+        for (String word : words) {
+            if (word == null || word.isEmpty()) {
+                continue;
+            }
+
+            int state = 0;
+            for (int i = 0; i < word.length(); i++) {
+                char character = Character.toLowerCase(word.charAt(i));
+
+                Integer next = trie.get(state).get(character);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new HashMap<>());
+                    ends.add(-1);
+                    trie.get(state).put(character, next);
+                }
+                state = next;
+            }
+
+            if (ends.get(state) == -1) {
+                ends.set(state, uniqueWords.size());
+                uniqueWords.add(word.toLowerCase());
+            }
+        }
+
+        int size = trie.size();
+        keys = new char[size][];
+        targets = new int[size][];
+        failures = new int[size];
+        matches = new int[size];
+        this.words = uniqueWords.toArray(new String[0]);
+
+        for (int state = 0; state < size; state++) {
+            Map<Character, Integer> children = trie.get(state);
+
+            char[] stateKeys = new char[children.size()];
+            int index = 0;
+            for (Character character : children.keySet()) {
+                stateKeys[index++] = character;
+            }
+            Arrays.sort(stateKeys);
+
+            int[] stateTargets = new int[stateKeys.length];
+            for (int i = 0; i < stateKeys.length; i++) {
+                stateTargets[i] = children.get(stateKeys[i]);
+            }
+
+            keys[state] = stateKeys;
+            targets[state] = stateTargets;
+            matches[state] = ends.get(state);
+        }
+
+        // Builds the failure links breadth first, so the failure link of the parent is always
+        // known before its children, every state also inherits the match of its failure
+        // link if it doesn't end a word itself, so shorter words ending inside of a
+        // longer word are still found when scanning.
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            failures[child] = 0;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+
+            for (int i = 0; i < keys[state].length; i++) {
+                char character = keys[state][i];
+                int child = targets[state][i];
+
+                int failure = failures[state];
+                while (failure != 0 && next(failure, character) == -1) {
+                    failure = failures[failure];
+                }
+
+                int target = next(failure, character);
+                failures[child] = target == -1 || target == child ? 0 : target;
+
+                if (matches[child] == -1) {
+                    matches[child] = matches[failures[child]];
+                }
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Finds the first word that occurs anywhere inside of the given text.
+     *
+     * @param text The text that should be searched.
+     * @return The lower cased word that was found, or {@code NULL} if none of the words occurs in the text.
+     */
+    String find(String text) {
+        if (words.length == 0) {
+            return null;
+        }
+
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char character = Character.toLowerCase(text.charAt(i));
+
+            int target = next(state, character);
+            while (target == -1 && state != 0) {
+                state = failures[state];
+                target = next(state, character);
+            }
+            state = target == -1 ? 0 : target;
+
+            if (matches[state] != -1) {
+                return words[matches[state]];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the automaton was built without any words.
+     *
+     * @return {@code True} if the automaton has no words, {@code False} otherwise.
+     */
+    boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    private int next(int state, char character) {
+        int index = Arrays.binarySearch(keys[state], character);
+        return index < 0 ? -1 : targets[state][index];
+    }
+}
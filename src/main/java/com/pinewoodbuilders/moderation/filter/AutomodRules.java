@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.filter;
+
+import com.vdurmont.emoji.EmojiParser;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.regex.Pattern;
+
+/**
+ * The compiled automod rules for a guild, the rules are created from the automod thresholds
+ * in the guild settings, and evaluates the mass mention, character spam, and emoji spam
+ * rules with a single pass over the content of a message, instead of compiling and
+ * running a regular expression for each of the rules for every message.
+ * <p>
+ * The rules are immutable, and must be rebuilt whenever any of the thresholds changes.
+ */
+public final class AutomodRules {
+
+    /**
+     * The characters removed from messages before they're checked against the global word filter.
+     */
+    public static final String GLOBAL_FILTER_SYMBOLS = "!@#$%^&*()[]-=';/\\{}:\"><?|+_`~";
+
+    /**
+     * The characters removed from messages before they're checked against the local word filter.
+     */
+    public static final String LOCAL_FILTER_SYMBOLS = ",." + GLOBAL_FILTER_SYMBOLS;
+
+    private static final Pattern domainPattern = Pattern.compile(
+        "[-a-zA-Z0-9@:%._\\+~#=]{1,256}\\.[a-zA-Z0-9()]{1,6}\\b([-a-zA-Z0-9()@:%_\\+.~#?&//=]*)"
+    );
+
+    private static final String[] linkFragments = new String[]{
+        "https://", "http://", "www.", ".com", ".nl", ".net", "http//", "https//", "%E2"
+    };
+
+    private final int massMention;
+    private final int characterSpam;
+    private final int emojiSpam;
+
+    /**
+     * Creates the automod rules for the given thresholds, rules
+     * with a threshold of zero or less are disabled.
+     *
+     * @param massMention   The amount of members a message must mention to trigger the mass mention rule.
+     * @param characterSpam The amount of times a character must be repeated to trigger the character spam rule.
+     * @param emojiSpam     The amount of emojis a message must contain to trigger the emoji spam rule.
+     */
+    public AutomodRules(int massMention, int characterSpam, int emojiSpam) {
+        this.massMention = massMention;
+        this.characterSpam = characterSpam;
+        this.emojiSpam = emojiSpam;
+    }
+
+    /**
+     * Checks the given message content against the automod rules, the rules are checked in the order
+     * of mass mentions, character spam, and then emoji spam, and the first rule that is
+     * triggered by the message is returned.
+     *
+     * @param content          The raw content of the message.
+     * @param mentionedMembers The amount of members mentioned in the message.
+     * @return The rule that was triggered by the message, or {@code NULL} if no rules were triggered.
+     */
+    @Nullable
+    public Violation check(@Nonnull String content, int mentionedMembers) {
+        if (massMention > 0 && mentionedMembers >= massMention) {
+            return Violation.MASS_MENTION;
+        }
+
+        if (characterSpam <= 0 && emojiSpam <= 0) {
+            return null;
+        }
+
+        int longestRun = 0;
+        int run = 0;
+        int previous = -1;
+
+        int emojis = 0;
+        int emojiStart = -1;
+
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+
+            if (isLineTerminator(codePoint)) {
+                run = 0;
+                previous = -1;
+            } else {
+                int lowerCased = Character.toLowerCase(codePoint);
+                run = lowerCased == previous ? run + 1 : 1;
+                previous = lowerCased;
+                longestRun = Math.max(longestRun, run);
+            }
+
+            // Custom emojis are written as :name: in the raw content, so we count each pair of
+            // colons that isn't separated by any whitespace as a single custom emoji.
+            if (codePoint == ':') {
+                if (emojiStart == -1) {
+                    emojiStart = i;
+                } else {
+                    emojis++;
+                    emojiStart = -1;
+                }
+            } else if (emojiStart != -1 && Character.isWhitespace(codePoint)) {
+                emojiStart = -1;
+            }
+
+            i += Character.charCount(codePoint);
+        }
+
+        if (characterSpam > 0 && longestRun >= characterSpam) {
+            return Violation.CHARACTER_SPAM;
+        }
+
+        if (emojiSpam > 0) {
+            if (emojis < emojiSpam) {
+                emojis += EmojiParser.extractEmojis(content).size();
+            }
+
+            if (emojis >= emojiSpam) {
+                return Violation.EMOJI_SPAM;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the given message content looks like it contains a link.
+     *
+     * @param content The content of the message.
+     * @return {@code True} if the content looks like it contains a link, {@code False} otherwise.
+     */
+    public static boolean containsLink(@Nonnull String content) {
+        if (content.startsWith("http") || content.startsWith("porn")) {
+            return true;
+        }
+
+        for (String fragment : linkFragments) {
+            if (content.contains(fragment)) {
+                return true;
+            }
+        }
+
+        // The domain pattern has to match the entire message, and doesn't allow any
+        // whitespace, so we only need to run it for messages with a dot in them
+        // that doesn't contain any whitespace characters.
+        if (content.indexOf('.') == -1) {
+            return false;
+        }
+
+        for (int i = 0; i < content.length(); i++) {
+            if (Character.isWhitespace(content.charAt(i))) {
+                return false;
+            }
+        }
+        return domainPattern.matcher(content).matches();
+    }
+
+    /**
+     * Removes all of the given symbols from the message content.
+     *
+     * @param content The content that the symbols should be removed from.
+     * @param symbols The symbols that should be removed.
+     * @return The content without any of the given symbols.
+     */
+    @Nonnull
+    public static String stripSymbols(@Nonnull String content, @Nonnull String symbols) {
+        StringBuilder builder = null;
+
+        for (int i = 0; i < content.length(); i++) {
+            char character = content.charAt(i);
+            if (symbols.indexOf(character) == -1) {
+                if (builder != null) {
+                    builder.append(character);
+                }
+                continue;
+            }
+
+            if (builder == null) {
+                builder = new StringBuilder(content.length());
+                builder.append(content, 0, i);
+            }
+        }
+        return builder == null ? content : builder.toString();
+    }
+
+    private static boolean isLineTerminator(int codePoint) {
+        return codePoint == '\n' || codePoint == '\r' || codePoint == '\u0085'
+            || codePoint == '\u2028' || codePoint == '\u2029';
+    }
+
+    /**
+     * The automod rules that can be triggered by a message.
+     */
+    public enum Violation {
+
+        MASS_MENTION("Mass Mention"),
+        CHARACTER_SPAM("Character Spam"),
+        EMOJI_SPAM("Emoji Spam");
+
+        private final String name;
+
+        Violation(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Gets the name of the rule, as shown in the filter logs.
+         *
+         * @return The name of the rule.
+         */
+        public String getName() {
+            return name;
+        }
+    }
+}
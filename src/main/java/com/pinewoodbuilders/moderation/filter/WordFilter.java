@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.filter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A compiled word filter for a guild or main group, the exact words are stored in a hashed
+ * set that each word in a message is looked up in, and the wildcard words are compiled
+ * into an {@link AhoCorasickMatcher Aho-Corasick automaton}, so the cost of checking a
+ * message grows with the length of the message, rather than the size of the filter.
+ * <p>
+ * The filter is immutable, and must be rebuilt whenever the filtered words changes.
+ */
+public final class WordFilter {
+
+    private final Set<String> exactWords = new HashSet<>();
+    private final BitSet exactWordLengths = new BitSet();
+    private final AhoCorasickMatcher wildcardMatcher;
+
+    /**
+     * Creates a new word filter from the given exact and wildcard words.
+     *
+     * @param exactWords    The words that should only be matched if a message contains the whole word.
+     * @param wildcardWords The words that should be matched anywhere inside of a message.
+     */
+    public WordFilter(@Nullable Collection<String> exactWords, @Nullable Collection<String> wildcardWords) {
+        if (exactWords != null) {
+            for (String word : exactWords) {
+                if (word == null || word.isEmpty()) {
+                    continue;
+                }
+
+                String lowerCased = word.toLowerCase();
+                this.exactWords.add(lowerCased);
+                this.exactWordLengths.set(lowerCased.length());
+            }
+        }
+
+        wildcardMatcher = new AhoCorasickMatcher(wildcardWords == null ? new HashSet<>() : wildcardWords);
+    }
+
+    /**
+     * Finds the first word in the given message that matches one of the exact words, the
+     * message is split into words by spaces, and words are compared case-insensitively.
+     *
+     * @param message The message that should be checked.
+     * @return The exact word that was matched, or {@code NULL} if no words matched.
+     */
+    @Nullable
+    public String findExact(@Nonnull String message) {
+        if (exactWords.isEmpty()) {
+            return null;
+        }
+
+        int start = 0;
+        while (start <= message.length()) {
+            int end = message.indexOf(' ', start);
+            if (end == -1) {
+                end = message.length();
+            }
+
+            // Only words with the same length as one of the exact words can match, so we
+            // can skip creating the lower cased word for most of the words in a message.
+            int length = end - start;
+            if (length > 0 && exactWordLengths.get(length)) {
+                String word = message.substring(start, end).toLowerCase();
+                if (exactWords.contains(word)) {
+                    return word;
+                }
+            }
+            start = end + 1;
+        }
+        return null;
+    }
+
+    /**
+     * Finds the first wildcard word that occurs anywhere inside of the given message,
+     * the message is compared case-insensitively.
+     *
+     * @param message The message that should be checked.
+     * @return The wildcard word that was matched, or {@code NULL} if no words matched.
+     */
+    @Nullable
+    public String findWildcard(@Nonnull String message) {
+        return wildcardMatcher.find(message);
+    }
+
+    /**
+     * Checks if the filter doesn't contain any exact or wildcard words.
+     *
+     * @return {@code True} if the filter is empty, {@code False} otherwise.
+     */
+    public boolean isEmpty() {
+        return exactWords.isEmpty() && wildcardMatcher.isEmpty();
+    }
+}
@@ -31,12 +31,12 @@ import com.pinewoodbuilders.middleware.ThrottleMiddleware;
 import com.pinewoodbuilders.modlog.local.moderation.Modlog;
 import com.pinewoodbuilders.modlog.local.shared.ModlogAction;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
+import com.pinewoodbuilders.ratelimit.RateLimitKey;
+import com.pinewoodbuilders.ratelimit.RateLimiter;
 import com.pinewoodbuilders.time.Carbon;
-import com.pinewoodbuilders.utilities.CacheUtil;
 import com.pinewoodbuilders.utilities.RestActionUtil;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import net.dv8tion.jda.api.entities.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,12 +67,10 @@ public class MuteRatelimit {
     static final long hitTime = 480 * 1000;
 
     /**
-     * The cache loader for holding all the ratelimiter rates.
+     * The rate limiter used to keep track of how often each entity has hit the
+     * ratelimit, allowing {@link #hitLimit} - 1 hits every {@link #hitTime}.
      */
-    public static final LoadingCache<Long, Rate> cache = CacheBuilder.newBuilder()
-        .recordStats()
-        .expireAfterWrite(hitTime, TimeUnit.MILLISECONDS)
-        .build(CacheLoader.from(userId -> userId != null ? new Rate(userId) : null));
+    public static final RateLimiter limiter = new RateLimiter("automute", 10000);
 
     /**
      * The slf4j logger instance.
@@ -80,12 +78,14 @@ public class MuteRatelimit {
     private static final Logger log = LoggerFactory.getLogger(MuteRatelimit.class);
 
     /**
-     * The punishment level holder, this m
-     * 9ap holds all the users and their current
+     * The punishment level holder, this cache holds all the entities and their current
      * punishment level, with each offence, the punishment level(value) will go
-     * up, increasing the time the user get auto-blacklisted for.
+     * up, increasing the time the entity get punished for, the level is
+     * forgotten after 90 days without any new offences.
      */
-    private static final Map<Long, Integer> punishments = new HashMap<>();
+    private static final Cache<Long, Integer> punishments = CacheBuilder.newBuilder()
+        .expireAfterWrite(90, TimeUnit.DAYS)
+        .build();
 
     /**
      * The punishment levels, each index of the levels list should be an
@@ -178,30 +178,16 @@ public class MuteRatelimit {
      */
     @Nullable
     public static Carbon hit(ThrottleMiddleware.ThrottleType type, long id, Message e) {
-        Rate rate = CacheUtil.getUncheckedUnwrapped(cache, id);
-        if (rate == null) {
-            // This should never happen, if it does we'll just return
-            // null to not block any commands by a valid user.
+        RateLimitKey key = new RateLimitKey(type.ordinal(), id);
+        if (limiter.tryAcquire(key, hitLimit - 1, hitTime) == 0) {
             return null;
         }
 
-        //noinspection SynchronizationOnLocalVariableOrMethodParameter
-        synchronized (rate) {
-            rate.hit();
-
-            if (rate.getHits() < hitLimit) {
-                return null;
-            }
-        }
-
-        Long last = rate.getLast();
-
-        // Checks if the user was blacklisted within the last two and half seconds,
-        // the command handling process uses its own thread pool, because of that
-        // it's possible to have two commands come in from the same user in a
-        // very quick succession, instead of punishing the user twice, we
-        // just cancel the blacklist hit here instead.
-        if (last != null && last < System.currentTimeMillis() - 2500) {
+        // Messages are handled on multiple threads, so it's possible for several
+        // filter triggers from the same user to exceed the limit at once,
+        // resetting the key only succeeds for one of them, so instead of
+        // muting the user multiple times, we just cancel the hit here.
+        if (!limiter.reset(key)) {
             return null;
         }
 
@@ -277,11 +263,7 @@ public class MuteRatelimit {
      * @return The Carbon instance with the punishment expire time.
      */
     private static Carbon getPunishment(long userId) {
-        int level = punishments.getOrDefault(userId, -1) + 1;
-
-        punishments.put(userId, level);
-
-        return getPunishment(level);
+        return getPunishment(punishments.asMap().merge(userId, 0, (level, ignored) -> level + 1));
     }
 
     /**
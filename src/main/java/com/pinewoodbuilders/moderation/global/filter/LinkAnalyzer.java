@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.moderation.global.filter;
+
+import com.pinewoodbuilders.cache.CacheRegistry;
+import com.pinewoodbuilders.cache.RegisteredCache;
+import okhttp3.*;
+import org.nibor.autolink.LinkExtractor;
+import org.nibor.autolink.LinkSpan;
+import org.nibor.autolink.LinkType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extracts and analyses the links in messages for the link filter, the top private domain
+ * for each host, and the redirect chain for each URL, are cached so links that are
+ * posted multiple times, or across multiple guilds, are only resolved once.
+ * <p>
+ * Redirects are resolved asynchronously through a shared HTTP client with a bounded
+ * amount of concurrent requests, and a limit to how many redirects are followed,
+ * so slow redirect services never block the message handling threads.
+ */
+public class LinkAnalyzer {
+
+    /**
+     * The maximum amount of redirects that are followed for a single link.
+     */
+    public static final int MAX_REDIRECTS = 8;
+
+    private static final Logger log = LoggerFactory.getLogger(LinkAnalyzer.class);
+
+    private static final LinkExtractor linkExtractor = LinkExtractor.builder()
+        .linkTypes(EnumSet.of(LinkType.URL, LinkType.WWW))
+        .build();
+
+    private static final RegisteredCache<String, String> domains = CacheRegistry.<String, String>newCache("link-domains")
+        .maximumSize(10000)
+        .expireAfterAccess(6, TimeUnit.HOURS)
+        .build();
+
+    private static final RegisteredCache<String, CompletableFuture<List<String>>> redirects = CacheRegistry.<String, CompletableFuture<List<String>>>newCache("link-redirects")
+        .maximumSize(5000)
+        .expireAfterAccess(30, TimeUnit.MINUTES)
+        .build();
+
+    private final OkHttpClient client;
+
+    /**
+     * Creates a new link analyzer with its own HTTP client for resolving redirects.
+     */
+    public LinkAnalyzer() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(16);
+        dispatcher.setMaxRequestsPerHost(4);
+
+        this.client = new OkHttpClient.Builder()
+            .dispatcher(dispatcher)
+            .followRedirects(false)
+            .followSslRedirects(false)
+            .connectTimeout(3, TimeUnit.SECONDS)
+            .readTimeout(3, TimeUnit.SECONDS)
+            .callTimeout(5, TimeUnit.SECONDS)
+            .build();
+    }
+
+    /**
+     * Extracts all the URLs and www links from the given message content.
+     *
+     * @param content The message content that the links should be extracted from.
+     * @return The list of links found in the content, in the order they appear.
+     */
+    @Nonnull
+    public static List<String> extractLinks(@Nonnull String content) {
+        List<String> links = new ArrayList<>();
+        for (LinkSpan link : linkExtractor.extractLinks(content)) {
+            links.add(content.substring(link.getBeginIndex(), link.getEndIndex()));
+        }
+        return links;
+    }
+
+    /**
+     * Gets the top private domain for the given URL, the domain is cached by the host of the URL,
+     * since looking up the domain requires going through the public suffix database.
+     *
+     * @param url The URL that the top private domain should be returned for.
+     * @return The top private domain for the URL, or {@code NULL} if the host of the URL isn't a valid domain.
+     */
+    @Nullable
+    public static String getTopPrivateDomain(@Nonnull HttpUrl url) {
+        String host = url.host();
+
+        String domain = domains.getIfPresent(host);
+        if (domain == null) {
+            domain = url.topPrivateDomain();
+            domains.put(host, domain == null ? "" : domain);
+        }
+        return domain == null || domain.isEmpty() ? null : domain;
+    }
+
+    /**
+     * Resolves the redirect chain for the given URL asynchronously, the first element in the
+     * chain is the URL itself, followed by each location the URL redirects to, up to
+     * {@link #MAX_REDIRECTS} redirects. Multiple calls for the same URL, whether
+     * they were made while the URL was being resolved or after, will share
+     * the same result until the URL expires from the cache.
+     * <p>
+     * If one of the redirects fails to resolve, the future is completed with the part of the
+     * chain that was resolved before the failure, so the hops that are already known can
+     * still be checked. The partial chain is not cached, so the URL is resolved again
+     * the next time it is requested. The future is only completed exceptionally
+     * if the URL itself couldn't be resolved.
+     *
+     * @param url The URL that should be resolved.
+     * @return A future that will be completed with the redirect chain for the URL.
+     */
+    @Nonnull
+    public CompletableFuture<List<String>> resolveRedirects(@Nonnull String url) {
+        try {
+            CompletableFuture<List<String>> future = redirects.get(url, () -> {
+                CompletableFuture<List<String>> result = new CompletableFuture<>();
+                List<String> chain = new ArrayList<>();
+                chain.add(url);
+
+                follow(url, chain, result);
+
+                return result;
+            });
+
+            // Failed and partial lookups are removed from the cache so they can be retried the
+            // next time the link is posted, instead of caching the failure until it expires.
+            future.whenComplete((chain, throwable) -> {
+                if (throwable != null || chain instanceof PartialChain) {
+                    redirects.getCache().asMap().remove(url, future);
+                }
+            });
+
+            return future;
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void follow(String url, List<String> chain, CompletableFuture<List<String>> result) {
+        HttpUrl httpUrl = HttpUrl.parse(url);
+        if (httpUrl == null) {
+            result.complete(Collections.unmodifiableList(chain));
+            return;
+        }
+
+        Request request = new Request.Builder()
+            .url(httpUrl)
+            .header("User-Agent", "Mozilla/5.0")
+            .build();
+
+        client.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(@Nonnull Call call, @Nonnull IOException e) {
+                log.debug("Failed to resolve redirect for {}: {}", url, e.getMessage());
+
+                if (chain.size() > 1) {
+                    result.complete(new PartialChain(chain));
+                    return;
+                }
+                result.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(@Nonnull Call call, @Nonnull Response response) {
+                String location;
+                try (response) {
+                    location = response.isRedirect() ? response.header("Location") : null;
+                }
+
+                HttpUrl next = location == null ? null : httpUrl.resolve(location);
+                if (next == null || chain.size() > MAX_REDIRECTS || chain.contains(next.toString())) {
+                    result.complete(Collections.unmodifiableList(chain));
+                    return;
+                }
+
+                chain.add(next.toString());
+                follow(next.toString(), chain, result);
+            }
+        });
+    }
+
+    /**
+     * A redirect chain that stopped early because one of the redirects failed to resolve.
+     */
+    private static final class PartialChain extends AbstractList<String> {
+
+        private final List<String> chain;
+
+        PartialChain(List<String> chain) {
+            this.chain = new ArrayList<>(chain);
+        }
+
+        @Override
+        public String get(int index) {
+            return chain.get(index);
+        }
+
+        @Override
+        public int size() {
+            return chain.size();
+        }
+    }
+}
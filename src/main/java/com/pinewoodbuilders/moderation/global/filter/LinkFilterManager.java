@@ -5,24 +5,31 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.language.I18n;
 import com.pinewoodbuilders.moderation.global.filter.filter.LinkContainer;
+import okhttp3.HttpUrl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nonnull;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
+import java.util.*;
 
 public class LinkFilterManager {
 
     private final Logger log = LoggerFactory.getLogger(LinkFilterManager.class);
-    private final HashMap <Long, HashSet <LinkContainer>> links = new HashMap<>();
+
+    /**
+     * The links for each main group, mapping the main group ID to the links for the group, keyed
+     * by their lower cased domain. The maps are never modified once they have been published,
+     * instead updates creates a copy of the maps with the change, and replaces the
+     * reference, so links can be looked up at any time without locking.
+     */
+    private volatile Map<Long, Map<String, LinkContainer>> links = Collections.emptyMap();
 
     private final Xeus avaire;
 
     /**
-     * Creates the mute manager instance with the given Xeus application instance,
-     * the mute manager will sync the links entities from the database into memory.
+     * Creates the link filter manager instance with the given Xeus application instance,
+     * the link filter manager will sync the links entities from the database into memory.
      *
      * @param avaire The main Xeus instance.
      */
@@ -31,13 +38,8 @@ public class LinkFilterManager {
 
         syncWithDatabase();
     }
-    
-    public void registerLink(Long mainGroupId, String topLevelDomain, int action) throws SQLException {
-        if (!links.containsKey(mainGroupId)) {
-            links.put(mainGroupId, new HashSet<>());
-        }
-
 
+    public synchronized void registerLink(Long mainGroupId, String topLevelDomain, int action) throws SQLException {
         if (hasLink(mainGroupId, topLevelDomain)) {
             removeLink(mainGroupId, topLevelDomain);
         }
@@ -48,48 +50,36 @@ public class LinkFilterManager {
             statement.set("main_group_id", mainGroupId);
         });
 
-        links.get(mainGroupId).add(new LinkContainer(mainGroupId, topLevelDomain, action));
+        Map<String, LinkContainer> groupLinks = new HashMap<>(links.getOrDefault(mainGroupId, Collections.emptyMap()));
+        groupLinks.put(normalize(topLevelDomain), new LinkContainer(mainGroupId, topLevelDomain, action));
+
+        publish(mainGroupId, groupLinks);
     }
 
-    public void removeLink(long mainGroupId, String topLevelDomain) throws SQLException {
-        if (!links.containsKey(mainGroupId)) {
+    public synchronized void removeLink(long mainGroupId, String topLevelDomain) throws SQLException {
+        Map<String, LinkContainer> current = links.get(mainGroupId);
+        if (current == null || !current.containsKey(normalize(topLevelDomain))) {
             return;
         }
 
-        final boolean[] removedEntities = { false };
-        synchronized (links) {
-            links.get(mainGroupId).removeIf(next -> {
-
-                if (!next.isSame(mainGroupId, topLevelDomain)) {
-                    return false;
-                }
+        LinkContainer container = current.get(normalize(topLevelDomain));
+        avaire.getDatabase().newQueryBuilder(Constants.LINK_FILTER_TABLE_NAME)
+            .where("main_group_id", mainGroupId)
+            .andWhere("hostname", container.getTopLevelDomain())
+            .delete();
 
-                removedEntities[0] = true;
-                return true;
-            });
-        }
+        Map<String, LinkContainer> groupLinks = new HashMap<>(current);
+        groupLinks.remove(normalize(topLevelDomain));
 
-        if (removedEntities[0]) {
-            avaire.getDatabase().newQueryBuilder(Constants.LINK_FILTER_TABLE_NAME).where("main_group_id", mainGroupId).andWhere("hostname", topLevelDomain).delete();
-        }
+        publish(mainGroupId, groupLinks);
     }
 
-
-
     public boolean hasLink(long mainGroupId, String topLevelDomain) {
-        if (!links.containsKey(mainGroupId)) {
-            return false;
-        }
+        Map<String, LinkContainer> groupLinks = links.get(mainGroupId);
 
-        for (LinkContainer link : links.get(mainGroupId)) {
-            if (link.getTopLevelDomain().equals(topLevelDomain)) {
-                return true;
-            }
-        }
-        return false;
+        return groupLinks != null && groupLinks.containsKey(normalize(topLevelDomain));
     }
 
-
     /**
      * Gets the total amount of links currently stored in memory, this includes
      * permanent and temporary links.
@@ -98,62 +88,130 @@ public class LinkFilterManager {
      */
     public int getTotalAmountOfLinks() {
         int totalLinks = 0;
-        for (Map.Entry <Long, HashSet <LinkContainer>> entry : links.entrySet()) {
-            totalLinks += entry.getValue().size();
+        for (Map<String, LinkContainer> groupLinks : links.values()) {
+            totalLinks += groupLinks.size();
         }
         return totalLinks;
     }
 
-
-
     /**
-     * Gets the map of links currently stored, where the key is the guild ID for the
-     * links, and the value is a set of mute containers, which holds the information
-     * about each individual mute.
+     * Gets the links currently stored for the given main group.
      *
-     * @return The complete map of links currently stored.
+     * @param mainGroupId The ID of the main group that the links should be returned for.
+     * @return The links stored for the main group, or an empty collection if the group has no links.
      */
-    public HashMap<Long, HashSet<LinkContainer>> getLinks() {
-        return links;
+    @Nonnull
+    public Collection<LinkContainer> getLinks(long mainGroupId) {
+        return links.getOrDefault(mainGroupId, Collections.emptyMap()).values();
     }
 
     public LinkContainer getLinkContainer(long mainGroupId, String topLevelDomain) {
-        if (!links.containsKey(mainGroupId)) {
+        Map<String, LinkContainer> groupLinks = links.get(mainGroupId);
+        if (groupLinks == null || topLevelDomain == null) {
             return new LinkContainer(mainGroupId, topLevelDomain, 0);
         }
 
-        for (LinkContainer link : links.get(mainGroupId)) {
-            if (link.getTopLevelDomain().equals(topLevelDomain)) {
+        LinkContainer link = groupLinks.get(normalize(topLevelDomain));
+        return link == null ? new LinkContainer(mainGroupId, topLevelDomain, 0) : link;
+    }
+
+    /**
+     * Gets the link container for the host of the given URL, the host and each of its parent
+     * domains are looked up from the most specific domain, down to the top private domain
+     * of the host, so a link for a domain also matches all of its subdomains, while
+     * links for subdomains can still overwrite the action for their parent.
+     *
+     * @param mainGroupId The ID of the main group that the link should be looked up for.
+     * @param url         The URL that should be looked up.
+     * @return The most specific link matching the host of the URL, or a link with the default action if none matched.
+     */
+    @Nonnull
+    public LinkContainer getLinkContainer(long mainGroupId, @Nonnull HttpUrl url) {
+        String host = url.host();
+        String topPrivateDomain = LinkAnalyzer.getTopPrivateDomain(url);
+
+        Map<String, LinkContainer> groupLinks = links.get(mainGroupId);
+        if (groupLinks == null) {
+            return new LinkContainer(mainGroupId, topPrivateDomain, 0);
+        }
+
+        if (topPrivateDomain == null) {
+            LinkContainer link = groupLinks.get(host);
+            return link == null ? new LinkContainer(mainGroupId, null, 0) : link;
+        }
+
+        int index = 0;
+        while (index <= host.length() - topPrivateDomain.length()) {
+            LinkContainer link = groupLinks.get(host.substring(index));
+            if (link != null) {
                 return link;
             }
+
+            index = host.indexOf('.', index) + 1;
+            if (index == 0) {
+                break;
+            }
         }
-        return new LinkContainer(mainGroupId, topLevelDomain, 0);
+        return new LinkContainer(mainGroupId, topPrivateDomain, 0);
+    }
+
+    /**
+     * Reloads all the links from the database, replacing the links stored in memory, this
+     * can be used to pick up changes made to the links by other instances of the bot.
+     */
+    public void reload() {
+        try {
+            loadFromDatabase();
+        } catch (SQLException e) {
+            log.error("Failed to reload the links from the filter database: {}", e.getMessage(), e);
+        }
+    }
+
+    private synchronized void publish(long mainGroupId, Map<String, LinkContainer> groupLinks) {
+        Map<Long, Map<String, LinkContainer>> copy = new HashMap<>(links);
+        if (groupLinks.isEmpty()) {
+            copy.remove(mainGroupId);
+        } else {
+            copy.put(mainGroupId, Collections.unmodifiableMap(groupLinks));
+        }
+
+        links = Collections.unmodifiableMap(copy);
+    }
+
+    private String normalize(String domain) {
+        return domain.trim().toLowerCase();
     }
 
     private void syncWithDatabase() {
         log.info("Syncing links with the filter database...");
 
+        try {
+            loadFromDatabase();
+
+            log.info("Syncing complete! {} links entries found.", getTotalAmountOfLinks());
+        } catch (SQLException e) {
+            Xeus.getLogger().error("ERROR: ", e);
+        }
+    }
+
+    private synchronized void loadFromDatabase() throws SQLException {
         String query = I18n.format(
             "SELECT `main_group_id`, `hostname`, `action` FROM `{0}`;",
             Constants.LINK_FILTER_TABLE_NAME);
 
-        try {
-            int size = getTotalAmountOfLinks();
-            for (DataRow row : avaire.getDatabase().query(query)) {
-                long mgi = row.getLong("main_group_id");
-
-                if (!links.containsKey(mgi)) {
-                    links.put(mgi, new HashSet<>());
-                }
-
-                links.get(mgi).add(new LinkContainer(mgi, row.getString("hostname"), row.getInt("action")));
+        Map<Long, Map<String, LinkContainer>> snapshot = new HashMap<>();
+        for (DataRow row : avaire.getDatabase().query(query)) {
+            long mgi = row.getLong("main_group_id");
+            String hostname = row.getString("hostname");
+            if (hostname == null) {
+                continue;
             }
 
-            log.info("Syncing complete! {} links entries found.",
-                getTotalAmountOfLinks() - size);
-        } catch (SQLException e) {
-            Xeus.getLogger().error("ERROR: ", e);
+            snapshot.computeIfAbsent(mgi, id -> new HashMap<>())
+                .put(normalize(hostname), new LinkContainer(mgi, hostname, row.getInt("action")));
         }
-    }
 
+        snapshot.replaceAll((mgi, groupLinks) -> Collections.unmodifiableMap(groupLinks));
+        links = Collections.unmodifiableMap(snapshot);
+    }
 }
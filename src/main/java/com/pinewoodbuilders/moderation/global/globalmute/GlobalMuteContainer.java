@@ -21,11 +21,11 @@
 
 package com.pinewoodbuilders.moderation.global.globalmute;
 
+import com.pinewoodbuilders.scheduler.expiry.TimingWheel;
 import com.pinewoodbuilders.time.Carbon;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.concurrent.ScheduledFuture;
 
 @SuppressWarnings("WeakerAccess")
 public class GlobalMuteContainer {
@@ -33,7 +33,7 @@ public class GlobalMuteContainer {
     private final long ranGuildId;
     private final long userId;
     private final Carbon expiresAt;
-    private ScheduledFuture<?> schedule;
+    private volatile TimingWheel.Timeout schedule;
     private final long mainGroupId;
 
 
@@ -83,36 +83,35 @@ public class GlobalMuteContainer {
     }
 
     /**
-     * Gets the future scheduled task for the mute, this task is used
-     * to automatically unmute a user if there is 5 minutes or less
-     * left of their temporary mute.
+     * Gets the expiry timeout for the mute, the timeout is used to
+     * automatically unmute a user once their temporary mute expires.
      * <p>
-     * If this value is {@code NULL} the automatic mute task haven't
-     * yet been started for the mute container.
+     * If this value is {@code NULL} the container is permanent, or the
+     * timeout haven't yet been registered with the expiry wheel.
      *
-     * @return The future scheduled task used to auto unmute the container, or {@code NULL}.
+     * @return The expiry timeout used to auto unmute the container, or {@code NULL}.
      */
     @Nullable
-    public ScheduledFuture<?> getSchedule() {
+    public TimingWheel.Timeout getSchedule() {
         return schedule;
     }
 
     /**
-     * Sets the future scheduled task that should automatically unmute the container.
+     * Sets the expiry timeout that should automatically unmute the container.
      *
-     * @param schedule The future task used to unmute the container.
+     * @param schedule The expiry timeout used to unmute the container.
      */
-    public void setSchedule(@Nonnull ScheduledFuture<?> schedule) {
+    public void setSchedule(@Nonnull TimingWheel.Timeout schedule) {
         this.schedule = schedule;
     }
 
     /**
-     * Cancels the future scheduled task used to automatically
-     * unmute the container if one has been started.
+     * Cancels the expiry timeout used to automatically
+     * unmute the container if one has been registered.
      */
     public void cancelSchedule() {
         if (schedule != null) {
-            schedule.cancel(false);
+            schedule.cancel();
             schedule = null;
         }
     }
@@ -19,18 +19,13 @@
  *
  */
 
-package com.pinewoodbuilders.scheduler.tasks;
+package com.pinewoodbuilders.moderation.global.globalmute;
 
-import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
-import com.pinewoodbuilders.contracts.scheduler.Task;
-import com.pinewoodbuilders.database.collection.Collection;
-import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.database.controllers.GlobalSettingsController;
 import com.pinewoodbuilders.database.controllers.GuildController;
 import com.pinewoodbuilders.database.transformers.GlobalSettingsTransformer;
 import com.pinewoodbuilders.database.transformers.GuildTransformer;
-import com.pinewoodbuilders.moderation.global.globalmute.GlobalMuteContainer;
 import com.pinewoodbuilders.modlog.global.moderation.GlobalModlog;
 import com.pinewoodbuilders.modlog.global.shared.GlobalModlogAction;
 import com.pinewoodbuilders.modlog.global.shared.GlobalModlogType;
@@ -38,7 +33,7 @@ import com.pinewoodbuilders.modlog.local.moderation.Modlog;
 import com.pinewoodbuilders.modlog.local.shared.ModlogAction;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
 import com.pinewoodbuilders.scheduler.ScheduleHandler;
-import com.pinewoodbuilders.time.Carbon;
+import com.pinewoodbuilders.scheduler.expiry.ExpiryScheduler;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.Role;
@@ -47,59 +42,51 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
-public class DrainGlobalMuteQueueTask implements Task {
-
-    private static final Logger log = LoggerFactory.getLogger(DrainGlobalMuteQueueTask.class);
+/**
+ * Registers temporary global mute containers with the expiry wheel, and handles
+ * reversing the global mute once the container expires. If the bot isn't ready
+ * when the global mute expires, the expiry is retried a minute later.
+ */
+final class GlobalMuteExpiryHandler {
 
-    @Override
-    public void handle(Xeus avaire) {
-        if (avaire.getGlobalMuteManager() == null || avaire.getGlobalMuteManager().getGlobalMutes().isEmpty()) {
-            return;
-        }
+    private static final Logger log = LoggerFactory.getLogger(GlobalMuteExpiryHandler.class);
 
-        for (Map.Entry<Long, HashSet<GlobalMuteContainer>> entry : avaire.getGlobalMuteManager().getGlobalMutes().entrySet()) {
-            for (GlobalMuteContainer container : entry.getValue()) {
-                if (container.isPermanent() || container.getSchedule() != null) {
-                    continue;
-                }
+    private static final long RETRY_DELAY = TimeUnit.MINUTES.toMillis(1);
 
-                Carbon expires = container.getExpiresAt();
-                //noinspection ConstantConditions
-                if (expires.copy().subMinutes(5).isPast()) {
-                    long differenceInSeconds = expires.getTimestamp() - getCurrentTimestamp();
-                    if (differenceInSeconds < 1) {
-                        differenceInSeconds = 1;
-                    }
-
-                    log.debug("Unmute task started for guildId:{}, userId:{}, time:{}",
-                        container.getRanGuildId(), container.getUserId(), differenceInSeconds
-                    );
+    private GlobalMuteExpiryHandler() {
+        // This class should never be instantiated.
+    }
 
-                    container.setSchedule(ScheduleHandler.getScheduler().schedule(
-                        () -> handleAutomaticUnmute(avaire, container),
-                        differenceInSeconds,
-                        TimeUnit.SECONDS
-                    ));
-                }
-            }
+    /**
+     * Registers the given container with the expiry wheel, permanent
+     * containers are ignored since they never expire.
+     *
+     * @param avaire    The main Xeus instance.
+     * @param container The container that should be registered.
+     */
+    static void register(Xeus avaire, GlobalMuteContainer container) {
+        if (container.isPermanent()) {
+            return;
         }
+
+        //noinspection ConstantConditions
+        register(avaire, container, container.getExpiresAt().getTimestamp() * 1000L);
     }
 
-    private long getCurrentTimestamp() {
-        return System.currentTimeMillis() / 1000L;
+    private static void register(Xeus avaire, GlobalMuteContainer container, long deadline) {
+        new ExpiryScheduler(ScheduleHandler.getExpiryWheel(), avaire::areWeReadyYet, RETRY_DELAY).schedule(
+            deadline, container::setSchedule, () -> handleAutomaticUnmute(avaire, container)
+        );
     }
 
-    private void handleAutomaticUnmute(Xeus avaire, GlobalMuteContainer container) {
+    private static void handleAutomaticUnmute(Xeus avaire, GlobalMuteContainer container) {
         try {
             List<Guild> guilds = avaire.getRobloxAPIManager().getVerification().getGuildsByMainGroupId(avaire, container.getMainGroupId());
             if (guilds == null) {
-                container.cancelSchedule();
+                register(avaire, container, System.currentTimeMillis() + RETRY_DELAY);
                 return;
             }
 
@@ -162,7 +149,7 @@ public class DrainGlobalMuteQueueTask implements Task {
         }
     }
 
-    private void unregisterDatabaseRecord(Xeus avaire, GlobalMuteContainer container) {
+    private static void unregisterDatabaseRecord(Xeus avaire, GlobalMuteContainer container) {
         try {
             avaire.getGlobalMuteManager().unregisterGlobalMute(container.getMainGroupId(), container.getUserId(), container.getRanGuildId());
         } catch (SQLException e) {
@@ -171,30 +158,4 @@ public class DrainGlobalMuteQueueTask implements Task {
             );
         }
     }
-
-    public List <Guild> getGuildsByMainGroupId(Xeus avaire, Long mainGroupId) throws SQLException {
-        return getGuildsByMainGroupId(avaire, mainGroupId, false);
-    }
-
-    public List <Guild> getGuildsByMainGroupId(Xeus avaire, Long mainGroupId, boolean isOfficial) throws SQLException {
-        if (!avaire.areWeReadyYet()) {
-            return null;
-        }
-        Collection guildQuery = avaire.getDatabase().newQueryBuilder(Constants.GUILD_SETTINGS_TABLE)
-            .where("main_group_id", mainGroupId)
-            .where(builder -> {if (isOfficial) {
-                builder.where("official_sub_group", 1);
-            }})
-            .get();
-
-        List <Guild> guildList = new LinkedList <>();
-        for (DataRow dataRow : guildQuery) {
-            Guild guild = avaire.getShardManager().getGuildById(dataRow.getString("id"));
-            if (guild != null) {
-                guildList.add(guild);
-            }
-        }
-
-        return guildList;
-    }
 }
@@ -49,7 +49,9 @@ public class GlobalMuteManager {
             statement.set("main_group_id", mainGroupId);
         });
 
-        globalMutes.get(mainGroupId).add(new GlobalMuteContainer(guildId, userId, expiresAt, mainGroupId));
+        GlobalMuteContainer container = new GlobalMuteContainer(guildId, userId, expiresAt, mainGroupId);
+        globalMutes.get(mainGroupId).add(container);
+        GlobalMuteExpiryHandler.register(avaire, container);
     }
 
     /**
@@ -135,12 +137,15 @@ public class GlobalMuteManager {
                     globalMutes.put(mgi, new HashSet<>());
                 }
 
-                globalMutes.get(mgi).add(new GlobalMuteContainer(
+                GlobalMuteContainer container = new GlobalMuteContainer(
                     row.getLong("guild_id"),
                     row.getLong("target_id"),
                     row.getTimestamp("expires_in"),
                     row.getLong("mgi")
-                ));
+                );
+
+                globalMutes.get(mgi).add(container);
+                GlobalMuteExpiryHandler.register(avaire, container);
             }
 
             log.info("Syncing complete! {} global mutes entries was found that has not expired yet",
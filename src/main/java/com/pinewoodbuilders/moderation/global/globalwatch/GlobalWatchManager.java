@@ -49,7 +49,9 @@ public class GlobalWatchManager {
             statement.set("main_group_id", mainGroupId);
         });
 
-        globalWatches.get(mainGroupId).add(new GlobalWatchContainer(ranGuildId, userId, expiresAt, mainGroupId));
+        GlobalWatchContainer container = new GlobalWatchContainer(ranGuildId, userId, expiresAt, mainGroupId);
+        globalWatches.get(mainGroupId).add(container);
+        GlobalWatchExpiryHandler.register(avaire, container);
     }
 
     /**
@@ -136,12 +138,15 @@ public class GlobalWatchManager {
                 }
 
 
-                globalWatches.get(mgi).add(new GlobalWatchContainer(
+                GlobalWatchContainer container = new GlobalWatchContainer(
                     row.getLong("guild_id"),
                     row.getLong("target_id"),
                     row.getTimestamp("expires_in"),
                     row.getLong("mgi")
-                ));
+                );
+
+                globalWatches.get(mgi).add(container);
+                GlobalWatchExpiryHandler.register(avaire, container);
             }
 
             log.info("Syncing complete! {} global watch entries was found that has not expired yet",
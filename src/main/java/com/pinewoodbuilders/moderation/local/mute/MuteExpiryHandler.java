@@ -19,19 +19,17 @@
  *
  */
 
-package com.pinewoodbuilders.scheduler.tasks;
+package com.pinewoodbuilders.moderation.local.mute;
 
 import com.pinewoodbuilders.Xeus;
-import com.pinewoodbuilders.contracts.scheduler.Task;
 import com.pinewoodbuilders.database.controllers.GuildController;
 import com.pinewoodbuilders.database.transformers.GuildTransformer;
 import com.pinewoodbuilders.language.I18n;
-import com.pinewoodbuilders.moderation.local.mute.MuteContainer;
 import com.pinewoodbuilders.modlog.local.moderation.Modlog;
 import com.pinewoodbuilders.modlog.local.shared.ModlogAction;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
 import com.pinewoodbuilders.scheduler.ScheduleHandler;
-import com.pinewoodbuilders.time.Carbon;
+import com.pinewoodbuilders.scheduler.expiry.ExpiryScheduler;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.Role;
@@ -39,61 +37,50 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
-import java.util.HashSet;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
-public class DrainMuteQueueTask implements Task {
+/**
+ * Registers temporary mute containers with the expiry wheel, and handles
+ * reversing the mute once the container expires. If the bot isn't ready
+ * when the mute expires, the expiry is retried a minute later.
+ */
+final class MuteExpiryHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(MuteExpiryHandler.class);
 
-    private static final Logger log = LoggerFactory.getLogger(DrainMuteQueueTask.class);
+    private static final long RETRY_DELAY = TimeUnit.MINUTES.toMillis(1);
+
+    private MuteExpiryHandler() {
+        // This class should never be instantiated.
+    }
 
-    @Override
-    public void handle(Xeus avaire) {
-        if (avaire.getMuteManger() == null || avaire.getMuteManger().getMutes().isEmpty()) {
+    /**
+     * Registers the given container with the expiry wheel, permanent
+     * containers are ignored since they never expire.
+     *
+     * @param avaire    The main Xeus instance.
+     * @param container The container that should be registered.
+     */
+    static void register(Xeus avaire, MuteContainer container) {
+        if (container.isPermanent()) {
             return;
         }
 
-        for (Map.Entry<Long, HashSet<MuteContainer>> entry : avaire.getMuteManger().getMutes().entrySet()) {
-            for (MuteContainer container : entry.getValue()) {
-                if (container.isPermanent() || container.getSchedule() != null) {
-                    continue;
-                }
-
-                Carbon expires = container.getExpiresAt();
-                //noinspection ConstantConditions
-                if (expires.copy().subMinutes(5).isPast()) {
-                    long differenceInSeconds = expires.getTimestamp() - getCurrentTimestamp();
-                    if (differenceInSeconds < 1) {
-                        differenceInSeconds = 1;
-                    }
-
-                    log.debug("Unmute task started for guildId:{}, userId:{}, time:{}",
-                        container.getGuildId(), container.getUserId(), differenceInSeconds
-                    );
-
-                    container.setSchedule(ScheduleHandler.getScheduler().schedule(
-                        () -> handleAutomaticUnmute(avaire, container),
-                        differenceInSeconds,
-                        TimeUnit.SECONDS
-                    ));
-                }
-            }
-        }
+        //noinspection ConstantConditions
+        register(avaire, container, container.getExpiresAt().getTimestamp() * 1000L);
     }
 
-    private long getCurrentTimestamp() {
-        return System.currentTimeMillis() / 1000L;
+    private static void register(Xeus avaire, MuteContainer container, long deadline) {
+        new ExpiryScheduler(ScheduleHandler.getExpiryWheel(), avaire::areWeReadyYet, RETRY_DELAY).schedule(
+            deadline, container::setSchedule, () -> handleAutomaticUnmute(avaire, container)
+        );
     }
 
-    private void handleAutomaticUnmute(Xeus avaire, MuteContainer container) {
+    private static void handleAutomaticUnmute(Xeus avaire, MuteContainer container) {
         try {
             Guild guild = avaire.getShardManager().getGuildById(container.getGuildId());
             if (guild == null) {
-                if (avaire.areWeReadyYet()) {
-                    unregisterDatabaseRecord(avaire, container);
-                }
-
-                container.cancelSchedule();
+                unregisterDatabaseRecord(avaire, container);
                 return;
             }
 
@@ -138,7 +125,7 @@ public class DrainMuteQueueTask implements Task {
         }
     }
 
-    private void unregisterDatabaseRecord(Xeus avaire, MuteContainer container) {
+    private static void unregisterDatabaseRecord(Xeus avaire, MuteContainer container) {
         try {
             avaire.getMuteManger().unregisterMute(container.getGuildId(), container.getUserId());
         } catch (SQLException e) {
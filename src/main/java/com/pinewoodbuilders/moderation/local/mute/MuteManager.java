@@ -90,7 +90,9 @@ public class MuteManager {
             statement.set("expires_in", expiresAt);
         });
 
-        mutes.get(guildId).add(new MuteContainer(guildId, userId, expiresAt));
+        MuteContainer container = new MuteContainer(guildId, userId, expiresAt);
+        mutes.get(guildId).add(container);
+        MuteExpiryHandler.register(avaire, container);
     }
 
 
@@ -198,8 +200,10 @@ public class MuteManager {
                     mutes.put(guildId, new HashSet<>());
                 }
 
-                mutes.get(guildId).add(new MuteContainer(row.getLong("guild_id"), row.getLong("target_id"),
-                    row.getTimestamp("expires_in")));
+                MuteContainer container = new MuteContainer(row.getLong("guild_id"), row.getLong("target_id"),
+                    row.getTimestamp("expires_in"));
+                mutes.get(guildId).add(container);
+                MuteExpiryHandler.register(avaire, container);
             }
 
             log.info("Syncing complete! {} mutes entries was found that has not expired yet",
@@ -21,12 +21,12 @@
 
 package com.pinewoodbuilders.moderation.local.warn;
 
+import com.pinewoodbuilders.scheduler.expiry.TimingWheel;
 import com.pinewoodbuilders.time.Carbon;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Objects;
-import java.util.concurrent.ScheduledFuture;
 
 @SuppressWarnings("WeakerAccess")
 public class WarnContainer {
@@ -35,7 +35,7 @@ public class WarnContainer {
     private final long userId;
     private final Carbon expiresAt;
     private final String caseId;
-    private ScheduledFuture<?> schedule;
+    private volatile TimingWheel.Timeout schedule;
 
     /**
      * Creates a ban container using the given guild ID, user ID, and expiration time.
@@ -83,36 +83,35 @@ public class WarnContainer {
     }
 
     /**
-     * Gets the future scheduled task for the ban, this task is used
-     * to automatically unban a user if there is 5 minutes or less
-     * left of their temporary ban.
+     * Gets the expiry timeout for the ban, the timeout is used to
+     * automatically unban a user once their temporary ban expires.
      * <p>
-     * If this value is {@code NULL} the automatic ban task haven't
-     * yet been started for the ban container.
+     * If this value is {@code NULL} the container is permanent, or the
+     * timeout haven't yet been registered with the expiry wheel.
      *
-     * @return The future scheduled task used to auto unban the container, or {@code NULL}.
+     * @return The expiry timeout used to auto unban the container, or {@code NULL}.
      */
     @Nullable
-    public ScheduledFuture<?> getSchedule() {
+    public TimingWheel.Timeout getSchedule() {
         return schedule;
     }
 
     /**
-     * Sets the future scheduled task that should automatically unban the container.
+     * Sets the expiry timeout that should automatically unban the container.
      *
-     * @param schedule The future task used to unban the container.
+     * @param schedule The expiry timeout used to unban the container.
      */
-    public void setSchedule(@Nonnull ScheduledFuture<?> schedule) {
+    public void setSchedule(@Nonnull TimingWheel.Timeout schedule) {
         this.schedule = schedule;
     }
 
     /**
-     * Cancels the future scheduled task used to automatically
-     * unban the container if one has been started.
+     * Cancels the expiry timeout used to automatically
+     * unban the container if one has been registered.
      */
     public void cancelSchedule() {
         if (schedule != null) {
-            schedule.cancel(false);
+            schedule.cancel();
             schedule = null;
         }
     }
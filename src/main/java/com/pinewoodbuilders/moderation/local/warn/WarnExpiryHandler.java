@@ -19,84 +19,68 @@
  *
  */
 
-package com.pinewoodbuilders.scheduler.tasks;
+package com.pinewoodbuilders.moderation.local.warn;
 
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
-import com.pinewoodbuilders.contracts.scheduler.Task;
 import com.pinewoodbuilders.database.collection.Collection;
 import com.pinewoodbuilders.database.controllers.GuildController;
 import com.pinewoodbuilders.database.transformers.GuildTransformer;
-import com.pinewoodbuilders.moderation.local.warn.WarnContainer;
 import com.pinewoodbuilders.modlog.local.moderation.Modlog;
 import com.pinewoodbuilders.modlog.local.shared.ModlogAction;
 import com.pinewoodbuilders.modlog.local.shared.ModlogType;
 import com.pinewoodbuilders.scheduler.ScheduleHandler;
-import com.pinewoodbuilders.time.Carbon;
+import com.pinewoodbuilders.scheduler.expiry.ExpiryScheduler;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
-public class DrainWarnQueueTask implements Task {
+/**
+ * Registers temporary warn containers with the expiry wheel, and handles
+ * reversing the warn once the container expires. If the bot isn't ready
+ * when the warn expires, the expiry is retried a minute later.
+ */
+final class WarnExpiryHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(WarnExpiryHandler.class);
 
-    private static final Logger log = LoggerFactory.getLogger(DrainWarnQueueTask.class);
+    private static final long RETRY_DELAY = TimeUnit.MINUTES.toMillis(1);
+
+    private WarnExpiryHandler() {
+        // This class should never be instantiated.
+    }
 
-    @Override
-    public void handle(Xeus avaire) {
-        if (avaire.getWarningsManager() == null || avaire.getWarningsManager().getWarns().isEmpty()) {
+    /**
+     * Registers the given container with the expiry wheel, permanent
+     * containers are ignored since they never expire.
+     *
+     * @param avaire    The main Xeus instance.
+     * @param container The container that should be registered.
+     */
+    static void register(Xeus avaire, WarnContainer container) {
+        if (container.isPermanent()) {
             return;
         }
 
-        for (Map.Entry <Long, HashMap <Long, HashSet <WarnContainer>>> guild : avaire.getWarningsManager().getWarns().entrySet()) {
-            for (Map.Entry <Long, HashSet <WarnContainer>> userWarns : guild.getValue().entrySet()) {
-                for (WarnContainer container : userWarns.getValue()) {
-                    if (container.isPermanent() || container.getSchedule() != null) {
-                        continue;
-                    }
-
-                    Carbon expires = container.getExpiresAt();
-                    //noinspection ConstantConditions
-                    if (expires.copy().subMinutes(5).isPast()) {
-                        long differenceInSeconds = expires.getTimestamp() - getCurrentTimestamp();
-                        if (differenceInSeconds < 1) {
-                            differenceInSeconds = 1;
-                        }
-
-                        log.debug("Unwarn task started for guildId:{}, userId:{}, time:{}",
-                            container.getGuildId(), container.getUserId(), differenceInSeconds
-                        );
-
-                        container.setSchedule(ScheduleHandler.getScheduler().schedule(
-                            () -> handleAutomaticUnwarn(avaire, container),
-                            differenceInSeconds,
-                            TimeUnit.SECONDS
-                        ));
-                    }
-                }
-            }
-        }
+        //noinspection ConstantConditions
+        register(avaire, container, container.getExpiresAt().getTimestamp() * 1000L);
     }
 
-    private long getCurrentTimestamp() {
-        return System.currentTimeMillis() / 1000L;
+    private static void register(Xeus avaire, WarnContainer container, long deadline) {
+        new ExpiryScheduler(ScheduleHandler.getExpiryWheel(), avaire::areWeReadyYet, RETRY_DELAY).schedule(
+            deadline, container::setSchedule, () -> handleAutomaticUnwarn(avaire, container)
+        );
     }
 
-    private void handleAutomaticUnwarn(Xeus avaire, WarnContainer container) {
+    private static void handleAutomaticUnwarn(Xeus avaire, WarnContainer container) {
         try {
             Guild guild = avaire.getShardManager().getGuildById(container.getGuildId());
             if (guild == null) {
-                if (avaire.areWeReadyYet()) {
-                    unregisterDatabaseRecord(avaire, container);
-                }
-
-                container.cancelSchedule();
+                unregisterDatabaseRecord(avaire, container);
                 return;
             }
 
@@ -134,7 +118,7 @@ public class DrainWarnQueueTask implements Task {
         }
     }
 
-    private void unregisterDatabaseRecord(Xeus avaire, WarnContainer container) {
+    private static void unregisterDatabaseRecord(Xeus avaire, WarnContainer container) {
         try {
             avaire.getWarningsManager().unregisterWarn(container.getGuildId(), container.getUserId(), container.getCaseId());
         } catch (SQLException e) {
@@ -92,7 +92,9 @@ public class WarnsManager {
                 statement.set("expires_in", expiresAt);
             });
 
-        warns.get(guildId).get(userId).add(new WarnContainer(guildId, userId, expiresAt, caseId));
+        WarnContainer container = new WarnContainer(guildId, userId, expiresAt, caseId);
+        warns.get(guildId).get(userId).add(container);
+        WarnExpiryHandler.register(avaire, container);
     }
 
     /**
@@ -197,12 +199,15 @@ public class WarnsManager {
                     warns.get(guildId).put(targetId, new HashSet <>());
                 }
 
-                warns.get(guildId).get(targetId).add(new WarnContainer(
+                WarnContainer container = new WarnContainer(
                     row.getLong("guild_id"),
                     row.getLong("target_id"),
                     row.getTimestamp("expires_in"),
-                    row.getString("modlog_id"))
+                    row.getString("modlog_id")
                 );
+
+                warns.get(guildId).get(targetId).add(container);
+                WarnExpiryHandler.register(avaire, container);
             }
 
             log.info("Syncing complete! {} warn entries was found that has not expired yet...",
@@ -92,7 +92,9 @@ public class WatchManager {
                 statement.set("expires_in", expiresAt);
             });
 
-        OnWatchs.get(guildId).add(new WatchContainer(guildId, userId, expiresAt));
+        WatchContainer container = new WatchContainer(guildId, userId, expiresAt);
+        OnWatchs.get(guildId).add(container);
+        WatchExpiryHandler.register(avaire, container);
     }
 
     /**
@@ -195,11 +197,14 @@ public class WatchManager {
                     OnWatchs.put(guildId, new HashSet<>());
                 }
 
-                OnWatchs.get(guildId).add(new WatchContainer(
+                WatchContainer container = new WatchContainer(
                     row.getLong("guild_id"),
                     row.getLong("target_id"),
                     row.getTimestamp("expires_in")
-                ));
+                );
+
+                OnWatchs.get(guildId).add(container);
+                WatchExpiryHandler.register(avaire, container);
             }
 
             log.info("Syncing complete! {} OnWatchs entries was found that has not expired yet",
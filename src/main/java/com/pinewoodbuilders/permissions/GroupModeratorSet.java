@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.permissions;
+
+import com.pinewoodbuilders.database.collection.Collection;
+import com.pinewoodbuilders.database.collection.DataRow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An immutable snapshot of the moderators for a single main group, the moderators are
+ * sorted by their Discord ID and stored in primitive arrays, allowing moderators
+ * to be looked up with a binary search without allocating any objects.
+ */
+public final class GroupModeratorSet {
+
+    private static final byte GLOBAL_LEAD = 1;
+    private static final byte GLOBAL_ADMIN = 2;
+
+    private final long[] discordIds;
+    private final long[] robloxIds;
+    private final byte[] flags;
+
+    /**
+     * Creates a new group moderator set from the given group moderator rows.
+     *
+     * @param collection The rows loaded from the group moderators table.
+     */
+    public GroupModeratorSet(Collection collection) {
+        List<long[]> moderators = new ArrayList<>();
+        for (DataRow row : collection) {
+            moderators.add(new long[]{
+                row.getLong("discord_id"),
+                row.getLong("roblox_id"),
+                (row.getBoolean("is_global_lead") ? GLOBAL_LEAD : 0) | (row.getBoolean("is_global_admin") ? GLOBAL_ADMIN : 0)
+            });
+        }
+        moderators.sort(Comparator.comparingLong(moderator -> moderator[0]));
+
+        discordIds = new long[moderators.size()];
+        robloxIds = new long[moderators.size()];
+        flags = new byte[moderators.size()];
+
+        for (int i = 0; i < moderators.size(); i++) {
+            long[] moderator = moderators.get(i);
+
+            discordIds[i] = moderator[0];
+            robloxIds[i] = moderator[1];
+            flags[i] = (byte) moderator[2];
+        }
+    }
+
+    /**
+     * Checks if the given Discord ID belongs to any moderator in the group,
+     * regardless of what Roblox account they're linked to.
+     *
+     * @param discordId The Discord ID that should be checked.
+     * @return {@code True} if the Discord ID belongs to a moderator, {@code False} otherwise.
+     */
+    public boolean contains(long discordId) {
+        return indexOf(discordId) >= 0;
+    }
+
+    /**
+     * Checks if the given Discord and Roblox account pair is a moderator in the group.
+     *
+     * @param discordId The Discord ID of the user.
+     * @param robloxId  The Roblox ID the user is verified with.
+     * @return {@code True} if the user is a moderator, {@code False} otherwise.
+     */
+    public boolean isModerator(long discordId, long robloxId) {
+        return matches(discordId, robloxId, 0);
+    }
+
+    /**
+     * Checks if the given Discord and Roblox account pair is part of the group leadership.
+     *
+     * @param discordId The Discord ID of the user.
+     * @param robloxId  The Roblox ID the user is verified with.
+     * @return {@code True} if the user is part of the group leadership, {@code False} otherwise.
+     */
+    public boolean isLeadership(long discordId, long robloxId) {
+        return matches(discordId, robloxId, GLOBAL_LEAD);
+    }
+
+    /**
+     * Checks if the given Discord and Roblox account pair is a global admin.
+     *
+     * @param discordId The Discord ID of the user.
+     * @param robloxId  The Roblox ID the user is verified with.
+     * @return {@code True} if the user is a global admin, {@code False} otherwise.
+     */
+    public boolean isGlobalAdmin(long discordId, long robloxId) {
+        return matches(discordId, robloxId, GLOBAL_ADMIN);
+    }
+
+    /**
+     * Gets the amount of moderators in the set.
+     *
+     * @return The amount of moderators in the set.
+     */
+    public int size() {
+        return discordIds.length;
+    }
+
+    private boolean matches(long discordId, long robloxId, int flag) {
+        int index = indexOf(discordId);
+        if (index < 0) {
+            return false;
+        }
+
+        // A Discord user can be listed multiple times, so we rewind to
+        // the first entry for the user and check every entry from there.
+        while (index > 0 && discordIds[index - 1] == discordId) {
+            index--;
+        }
+
+        for (; index < discordIds.length && discordIds[index] == discordId; index++) {
+            if (robloxIds[index] == robloxId && (flags[index] & flag) == flag) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int indexOf(long discordId) {
+        int index = Arrays.binarySearch(discordIds, discordId);
+        return index < 0 ? -1 : index;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.permissions;
+
+import com.pinewoodbuilders.contracts.permission.GuildPermissionCheckType;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * A precomputed index of the local permission roles for a guild, the role IDs for each
+ * permission level are stored in sorted primitive arrays, so a member's roles can be
+ * checked with a binary search per role, instead of looking up every configured
+ * role in the guild and checking if the member's role list contains it.
+ */
+public final class PermissionRoleIndex {
+
+    private final long[] leadRoles;
+    private final long[] hrRoles;
+    private final long[] groupShoutRoles;
+
+    /**
+     * Creates a new permission role index from the given role ID sets.
+     *
+     * @param leadRoles       The IDs of the local group leadership roles.
+     * @param hrRoles         The IDs of the local group HR roles.
+     * @param groupShoutRoles The IDs of the group shout roles.
+     */
+    public PermissionRoleIndex(@Nullable Set<Long> leadRoles, @Nullable Set<Long> hrRoles, @Nullable Set<Long> groupShoutRoles) {
+        this.leadRoles = toSortedArray(leadRoles);
+        this.hrRoles = toSortedArray(hrRoles);
+        this.groupShoutRoles = toSortedArray(groupShoutRoles);
+    }
+
+    /**
+     * Resolves the highest local permission level the given member has through their roles.
+     *
+     * @param member The member that the permission level should be resolved for.
+     * @return The highest local permission level, or {@link GuildPermissionCheckType#USER} if the member has none.
+     */
+    public GuildPermissionCheckType resolve(@Nonnull Member member) {
+        if (leadRoles.length == 0 && hrRoles.length == 0 && groupShoutRoles.length == 0) {
+            return GuildPermissionCheckType.USER;
+        }
+
+        GuildPermissionCheckType type = GuildPermissionCheckType.USER;
+        for (Role role : member.getRoles()) {
+            long roleId = role.getIdLong();
+
+            if (Arrays.binarySearch(leadRoles, roleId) >= 0) {
+                return GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP;
+            }
+
+            if (Arrays.binarySearch(hrRoles, roleId) >= 0) {
+                type = GuildPermissionCheckType.LOCAL_GROUP_HR;
+            } else if (type == GuildPermissionCheckType.USER && Arrays.binarySearch(groupShoutRoles, roleId) >= 0) {
+                type = GuildPermissionCheckType.GROUP_SHOUT;
+            }
+        }
+        return type;
+    }
+
+    private long[] toSortedArray(Set<Long> roles) {
+        if (roles == null || roles.isEmpty()) {
+            return new long[0];
+        }
+
+        long[] array = new long[roles.size()];
+        int index = 0;
+        for (Long role : roles) {
+            array[index++] = role;
+        }
+        Arrays.sort(array);
+
+        return array;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.ratelimit;
+
+import javax.annotation.Nonnull;
+import java.util.Objects;
+
+/**
+ * A composite rate limit key, made up of the type of limit, the scope
+ * the limit applies within, the ID of the entity being limited, and
+ * the bucket the limit is for, like a command fingerprint.
+ * <p>
+ * Keys are compared by their primitive values, so creating one for every
+ * request is cheap compared to formatting a string fingerprint.
+ */
+public final class RateLimitKey {
+
+    private final int type;
+    private final long scope;
+    private final long id;
+    private final String bucket;
+    private final int hash;
+
+    /**
+     * Creates a new rate limit key.
+     *
+     * @param type   The type of limit the key is for.
+     * @param scope  The scope the limit applies within, like a guild ID, or {@code 0} for none.
+     * @param id     The ID of the entity that is being limited.
+     * @param bucket The bucket the limit is for, like a command fingerprint.
+     */
+    public RateLimitKey(int type, long scope, long id, @Nonnull String bucket) {
+        this.type = type;
+        this.scope = scope;
+        this.id = id;
+        this.bucket = bucket;
+
+        int result = type;
+        result = 31 * result + Long.hashCode(scope);
+        result = 31 * result + Long.hashCode(id);
+        this.hash = 31 * result + bucket.hashCode();
+    }
+
+    /**
+     * Creates a new rate limit key with no scope or bucket.
+     *
+     * @param type The type of limit the key is for.
+     * @param id   The ID of the entity that is being limited.
+     */
+    public RateLimitKey(int type, long id) {
+        this(type, 0L, id, "");
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    public long getScope() {
+        return scope;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof RateLimitKey)) {
+            return false;
+        }
+
+        RateLimitKey other = (RateLimitKey) obj;
+
+        return hash == other.hash
+            && type == other.type
+            && scope == other.scope
+            && id == other.id
+            && Objects.equals(bucket, other.bucket);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return type + ":" + scope + ":" + id + ":" + bucket;
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.ratelimit;
+
+import com.pinewoodbuilders.metrics.Metrics;
+
+import javax.annotation.Nonnull;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A lock-free rate limiter using the generic cell rate algorithm, each key
+ * only stores a single "theoretical arrival time", which is updated
+ * using compare-and-set, so concurrent requests for the same
+ * key never block each other.
+ * <p>
+ * A limit of {@code n} requests every {@code period} allows bursts of up to
+ * {@code n} requests, after which a new request is allowed every
+ * {@code period / n} milliseconds, keys that have fully recovered
+ * hold no state and are evicted whenever the limiter grows
+ * beyond its maximum size, or when {@link #evictIdle()}
+ * is called by the garbage collector task.
+ */
+public class RateLimiter {
+
+    /**
+     * The arrival time used to mark a state as evicted, any thread that finds
+     * a dead state will remove it from the map and retry with a new one.
+     */
+    private static final long DEAD = Long.MIN_VALUE;
+
+    private final Map<RateLimitKey, AtomicLong> states = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+
+    private final String name;
+    private final int maximumKeys;
+    private final LongSupplier clock;
+
+    /**
+     * Creates a new rate limiter using the system clock.
+     *
+     * @param name        The name of the limiter, used for metrics.
+     * @param maximumKeys The amount of keys the limiter can hold before idle keys are evicted.
+     */
+    public RateLimiter(@Nonnull String name, int maximumKeys) {
+        this(name, maximumKeys, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a new rate limiter using the given clock.
+     *
+     * @param name        The name of the limiter, used for metrics.
+     * @param maximumKeys The amount of keys the limiter can hold before idle keys are evicted.
+     * @param clock       The clock that should be used to get the current time in milliseconds.
+     */
+    public RateLimiter(@Nonnull String name, int maximumKeys, @Nonnull LongSupplier clock) {
+        this.name = name;
+        this.maximumKeys = maximumKeys;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the name of the rate limiter.
+     *
+     * @return The name of the rate limiter.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Tries to acquire a request for the given key.
+     *
+     * @param key          The key that should be limited.
+     * @param limit        The amount of requests that are allowed within the period.
+     * @param periodMillis The period in milliseconds.
+     * @return {@code 0} if the request was allowed, otherwise the amount of
+     * milliseconds until the next request will be allowed.
+     */
+    public long tryAcquire(@Nonnull RateLimitKey key, int limit, long periodMillis) {
+        long interval = getEmissionInterval(limit, periodMillis);
+        long tolerance = interval * Math.max(limit, 1);
+
+        while (true) {
+            AtomicLong state = getOrCreateState(key);
+
+            long arrival = state.get();
+            if (arrival == DEAD) {
+                states.remove(key, state);
+                continue;
+            }
+
+            long now = clock.getAsLong();
+            long next = Math.max(arrival, now) + interval;
+
+            if (next - now > tolerance) {
+                Metrics.rateLimiterRequests.labels(name, "limited").inc();
+
+                return Math.max(next - tolerance - now, 1L);
+            }
+
+            if (state.compareAndSet(arrival, next)) {
+                Metrics.rateLimiterRequests.labels(name, "allowed").inc();
+
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * Gives back a request that was previously acquired for the given key,
+     * this should be used when the request ended up not doing anything.
+     *
+     * @param key          The key the request was acquired for.
+     * @param limit        The amount of requests that are allowed within the period.
+     * @param periodMillis The period in milliseconds.
+     */
+    public void release(@Nonnull RateLimitKey key, int limit, long periodMillis) {
+        AtomicLong state = states.get(key);
+        if (state == null) {
+            return;
+        }
+
+        long interval = getEmissionInterval(limit, periodMillis);
+        while (true) {
+            long arrival = state.get();
+            if (arrival == DEAD || state.compareAndSet(arrival, arrival - interval)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Resets the given key, so the next request is treated as if the key
+     * had never been limited before. When multiple threads reset the
+     * same key at once, only one of them will see it succeed.
+     *
+     * @param key The key that should be reset.
+     * @return {@code true} if this call reset the key, {@code false} if
+     * the key had no state, or was reset by another thread.
+     */
+    public boolean reset(@Nonnull RateLimitKey key) {
+        AtomicLong state = states.get(key);
+        if (state == null) {
+            return false;
+        }
+
+        while (true) {
+            long arrival = state.get();
+            if (arrival == DEAD) {
+                return false;
+            }
+
+            if (state.compareAndSet(arrival, DEAD)) {
+                states.remove(key, state);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Evicts all the keys that have fully recovered, a key that has
+     * recovered behaves exactly the same as a key with no state.
+     *
+     * @return The amount of keys that were evicted.
+     */
+    public int evictIdle() {
+        long now = clock.getAsLong();
+        int evicted = 0;
+
+        Iterator<Map.Entry<RateLimitKey, AtomicLong>> iterator = states.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<RateLimitKey, AtomicLong> entry = iterator.next();
+            AtomicLong state = entry.getValue();
+
+            long arrival = state.get();
+            if (arrival == DEAD || (arrival <= now && state.compareAndSet(arrival, DEAD))) {
+                states.remove(entry.getKey(), state);
+                evicted++;
+            }
+        }
+
+        Metrics.rateLimiterKeys.labels(name).set(states.size());
+
+        return evicted;
+    }
+
+    /**
+     * Gets the amount of keys currently held by the rate limiter.
+     *
+     * @return The amount of keys held by the rate limiter.
+     */
+    public int size() {
+        return states.size();
+    }
+
+    private AtomicLong getOrCreateState(RateLimitKey key) {
+        AtomicLong state = states.get(key);
+        if (state != null) {
+            return state;
+        }
+
+        AtomicLong created = new AtomicLong(0L);
+        state = states.putIfAbsent(key, created);
+        if (state != null) {
+            return state;
+        }
+
+        if (states.size() > maximumKeys && evicting.compareAndSet(false, true)) {
+            try {
+                evictIdle();
+            } finally {
+                evicting.set(false);
+            }
+        }
+
+        return created;
+    }
+
+    private long getEmissionInterval(int limit, long periodMillis) {
+        return Math.max(periodMillis / Math.max(limit, 1), 1L);
+    }
+}
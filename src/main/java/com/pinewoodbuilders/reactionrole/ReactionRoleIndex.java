@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.pinewoodbuilders.reactionrole;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The reaction role index maps the reaction role messages for a single guild to
+ * the emotes on each message, and the role each emote is linked to, allowing
+ * the role for a reaction to be looked up in constant time.
+ * <p>
+ * The index is immutable, changes to the reaction roles for a message creates a new
+ * index that shares the role maps for every other message, so the index can be
+ * read by the reaction event handlers while it is being updated.
+ */
+public final class ReactionRoleIndex {
+
+    /**
+     * An empty reaction role index, used for guilds without any reaction roles.
+     */
+    public static final ReactionRoleIndex EMPTY = new ReactionRoleIndex(Collections.emptyMap());
+
+    private final Map<Long, Map<Long, Long>> messages;
+
+    private ReactionRoleIndex(Map<Long, Map<Long, Long>> messages) {
+        this.messages = messages;
+    }
+
+    /**
+     * Creates a new reaction role index from the given map, where the key is the
+     * message ID, and the value is a map of emote IDs to the linked role IDs.
+     *
+     * @param messages The reaction role messages that should be indexed.
+     * @return The reaction role index for the given messages.
+     */
+    public static ReactionRoleIndex of(@Nonnull Map<Long, Map<Long, Long>> messages) {
+        Map<Long, Map<Long, Long>> index = new HashMap<>();
+        for (Map.Entry<Long, Map<Long, Long>> entry : messages.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                index.put(entry.getKey(), Collections.unmodifiableMap(new HashMap<>(entry.getValue())));
+            }
+        }
+        return index.isEmpty() ? EMPTY : new ReactionRoleIndex(index);
+    }
+
+    /**
+     * Gets the ID of the role linked to the given emote on the message with
+     * the given ID, if the message isn't a reaction role message, or the
+     * emote isn't linked to any role, {@code NULL} will be returned.
+     *
+     * @param messageId The ID of the message that was reacted to.
+     * @param emoteId   The ID of the emote that was used to react.
+     * @return Possibly-null, the ID of the role linked to the emote on the message.
+     */
+    @Nullable
+    public Long getRoleId(long messageId, long emoteId) {
+        Map<Long, Long> roles = messages.get(messageId);
+        return roles == null ? null : roles.get(emoteId);
+    }
+
+    /**
+     * Gets the map of emote IDs to role IDs for the given message.
+     *
+     * @param messageId The ID of the message that should be returned.
+     * @return The emote to role map for the message, or an empty map.
+     */
+    @Nonnull
+    public Map<Long, Long> getRoles(long messageId) {
+        return messages.getOrDefault(messageId, Collections.emptyMap());
+    }
+
+    /**
+     * Creates a copy of the index with the roles for the given message replaced by
+     * the given roles, if the given roles are empty the message is removed.
+     *
+     * @param messageId The ID of the message that was changed.
+     * @param roles     The emote to role map for the message.
+     * @return The updated reaction role index.
+     */
+    @CheckReturnValue
+    public ReactionRoleIndex withMessage(long messageId, @Nonnull Map<Long, Long> roles) {
+        if (roles.isEmpty() && !messages.containsKey(messageId)) {
+            return this;
+        }
+
+        Map<Long, Map<Long, Long>> index = new HashMap<>(messages);
+        if (roles.isEmpty()) {
+            index.remove(messageId);
+        } else {
+            index.put(messageId, Collections.unmodifiableMap(new HashMap<>(roles)));
+        }
+
+        return index.isEmpty() ? EMPTY : new ReactionRoleIndex(index);
+    }
+
+    /**
+     * Gets the amount of reaction role messages in the index.
+     *
+     * @return The amount of indexed messages.
+     */
+    public int size() {
+        return messages.size();
+    }
+
+    /**
+     * Checks if the index has no reaction role messages.
+     *
+     * @return {@code True} if the index is empty, {@code False} otherwise.
+     */
+    public boolean isEmpty() {
+        return messages.isEmpty();
+    }
+}
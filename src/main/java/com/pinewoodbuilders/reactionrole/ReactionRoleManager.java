@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.pinewoodbuilders.reactionrole;
+
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.metrics.Metrics;
+import com.pinewoodbuilders.utilities.RoleUtil;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The reaction role manager applies the roles given and taken by reaction roles,
+ * the changes are queued in a {@link RoleChangeQueue}, which merges the changes
+ * for each member, and the merged changes are then applied using a single
+ * {@link Guild#modifyMemberRoles(Member, java.util.Collection, java.util.Collection) modify member roles}
+ * request for each member, as fast as Discord allows.
+ */
+public class ReactionRoleManager {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactionRoleManager.class);
+
+    private final Xeus avaire;
+    private final RoleChangeQueue queue;
+
+    /**
+     * Creates a new reaction role manager with the given request budgets.
+     *
+     * @param avaire       The main Xeus instance.
+     * @param guildBudget  The maximum amount of role requests in flight for a single guild.
+     * @param globalBudget The maximum amount of role requests in flight across every guild.
+     */
+    public ReactionRoleManager(Xeus avaire, int guildBudget, int globalBudget) {
+        this.avaire = avaire;
+        this.queue = new RoleChangeQueue(guildBudget, globalBudget);
+    }
+
+    /**
+     * Queues the given role to be added to the given member.
+     *
+     * @param member The member the role should be added to.
+     * @param role   The role that should be added to the member.
+     */
+    public void queueRoleAdd(@Nonnull Member member, @Nonnull Role role) {
+        queue.add(member.getGuild().getIdLong(), member.getIdLong(), role.getIdLong());
+        dispatch();
+    }
+
+    /**
+     * Queues the given role to be removed from the given member.
+     *
+     * @param member The member the role should be removed from.
+     * @param role   The role that should be removed from the member.
+     */
+    public void queueRoleRemove(@Nonnull Member member, @Nonnull Role role) {
+        queue.remove(member.getGuild().getIdLong(), member.getIdLong(), role.getIdLong());
+        dispatch();
+    }
+
+    /**
+     * Gets the amount of members with role changes waiting to be applied.
+     *
+     * @return The amount of pending role changes.
+     */
+    public int getPendingChanges() {
+        return queue.size();
+    }
+
+    private void dispatch() {
+        List<RoleChange> changes;
+        while (!(changes = queue.poll()).isEmpty()) {
+            int sent = 0;
+            for (RoleChange change : changes) {
+                if (apply(change)) {
+                    sent++;
+                }
+            }
+
+            // If every change resulted in a request, the request callbacks will
+            // dispatch the next changes, otherwise the released slots are used
+            // for the next changes in the queue right away.
+            if (sent == changes.size()) {
+                break;
+            }
+        }
+
+        Metrics.reactionRoleQueue.set(queue.size());
+    }
+
+    private boolean apply(RoleChange change) {
+        try {
+            Guild guild = avaire.getShardManager().getGuildById(change.getGuildId());
+            if (guild == null) {
+                queue.release(change);
+                return false;
+            }
+
+            Member member = guild.getMemberById(change.getUserId());
+            if (member == null) {
+                queue.release(change);
+                return false;
+            }
+
+            List<Role> rolesToAdd = new ArrayList<>();
+            for (long roleId : change.getRolesToAdd()) {
+                Role role = guild.getRoleById(roleId);
+                if (role != null && !RoleUtil.hasRole(member, role) && guild.getSelfMember().canInteract(role)) {
+                    rolesToAdd.add(role);
+                }
+            }
+
+            List<Role> rolesToRemove = new ArrayList<>();
+            for (long roleId : change.getRolesToRemove()) {
+                Role role = guild.getRoleById(roleId);
+                if (role != null && RoleUtil.hasRole(member, role) && guild.getSelfMember().canInteract(role)) {
+                    rolesToRemove.add(role);
+                }
+            }
+
+            if (rolesToAdd.isEmpty() && rolesToRemove.isEmpty()) {
+                queue.release(change);
+                return false;
+            }
+
+            guild.modifyMemberRoles(member, rolesToAdd, rolesToRemove).queue(aVoid -> {
+                queue.release(change);
+                dispatch();
+            }, throwable -> {
+                log.debug("Failed to apply reaction roles for {}, error: {}", change, throwable.getMessage());
+
+                queue.release(change);
+                dispatch();
+            });
+
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to apply reaction roles for {}: {}", change, e.getMessage(), e);
+
+            queue.release(change);
+            return false;
+        }
+    }
+}
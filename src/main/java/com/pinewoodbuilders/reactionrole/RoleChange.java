@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.pinewoodbuilders.reactionrole;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A role change holds every role that should be added to, or removed from, a
+ * single member, changes queued for the same member are merged into a single
+ * role change, so they can be applied using one request to Discord.
+ */
+public class RoleChange {
+
+    private final long guildId;
+    private final long userId;
+    private final Set<Long> rolesToAdd = new LinkedHashSet<>();
+    private final Set<Long> rolesToRemove = new LinkedHashSet<>();
+
+    RoleChange(long guildId, long userId) {
+        this.guildId = guildId;
+        this.userId = userId;
+    }
+
+    /**
+     * Gets the ID of the guild the member belongs to.
+     *
+     * @return The ID of the guild the member belongs to.
+     */
+    public long getGuildId() {
+        return guildId;
+    }
+
+    /**
+     * Gets the ID of the user the role change should be applied to.
+     *
+     * @return The ID of the user the role change should be applied to.
+     */
+    public long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Gets the IDs of the roles that should be added to the member.
+     *
+     * @return The IDs of the roles that should be added.
+     */
+    public Set<Long> getRolesToAdd() {
+        return Collections.unmodifiableSet(rolesToAdd);
+    }
+
+    /**
+     * Gets the IDs of the roles that should be removed from the member.
+     *
+     * @return The IDs of the roles that should be removed.
+     */
+    public Set<Long> getRolesToRemove() {
+        return Collections.unmodifiableSet(rolesToRemove);
+    }
+
+    void add(long roleId) {
+        rolesToRemove.remove(roleId);
+        rolesToAdd.add(roleId);
+    }
+
+    void remove(long roleId) {
+        rolesToAdd.remove(roleId);
+        rolesToRemove.add(roleId);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RoleChange={guildId=%s, userId=%s, add=%s, remove=%s}",
+            guildId, userId, rolesToAdd, rolesToRemove
+        );
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.pinewoodbuilders.reactionrole;
+
+import java.util.*;
+
+/**
+ * The role change queue coalesces role changes for each member, and hands them
+ * out within a budget of requests that may be in flight at the same time, both
+ * for each guild, and across every guild.
+ * <p>
+ * Discord rate limits member updates per guild, so sending more requests for a
+ * guild than it will accept only makes them wait in JDAs request queue, where
+ * they can no longer be merged with newer changes. Keeping the changes here
+ * until a request slot is free lets a member reacting to several emotes, or
+ * reacting and un-reacting, be applied as a single request, while the budget
+ * is released as soon as Discord responds, so the queue drains as fast as the
+ * rate limit buckets allow, instead of at a fixed rate.
+ * <p>
+ * Guilds are served round-robin, so a guild with thousands of pending changes
+ * does not hold up the changes for every other guild.
+ */
+public class RoleChangeQueue {
+
+    private final int guildBudget;
+    private final int globalBudget;
+
+    private final Map<Long, GuildQueue> guilds = new HashMap<>();
+    private final ArrayDeque<GuildQueue> pendingGuilds = new ArrayDeque<>();
+
+    private int inFlight = 0;
+    private int size = 0;
+
+    /**
+     * Creates a new role change queue with the given request budgets.
+     *
+     * @param guildBudget  The maximum amount of requests in flight for a single guild.
+     * @param globalBudget The maximum amount of requests in flight across every guild.
+     */
+    public RoleChangeQueue(int guildBudget, int globalBudget) {
+        this.guildBudget = Math.max(1, guildBudget);
+        this.globalBudget = Math.max(1, globalBudget);
+    }
+
+    /**
+     * Queues the given role to be added to the member with the given user ID.
+     *
+     * @param guildId The ID of the guild the member belongs to.
+     * @param userId  The ID of the user the role should be added to.
+     * @param roleId  The ID of the role that should be added.
+     */
+    public synchronized void add(long guildId, long userId, long roleId) {
+        getPendingChange(guildId, userId).add(roleId);
+    }
+
+    /**
+     * Queues the given role to be removed from the member with the given user ID.
+     *
+     * @param guildId The ID of the guild the member belongs to.
+     * @param userId  The ID of the user the role should be removed from.
+     * @param roleId  The ID of the role that should be removed.
+     */
+    public synchronized void remove(long guildId, long userId, long roleId) {
+        getPendingChange(guildId, userId).remove(roleId);
+    }
+
+    /**
+     * Takes as many role changes from the queue as the budgets allows, every returned
+     * change takes up a request slot, until it is {@link #release(RoleChange) released}.
+     * <p>
+     * Changes for a member that already has a request in flight are held back until
+     * that request is released, since the next change is applied on top of the
+     * roles the member has once the previous change has gone through.
+     *
+     * @return The role changes that should be applied, or an empty list.
+     */
+    public synchronized List<RoleChange> poll() {
+        List<RoleChange> changes = new ArrayList<>();
+
+        int blocked = 0;
+        while (inFlight < globalBudget && blocked < pendingGuilds.size()) {
+            GuildQueue queue = pendingGuilds.poll();
+
+            RoleChange change = queue.inFlight.size() < guildBudget ? queue.take() : null;
+            if (change == null) {
+                pendingGuilds.add(queue);
+                blocked++;
+                continue;
+            }
+
+            blocked = 0;
+            inFlight++;
+            size--;
+            changes.add(change);
+
+            if (!queue.pending.isEmpty()) {
+                pendingGuilds.add(queue);
+            }
+        }
+
+        return changes;
+    }
+
+    /**
+     * Releases the request slot taken by the given role change, this should be
+     * called once Discord has responded to the request, or the change was
+     * dropped without sending a request.
+     *
+     * @param change The role change that should be released.
+     */
+    public synchronized void release(RoleChange change) {
+        GuildQueue queue = guilds.get(change.getGuildId());
+        if (queue == null || !queue.inFlight.remove(change.getUserId())) {
+            return;
+        }
+
+        inFlight--;
+        if (queue.inFlight.isEmpty() && queue.pending.isEmpty()) {
+            guilds.remove(change.getGuildId());
+        }
+    }
+
+    /**
+     * Gets the amount of members with role changes waiting to be applied.
+     *
+     * @return The amount of pending role changes.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Gets the amount of role changes that are currently in flight.
+     *
+     * @return The amount of in flight role changes.
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private RoleChange getPendingChange(long guildId, long userId) {
+        GuildQueue queue = guilds.computeIfAbsent(guildId, id -> new GuildQueue());
+
+        RoleChange change = queue.pending.get(userId);
+        if (change == null) {
+            if (queue.pending.isEmpty()) {
+                pendingGuilds.add(queue);
+            }
+
+            change = new RoleChange(guildId, userId);
+            queue.pending.put(userId, change);
+            size++;
+        }
+
+        return change;
+    }
+
+    private static final class GuildQueue {
+
+        private final LinkedHashMap<Long, RoleChange> pending = new LinkedHashMap<>();
+        private final Set<Long> inFlight = new HashSet<>();
+
+        RoleChange take() {
+            // Members with a request in flight are skipped, there can only be
+            // as many of them as the guild budget, so this stays cheap.
+            Iterator<RoleChange> iterator = pending.values().iterator();
+            while (iterator.hasNext()) {
+                RoleChange change = iterator.next();
+                if (inFlight.add(change.getUserId())) {
+                    iterator.remove();
+                    return change;
+                }
+            }
+            return null;
+        }
+    }
+}
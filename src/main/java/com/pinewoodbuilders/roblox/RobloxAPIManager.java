@@ -4,8 +4,10 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.roblox.api.group.GroupAPIRoutes;
 import com.pinewoodbuilders.roblox.api.user.RobloxUserAPIRoutes;
 import com.pinewoodbuilders.roblox.evaluations.EvaluationManager;
+import com.pinewoodbuilders.roblox.http.RobloxHttpClient;
 import com.pinewoodbuilders.roblox.kronos.KronosManager;
 import com.pinewoodbuilders.roblox.verification.VerificationManager;
+import com.pinewoodbuilders.scheduler.ScheduleHandler;
 
 import okhttp3.OkHttpClient;
 import okhttp3.Response;
@@ -14,7 +16,7 @@ import okhttp3.ResponseBody;
 import java.io.IOException;
 
 public class RobloxAPIManager {
-    private final OkHttpClient client = new OkHttpClient();
+    private final RobloxHttpClient httpClient = new RobloxHttpClient(ScheduleHandler.getScheduler());
     private final RobloxUserAPIRoutes userAPI;
     private final VerificationManager verification;
     private final GroupAPIRoutes groupAPI;
@@ -48,7 +50,11 @@ public class RobloxAPIManager {
     }
 
     public OkHttpClient getClient() {
-        return client;
+        return httpClient.getClient();
+    }
+
+    public RobloxHttpClient getHttpClient() {
+        return httpClient;
     }
 
     public Object toService(Response response, Class<?> clazz) {
@@ -4,15 +4,13 @@ import com.pinewoodbuilders.AppInfo;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.requests.service.group.GroupRanksService;
 import com.pinewoodbuilders.roblox.RobloxAPIManager;
-import com.pinewoodbuilders.utilities.CacheUtil;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import okhttp3.Request;
-import okhttp3.Response;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nullable;
-import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 public class GroupAPIRoutes {
@@ -34,36 +32,48 @@ public class GroupAPIRoutes {
     @Nullable
     @CheckReturnValue
     public GroupRanksService fetchGroupRanks(long groupId, boolean fromCache) {
-        if (!fromCache) {
-            return forgetAndCache(groupId);
-        }
-        return (GroupRanksService) CacheUtil.getUncheckedUnwrapped(cache, groupId, () -> callGroupRanksFromRobloxAPI(groupId));
+        return fetchGroupRanksAsync(groupId, fromCache).join();
     }
 
-    private GroupRanksService forgetAndCache(long groupId) {
-        if (cache.getIfPresent(groupId) != null) {
+    @CheckReturnValue
+    public CompletableFuture<GroupRanksService> fetchGroupRanksAsync(long groupId, boolean fromCache) {
+        if (fromCache) {
+            GroupRanksService ranks = cache.getIfPresent(groupId);
+            if (ranks != null) {
+                return CompletableFuture.completedFuture(ranks);
+            }
+        } else {
             cache.invalidate(groupId);
-            return callGroupRanksFromRobloxAPI(groupId);
         }
-        return callGroupRanksFromRobloxAPI(groupId);
+
+        return callGroupRanksFromRobloxAPI(groupId).thenApply(ranks -> {
+            if (ranks != null) {
+                cache.put(groupId, ranks);
+            }
+            return ranks;
+        });
     }
 
-    private GroupRanksService callGroupRanksFromRobloxAPI(long groupId) {
-        Request.Builder request = new Request.Builder()
+    private CompletableFuture<GroupRanksService> callGroupRanksFromRobloxAPI(long groupId) {
+        Request request = new Request.Builder()
                 .addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version)
-                .url("https://groups.roblox.com/v1/groups/{groupId}/roles".replace("{groupId}", String.valueOf(groupId)));
+                .url("https://groups.roblox.com/v1/groups/{groupId}/roles".replace("{groupId}", String.valueOf(groupId)))
+                .build();
+
+        return manager.getHttpClient().send(request).handle((response, throwable) -> {
+            if (throwable != null) {
+                Xeus.getLogger().error("Failed sending request to Roblox API: " + throwable.getMessage());
+                return null;
+            }
 
-        try (Response response = manager.getClient().newCall(request.build()).execute()) {
-            if (response.code() == 200) {
-                GroupRanksService grs = (GroupRanksService) manager.toService(response, GroupRanksService.class);
+            if (response.isOk()) {
+                GroupRanksService grs = (GroupRanksService) manager.toService(response.getBody(), GroupRanksService.class);
                 if (grs.getRoles().size() > 0) {
                     return grs;
                 }
             }
-        } catch (IOException e) {
-            Xeus.getLogger().error("Failed sending request to Roblox API: " + e.getMessage());
-        }
-        return null;
+            return null;
+        });
     }
 
 }
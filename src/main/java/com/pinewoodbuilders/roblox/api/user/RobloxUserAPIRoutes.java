@@ -7,20 +7,19 @@ import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.requests.service.user.inventory.RobloxGamePassService;
 import com.pinewoodbuilders.requests.service.user.rank.RobloxUserGroupRankService;
 import com.pinewoodbuilders.roblox.RobloxAPIManager;
+import com.pinewoodbuilders.roblox.http.BufferedResponse;
 import okhttp3.Request;
-import okhttp3.Response;
 import org.json.JSONObject;
 
-import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 public class RobloxUserAPIRoutes {
 
     private final Xeus avaire;
     private final RobloxAPIManager manager;
-    private final Request.Builder request = new Request.Builder()
-        .addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version);
 
     public RobloxUserAPIRoutes(Xeus avaire, RobloxAPIManager robloxAPIManager) {this.avaire = avaire; this.manager = robloxAPIManager;}
 
@@ -30,96 +29,103 @@ public class RobloxUserAPIRoutes {
         .build();
 
     public List<RobloxUserGroupRankService.Data> getUserRanks(Long botAccount) {
-        request.url("https://groups.roblox.com/v2/users/{userId}/groups/roles".replace("{userId}", botAccount.toString()));
-
-        try (Response response = manager.getClient().newCall(request.build()).execute()) {
-            if (response.code() == 200) {
-                RobloxUserGroupRankService grs = (RobloxUserGroupRankService) manager.toService(response, RobloxUserGroupRankService.class);
-                if (grs.hasData()) {
-                    return grs.getData();
-                }
-            }
-        } catch (IOException e) {
-            Xeus.getLogger().error("Failed sending request to Roblox API: " + e.getMessage());
-        }
-        return null;
+        return getUserRanksAsync(botAccount).join();
+    }
+
+    public CompletableFuture<List<RobloxUserGroupRankService.Data>> getUserRanksAsync(Long botAccount) {
+        return get("https://groups.roblox.com/v2/users/{userId}/groups/roles".replace("{userId}", botAccount.toString()), response -> {
+            RobloxUserGroupRankService grs = (RobloxUserGroupRankService) manager.toService(response.getBody(), RobloxUserGroupRankService.class);
+            return grs.hasData() ? grs.getData() : null;
+        }, null);
     }
 
     public String getUserStatus(Long botAccount) {
-        request.url("https://users.roblox.com/v1/users/{userId}".replace("{userId}", botAccount.toString()));
+        return getUserStatusAsync(botAccount).join();
+    }
 
-        try (Response response = manager.getClient().newCall(request.build()).execute()) {
-            if (response.code() == 200) {
-                JSONObject json = new JSONObject(response.body().string());
-                return json.getString("description");
-            }
-        } catch (IOException e) {
-            Xeus.getLogger().error("Failed sending request to Roblox API: " + e.getMessage());
-        }
-        return null;
+    public CompletableFuture<String> getUserStatusAsync(Long botAccount) {
+        return get("https://users.roblox.com/v1/users/{userId}".replace("{userId}", botAccount.toString()),
+            response -> new JSONObject(response.getBody()).getString("description"), null
+        );
     }
 
     public String getUsername(String botAccount) {
+        return getUsernameAsync(botAccount).join();
+    }
+
+    public CompletableFuture<String> getUsernameAsync(String botAccount) {
         String username = cache.getIfPresent("username." + botAccount);
         if (username != null) {
-            return username;
+            return CompletableFuture.completedFuture(username);
         }
 
-        request.url("https://users.roblox.com/v1/users/{userId}".replace("{userId}", botAccount));
-
-        try (Response response = manager.getClient().newCall(request.build()).execute()) {
-            if (response.code() == 200) {
-                JSONObject json = new JSONObject(response.body().string());
-                cache.put("username." + botAccount, json.getString("name"));
-                return json.getString("name");
-            }
-        } catch (IOException e) {
-            Xeus.getLogger().error("Failed sending request to Roblox API: " + e.getMessage());
-        }
-        return null;
+        return get("https://users.roblox.com/v1/users/{userId}".replace("{userId}", botAccount), response -> {
+            String name = new JSONObject(response.getBody()).getString("name");
+            cache.put("username." + botAccount, name);
+            return name;
+        }, null);
     }
 
     public long getIdFromUsername(String username) {
+        return getIdFromUsernameAsync(username).join();
+    }
+
+    public CompletableFuture<Long> getIdFromUsernameAsync(String username) {
         String userId = cache.getIfPresent("robloxId." + username);
         if (userId != null) {
-            return Long.parseLong(userId);
+            return CompletableFuture.completedFuture(Long.parseLong(userId));
         }
 
-        request.url("https://api.roblox.com/users/get-by-username?username={userId}".replace("{userId}", username));
-
-        try (Response response = manager.getClient().newCall(request.build()).execute()) {
-            if (response.code() == 200) {
-                JSONObject json = new JSONObject(response.body().string());
-                cache.put("robloxId." + username, String.valueOf(json.getLong("Id")));
-                return json.getLong("Id");
-            }
-        } catch (IOException e) {
-            Xeus.getLogger().error("Failed sending request to Roblox API: " + e.getMessage());
-        }
-        return 0;
+        return get("https://api.roblox.com/users/get-by-username?username={userId}".replace("{userId}", username), response -> {
+            long id = new JSONObject(response.getBody()).getLong("Id");
+            cache.put("robloxId." + username, String.valueOf(id));
+            return id;
+        }, 0L);
     }
 
-
     public List<RobloxGamePassService.Datum> getUserGamePass(Long userId, Long gamepassId) {
-        request.url("https://inventory.roblox.com/v1/users/{userId}/items/GamePass/{gamepassId}"
-                        .replace("{userId}", userId.toString())
-                        .replace("{gamepassId}", gamepassId.toString()));
-
-        try (Response response = manager.getClient().newCall(request.build()).execute()) {
-            if (response.code() == 200) {
-                RobloxGamePassService grs = (RobloxGamePassService) manager.toService(response, RobloxGamePassService.class);
-                if (grs.hasData()) {
-                    return grs.getData();
-                }
-            }
-        } catch (IOException e) {
-            Xeus.getLogger().error("Failed sending request to Roblox API: " + e.getMessage());
-        }
-        return null;
+        return getUserGamePassAsync(userId, gamepassId).join();
+    }
+
+    public CompletableFuture<List<RobloxGamePassService.Datum>> getUserGamePassAsync(Long userId, Long gamepassId) {
+        return get("https://inventory.roblox.com/v1/users/{userId}/items/GamePass/{gamepassId}"
+            .replace("{userId}", userId.toString())
+            .replace("{gamepassId}", gamepassId.toString()), response -> {
+            RobloxGamePassService grs = (RobloxGamePassService) manager.toService(response.getBody(), RobloxGamePassService.class);
+            return grs.hasData() ? grs.getData() : null;
+        }, null);
     }
 
     public String getUsername(Long userId) {
         return getUsername(String.valueOf(userId));
     }
 
+    public CompletableFuture<String> getUsernameAsync(Long userId) {
+        return getUsernameAsync(String.valueOf(userId));
+    }
+
+    private <T> CompletableFuture<T> get(String url, Function<BufferedResponse, T> transformer, T fallback) {
+        Request request = new Request.Builder()
+            .addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version)
+            .url(url)
+            .build();
+
+        return manager.getHttpClient().send(request).handle((response, throwable) -> {
+            if (throwable != null) {
+                Xeus.getLogger().error("Failed sending request to Roblox API: " + throwable.getMessage());
+                return fallback;
+            }
+
+            if (!response.isOk()) {
+                return fallback;
+            }
+
+            try {
+                return transformer.apply(response);
+            } catch (RuntimeException e) {
+                Xeus.getLogger().error("Failed parsing response from Roblox API: " + e.getMessage());
+                return fallback;
+            }
+        });
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.pinewoodbuilders.roblox.http;
+
+import javax.annotation.Nullable;
+
+/**
+ * A fully read HTTP response, the body is read into memory before the
+ * connection is released back to the pool, so the response can be
+ * shared between every caller waiting on the same request.
+ */
+public class BufferedResponse {
+
+    private final int code;
+    private final String body;
+
+    /**
+     * Creates a new buffered response.
+     *
+     * @param code The HTTP status code of the response.
+     * @param body The body of the response, or {@code NULL} if there were no body.
+     */
+    public BufferedResponse(int code, @Nullable String body) {
+        this.code = code;
+        this.body = body;
+    }
+
+    /**
+     * Gets the HTTP status code of the response.
+     *
+     * @return The HTTP status code.
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the body of the response.
+     *
+     * @return Possibly null, the body of the response.
+     */
+    @Nullable
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * Checks if the response was a {@code 200 OK} with a body.
+     *
+     * @return {@code True} if the response was successful and has a body, {@code False} otherwise.
+     */
+    public boolean isOk() {
+        return code == 200 && body != null;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.pinewoodbuilders.roblox.http;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The host rate limiter keeps track of the rate limit state for each host the
+ * Roblox HTTP client talks to, the state is driven by the rate limit headers
+ * sent back with every response, so requests are held back once a host
+ * reports that the current rate limit window has been used up, instead
+ * of sending the requests anyway and waiting for them to fail.
+ * <p>
+ * Hosts that respond with a 429 without telling us when to retry are
+ * backed off exponentially, the backoff is reset again as soon as
+ * the host sends back a response that isn't rate limited.
+ */
+public class HostRateLimiter {
+
+    private final Map<String, HostState> hosts = new ConcurrentHashMap<>();
+
+    private final long minimumBackoff;
+    private final long maximumBackoff;
+
+    /**
+     * Creates a new host rate limiter using the given backoff range.
+     *
+     * @param minimumBackoff The backoff in milliseconds used for the first rate limited response.
+     * @param maximumBackoff The longest backoff in milliseconds a host can be given.
+     */
+    public HostRateLimiter(long minimumBackoff, long maximumBackoff) {
+        this.minimumBackoff = minimumBackoff;
+        this.maximumBackoff = maximumBackoff;
+    }
+
+    /**
+     * Reserves a request for the given host, if the host has requests left in
+     * the current rate limit window, or the state of the host is unknown, the
+     * request is allowed right away, otherwise the amount of milliseconds the
+     * caller should wait before trying to reserve the request again is returned.
+     *
+     * @param host The host the request should be reserved for.
+     * @param now  The current time in milliseconds.
+     * @return The amount of milliseconds to wait before trying again, or {@code 0} if the request can be sent.
+     */
+    public long reserve(@Nonnull String host, long now) {
+        HostState state = hosts.computeIfAbsent(host, key -> new HostState(minimumBackoff));
+
+        synchronized (state) {
+            if (now < state.blockedUntil) {
+                return state.blockedUntil - now;
+            }
+
+            if (state.remaining < 0 || now >= state.resetAt) {
+                state.remaining = -1;
+                return 0;
+            }
+
+            if (state.remaining > 0) {
+                state.remaining--;
+                return 0;
+            }
+
+            return state.resetAt - now;
+        }
+    }
+
+    /**
+     * Updates the rate limit state of the given host using the
+     * status code and rate limit headers from a response.
+     *
+     * @param host       The host the response was sent from.
+     * @param now        The current time in milliseconds.
+     * @param code       The status code of the response.
+     * @param remaining  The {@code x-ratelimit-remaining} header, or {@code NULL}.
+     * @param reset      The {@code x-ratelimit-reset} header in seconds, or {@code NULL}.
+     * @param retryAfter The {@code Retry-After} header in seconds, or {@code NULL}.
+     */
+    public void update(@Nonnull String host, long now, int code, @Nullable String remaining, @Nullable String reset, @Nullable String retryAfter) {
+        HostState state = hosts.computeIfAbsent(host, key -> new HostState(minimumBackoff));
+
+        long resetSeconds = parseHeader(reset);
+        long retryAfterSeconds = parseHeader(retryAfter);
+
+        synchronized (state) {
+            if (code == 429) {
+                long delay;
+                if (retryAfterSeconds >= 0) {
+                    delay = retryAfterSeconds * 1000L;
+                } else if (resetSeconds >= 0) {
+                    delay = resetSeconds * 1000L;
+                } else {
+                    delay = state.backoff;
+                    state.backoff = Math.min(state.backoff * 2, maximumBackoff);
+                }
+
+                state.blockedUntil = Math.max(state.blockedUntil, now + Math.min(delay, maximumBackoff));
+                state.remaining = 0;
+                state.resetAt = state.blockedUntil;
+                return;
+            }
+
+            state.backoff = minimumBackoff;
+
+            long remainingRequests = parseHeader(remaining);
+            if (remainingRequests < 0) {
+                return;
+            }
+
+            state.remaining = remainingRequests;
+            state.resetAt = now + (resetSeconds >= 0 ? resetSeconds * 1000L : minimumBackoff);
+        }
+    }
+
+    /**
+     * Gets the amount of hosts the rate limiter is currently tracking.
+     *
+     * @return The amount of hosts being tracked.
+     */
+    public int size() {
+        return hosts.size();
+    }
+
+    /**
+     * Parses the first number in the given rate limit header, Roblox
+     * sends some of the headers with the policy appended to them,
+     * like {@code 60, 60;w=60}, so only the first value is used.
+     *
+     * @param header The header that should be parsed.
+     * @return The parsed number, or {@code -1} if the header is missing or invalid.
+     */
+    static long parseHeader(@Nullable String header) {
+        if (header == null) {
+            return -1;
+        }
+
+        int end = 0;
+        String value = header.trim();
+        while (end < value.length() && Character.isDigit(value.charAt(end))) {
+            end++;
+        }
+
+        if (end == 0) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(value.substring(0, end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static final class HostState {
+
+        private long remaining = -1;
+        private long resetAt = 0;
+        private long blockedUntil = 0;
+        private long backoff;
+
+        HostState(long backoff) {
+            this.backoff = backoff;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.pinewoodbuilders.roblox.http;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The request coalescer makes sure only one request is in flight for each key at
+ * a time, callers asking for a key that is already being loaded are given a
+ * future tied to the request that is already in flight, instead of
+ * sending the same request again.
+ * <p>
+ * Every caller is given its own copy of the shared future, so a caller
+ * cancelling or completing its future doesn't affect anyone else.
+ *
+ * @param <K> The type of key used to identify identical requests.
+ * @param <V> The type of the value the requests are completed with.
+ */
+public class RequestCoalescer<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the value for the given key, if there is already a request in flight
+     * for the key the caller is attached to it, otherwise the loader is called
+     * to start a new request, which is forgotten again once it completes.
+     *
+     * @param key    The key that identifies the request.
+     * @param loader The loader used to start the request if none is in flight.
+     * @return A future that is completed with the result of the request.
+     */
+    public CompletableFuture<V> submit(@Nonnull K key, @Nonnull Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing.copy();
+        }
+
+        try {
+            loader.get().whenComplete((value, throwable) -> {
+                inFlight.remove(key, future);
+
+                if (throwable != null) {
+                    future.completeExceptionally(throwable);
+                } else {
+                    future.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+        }
+
+        return future.copy();
+    }
+
+    /**
+     * Gets the amount of requests currently in flight.
+     *
+     * @return The amount of requests in flight.
+     */
+    public int size() {
+        return inFlight.size();
+    }
+}
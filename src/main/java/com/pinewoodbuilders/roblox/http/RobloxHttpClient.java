@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.pinewoodbuilders.roblox.http;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Roblox HTTP client sends requests to the Roblox and Kronos APIs without
+ * blocking the calling thread, requests are sent on the OkHttp dispatcher
+ * and completed through {@link CompletableFuture futures}, identical GET
+ * requests that are in flight at the same time share a single response,
+ * and requests are held back per host when the host reports that its
+ * rate limit has been used up.
+ * <p>
+ * Requests that are held back, or that are retried after a 429, are scheduled
+ * on the given scheduler rather than sleeping, so no thread is parked while
+ * waiting for a rate limit to reset.
+ */
+public class RobloxHttpClient {
+
+    private static final int MAX_RETRIES = 2;
+
+    private final OkHttpClient client;
+    private final ScheduledExecutorService scheduler;
+    private final HostRateLimiter rateLimiter = new HostRateLimiter(1000, 30000);
+    private final RequestCoalescer<String, BufferedResponse> coalescer = new RequestCoalescer<>();
+
+    /**
+     * Creates a new Roblox HTTP client.
+     *
+     * @param scheduler The scheduler used to delay requests that are rate limited.
+     */
+    public RobloxHttpClient(@Nonnull ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(64);
+        dispatcher.setMaxRequestsPerHost(16);
+
+        this.client = new OkHttpClient.Builder()
+            .dispatcher(dispatcher)
+            .connectionPool(new ConnectionPool(32, 5, TimeUnit.MINUTES))
+            .connectTimeout(5, TimeUnit.SECONDS)
+            .readTimeout(10, TimeUnit.SECONDS)
+            .callTimeout(15, TimeUnit.SECONDS)
+            .build();
+    }
+
+    /**
+     * Gets the underlying OkHttp client, used by the
+     * few callers that still sends blocking requests.
+     *
+     * @return The underlying OkHttp client.
+     */
+    public OkHttpClient getClient() {
+        return client;
+    }
+
+    /**
+     * Gets the rate limiter used to hold back requests for each host.
+     *
+     * @return The host rate limiter.
+     */
+    public HostRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Sends the given request, GET requests are coalesced with any identical GET
+     * request that is already in flight, the returned future is completed with
+     * the buffered response, or completed exceptionally if the request failed.
+     *
+     * @param request The request that should be sent.
+     * @return A future that is completed with the buffered response.
+     */
+    public CompletableFuture<BufferedResponse> send(@Nonnull Request request) {
+        if (!request.method().equals("GET")) {
+            return sendNow(request);
+        }
+
+        return coalescer.submit(
+            request.url() + "\n" + request.headers(),
+            () -> sendNow(request)
+        );
+    }
+
+    private CompletableFuture<BufferedResponse> sendNow(Request request) {
+        CompletableFuture<BufferedResponse> future = new CompletableFuture<>();
+        send(request, 0, future);
+        return future;
+    }
+
+    private void send(Request request, int attempt, CompletableFuture<BufferedResponse> future) {
+        String host = request.url().host();
+
+        long delay = rateLimiter.reserve(host, System.currentTimeMillis());
+        if (delay > 0) {
+            try {
+                scheduler.schedule(() -> send(request, attempt, future), delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                future.completeExceptionally(e);
+            }
+            return;
+        }
+
+        client.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(@Nonnull Call call, @Nonnull IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(@Nonnull Call call, @Nonnull Response response) {
+                try (ResponseBody body = response.body()) {
+                    String content = body == null ? null : body.string();
+
+                    rateLimiter.update(host, System.currentTimeMillis(), response.code(),
+                        response.header("x-ratelimit-remaining"),
+                        response.header("x-ratelimit-reset"),
+                        response.header("Retry-After")
+                    );
+
+                    if (response.code() == 429 && attempt < MAX_RETRIES) {
+                        send(request, attempt + 1, future);
+                        return;
+                    }
+
+                    future.complete(new BufferedResponse(response.code(), content));
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+    }
+}
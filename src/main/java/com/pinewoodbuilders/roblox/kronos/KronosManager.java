@@ -4,26 +4,32 @@ import com.pinewoodbuilders.AppInfo;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.cache.CacheType;
 import com.pinewoodbuilders.contracts.kronos.TrellobanLabels;
-import com.pinewoodbuilders.factories.RequestFactory;
 import com.pinewoodbuilders.requests.service.kronos.trelloban.TrellobanService;
 import com.pinewoodbuilders.requests.service.kronos.trelloban.trello.Card;
 import com.pinewoodbuilders.requests.service.kronos.trelloban.trello.Datum;
 import com.pinewoodbuilders.requests.service.kronos.trelloban.trello.Label;
 import com.pinewoodbuilders.roblox.RobloxAPIManager;
+import com.pinewoodbuilders.roblox.http.BufferedResponse;
 import com.pinewoodbuilders.utilities.NumberUtil;
 import okhttp3.Request;
-import okhttp3.Response;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.function.Consumer;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 public class KronosManager {
 
+    private static final long TRELLOBAN_GROUP_ID = 159511L;
+    private static final int MAX_TRELLOBAN_DELTAS = 10;
+
+    private final AtomicReference <TrellobanIndex> trellobans = new AtomicReference <>();
+    private final AtomicReference <CompletableFuture <Boolean>> trellobanRefresh = new AtomicReference <>();
+    private final Deque <TrellobanDelta> trellobanDeltas = new ConcurrentLinkedDeque <>();
+
     private final Xeus avaire;
     private final RobloxAPIManager manager;
     protected final String apikey;
@@ -37,140 +43,243 @@ public class KronosManager {
     }
 
     public Long getPoints(Long userId) {
-        Request.Builder request = new Request.Builder()
-            .addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version)
-            .addHeader("Access-Key", apikey)
-            .url("https://www.pb-kronos.dev/api/v2/database/pbst?userids=" + userId);
-
-        try (Response response = manager.getClient().newCall(request.build()).execute()) {
-            if (response.code() == 200 && response.body() != null) {
-                String body = response.body().string();
-                JSONArray array = new JSONArray(body);
+        return getPointsAsync(userId).join();
+    }
 
-                if (array.length() == 0) {
-                    return 0L;
-                }
+    public CompletableFuture<Long> getPointsAsync(Long userId) {
+        return get(apikey, "https://www.pb-kronos.dev/api/v2/database/pbst?userids=" + userId, response -> {
+            if (response.getCode() == 404) {
+                return 0L;
+            }
 
-                JSONObject jsonObject = (JSONObject) array.get(0);
-                return jsonObject.getLong("Points");
-            } else if (response.code() == 404) {
+            JSONArray array = new JSONArray(response.getBody());
+            if (array.length() == 0) {
                 return 0L;
-            } else {
-                throw new Exception("Kronos API returned something else then 200, please retry.");
             }
-        } catch (IOException e) {
-            Xeus.getLogger().error("Failed sending request to Kronos API: " + e.getMessage());
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return 0L;
+
+            JSONObject jsonObject = (JSONObject) array.get(0);
+            return jsonObject.getLong("Points");
+        }, 0L);
     }
 
     public boolean isRanklocked(Long userId) {
-        Request.Builder request = new Request.Builder()
-            .addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version)
-            .addHeader("Access-Key", apikey)
-            .url("https://www.pb-kronos.dev/api/v2/database/pbst?userids=" + userId);
+        return isRanklockedAsync(userId).join();
+    }
 
-        try (Response response = manager.getClient().newCall(request.build()).execute()) {
-            if (response.code() == 200 && response.body() != null) {
-                String body = response.body().string();
-                JSONArray array = new JSONArray(body);
+    public CompletableFuture<Boolean> isRanklockedAsync(Long userId) {
+        return get(apikey, "https://www.pb-kronos.dev/api/v2/database/pbst?userids=" + userId, response -> {
+            if (response.getCode() == 404) {
+                return false;
+            }
 
-                if (array.length() == 0) {
-                    return false;
-                }
+            JSONArray array = new JSONArray(response.getBody());
+            if (array.length() == 0) {
+                return false;
+            }
 
-                JSONObject jsonObject = (JSONObject) array.get(0);
-                if (!jsonObject.has("ExtraData")) {
-                    return false;
-                }
-                if (!jsonObject.getJSONObject("ExtraData").has("Ranklock")) {
-                    return false;
-                }
-                return jsonObject.getJSONObject("ExtraData").getInt("Ranklock") >= 1;
-            } else if (response.code() == 404) {
+            JSONObject jsonObject = (JSONObject) array.get(0);
+            if (!jsonObject.has("ExtraData")) {
                 return false;
-            } else {
-                throw new Exception("Kronos API returned something else then 200, please retry.");
             }
-        } catch (IOException e) {
-            Xeus.getLogger().error("Failed sending request to Kronos API: " + e.getMessage());
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return false;
+            if (!jsonObject.getJSONObject("ExtraData").has("Ranklock")) {
+                return false;
+            }
+            return jsonObject.getJSONObject("ExtraData").getInt("Ranklock") >= 1;
+        }, false);
     }
-    
+
     public Object modifyEvalStatus(Long userId, String division, boolean status) {
-        Request.Builder request = new Request.Builder()
-            .addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version)
-            .addHeader("Access-Key", evalApiKey);
+        return modifyEvalStatusAsync(userId, division, status).join();
+    }
 
-        if (status) {
-            request.url("https://pb-kronos.dev/api/v2/database/"+division+"/eval/add/" + userId);
-        } else {
-            request.url("https://pb-kronos.dev/api/v2/database/"+division+"/eval/delete/" + userId);
-        }
+    public CompletableFuture<Object> modifyEvalStatusAsync(Long userId, String division, boolean status) {
+        String url = status
+            ? "https://pb-kronos.dev/api/v2/database/" + division + "/eval/add/" + userId
+            : "https://pb-kronos.dev/api/v2/database/" + division + "/eval/delete/" + userId;
 
-        try (Response response = manager.getClient().newCall(request.build()).execute()) {
-            if (response.code() == 200 && response.body() != null) {
-                String body = response.body().string();
-                return new JSONObject(body);
-            } else if (response.code() == 404) {
+        return get(evalApiKey, url, response -> {
+            if (response.getCode() == 404) {
                 return new JSONObject();
-            } else if (response.code() == 501) {
+            } else if (response.getCode() == 501) {
                 return new JSONObject("[{\"error\": \"Eval status could not be set.\"}]");
-            } else {
-                throw new Exception("Kronos API returned something else then 200, please retry.");
             }
-        } catch (IOException e) {
-            Xeus.getLogger().error("Failed sending request to Kronos API: " + e.getMessage());
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return null;
+            return new JSONObject(response.getBody());
+        }, null);
+    }
+
+    /**
+     * Sends a GET request to the Kronos API using the given access key, responses that
+     * are not a {@code 200 OK} with a body are only passed on to the transformer if
+     * they are a {@code 404} or a {@code 501}, any other response, or a failed
+     * request, completes the future with the given fallback value instead.
+     *
+     * @param accessKey   The access key used to authenticate with the Kronos API.
+     * @param url         The URL the request should be sent to.
+     * @param transformer The transformer used to turn the response into the result.
+     * @param fallback    The value used if the request failed.
+     * @param <T>         The type of the result.
+     * @return A future that is completed with the result of the request.
+     */
+    private <T> CompletableFuture<T> get(String accessKey, String url, Function<BufferedResponse, T> transformer, T fallback) {
+        Request request = new Request.Builder()
+            .addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version)
+            .addHeader("Access-Key", accessKey)
+            .url(url)
+            .build();
+
+        return manager.getHttpClient().send(request).handle((response, throwable) -> {
+            if (throwable != null) {
+                Xeus.getLogger().error("Failed sending request to Kronos API: " + throwable.getMessage());
+                return fallback;
+            }
+
+            if (!response.isOk() && response.getCode() != 404 && response.getCode() != 501) {
+                Xeus.getLogger().warn("Kronos API returned {} for {}, please retry.", response.getCode(), request.url().encodedPath());
+                return fallback;
+            }
+
+            try {
+                return transformer.apply(response);
+            } catch (RuntimeException e) {
+                Xeus.getLogger().error("Failed parsing response from Kronos API: " + e.getMessage(), e);
+                return fallback;
+            }
+        });
     }
 
+    /**
+     * Gets the trellobans, keyed by the Roblox ID of the banned users, the returned
+     * map is read-only, and is replaced, not changed, when the trelloban list
+     * is refreshed. The trelloban list is shared by all the main groups.
+     *
+     * @return The read-only map of trellobans.
+     */
+    public Map <Long, List<TrellobanLabels>> getTrelloBans() {
+        return getTrellobanIndex().asMap();
+    }
 
-    public HashMap <Long, List<TrellobanLabels>> getTrelloBans(long mainGroupId) {
-        String cache = (String) avaire.getCache().getAdapter(CacheType.FILE).get("trelloban.global." + mainGroupId);
-        HashMap<Long, List<TrellobanLabels>> root = new HashMap<>();
+    /**
+     * Gets the parsed trelloban index, if the index haven't been loaded yet it is
+     * built from the cached trelloban list, if there is no cached list, the list
+     * is refreshed in the background, and an empty index is returned until
+     * the refresh has succeeded.
+     *
+     * @return The trelloban index.
+     */
+    public TrellobanIndex getTrellobanIndex() {
+        TrellobanIndex index = trellobans.get();
+        if (index != null) {
+            return index;
+        }
+
+        String cache = (String) avaire.getCache().getAdapter(CacheType.FILE).get("trelloban.global." + TRELLOBAN_GROUP_ID);
         if (cache != null) {
-            TrellobanService tbs = (TrellobanService) avaire.getRobloxAPIManager().toService(cache, TrellobanService.class);
-            //System.out.println(avaire.getCache().getAdapter(CacheType.FILE).get("trelloban.global"));
-            //System.out.println(tbs.getLoaded());
-
-            createTrelloBanList(root, tbs);
-
-        } else {
-            RequestFactory.makeGET("https://pb-kronos.dev/api/v2/moderation/admin")
-                .addHeader("Access-Key", avaire.getConfig().getString("apiKeys.kronosTrellobanKey"))
-                .send((Consumer <Response>) response -> {
-
-                    try {
-                        TrellobanService tbs = (TrellobanService) avaire.getRobloxAPIManager().toService((String) response.body().string(), TrellobanService.class);
-
-                        createTrelloBanList(root, tbs);
-
-                        avaire.getCache().getAdapter(CacheType.FILE).remember("trelloban.global." + mainGroupId, (60*60)*90, () -> {
-                            try {
-                                return response.body().string();
-                            } catch (IOException e) {
-                                e.printStackTrace();
-                            }
-                            return null;
-                        });
-                    } catch (IOException ignored) {
-                        return;
-                    }
-                });
+            try {
+                TrellobanIndex cachedIndex = createTrellobanIndex(cache);
+                if (trellobans.compareAndSet(null, cachedIndex)) {
+                    return cachedIndex;
+                }
+                return trellobans.get();
+            } catch (Exception e) {
+                Xeus.getLogger().error("Failed to load the cached trelloban list: " + e.getMessage(), e);
+            }
         }
-        return root;
+
+        // Nothing is stored until a refresh succeeds, so a failed refresh is
+        // retried the next time the index is requested instead of the
+        // empty index being used until the next scheduled refresh.
+        refreshTrelloBansAsync();
+        return TrellobanIndex.EMPTY;
+    }
+
+    /**
+     * Fetches the trelloban list from the Kronos API, and swaps in a new trelloban
+     * index built from the list, the raw list is also stored in the file cache,
+     * so the index can be built without calling the API after a restart.
+     *
+     * @return {@code True} if the trellobans was refreshed, {@code False} otherwise.
+     */
+    public boolean refreshTrelloBans() {
+        return refreshTrelloBansAsync().join();
     }
 
-    public HashMap <Long, List<TrellobanLabels>> getTrelloBans() {
-        return getTrelloBans(159511L);
+    /**
+     * Fetches the trelloban list from the Kronos API without blocking the calling
+     * thread, see {@link #refreshTrelloBans()} for more information, if a refresh
+     * is already running, the future for that refresh is returned instead.
+     *
+     * @return A future that is completed with {@code True} if the trellobans was refreshed.
+     */
+    public CompletableFuture<Boolean> refreshTrelloBansAsync() {
+        CompletableFuture<Boolean> running = trellobanRefresh.get();
+        if (running != null && !running.isDone()) {
+            return running;
+        }
+
+        Request request = new Request.Builder()
+            .addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version)
+            .addHeader("Access-Key", avaire.getConfig().getString("apiKeys.kronosTrellobanKey"))
+            .url("https://pb-kronos.dev/api/v2/moderation/admin")
+            .build();
+
+        CompletableFuture<Boolean> refresh = new CompletableFuture<>();
+        if (!trellobanRefresh.compareAndSet(running, refresh)) {
+            return trellobanRefresh.get();
+        }
+
+        manager.getHttpClient().send(request).handle((response, throwable) -> {
+            if (throwable != null) {
+                Xeus.getLogger().error("Failed to refresh the trelloban list: " + throwable.getMessage(), throwable);
+                return false;
+            }
+
+            if (!response.isOk()) {
+                Xeus.getLogger().warn("Failed to refresh the trelloban list, the Kronos API returned {}", response.getCode());
+                return false;
+            }
+
+            try {
+                TrellobanIndex index = createTrellobanIndex(response.getBody());
+
+                avaire.getCache().getAdapter(CacheType.FILE).put("trelloban.global." + TRELLOBAN_GROUP_ID, response.getBody(), (60 * 60) * 90);
+
+                TrellobanIndex previous = trellobans.getAndSet(index);
+                TrellobanDelta delta = index.diff(TRELLOBAN_GROUP_ID, previous == null ? TrellobanIndex.EMPTY : previous);
+
+                trellobanDeltas.addFirst(delta);
+                while (trellobanDeltas.size() > MAX_TRELLOBAN_DELTAS) {
+                    trellobanDeltas.pollLast();
+                }
+
+                Xeus.getLogger().info("Refreshed the trelloban list with {} bans, {} added, {} removed, {} changed",
+                    index.size(), delta.getAdded().size(), delta.getRemoved().size(), delta.getChanged().size()
+                );
+
+                return true;
+            } catch (Exception e) {
+                Xeus.getLogger().error("Failed to refresh the trelloban list: " + e.getMessage(), e);
+            }
+            return false;
+        }).whenComplete((refreshed, throwable) -> refresh.complete(throwable == null && refreshed));
+
+        return refresh;
+    }
+
+    /**
+     * Gets the most recent changes made to the trelloban list, ordered
+     * from the newest to the oldest refresh.
+     *
+     * @return The list of the most recent trelloban changes.
+     */
+    public List <TrellobanDelta> getTrellobanDeltas() {
+        return new ArrayList <>(trellobanDeltas);
+    }
+
+    private TrellobanIndex createTrellobanIndex(String json) {
+        HashMap <Long, List <TrellobanLabels>> root = new HashMap <>();
+        createTrelloBanList(root, (TrellobanService) manager.toService(json, TrellobanService.class));
+
+        return new TrellobanIndex(root, System.currentTimeMillis());
     }
 
     private void createTrelloBanList(HashMap <Long, List <TrellobanLabels>> root, TrellobanService tbs) {
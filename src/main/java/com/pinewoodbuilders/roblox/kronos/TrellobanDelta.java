@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.pinewoodbuilders.roblox.kronos;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * The trelloban delta holds the changes made to the trelloban list between
+ * two refreshes, the most recent deltas are kept by the Kronos manager.
+ */
+public class TrellobanDelta {
+
+    private final long mainGroupId;
+    private final long createdAt;
+    private final Set<Long> added;
+    private final Set<Long> removed;
+    private final Set<Long> changed;
+
+    TrellobanDelta(long mainGroupId, long createdAt, Set<Long> added, Set<Long> removed, Set<Long> changed) {
+        this.mainGroupId = mainGroupId;
+        this.createdAt = createdAt;
+        this.added = Collections.unmodifiableSet(added);
+        this.removed = Collections.unmodifiableSet(removed);
+        this.changed = Collections.unmodifiableSet(changed);
+    }
+
+    /**
+     * Gets the ID of the main group the trelloban list belongs to.
+     *
+     * @return The ID of the main group the trelloban list belongs to.
+     */
+    public long getMainGroupId() {
+        return mainGroupId;
+    }
+
+    /**
+     * Gets the time in milliseconds the trelloban list was refreshed at.
+     *
+     * @return The time in milliseconds the delta was created at.
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Gets the Roblox IDs of the users that was added to the trelloban list.
+     *
+     * @return The Roblox IDs of the newly banned users.
+     */
+    public Set<Long> getAdded() {
+        return added;
+    }
+
+    /**
+     * Gets the Roblox IDs of the users that was removed from the trelloban list.
+     *
+     * @return The Roblox IDs of the unbanned users.
+     */
+    public Set<Long> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Gets the Roblox IDs of the users that had the labels on their trelloban changed.
+     *
+     * @return The Roblox IDs of the users with changed labels.
+     */
+    public Set<Long> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Checks if the trelloban list was left unchanged by the refresh.
+     *
+     * @return {@code True} if nothing was changed, {@code False} otherwise.
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TrellobanDelta={mainGroupId=%s, added=%s, removed=%s, changed=%s}",
+            mainGroupId, added.size(), removed.size(), changed.size()
+        );
+    }
+}
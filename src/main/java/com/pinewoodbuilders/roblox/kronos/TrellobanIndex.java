@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.pinewoodbuilders.roblox.kronos;
+
+import com.pinewoodbuilders.contracts.kronos.TrellobanLabels;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * The trelloban index is an immutable, already parsed, copy of the trelloban list,
+ * keyed by the Roblox ID of the banned users, allowing verification checks to
+ * look up if a user is trellobanned in constant time, without parsing the
+ * trelloban document every time a user is checked.
+ * <p>
+ * A new index is built every time the trelloban list is refreshed, and then
+ * swapped in place of the old index, so readers never see a partial list.
+ */
+public final class TrellobanIndex {
+
+    /**
+     * An empty trelloban index, used until the trelloban list has been loaded.
+     */
+    public static final TrellobanIndex EMPTY = new TrellobanIndex(Collections.emptyMap(), 0L);
+
+    private final Map<Long, List<TrellobanLabels>> bans;
+    private final long loadedAt;
+
+    /**
+     * Creates a new trelloban index for the given bans.
+     *
+     * @param bans     The map of bans, where the key is the Roblox ID of the banned user,
+     *                 and the value is the list of labels attached to the ban.
+     * @param loadedAt The time in milliseconds the bans was loaded at.
+     */
+    public TrellobanIndex(@Nonnull Map<Long, List<TrellobanLabels>> bans, long loadedAt) {
+        Map<Long, List<TrellobanLabels>> index = new HashMap<>(bans.size());
+        for (Map.Entry<Long, List<TrellobanLabels>> entry : bans.entrySet()) {
+            index.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
+        }
+
+        this.bans = Collections.unmodifiableMap(index);
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * Checks if the user with the given Roblox ID is trellobanned.
+     *
+     * @param robloxId The Roblox ID of the user that should be checked.
+     * @return {@code True} if the user is trellobanned, {@code False} otherwise.
+     */
+    public boolean isBanned(long robloxId) {
+        return bans.containsKey(robloxId);
+    }
+
+    /**
+     * Gets the labels attached to the trelloban for the user with the given Roblox ID.
+     *
+     * @param robloxId The Roblox ID of the user that should be looked up.
+     * @return The labels attached to the trelloban, or an empty list if the user isn't banned.
+     */
+    @Nonnull
+    public List<TrellobanLabels> getLabels(long robloxId) {
+        return bans.getOrDefault(robloxId, Collections.emptyList());
+    }
+
+    /**
+     * Gets the read-only map of every trelloban in the index.
+     *
+     * @return The map of trellobans, keyed by the Roblox ID of the banned users.
+     */
+    @Nonnull
+    public Map<Long, List<TrellobanLabels>> asMap() {
+        return bans;
+    }
+
+    /**
+     * Gets the amount of trellobanned users in the index.
+     *
+     * @return The amount of trellobanned users.
+     */
+    public int size() {
+        return bans.size();
+    }
+
+    /**
+     * Gets the time in milliseconds the trelloban list in the index was loaded at.
+     *
+     * @return The time in milliseconds the index was loaded at, or {@code 0} for the empty index.
+     */
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Compares the index with the given previous index, returning the
+     * users that was added, removed, or had their labels changed.
+     *
+     * @param mainGroupId The ID of the main group the trelloban list belongs to.
+     * @param previous    The index the current index is replacing.
+     * @return The changes between the previous and the current index.
+     */
+    @CheckReturnValue
+    public TrellobanDelta diff(long mainGroupId, @Nonnull TrellobanIndex previous) {
+        Set<Long> added = new HashSet<>();
+        Set<Long> changed = new HashSet<>();
+        for (Map.Entry<Long, List<TrellobanLabels>> entry : bans.entrySet()) {
+            List<TrellobanLabels> labels = previous.bans.get(entry.getKey());
+            if (labels == null) {
+                added.add(entry.getKey());
+            } else if (!labels.equals(entry.getValue())) {
+                changed.add(entry.getKey());
+            }
+        }
+
+        Set<Long> removed = new HashSet<>();
+        for (Long robloxId : previous.bans.keySet()) {
+            if (!bans.containsKey(robloxId)) {
+                removed.add(robloxId);
+            }
+        }
+
+        return new TrellobanDelta(mainGroupId, loadedAt, added, removed, changed);
+    }
+}
@@ -23,8 +23,10 @@ import com.pinewoodbuilders.database.transformers.VerificationTransformer;
 import com.pinewoodbuilders.factories.MessageFactory;
 import com.pinewoodbuilders.moderation.global.punishments.globalban.GlobalBanContainer;
 import com.pinewoodbuilders.requests.service.group.GuildRobloxRanksService;
+import com.pinewoodbuilders.requests.service.user.inventory.RobloxGamePassService;
 import com.pinewoodbuilders.requests.service.user.rank.RobloxUserGroupRankService;
 import com.pinewoodbuilders.roblox.RobloxAPIManager;
+import com.pinewoodbuilders.roblox.kronos.TrellobanIndex;
 import com.pinewoodbuilders.roblox.verification.methods.VerificationMethodsManager;
 import com.pinewoodbuilders.utilities.CacheUtil;
 import net.dv8tion.jda.api.EmbedBuilder;
@@ -44,6 +46,7 @@ import java.sql.SQLException;
 import java.time.Instant;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -81,8 +84,13 @@ public class VerificationManager {
 
     public boolean verify(CommandMessage context, Member member, boolean useCache, Guild guild) {
         context.makeInfo("<a:loading:742658561414266890> Checking verification database <a:loading:742658561414266890>")
-            .queue(originalMessage -> {
-                VerificationResult vr = verify(context.getGuildSettingsTransformer(), member, guild, useCache);
+            .queue(originalMessage -> verifyAsync(context.getGuildSettingsTransformer(), member, guild, useCache).whenComplete((vr, throwable) -> {
+                if (throwable != null) {
+                    Xeus.getLogger().error("Failed to verify {}: {}", member == null ? null : member.getId(), throwable.getMessage(), throwable);
+                    originalMessage.editMessageEmbeds(context.makeError("Something went wrong while verifying, please try again later.").buildEmbed()).queue();
+                    return;
+                }
+
                 if (!vr.isSuccess()) {
                     originalMessage.editMessageEmbeds(context.makeError(vr.getMessage()).setImage(getImageFromVerificationEntity(vr.getVerificationEntity())).requestedBy(context).buildEmbed()).queue();
                 } else {
@@ -97,35 +105,67 @@ public class VerificationManager {
                         }
                     });
                 }
-            });
+            }));
 
         return false;
     }
 
+    /**
+     * Verifies the given member, blocking the calling thread until the verification has
+     * finished, this should only be used from threads that are allowed to block, like
+     * the command threads, use {@link #verifyAsync(GuildSettingsTransformer, Member, Guild, boolean)}
+     * from the JDA event and callback threads instead.
+     *
+     * @param transformer The guild settings for the guild the member is being verified in.
+     * @param member      The member that should be verified.
+     * @param guild       The guild the member is being verified in.
+     * @param useCache    {@code True} if cached verification entities can be used.
+     * @return The result of the verification.
+     */
     public VerificationResult verify(GuildSettingsTransformer transformer, Member member, Guild guild, boolean useCache) {
+        return verifyAsync(transformer, member, guild, useCache).join();
+    }
+
+    /**
+     * Verifies the given member without blocking the calling thread, the verification
+     * entity is fetched on the database executor, and the Roblox lookups are sent
+     * through the Roblox HTTP client, the rest of the verification runs on the
+     * threads that complete those lookups.
+     *
+     * @param transformer The guild settings for the guild the member is being verified in.
+     * @param member      The member that should be verified.
+     * @param guild       The guild the member is being verified in.
+     * @param useCache    {@code True} if cached verification entities can be used.
+     * @return A future that is completed with the result of the verification.
+     */
+    public CompletableFuture<VerificationResult> verifyAsync(GuildSettingsTransformer transformer, Member member, Guild guild, boolean useCache) {
         if (member == null) {
-            return new VerificationResult(false, "Member entity doesn't exist. Verification cancelled on you");
+            return CompletableFuture.completedFuture(new VerificationResult(false, "Member entity doesn't exist. Verification cancelled on you"));
         }
 
         if (member.getRoles().stream().anyMatch(r -> r.getName().equalsIgnoreCase("Xeus Bypass"))) {
-            return new VerificationResult(false,
-                member.getAsMention() + " has the Xeus bypass role, this user cannot be verified/updated.");
+            return CompletableFuture.completedFuture(new VerificationResult(false,
+                member.getAsMention() + " has the Xeus bypass role, this user cannot be verified/updated."));
         }
 
-        VerificationEntity verificationEntity = fetchVerificationWithBackup(member.getId(), useCache);
+        return CompletableFuture.supplyAsync(() -> fetchVerificationWithBackup(member.getId(), useCache), avaire.getDatabase().getExecutor())
+            .thenCompose(verificationEntity -> verifyEntity(transformer, member, guild, verificationEntity));
+    }
+
+    private CompletableFuture<VerificationResult> verifyEntity(GuildSettingsTransformer transformer, Member member, Guild guild, VerificationEntity verificationEntity) {
         if (verificationEntity == null) {
-            return new VerificationResult(false,
-                "Xeus coudn't find your profile on the Xeus Database, please verify an account with `!verify`.");
+            return CompletableFuture.completedFuture(new VerificationResult(false,
+                "Xeus coudn't find your profile on the Xeus Database, please verify an account with `!verify`."));
         }
 
         if (transformer == null) {
-            return new VerificationResult(false, "Xeus coudn't get the settings of this guild, please try again later.");
+            return CompletableFuture.completedFuture(new VerificationResult(false, "Xeus coudn't get the settings of this guild, please try again later."));
         }
 
         VerificationTransformer verificationTransformer = VerificationController.fetchVerificationFromGuild(avaire, guild);
         if (transformer.getPbVerificationTrelloban()) {
-            HashMap<Long, List<TrellobanLabels>> trellobans = avaire.getRobloxAPIManager().getKronosManager().getTrelloBans();
-            if (trellobans != null && isTrelloBanned(trellobans, member)) {
+            TrellobanIndex trellobans = avaire.getRobloxAPIManager().getKronosManager().getTrellobanIndex();
+            if (isTrelloBanned(trellobans, member)) {
                 boolean isAppealsVerification = checkTrelloBan(transformer, member, guild, verificationEntity);
                 if (isAppealsVerification) {
                     return verifyRoles(member, guild, verificationEntity, verificationTransformer);
@@ -134,7 +174,7 @@ public class VerificationManager {
         }
 
         if (isBlacklisted(guild, verificationEntity)) {
-            return new VerificationResult(false, "Blacklisted on " + guild.getName());
+            return CompletableFuture.completedFuture(new VerificationResult(false, "Blacklisted on " + guild.getName()));
         }
 
         boolean isGlobalBanned = avaire.getGlobalPunishmentManager().isRobloxGlobalBanned(transformer.getMainGroupId(), verificationEntity.getRobloxId());
@@ -146,7 +186,7 @@ public class VerificationManager {
                 .stream()
                 .filter(user -> user.getRobloxId() == verificationEntity.getRobloxId()).toList();
             if (globalBanContainer.size() > 0) {
-                return canGlobalBan(globalBanContainer.get(0), transformer, member, verificationEntity);
+                return CompletableFuture.completedFuture(canGlobalBan(globalBanContainer.get(0), transformer, member, verificationEntity));
             }
 
 
@@ -156,28 +196,61 @@ public class VerificationManager {
     }
 
     @NotNull
-    private VerificationResult verifyRoles(Member member, Guild guild, VerificationEntity verificationEntity, VerificationTransformer verificationTransformer) {
+    private CompletableFuture<VerificationResult> verifyRoles(Member member, Guild guild, VerificationEntity verificationEntity, VerificationTransformer verificationTransformer) {
         if (verificationTransformer.getNicknameFormat() == null) {
-            return new VerificationResult(false, "The nickname format is not set (Wierd, it's the default but ok).");
+            return CompletableFuture.completedFuture(new VerificationResult(false, "The nickname format is not set (Wierd, it's the default but ok)."));
         }
 
         if (verificationTransformer.getRanks() == null || verificationTransformer.getRanks().length() < 2) {
-            return new VerificationResult(false, "Ranks have not been setup on this guild yet. Please ask the admins to setup the roles on this server.");
+            return CompletableFuture.completedFuture(new VerificationResult(false, "Ranks have not been setup on this guild yet. Please ask the admins to setup the roles on this server."));
+        }
+
+        return manager.getUserAPI().getUserRanksAsync(verificationEntity.getRobloxId()).thenCompose(robloxRanks -> {
+            if (robloxRanks == null || robloxRanks.isEmpty()) {
+                return CompletableFuture.completedFuture(verifyUserRoles(member, guild, verificationEntity, verificationTransformer, robloxRanks, null, Collections.emptySet()));
+            }
+
+            GuildRobloxRanksService guildRanks = (GuildRobloxRanksService) manager
+                .toService(verificationTransformer.getRanks(), GuildRobloxRanksService.class);
+
+            return fetchGamePassBindings(verificationEntity.getRobloxId(), guildRanks.getGroupRankBindings()).thenApply(gamepassBindings ->
+                verifyUserRoles(member, guild, verificationEntity, verificationTransformer, robloxRanks, guildRanks, gamepassBindings)
+            );
+        });
+    }
+
+    /**
+     * Looks up which of the given group rank bindings the Roblox user qualifies for through
+     * the gamepasses linked to the bindings, every gamepass lookup is sent before waiting
+     * on any of them, and the returned future is completed once all of them are done.
+     *
+     * @param robloxId The ID of the Roblox user the gamepasses should be looked up for.
+     * @param bindings The group rank bindings that should be checked.
+     * @return A future that is completed with the bindings the user owns a gamepass for.
+     */
+    public CompletableFuture<Set<GuildRobloxRanksService.GroupRankBinding>> fetchGamePassBindings(long robloxId, List<GuildRobloxRanksService.GroupRankBinding> bindings) {
+        Map<GuildRobloxRanksService.GroupRankBinding, List<CompletableFuture<List<RobloxGamePassService.Datum>>>> lookups = new HashMap<>();
+        for (GuildRobloxRanksService.GroupRankBinding binding : bindings) {
+            binding.getGroups().stream().filter(group -> group.getId().equals("GamePass"))
+                .forEach(pass -> lookups.computeIfAbsent(binding, key -> new ArrayList<>())
+                    .add(manager.getUserAPI().getUserGamePassAsync(robloxId, Long.parseLong(pass.getRanks().get(0).toString()))));
         }
 
-        return verifyUserRoles(member, guild, verificationEntity, verificationTransformer);
+        return CompletableFuture.allOf(lookups.values().stream().flatMap(List::stream).toArray(CompletableFuture[]::new))
+            .thenApply(unused -> lookups.entrySet().stream()
+                .filter(entry -> entry.getValue().stream().map(CompletableFuture::join).anyMatch(Objects::nonNull))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet()));
     }
 
     @NotNull
-    private VerificationResult verifyUserRoles(Member member, Guild guild, VerificationEntity verificationEntity, VerificationTransformer verificationTransformer) {
-        List<RobloxUserGroupRankService.Data> robloxRanks = manager.getUserAPI()
-            .getUserRanks(verificationEntity.getRobloxId());
-
+    private VerificationResult verifyUserRoles(
+        Member member, Guild guild, VerificationEntity verificationEntity, VerificationTransformer verificationTransformer,
+        List<RobloxUserGroupRankService.Data> robloxRanks, GuildRobloxRanksService guildRanks,
+        Set<GuildRobloxRanksService.GroupRankBinding> gamepassBindings
+    ) {
         StringBuilder stringBuilder = new StringBuilder();
         if (robloxRanks != null && robloxRanks.size() > 0) {
-            GuildRobloxRanksService guildRanks = (GuildRobloxRanksService) manager
-                .toService(verificationTransformer.getRanks(), GuildRobloxRanksService.class);
-
             Map<GuildRobloxRanksService.GroupRankBinding, Role> bindingRoleMap = guildRanks.getGroupRankBindings()
                 .stream()
                 .collect(Collectors.toMap(Function.identity(),
@@ -202,10 +275,9 @@ public class VerificationManager {
                 }
             });
 
-            bindingRoleMap.forEach((groupRankBinding, role) -> groupRankBinding.getGroups().stream().filter(data -> data.getId().equals("GamePass"))
-                .map(pass -> avaire.getRobloxAPIManager().getUserAPI().getUserGamePass(verificationEntity.getRobloxId(),
-                    Long.parseLong(pass.getRanks().get(0).toString())))
-                .filter(Objects::nonNull).forEach(pass -> bindingRoleAddMap.put(groupRankBinding, role)));
+            for (GuildRobloxRanksService.GroupRankBinding groupRankBinding : gamepassBindings) {
+                bindingRoleAddMap.put(groupRankBinding, bindingRoleMap.get(groupRankBinding));
+            }
 
             // Collect the toAdd and toRemove roles from the previous maps
             java.util.Collection<Role> rolesToAdd = bindingRoleAddMap.values().stream()
@@ -262,8 +334,8 @@ public class VerificationManager {
         }
     }
 
-    private boolean isTrelloBanned(HashMap<Long, List<TrellobanLabels>> trellobans, Member member) {
-        return trellobans.containsKey(member.getIdLong());
+    private boolean isTrelloBanned(TrellobanIndex trellobans, Member member) {
+        return trellobans.isBanned(member.getIdLong());
     }
 
 
@@ -341,8 +413,8 @@ public class VerificationManager {
 
     private boolean checkTrelloBan(GuildSettingsTransformer transformer, Member member, Guild guild, VerificationEntity verificationEntity) {
 
-        List<TrellobanLabels> banLabels = avaire.getRobloxAPIManager().getKronosManager().getTrelloBans()
-            .get(verificationEntity.getRobloxId());
+        List<TrellobanLabels> banLabels = new ArrayList<>(avaire.getRobloxAPIManager().getKronosManager()
+            .getTrellobanIndex().getLabels(verificationEntity.getRobloxId()));
         if (banLabels.size() <= 0) {
             banLabels.add(TrellobanLabels.UNKNOWN);
         }
@@ -2,7 +2,6 @@ package com.pinewoodbuilders.roblox.verification.methods;
 
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.verification.VerificationEntity;
-import com.pinewoodbuilders.contracts.verification.VerificationResult;
 import com.pinewoodbuilders.database.controllers.GuildSettingsController;
 import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
 import com.pinewoodbuilders.roblox.RobloxAPIManager;
@@ -26,24 +25,30 @@ public class VerificationMethodsManager {
     public void slashCommandVerify(Member member, Guild guild, InteractionHook hook) {
 
         GuildSettingsTransformer transformer = GuildSettingsController.fetchGuildSettingsFromGuild(avaire, guild);
-        VerificationResult result = robloxAPIManger.getVerification().verify(transformer, member, guild, true);
+        robloxAPIManger.getVerification().verifyAsync(transformer, member, guild, true).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                Xeus.getLogger().error("Failed to verify {}: {}", member.getId(), throwable.getMessage(), throwable);
+                hook.setEphemeral(true).sendMessage("Something went wrong while verifying, please try again later.").queue();
+                return;
+            }
 
-        String image = getImageFromVerificationEntity(result.getVerificationEntity());
-        EmbedBuilder eb = new EmbedBuilder();
+            String image = getImageFromVerificationEntity(result.getVerificationEntity());
+            EmbedBuilder eb = new EmbedBuilder();
 
-        eb.setAuthor(member.getUser().getName(), "https://xeus.pinewood-builders.com", member.getUser().getEffectiveAvatarUrl())
-            .setDescription(result.getMessage())
-            .setTimestamp(Instant.now())
-            .setThumbnail(image != null ? image : "https://www.roblox.com/Thumbs/Avatar.ashx?x=150&y=150&Format=Png&userid=1")
-            .setFooter(result.getVerificationEntity() != null ? result.getVerificationEntity().getRobloxUsername() : "Verification failed...");
+            eb.setAuthor(member.getUser().getName(), "https://xeus.pinewood-builders.com", member.getUser().getEffectiveAvatarUrl())
+                .setDescription(result.getMessage())
+                .setTimestamp(Instant.now())
+                .setThumbnail(image != null ? image : "https://www.roblox.com/Thumbs/Avatar.ashx?x=150&y=150&Format=Png&userid=1")
+                .setFooter(result.getVerificationEntity() != null ? result.getVerificationEntity().getRobloxUsername() : "Verification failed...");
 
-        if (!result.isSuccess()) {
-            eb.setColor(new Color(255, 0, 0));
-            hook.setEphemeral(true).sendMessage(member.getAsMention()).addEmbeds(eb.build()).queue();
-        } else {
-            eb.setColor(new Color(0, 255, 0));
-            hook.sendMessage(member.getAsMention()).addEmbeds(eb.build()).queue();
-        }
+            if (!result.isSuccess()) {
+                eb.setColor(new Color(255, 0, 0));
+                hook.setEphemeral(true).sendMessage(member.getAsMention()).addEmbeds(eb.build()).queue();
+            } else {
+                eb.setColor(new Color(0, 255, 0));
+                hook.sendMessage(member.getAsMention()).addEmbeds(eb.build()).queue();
+            }
+        });
 
 
         /*HashMap <Long, List <TrellobanLabels>> trellobans = avaire.getRobloxAPIManager().getKronosManager().getTrelloBans();
@@ -205,7 +210,7 @@ public class VerificationMethodsManager {
     }
 
     private boolean isTrelloBanned(VerificationEntity verificationEntity) {
-        return avaire.getRobloxAPIManager().getKronosManager().getTrelloBans().containsKey(verificationEntity.getRobloxId());
+        return avaire.getRobloxAPIManager().getKronosManager().getTrellobanIndex().isBanned(verificationEntity.getRobloxId());
     }
 
     private String getImageFromVerificationEntity(VerificationEntity ve) {
@@ -22,7 +22,11 @@
 package com.pinewoodbuilders.scheduler;
 
 import com.pinewoodbuilders.contracts.scheduler.Job;
+import com.pinewoodbuilders.metrics.Metrics;
+import com.pinewoodbuilders.scheduler.expiry.TimingWheel;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import java.util.HashSet;
@@ -30,6 +34,8 @@ import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 public class ScheduleHandler {
 
@@ -40,6 +46,10 @@ public class ScheduleHandler {
         .build()
     );
 
+    private static final Logger log = LoggerFactory.getLogger(ScheduleHandler.class);
+
+    private static volatile TimingWheel expiryWheel;
+
     /**
      * Registers a job with the scheduler service, the job will define how often
      * it should run, and the schedule service will then periodically run the
@@ -51,6 +61,42 @@ public class ScheduleHandler {
         tasks.add(schedulerService.scheduleAtFixedRate(job, job.getDelay(), job.getPeriod(), job.getUnit()));
     }
 
+    /**
+     * Starts the expiry wheel using the system clock, see
+     * {@link #startExpiryWheel(LongSupplier)} for more information.
+     */
+    public static void startExpiryWheel() {
+        startExpiryWheel(System::currentTimeMillis);
+    }
+
+    /**
+     * Creates the expiry wheel and registers a task with the scheduler service that
+     * advances the wheel to the time given by the clock once every second, the
+     * task is added to the registered job futures, so it is cancelled along
+     * with the jobs when the scheduler is shutdown.
+     *
+     * @param clock The clock that should be used to advance the expiry wheel, in milliseconds.
+     * @throws IllegalStateException If the expiry wheel has already been started.
+     */
+    public static synchronized void startExpiryWheel(@Nonnull LongSupplier clock) {
+        if (expiryWheel != null) {
+            throw new IllegalStateException("The expiry wheel has already been started");
+        }
+
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.SECONDS, schedulerService, clock.getAsLong());
+
+        tasks.add(schedulerService.scheduleAtFixedRate(() -> {
+            try {
+                wheel.advance(clock.getAsLong());
+                Metrics.expiryWheelTimeouts.set(wheel.size());
+            } catch (Exception e) {
+                log.error("Failed to advance the expiry wheel: {}", e.getMessage(), e);
+            }
+        }, 1, 1, TimeUnit.SECONDS));
+
+        expiryWheel = wheel;
+    }
+
     /**
      * Gets a set of scheduled future instances for jobs
      * that are registered to the scheduler service.
@@ -70,4 +116,20 @@ public class ScheduleHandler {
     public static ScheduledExecutorService getScheduler() {
         return schedulerService;
     }
+
+    /**
+     * Gets the expiry wheel used to expire temporary moderation entries, like
+     * mutes, warns, and watches. The wheel is advanced once every second,
+     * and runs the expired tasks on the scheduler service.
+     *
+     * @return The timing wheel used for expiring moderation entries.
+     * @throws IllegalStateException If the expiry wheel hasn't been started yet.
+     */
+    public static TimingWheel getExpiryWheel() {
+        TimingWheel wheel = expiryWheel;
+        if (wheel == null) {
+            throw new IllegalStateException("The expiry wheel has not been started yet");
+        }
+        return wheel;
+    }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.pinewoodbuilders.scheduler.expiry;
+
+import javax.annotation.Nonnull;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Schedules expiry tasks on a timing wheel that should only run once the bot is
+ * ready, entries loaded from the database on startup may already be past due,
+ * and would otherwise expire before the bot is connected to Discord. If the
+ * bot isn't ready when a task expires, the task is put back on the wheel,
+ * and retried once the retry delay has passed.
+ */
+public class ExpiryScheduler {
+
+    private final TimingWheel wheel;
+    private final BooleanSupplier isReady;
+    private final long retryDelay;
+
+    /**
+     * Creates a new expiry scheduler.
+     *
+     * @param wheel      The timing wheel the tasks should be scheduled on.
+     * @param isReady    The check used to see if the bot is ready to run the expired tasks.
+     * @param retryDelay The delay in milliseconds before a task is retried if the bot wasn't ready.
+     */
+    public ExpiryScheduler(@Nonnull TimingWheel wheel, @Nonnull BooleanSupplier isReady, long retryDelay) {
+        this.wheel = wheel;
+        this.isReady = isReady;
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * Schedules the given task to run once the deadline is reached, and the bot is ready,
+     * the timeout for the task is passed to the schedule consumer every time the task
+     * is put on the wheel, so the latest timeout can always be cancelled.
+     *
+     * @param deadline         The time in milliseconds the task should run at.
+     * @param scheduleConsumer The consumer that should receive the timeout for the task.
+     * @param task             The task that should run once the deadline is reached.
+     */
+    public void schedule(long deadline, @Nonnull Consumer<TimingWheel.Timeout> scheduleConsumer, @Nonnull Runnable task) {
+        scheduleConsumer.accept(wheel.schedule(deadline, () -> {
+            if (!isReady.getAsBoolean()) {
+                schedule(wheel.getCurrentTime() + retryDelay, scheduleConsumer, task);
+                return;
+            }
+
+            task.run();
+        }));
+    }
+}
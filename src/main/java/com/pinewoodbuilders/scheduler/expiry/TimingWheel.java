@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2019.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+package com.pinewoodbuilders.scheduler.expiry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timing wheel is a hierarchical timing wheel used to expire large amounts of
+ * timeouts, like temporary mutes, warns, and watches, without having to scan
+ * every timeout to find the ones that are about to expire.
+ * <p>
+ * The wheel is split up into {@link #LEVELS levels}, each with {@link #SLOTS slots},
+ * where each slot on the first level covers a single tick, each slot on the second
+ * level covers {@link #SLOTS} ticks, and so on. Timeouts are placed in the slot on the
+ * lowest level that covers their deadline, and once the wheel reaches a slot on a
+ * higher level, its timeouts are cascaded down to the lower levels, until they
+ * reach the first level, where they're fired once their tick is reached.
+ * <p>
+ * Adding and cancelling a timeout is done in constant time, and each tick only
+ * touches the timeouts in the slots that are being processed, so the cost of
+ * advancing the wheel does not grow with the amount of timeouts being tracked.
+ */
+public class TimingWheel {
+
+    /**
+     * The amount of bits used for the slot index on each level.
+     */
+    private static final int SLOT_BITS = 6;
+
+    /**
+     * The amount of slots on each level of the wheel.
+     */
+    static final int SLOTS = 1 << SLOT_BITS;
+
+    /**
+     * The amount of levels in the wheel, with one second ticks
+     * this covers deadlines up to ~2000 years into the future,
+     * timeouts beyond that are parked on the last level.
+     */
+    static final int LEVELS = 6;
+
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private static final Logger log = LoggerFactory.getLogger(TimingWheel.class);
+
+    private final long tickMillis;
+    private final Executor executor;
+    private final Slot[][] wheel = new Slot[LEVELS][SLOTS];
+
+    private long currentTick;
+    private int size = 0;
+
+    /**
+     * Creates a new timing wheel, starting at the given time in milliseconds.
+     *
+     * @param tick      The duration of a single tick.
+     * @param unit      The time unit of the tick duration.
+     * @param executor  The executor used to run the expired timeout tasks.
+     * @param startTime The time in milliseconds the wheel should start at.
+     */
+    public TimingWheel(long tick, @Nonnull TimeUnit unit, @Nonnull Executor executor, long startTime) {
+        this.tickMillis = Math.max(1, unit.toMillis(tick));
+        this.executor = executor;
+        this.currentTick = Math.floorDiv(startTime, tickMillis);
+
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheel[level][slot] = new Slot();
+            }
+        }
+    }
+
+    /**
+     * Schedules the given task to run once the given deadline is reached, if the
+     * deadline is already in the past, the task will run on the next tick.
+     *
+     * @param deadline The time in milliseconds the task should run at.
+     * @param task     The task that should run once the deadline is reached.
+     * @return The timeout for the scheduled task, which can be used to cancel the task.
+     */
+    public synchronized Timeout schedule(long deadline, @Nonnull Runnable task) {
+        long deadlineTick = Math.floorDiv(deadline + tickMillis - 1, tickMillis);
+
+        Timeout timeout = new Timeout(this, Math.max(deadlineTick, currentTick + 1), task);
+        place(timeout);
+        size++;
+
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel up to the given time in milliseconds, cascading
+     * timeouts down the levels as the wheel is turned, and handing
+     * any expired timeouts over to the executor.
+     *
+     * @param now The current time in milliseconds.
+     */
+    public void advance(long now) {
+        List<Timeout> expired = new ArrayList<>();
+
+        synchronized (this) {
+            long targetTick = Math.floorDiv(now, tickMillis);
+
+            while (currentTick < targetTick) {
+                currentTick++;
+
+                for (int level = 1; level < LEVELS; level++) {
+                    if ((currentTick & mask(level - 1)) != 0) {
+                        break;
+                    }
+
+                    Timeout timeout = wheel[level][index(currentTick, level)].clear();
+                    while (timeout != null) {
+                        Timeout next = timeout.next;
+                        timeout.next = null;
+                        timeout.prev = null;
+                        place(timeout);
+                        timeout = next;
+                    }
+                }
+
+                Timeout timeout = wheel[0][index(currentTick, 0)].clear();
+                while (timeout != null) {
+                    Timeout next = timeout.next;
+                    timeout.next = null;
+                    timeout.prev = null;
+                    timeout.slot = null;
+                    expired.add(timeout);
+                    size--;
+                    timeout = next;
+                }
+            }
+        }
+
+        for (Timeout timeout : expired) {
+            try {
+                executor.execute(timeout.task);
+            } catch (RejectedExecutionException e) {
+                log.error("Failed to run expired timeout task: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Gets the time in milliseconds the wheel has been advanced to,
+     * rounded down to the start of the current tick.
+     *
+     * @return The current time of the wheel in milliseconds.
+     */
+    public synchronized long getCurrentTime() {
+        return currentTick * tickMillis;
+    }
+
+    /**
+     * Gets the amount of timeouts that are currently waiting to expire.
+     *
+     * @return The amount of pending timeouts.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void place(Timeout timeout) {
+        long delta = Math.min(timeout.deadlineTick - currentTick, MAX_DELTA);
+        long tick = currentTick + Math.max(delta, 0);
+
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+
+        wheel[level][index(tick, level)].add(timeout);
+    }
+
+    private synchronized boolean cancel(Timeout timeout) {
+        if (timeout.slot == null) {
+            return false;
+        }
+
+        timeout.slot.remove(timeout);
+        timeout.slot = null;
+        size--;
+
+        return true;
+    }
+
+    private static long mask(int level) {
+        return (1L << (SLOT_BITS * (level + 1))) - 1;
+    }
+
+    private static int index(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+    }
+
+    /**
+     * A timeout represents a single task scheduled on the timing wheel,
+     * the timeout can be cancelled up until the task is handed
+     * over to the executor to be run.
+     */
+    public static final class Timeout {
+
+        private final TimingWheel wheel;
+        private final long deadlineTick;
+        private final Runnable task;
+
+        private Slot slot;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(TimingWheel wheel, long deadlineTick, Runnable task) {
+            this.wheel = wheel;
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+
+        /**
+         * Cancels the timeout, preventing the task from being run.
+         *
+         * @return {@code True} if the timeout was cancelled, {@code False} if the
+         *         timeout has already expired, or was already cancelled.
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+
+        /**
+         * Checks if the timeout is still waiting to expire.
+         *
+         * @return {@code True} if the timeout is still pending, {@code False} otherwise.
+         */
+        public boolean isPending() {
+            synchronized (wheel) {
+                return slot != null;
+            }
+        }
+    }
+
+    /**
+     * A slot is a doubly linked list of timeouts, allowing timeouts
+     * to be added and removed from the slot in constant time.
+     */
+    private static final class Slot {
+
+        private Timeout head;
+
+        void add(Timeout timeout) {
+            timeout.slot = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        Timeout clear() {
+            Timeout timeout = head;
+            head = null;
+            return timeout;
+        }
+    }
+}
@@ -24,8 +24,7 @@ package com.pinewoodbuilders.scheduler.jobs;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.contracts.scheduler.Job;
-import com.pinewoodbuilders.database.collection.Collection;
-import com.pinewoodbuilders.database.collection.DataRow;
+import com.pinewoodbuilders.level.LeaderboardManager;
 import net.dv8tion.jda.api.entities.Guild;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -76,6 +75,11 @@ public class CleanupPlayerRecordsJob extends Job {
                 }
             });
 
+            LeaderboardManager leaderboardManager = avaire.getLevelManager().getLeaderboardManager();
+            for (InactiveUser entity : inactiveUsers) {
+                leaderboardManager.remove(Long.parseLong(entity.guildId), Long.parseLong(entity.userId));
+            }
+
             log.debug("Finished \"Player Cleanup\" job, updated {} records in the process", inactiveUsers.size());
         } catch (SQLException e) {
             log.error("An SQL exception was thrown while updating player experience: ", e);
@@ -85,31 +89,46 @@ public class CleanupPlayerRecordsJob extends Job {
     private List<InactiveUser> getInactiveUsers() {
         try {
             List<InactiveUser> inactiveUsers = new ArrayList<>();
-            Guild guild = null;
 
-            for (DataRow dataRow : getUsersFromDatabase()) {
-                if (guild == null || !guild.getId().equalsIgnoreCase(dataRow.getString("guild_id"))) {
-                    try {
-                        guild = avaire.getShardManager().getGuildById(dataRow.getString("guild_id"));
-                    } catch (Exception ignored) {
-                        inactiveUsers.add(createInactiveUser(dataRow));
-                        continue;
+            // The guild is only looked up again when the guild ID changes, since
+            // the rows are ordered by their guild ID, and they're streamed
+            // straight from the result set without building a collection.
+            Guild[] guild = new Guild[1];
+            String[] guildId = new String[1];
+
+            avaire.getDatabase()
+                .newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
+                .select("user_id", "guild_id")
+                .where("active", 1)
+                .orderBy("guild_id")
+                .each(row -> {
+                    InactiveUser user = new InactiveUser(
+                        row.getString("user_id"),
+                        row.getString("guild_id")
+                    );
+
+                    if (!user.guildId.equals(guildId[0])) {
+                        guildId[0] = user.guildId;
+                        try {
+                            guild[0] = avaire.getShardManager().getGuildById(user.guildId);
+                        } catch (Exception ignored) {
+                            guild[0] = null;
+                        }
                     }
-                }
 
-                if (guild == null) {
-                    inactiveUsers.add(createInactiveUser(dataRow));
-                    continue;
-                }
+                    if (guild[0] == null) {
+                        inactiveUsers.add(user);
+                        return;
+                    }
 
-                try {
-                    if (guild.getMemberById(dataRow.getString("user_id")) == null) {
-                        inactiveUsers.add(createInactiveUser(dataRow));
+                    try {
+                        if (guild[0].getMemberById(user.userId) == null) {
+                            inactiveUsers.add(user);
+                        }
+                    } catch (Exception ignored) {
+                        inactiveUsers.add(user);
                     }
-                } catch (Exception ignored) {
-                    inactiveUsers.add(createInactiveUser(dataRow));
-                }
-            }
+                });
 
             return inactiveUsers;
         } catch (SQLException e) {
@@ -120,22 +139,6 @@ public class CleanupPlayerRecordsJob extends Job {
         }
     }
 
-    private Collection getUsersFromDatabase() throws SQLException {
-        return avaire.getDatabase()
-            .newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
-            .select("user_id", "guild_id")
-            .where("active", 1)
-            .orderBy("guild_id")
-            .get();
-    }
-
-    private InactiveUser createInactiveUser(DataRow row) {
-        return new InactiveUser(
-            row.getString("user_id"),
-            row.getString("guild_id")
-        );
-    }
-
     private class InactiveUser {
 
         private final String userId;
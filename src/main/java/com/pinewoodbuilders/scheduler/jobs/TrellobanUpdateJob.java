@@ -22,31 +22,27 @@
 package com.pinewoodbuilders.scheduler.jobs;
 
 import com.pinewoodbuilders.Xeus;
-import com.pinewoodbuilders.cache.CacheType;
 import com.pinewoodbuilders.contracts.scheduler.Job;
-import com.pinewoodbuilders.factories.RequestFactory;
-import com.pinewoodbuilders.requests.Response;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
 
 public class TrellobanUpdateJob extends Job {
 
-    private final String cacheToken = "trelloban.global";
-    private static final Logger log = LoggerFactory.getLogger(TrellobanUpdateJob.class);
-
     public TrellobanUpdateJob(Xeus avaire) {
-        super(avaire, 90, 90, TimeUnit.MINUTES);
-        run();
+        super(avaire, 1, 90, TimeUnit.MINUTES);
     }
 
     @Override
     public void run() {
         handleTask(avaire -> {
-
+            // The job is registered before the Roblox API manager is created, so the
+            // first run may happen before there is anything to refresh, the index
+            // is loaded from the file cache the first time it is requested.
+            if (avaire.getRobloxAPIManager() == null) {
+                return;
+            }
+
+            avaire.getRobloxAPIManager().getKronosManager().refreshTrelloBansAsync();
         });
     }
 }
@@ -3,12 +3,14 @@ package com.pinewoodbuilders.scheduler.jobs.generic;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.scheduler.Job;
 import com.pinewoodbuilders.scheduler.tasks.CheckUserOnlineStatus;
+import com.pinewoodbuilders.scheduler.tasks.ReloadLinkFiltersTask;
 
 import java.util.concurrent.TimeUnit;
 
 public class RunEveryFiveMinuteJob extends Job {
 
     private final CheckUserOnlineStatus userOnlineStatus = new CheckUserOnlineStatus();
+    private final ReloadLinkFiltersTask reloadLinkFiltersTask = new ReloadLinkFiltersTask();
 
     public RunEveryFiveMinuteJob(Xeus avaire) {
         super(avaire, 0, 5, TimeUnit.MINUTES);
@@ -17,7 +19,8 @@ public class RunEveryFiveMinuteJob extends Job {
     @Override
     public void run() {
         handleTask(
-            userOnlineStatus
+            userOnlineStatus,
+            reloadLinkFiltersTask
         );
     }
 }
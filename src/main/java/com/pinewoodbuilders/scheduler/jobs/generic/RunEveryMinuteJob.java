@@ -31,19 +31,13 @@ public class RunEveryMinuteJob extends Job {
 
     private final ChangeGameTask changeGameTask = new ChangeGameTask();
     private final SendRemindersTask sendRemindersTask = new SendRemindersTask();
-    private final DrainMuteQueueTask drainMuteQueueTask = new DrainMuteQueueTask();
-    private final DrainGlobalMuteQueueTask drainGlobalMuteQueueTask = new DrainGlobalMuteQueueTask();
-    private final DrainGlobalWatchQueueTask drainGlobalWatchQueueTask = new DrainGlobalWatchQueueTask();
-    private final DrainWarnQueueTask drainWarnQueueTask = new DrainWarnQueueTask();
     private final GarbageCollectorTask garbageCollectorTask = new GarbageCollectorTask();
     private final SyncBlacklistMetricsTask syncBlacklistMetricsTask = new SyncBlacklistMetricsTask();
     private final ResetRespectStatisticsTask resetRespectStatisticsTask = new ResetRespectStatisticsTask();
     private final DeleteExpiredBlacklistEntitiesTask deleteExpiredBlacklistEntitiesTask = new DeleteExpiredBlacklistEntitiesTask();
     private final UpdateWebsocketHeartbeatMetricsTask updateWebsocketHeartbeatMetricsTask = new UpdateWebsocketHeartbeatMetricsTask();
     private final SyncValidVoteRequestsWithMetricsTask syncValidVoteRequestsWithMetricsTask = new SyncValidVoteRequestsWithMetricsTask();
-    private final SyncPlayerExperienceWithDatabaseTask syncPlayerExperienceWithDatabaseTask = new SyncPlayerExperienceWithDatabaseTask();
-    private final SyncPlayerUpdateReferencesWithDatabaseTask syncPlayerUpdateReferencesWithDatabaseTask = new SyncPlayerUpdateReferencesWithDatabaseTask();
-    private final DrainOnWatchQueueTask drainOnWatchQueueTask = new DrainOnWatchQueueTask();
+    private final SyncPlayerWritesWithDatabaseTask syncPlayerWritesWithDatabaseTask = new SyncPlayerWritesWithDatabaseTask();
     private final DrainUnbanQueueTask drainUnbanQueueTask = new DrainUnbanQueueTask();
 
     public RunEveryMinuteJob(Xeus avaire) {
@@ -55,19 +49,13 @@ public class RunEveryMinuteJob extends Job {
         handleTask(
             changeGameTask,
             sendRemindersTask,
-            drainMuteQueueTask,
-            drainGlobalMuteQueueTask,
-            drainWarnQueueTask,
             garbageCollectorTask,
             syncBlacklistMetricsTask,
             resetRespectStatisticsTask,
             deleteExpiredBlacklistEntitiesTask,
             updateWebsocketHeartbeatMetricsTask,
             syncValidVoteRequestsWithMetricsTask,
-            syncPlayerExperienceWithDatabaseTask,
-            syncPlayerUpdateReferencesWithDatabaseTask,
-            drainOnWatchQueueTask,
-            drainGlobalWatchQueueTask,
+            syncPlayerWritesWithDatabaseTask,
             drainUnbanQueueTask
         );
     }
@@ -24,7 +24,6 @@ package com.pinewoodbuilders.scheduler.jobs.generic;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.scheduler.Job;
 import com.pinewoodbuilders.scheduler.tasks.ApplicationShutdownTask;
-import com.pinewoodbuilders.scheduler.tasks.DrainReactionRoleQueueTask;
 import com.pinewoodbuilders.scheduler.tasks.DrainVoteQueueTask;
 import com.pinewoodbuilders.scheduler.tasks.DrainWeatherQueueTask;
 
@@ -35,7 +34,6 @@ public class RunEverySecondJob extends Job {
     private final DrainVoteQueueTask emptyVoteQueueTask = new DrainVoteQueueTask();
     private final ApplicationShutdownTask shutdownTask = new ApplicationShutdownTask();
     private final DrainWeatherQueueTask drainWeatherQueueTask = new DrainWeatherQueueTask();
-    private final DrainReactionRoleQueueTask reactionRoleQueueTask = new DrainReactionRoleQueueTask();
 
     public RunEverySecondJob(Xeus avaire) {
         super(avaire, 0, 1, TimeUnit.SECONDS);
@@ -43,6 +41,6 @@ public class RunEverySecondJob extends Job {
 
     @Override
     public void run() {
-        handleTask(emptyVoteQueueTask, shutdownTask, drainWeatherQueueTask, reactionRoleQueueTask);
+        handleTask(emptyVoteQueueTask, shutdownTask, drainWeatherQueueTask);
     }
 }
@@ -7,10 +7,8 @@ import com.pinewoodbuilders.factories.MessageFactory;
 import com.google.gson.reflect.TypeToken;
 import net.dv8tion.jda.api.entities.TextChannel;
 import okhttp3.Request;
-import okhttp3.Response;
 
 import java.awt.*;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 
@@ -37,10 +35,10 @@ public class CheckUserOnlineStatus implements Task {
                     .addHeader("User-Agent", "Xeus v" + AppInfo.getAppInfo().version)
                     .url("https://api.roblox.com/users/{userId}/onlinestatus/".replace("{userId}", id));
 
-            try (Response response = avaire.getRobloxAPIManager().getClient().newCall(request.build()).execute()) {
-                if (response.code() == 200) {
+            avaire.getRobloxAPIManager().getHttpClient().send(request.build()).thenAccept(response -> {
+                if (response.isOk()) {
                     HashMap<String, Object> onlineStatus = Xeus.gson.fromJson(
-                            response.body().string(),
+                            response.getBody(),
                             new TypeToken<HashMap <String, Object>>() {
                             }.getType());
 
@@ -55,9 +53,10 @@ public class CheckUserOnlineStatus implements Task {
                     }
 
                 }
-            } catch (IOException e) {
-                Xeus.getLogger().error("Failed sending request to Roblox API: " + e.getMessage());
-            }
+            }).exceptionally(throwable -> {
+                Xeus.getLogger().error("Failed sending request to Roblox API: " + throwable.getMessage());
+                return null;
+            });
 
         }
     }
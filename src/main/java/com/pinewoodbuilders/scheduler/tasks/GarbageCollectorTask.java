@@ -24,11 +24,14 @@ package com.pinewoodbuilders.scheduler.tasks;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.blacklist.bot.Ratelimit;
 import com.pinewoodbuilders.cache.CacheType;
+import com.pinewoodbuilders.cache.adapters.FileAdapter;
 import com.pinewoodbuilders.cache.adapters.MemoryAdapter;
 import com.pinewoodbuilders.commands.administration.MuteRoleCommand;
 import com.pinewoodbuilders.contracts.scheduler.Task;
 import com.pinewoodbuilders.handlers.adapter.JDAStateEventAdapter;
 import com.pinewoodbuilders.handlers.adapter.MessageEventAdapter;
+import com.pinewoodbuilders.middleware.ThrottleMiddleware;
+import com.pinewoodbuilders.moderation.global.automute.MuteRatelimit;
 
 public class GarbageCollectorTask implements Task {
 
@@ -40,8 +43,12 @@ public class GarbageCollectorTask implements Task {
 
         // Remove cache entries from the memory cache adapter
         // if the keys are still stored by has expired.
-        MemoryAdapter adapter = (MemoryAdapter) avaire.getCache().getAdapter(CacheType.MEMORY);
-        adapter.getCacheKeys().removeIf(key -> !adapter.has(key));
+        ((MemoryAdapter) avaire.getCache().getAdapter(CacheType.MEMORY)).cleanUp();
+
+        // Compacts the file cache segments if most of the data stored
+        // in them belongs to cache items that has been replaced,
+        // forgotten, or has expired.
+        ((FileAdapter) avaire.getCache().getAdapter(CacheType.FILE)).compact();
 
         // Cleans up caches that are not hit very often, so
         // instead of just keeping the entities in the
@@ -54,10 +61,10 @@ public class GarbageCollectorTask implements Task {
      * cleans up any entities that have expired.
      */
     private void cleanupCache() {
-        // blacklist-ratelimit
-        synchronized (Ratelimit.cache) {
-            Ratelimit.cache.cleanUp();
-        }
+        // rate limiters
+        ThrottleMiddleware.limiter.evictIdle();
+        Ratelimit.limiter.evictIdle();
+        MuteRatelimit.limiter.evictIdle();
 
         // autorole
         synchronized (JDAStateEventAdapter.cache) {
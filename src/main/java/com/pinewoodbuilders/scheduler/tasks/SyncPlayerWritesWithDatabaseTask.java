@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.pinewoodbuilders.scheduler.tasks;
+
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.contracts.scheduler.Task;
+import com.pinewoodbuilders.database.controllers.PlayerController;
+import com.pinewoodbuilders.database.persistence.PlayerWriteBehind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class SyncPlayerWritesWithDatabaseTask implements Task {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncPlayerWritesWithDatabaseTask.class);
+
+    @Override
+    public void handle(Xeus avaire) {
+        PlayerWriteBehind writeBehind = PlayerController.getWriteBehind();
+        if (writeBehind.getPendingWrites() == 0) {
+            return;
+        }
+
+        log.debug("Starting \"Player Writes\" task with {} pending writes", writeBehind.getPendingWrites());
+
+        int written = writeBehind.flush(avaire);
+
+        log.debug("Finished \"Player Writes\" task, updated {} records in the process", written);
+    }
+}
@@ -22,14 +22,11 @@
 package com.pinewoodbuilders.servlet.routes.v1.get;
 
 import com.pinewoodbuilders.Xeus;
-import com.pinewoodbuilders.Constants;
-import com.pinewoodbuilders.commands.utility.LeaderboardCommand;
 import com.pinewoodbuilders.contracts.metrics.SparkRoute;
-import com.pinewoodbuilders.database.collection.Collection;
-import com.pinewoodbuilders.database.collection.DataRow;
 import com.pinewoodbuilders.database.controllers.GuildController;
 import com.pinewoodbuilders.database.transformers.GuildTransformer;
-import com.pinewoodbuilders.utilities.CacheUtil;
+import com.pinewoodbuilders.level.GuildLeaderboard;
+import com.pinewoodbuilders.level.LeaderboardEntry;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Role;
 import org.json.JSONArray;
@@ -37,9 +34,9 @@ import org.json.JSONObject;
 import spark.Request;
 import spark.Response;
 
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 public class GetLeaderboardPlayers extends SparkRoute {
 
@@ -65,14 +62,18 @@ public class GetLeaderboardPlayers extends SparkRoute {
             JSONArray roles = new JSONArray();
 
             if (transformer.isLevels()) {
-                for (DataRow row : loadTop100(guildId.toString())) {
+                GuildLeaderboard leaderboard = Xeus.getInstance().getLevelManager()
+                    .getLeaderboardManager().getLeaderboard(Xeus.getInstance(), guildId);
+
+                List<LeaderboardEntry> entries = leaderboard == null ? Collections.emptyList() : leaderboard.getTop(100);
+                for (LeaderboardEntry entry : entries) {
                     JSONObject user = new JSONObject();
-                    user.put("id", row.getString("user_id"));
-                    user.put("username", row.getString("username"));
-                    user.put("rawUsername", row.getRaw().get("username"));
-                    user.put("discriminator", row.getString("discriminator"));
-                    user.put("avatar", row.getString("avatar"));
-                    user.put("experience", row.getLong("experience"));
+                    user.put("id", String.valueOf(entry.getUserId()));
+                    user.put("username", entry.getUsername());
+                    user.put("rawUsername", entry.getRawUsername());
+                    user.put("discriminator", entry.getDiscriminator());
+                    user.put("avatar", entry.getAvatar());
+                    user.put("experience", entry.getExperience());
 
                     users.put(user);
                 }
@@ -114,18 +115,4 @@ public class GetLeaderboardPlayers extends SparkRoute {
             return buildResponse(response, 404, "Invalid guild ID given, no guild found with the given id.");
         }
     }
-
-    private Collection loadTop100(String guildId) {
-        return (Collection) CacheUtil.getUncheckedUnwrapped(LeaderboardCommand.cache, guildId, () -> {
-            try {
-                return Xeus.getInstance().getDatabase().newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
-                    .where("guild_id", guildId)
-                    .orderBy("experience", "desc")
-                    .take(100)
-                    .get();
-            } catch (SQLException e) {
-                return Collection.EMPTY_COLLECTION;
-            }
-        });
-    }
 }
@@ -1,20 +1,16 @@
 package com.pinewoodbuilders.utilities;
 
-import com.pinewoodbuilders.Constants;
 import com.pinewoodbuilders.Xeus;
 import com.pinewoodbuilders.contracts.commands.CommandContext;
 import com.pinewoodbuilders.contracts.permission.GuildPermissionCheckType;
 import com.pinewoodbuilders.contracts.verification.VerificationEntity;
-import com.pinewoodbuilders.database.collection.Collection;
-import com.pinewoodbuilders.database.query.QueryBuilder;
+import com.pinewoodbuilders.database.controllers.GroupModeratorController;
 import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
+import com.pinewoodbuilders.permissions.GroupModeratorSet;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
-import net.dv8tion.jda.api.entities.Role;
 import org.jetbrains.annotations.NotNull;
 
-import java.sql.SQLException;
-
 public class XeusPermissionUtil {
 
 
@@ -39,41 +35,7 @@ public class XeusPermissionUtil {
             return GuildPermissionCheckType.MAIN_GLOBAL_MODERATOR;
         }
 
-
-        if (guildTransformer.getLeadRoles() != null) {
-            for (Long roleId : guildTransformer.getLeadRoles()) {
-                Role r = guild.getRoleById(roleId);
-                if (r != null) {
-                    if (member.getRoles().contains(r)) {
-                        return GuildPermissionCheckType.LOCAL_GROUP_LEADERSHIP;
-                    }
-                }
-            }
-        }
-
-        if (guildTransformer.getHRRoles() != null) {
-            for (Long roleId : guildTransformer.getHRRoles()) {
-                Role r = guild.getRoleById(roleId);
-                if (r != null) {
-                    if (member.getRoles().contains(r)) {
-                        return GuildPermissionCheckType.LOCAL_GROUP_HR;
-                    }
-                }
-            }
-        }
-
-        if (guildTransformer.getGroupShoutRoles() != null) {
-            for (Long roleId : guildTransformer.getGroupShoutRoles()) {
-                Role r = guild.getRoleById(roleId);
-                if (r != null) {
-                    if (member.getRoles().contains(r)) {
-                        return GuildPermissionCheckType.GROUP_SHOUT;
-                    }
-                }
-            }
-        }
-
-        return GuildPermissionCheckType.USER;
+        return guildTransformer.getPermissionRoles().resolve(member);
     }
 
     public static boolean isMainGlobalModRank(long groupId, String memberId) {
@@ -83,28 +45,13 @@ public class XeusPermissionUtil {
             return false;
         }
 
-        VerificationEntity entity = Xeus.getInstance().getRobloxAPIManager().getVerification().fetchVerificationFromDatabase(memberId, true);
-        if (entity == null) {
+        GroupModeratorSet moderators = fetchModerators(groupId, memberId);
+        if (moderators == null) {
             return false;
         }
 
-
-        QueryBuilder builder = Xeus.getInstance().getDatabase()
-            .newQueryBuilder(Constants.GROUP_MODERATORS_TABLE)
-            .where("main_group_id", groupId)
-            .andWhere("discord_id", memberId)
-            .andWhere("roblox_id", entity.getRobloxId());
-
-        try {
-            Collection coll = builder.get();
-            if (coll.size() > 0) {
-                return true;
-            }
-        } catch (SQLException e) {
-            return false;
-        }
-
-        return false;
+        VerificationEntity entity = fetchVerification(memberId);
+        return entity != null && moderators.isModerator(Long.parseLong(memberId), entity.getRobloxId());
     }
 
     public static boolean isMainGlobalLeadershipRank(long groupId, String memberId) {
@@ -114,35 +61,23 @@ public class XeusPermissionUtil {
             return false;
         }
 
-        VerificationEntity entity = Xeus.getInstance().getRobloxAPIManager().getVerification().fetchVerificationFromDatabase(memberId, true);
-        if (entity == null) {
+        GroupModeratorSet moderators = fetchModerators(groupId, memberId);
+        if (moderators == null) {
             return false;
         }
 
-
-        QueryBuilder builder = Xeus.getInstance().getDatabase()
-            .newQueryBuilder(Constants.GROUP_MODERATORS_TABLE)
-            .where("main_group_id", groupId)
-            .andWhere("discord_id", memberId)
-            .andWhere("roblox_id", entity.getRobloxId())
-            .andWhere("is_global_lead", 1);
-
-        try {
-            Collection coll = builder.get();
-            if (coll.size() > 0) {
-                return true;
-            }
-        } catch (SQLException e) {
-            return false;
-        }
-
-        return false;
+        VerificationEntity entity = fetchVerification(memberId);
+        return entity != null && moderators.isLeadership(Long.parseLong(memberId), entity.getRobloxId());
     }
 
     public static boolean isGlobalAdmin(String memberId) {
         if (!Xeus.getInstance().areWeReadyYet()) {return false;}
 
-        VerificationEntity entity = Xeus.getInstance().getRobloxAPIManager().getVerification().fetchVerificationFromDatabase(memberId, true);
+        if (fetchModerators(0, memberId) == null) {
+            return false;
+        }
+
+        VerificationEntity entity = fetchVerification(memberId);
         if (entity == null) {
             return false;
         }
@@ -151,23 +86,30 @@ public class XeusPermissionUtil {
     }
 
     public static boolean isFullGlobalAdmin(Long discordId, long robloxId) {
-        QueryBuilder builder = Xeus.getInstance().getDatabase()
-            .newQueryBuilder(Constants.GROUP_MODERATORS_TABLE)
-            .andWhere("main_group_id", 0)
-            .andWhere("discord_id", discordId)
-            .andWhere("roblox_id", robloxId)
-            .andWhere("is_global_admin", 1);
-
-        try {
-            Collection coll = builder.get();
-            if (coll.size() > 0) {
-                return true;
-            }
-        } catch (SQLException e) {
-            return false;
-        }
+        GroupModeratorSet moderators = GroupModeratorController.fetchModerators(Xeus.getInstance(), 0);
+
+        return discordId != null && moderators != null && moderators.isGlobalAdmin(discordId, robloxId);
+    }
+
+    /**
+     * Fetches the cached moderators for the given group, if the given member isn't
+     * listed as a moderator in the group at all, <code>NULL</code> is returned
+     * instead, so the verification lookup can be skipped for most users.
+     *
+     * @param groupId  The ID of the main group, or <code>0</code> for the global admins.
+     * @param memberId The Discord ID of the member.
+     * @return Possibly null, the moderators for the group if the member is listed in it.
+     */
+    private static GroupModeratorSet fetchModerators(long groupId, String memberId) {
+        GroupModeratorSet moderators = GroupModeratorController.fetchModerators(Xeus.getInstance(), groupId);
+        if (moderators == null || !moderators.contains(Long.parseLong(memberId))) {
+            return null;
+        }
+        return moderators;
+    }
 
-        return false;
+    private static VerificationEntity fetchVerification(String memberId) {
+        return Xeus.getInstance().getRobloxAPIManager().getVerification().fetchVerificationFromDatabase(memberId, true);
     }
 
     public static GuildPermissionCheckType getPermissionLevel(@NotNull CommandContext context) {
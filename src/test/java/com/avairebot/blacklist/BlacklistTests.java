@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.blacklist;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.blacklist.bot.Blacklist;
+import com.pinewoodbuilders.blacklist.bot.BlacklistEntity;
+import com.pinewoodbuilders.blacklist.bot.Scope;
+import com.pinewoodbuilders.time.Carbon;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BlacklistTests extends BaseTest {
+
+    private Blacklist blacklist;
+
+    @Before
+    public void setUp() {
+        // The database writes are never run, the tests only look at the in-memory blacklist.
+        blacklist = new Blacklist(null, command -> {
+        });
+    }
+
+    @Test
+    public void testExpiredEntitiesAreRemovedInTheOrderTheyExpire() {
+        blacklist.addIdToBlacklist(Scope.USER, 1L, "forever");
+        blacklist.addIdToBlacklist(Scope.USER, 2L, "later", Carbon.now().addHour());
+        blacklist.addIdToBlacklist(Scope.GUILD, 3L, "expired last", Carbon.now().subMinute());
+        blacklist.addIdToBlacklist(Scope.USER, 4L, "expired first", Carbon.now().subHour());
+
+        assertEquals(2, blacklist.removeExpiredEntities());
+
+        assertNotNull(blacklist.getEntity(1L, Scope.USER));
+        assertNotNull(blacklist.getEntity(2L, Scope.USER));
+        assertNull(blacklist.getEntity(3L, Scope.GUILD));
+        assertNull(blacklist.getEntity(4L, Scope.USER));
+
+        assertEquals(0, blacklist.removeExpiredEntities());
+        assertEquals(2, blacklist.getBlacklistEntities().size());
+    }
+
+    @Test
+    public void testReAddedEntitiesAreNotRemovedByTheirOldExpireTime() {
+        blacklist.addIdToBlacklist(Scope.USER, 1L, "old", Carbon.now().subMinute());
+        blacklist.addIdToBlacklist(Scope.USER, 1L, "new", Carbon.now().addHour());
+
+        assertEquals(0, blacklist.removeExpiredEntities());
+
+        BlacklistEntity entity = blacklist.getEntity(1L, Scope.USER);
+        assertNotNull(entity);
+        assertEquals("new", entity.getReason());
+        assertTrue(entity.isBlacklisted());
+    }
+
+    @Test
+    public void testReAddedEntitiesWithoutAnExpireTimeAreNotRemoved() {
+        blacklist.addIdToBlacklist(Scope.GUILD, 1L, "old", Carbon.now().subMinute());
+        blacklist.addIdToBlacklist(Scope.GUILD, 1L, "forever");
+
+        assertEquals(0, blacklist.removeExpiredEntities());
+        assertNotNull(blacklist.getEntity(1L, Scope.GUILD));
+    }
+
+    @Test
+    public void testRemovedEntitiesAreNotCountedWhenTheyExpire() {
+        blacklist.addIdToBlacklist(Scope.USER, 1L, "removed", Carbon.now().subMinute());
+        blacklist.addIdToBlacklist(Scope.USER, 2L, "expired", Carbon.now().subMinute());
+        blacklist.remove(1L);
+
+        assertEquals(1, blacklist.removeExpiredEntities());
+        assertTrue(blacklist.getBlacklistEntities().isEmpty());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.blacklist;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.blacklist.bot.BlacklistWriteQueue;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BlacklistWriteQueueTests extends BaseTest {
+
+    private Queue<Runnable> drains;
+    private List<Integer> written;
+    private BlacklistWriteQueue queue;
+
+    @Before
+    public void setUp() {
+        drains = new LinkedList<>();
+        written = new ArrayList<>();
+        queue = new BlacklistWriteQueue(drains::add);
+    }
+
+    @Test
+    public void testWritesAreDrainedInTheOrderTheyWereSubmitted() {
+        for (int i = 1; i <= 5; i++) {
+            int id = i;
+            queue.submit(() -> written.add(id));
+        }
+
+        assertEquals(1, drains.size());
+        assertTrue(written.isEmpty());
+
+        runDrains();
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), written);
+    }
+
+    @Test
+    public void testWritesSubmittedWhileDrainingAreRunAfterTheQueuedWrites() {
+        queue.submit(() -> {
+            written.add(1);
+            queue.submit(() -> written.add(3));
+        });
+        queue.submit(() -> written.add(2));
+
+        runDrains();
+
+        assertEquals(Arrays.asList(1, 2, 3), written);
+        assertTrue(drains.isEmpty());
+    }
+
+    @Test
+    public void testFailedWritesDoNotStopTheDrain() {
+        queue.submit(() -> written.add(1));
+        queue.submit(() -> {
+            throw new SQLException("Failed write");
+        });
+        queue.submit(() -> {
+            throw new IllegalStateException("Failed write");
+        });
+        queue.submit(() -> written.add(2));
+
+        runDrains();
+
+        assertEquals(Arrays.asList(1, 2), written);
+    }
+
+    @Test
+    public void testANewDrainIsScheduledOnceTheQueueIsEmpty() {
+        queue.submit(() -> written.add(1));
+        runDrains();
+
+        queue.submit(() -> written.add(2));
+        assertEquals(1, drains.size());
+        runDrains();
+
+        assertEquals(Arrays.asList(1, 2), written);
+    }
+
+    private void runDrains() {
+        Runnable drain;
+        while ((drain = drains.poll()) != null) {
+            drain.run();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.cache;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.cache.store.LogStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogStoreTests extends BaseTest {
+
+    private File directory;
+    private LogStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("log-store").toFile();
+        store = new LogStore(directory, 1024);
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testValuesCanBeStoredAndRetrieved() throws IOException {
+        store.put("key", bytes("value"), -1);
+
+        assertTrue(store.has("key"));
+        assertEquals("value", string(store.get("key")));
+        assertEquals(-1L, store.getExpiresAt("key"));
+        assertNull(store.get("missing"));
+    }
+
+    @Test
+    public void testValuesLargerThanTheSegmentSizeCanBeStored() throws IOException {
+        store.put("large", new byte[4096], -1);
+
+        assertEquals(4096, store.get("large").length);
+        assertEquals(4096, new LogStore(directory, 1024).get("large").length);
+    }
+
+    @Test
+    public void testValuesAreRestoredWhenReopened() throws IOException {
+        store.put("key", bytes("first"), -1);
+        store.put("key", bytes("second"), -1);
+        store.put("removed", bytes("value"), -1);
+        store.remove("removed");
+
+        LogStore reopened = new LogStore(directory, 1024);
+
+        assertEquals("second", string(reopened.get("key")));
+        assertFalse(reopened.has("removed"));
+    }
+
+    @Test
+    public void testExpiredValuesAreNotReturned() throws IOException {
+        store.put("expired", bytes("value"), System.currentTimeMillis() - 1000);
+
+        assertFalse(store.has("expired"));
+        assertNull(store.get("expired"));
+    }
+
+    @Test
+    public void testEntriesHoldTheValueAndExpireTimeOfTheSameWrite() throws IOException {
+        long expiresAt = System.currentTimeMillis() + 60000;
+
+        store.put("key", bytes("first"), -1);
+        store.put("key", bytes("second"), expiresAt);
+
+        LogStore.Entry entry = store.getEntry("key");
+
+        assertNotNull(entry);
+        assertEquals("second", string(entry.getValue()));
+        assertEquals(expiresAt, entry.getExpiresAt());
+        assertNull(store.getEntry("missing"));
+
+        store.put("key", bytes("expired"), System.currentTimeMillis() - 1000);
+
+        assertNull(store.getEntry("key"));
+    }
+
+    @Test
+    public void testSegmentsAreRolledAndCompacted() throws IOException {
+        for (int i = 0; i < 100; i++) {
+            store.put("key", bytes("value-" + i), -1);
+        }
+
+        assertTrue(store.getSegmentCount() > 1);
+        assertTrue(store.compact());
+        assertEquals(1, store.getSegmentCount());
+        assertEquals("value-99", string(store.get("key")));
+
+        LogStore reopened = new LogStore(directory, 1024);
+
+        assertEquals("value-99", string(reopened.get("key")));
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
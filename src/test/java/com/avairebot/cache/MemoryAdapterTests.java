@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.cache;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.cache.adapters.MemoryAdapter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemoryAdapterTests extends BaseTest {
+
+    private MemoryAdapter adapter;
+
+    @Before
+    public void setUp() {
+        adapter = new MemoryAdapter(100);
+    }
+
+    @Test
+    public void testItemsCanBeStoredAndRetrieved() {
+        adapter.put("key", "value", 60);
+        adapter.forever("forever", "value");
+
+        assertTrue(adapter.has("key"));
+        assertTrue(adapter.has("forever"));
+        assertEquals("value", adapter.get("key"));
+        assertFalse(adapter.has("missing"));
+        assertNull(adapter.get("missing"));
+    }
+
+    @Test
+    public void testExpiredItemsAreNotReturned() {
+        adapter.put("key", "value", 0);
+
+        assertFalse(adapter.has("key"));
+        assertNull(adapter.get("key"));
+        assertEquals("reloaded", adapter.remember("key", 60, () -> "reloaded"));
+    }
+
+    @Test
+    public void testCleanUpRemovesExpiredItems() {
+        adapter.put("expired", "value", 0);
+        adapter.put("active", "value", 60);
+
+        adapter.cleanUp();
+
+        assertFalse(adapter.getCacheKeys().contains("expired"));
+        assertTrue(adapter.getCacheKeys().contains("active"));
+    }
+
+    @Test
+    public void testNullValuesAreNotRemembered() {
+        assertNull(adapter.remember("key", 60, () -> null));
+        assertFalse(adapter.has("key"));
+    }
+
+    @Test
+    public void testCacheIsBoundedByTheMaximumSize() {
+        for (int i = 0; i < 500; i++) {
+            adapter.put("key-" + i, i, 60);
+        }
+
+        assertTrue(adapter.getCacheKeys().size() <= 100);
+    }
+
+    @Test
+    public void testConcurrentRememberCallsOnlyLoadOnce() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ignored) {
+                    return;
+                }
+
+                adapter.remember("key", 60, () -> {
+                    loads.incrementAndGet();
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException ignored) {
+                    }
+                    return "value";
+                });
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(1, loads.get());
+        assertEquals("value", adapter.get("key"));
+    }
+}
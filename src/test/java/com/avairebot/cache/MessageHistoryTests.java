@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.cache;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.cache.MessageHistory;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MessageHistoryTests extends BaseTest {
+
+    @Test
+    public void testCountOnlyIncludesMessagesInsideThePeriod() {
+        MessageHistory.Window window = new MessageHistory.Window();
+        window.add(1, 1000, 0);
+        window.add(2, 5000, MessageHistory.LINK);
+        window.add(3, 9000, MessageHistory.ATTACHMENT | MessageHistory.LINK);
+        window.add(3, 9000, MessageHistory.ATTACHMENT | MessageHistory.LINK);
+
+        assertEquals(3, window.count(0, 10000, 10000, 0));
+        assertEquals(2, window.count(0, 10000, 6000, 0));
+        assertEquals(1, window.count(3, 10000, 10000, MessageHistory.LINK));
+        assertEquals(1, window.count(0, 10000, 10000, MessageHistory.ATTACHMENT));
+    }
+
+    @Test
+    public void testOldestMessagesAreOverwrittenWhenTheWindowIsFull() {
+        MessageHistory.Window window = new MessageHistory.Window();
+        for (int i = 1; i <= MessageHistory.WINDOW_SIZE + 4; i++) {
+            window.add(i, i, 0);
+        }
+
+        assertEquals(MessageHistory.WINDOW_SIZE, window.count(0, 100, 1000, 0));
+        assertEquals(MessageHistory.WINDOW_SIZE - 1, window.count(0, 100, 100 - 5, 0));
+    }
+
+    @Test
+    public void testTakenMessagesAreRemovedFromTheWindow() {
+        MessageHistory.Window window = new MessageHistory.Window();
+        window.add(1, 1000, 0);
+        window.add(2, 2000, MessageHistory.LINK);
+        window.add(3, 3000, 0);
+
+        assertEquals(Arrays.asList("1", "2"), window.take(3, 3000, 10000, 0));
+        assertEquals(0, window.count(3, 3000, 10000, 0));
+        assertEquals(Collections.emptyList(), window.take(3, 3000, 10000, MessageHistory.LINK));
+    }
+}
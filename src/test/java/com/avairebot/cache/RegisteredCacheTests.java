@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.cache;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.cache.CacheIndex;
+import com.pinewoodbuilders.cache.CacheRegistry;
+import com.pinewoodbuilders.cache.RegisteredCache;
+import com.pinewoodbuilders.database.persistence.PlayerKey;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegisteredCacheTests extends BaseTest {
+
+    private static final AtomicInteger counter = new AtomicInteger();
+
+    @Test
+    public void testEntriesCanBeForgottenBySecondaryIndexes() {
+        RegisteredCache<PlayerKey, String> cache = CacheRegistry.<PlayerKey, String>newCache(nextName())
+            .indexedBy(CacheIndex.GUILD, PlayerKey::getGuildId)
+            .indexedBy(CacheIndex.USER, PlayerKey::getUserId)
+            .build();
+
+        cache.get(new PlayerKey(1, 10), () -> "first");
+        cache.get(new PlayerKey(2, 10), () -> "second");
+        cache.get(new PlayerKey(1, 20), () -> "third");
+
+        cache.forget(CacheIndex.USER, 1);
+
+        assertNull(cache.getIfPresent(new PlayerKey(1, 10)));
+        assertNull(cache.getIfPresent(new PlayerKey(1, 20)));
+        assertEquals("second", cache.getIfPresent(new PlayerKey(2, 10)));
+
+        cache.forget(CacheIndex.GUILD, 10);
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testEntriesCanBeForgottenByKeyIndex() {
+        RegisteredCache<Long, String> cache = CacheRegistry.<Long, String>newCache(nextName())
+            .keyedBy(CacheIndex.GUILD)
+            .build();
+
+        cache.put(10L, "guild");
+        cache.put(20L, "other");
+
+        CacheRegistry.forgetGuild(10);
+        CacheRegistry.forgetUser(20);
+
+        assertNull(cache.getIfPresent(10L));
+        assertEquals("other", cache.getIfPresent(20L));
+    }
+
+    private String nextName() {
+        return "test-cache-" + counter.incrementAndGet();
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.commands;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.Xeus;
+import com.pinewoodbuilders.commands.Category;
+import com.pinewoodbuilders.commands.CommandContainer;
+import com.pinewoodbuilders.commands.CommandIndex;
+import com.pinewoodbuilders.commands.CommandMessage;
+import com.pinewoodbuilders.commands.CommandPriority;
+import com.pinewoodbuilders.contracts.commands.Command;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandIndexTests extends BaseTest {
+
+    private static final String guildId = "123456789";
+
+    private Category utility;
+    private Category fun;
+    private List<Category> categories;
+
+    private CommandContainer ping;
+    private CommandContainer help;
+    private CommandContainer hidden;
+    private List<CommandContainer> commands;
+
+    @Before
+    public void setUp() {
+        utility = new Category(null, "Utility", "!");
+        fun = new Category(null, "Fun", ">");
+        categories = Arrays.asList(utility, fun);
+
+        ping = new CommandContainer(new TestCommand("Ping", CommandPriority.NORMAL, "ping", "pong"), utility, null);
+        help = new CommandContainer(new TestCommand("Help", CommandPriority.NORMAL, "help"), fun, null);
+        hidden = new CommandContainer(new TestCommand("Hidden", CommandPriority.IGNORED, "secret"), utility, null);
+        commands = new ArrayList<>(Arrays.asList(ping, help, hidden));
+    }
+
+    @Test
+    public void testCommandsAreFoundByTheirCategoryPrefixAndTrigger() {
+        CommandIndex index = new CommandIndex(commands, categories);
+
+        assertEquals(Collections.singletonList(ping), index.getCommands(index.getDefaultPrefixes(), "!ping"));
+        assertEquals(Collections.singletonList(help), index.getCommands(index.getDefaultPrefixes(), ">help"));
+
+        assertTrue(index.getCommands(index.getDefaultPrefixes(), ">ping").isEmpty());
+        assertTrue(index.getCommands(index.getDefaultPrefixes(), "?ping").isEmpty());
+        assertTrue(index.getCommands(index.getDefaultPrefixes(), "ping").isEmpty());
+        assertTrue(index.getCommands(index.getDefaultPrefixes(), "").isEmpty());
+    }
+
+    @Test
+    public void testCommandsAreFoundByEveryTrigger() {
+        CommandIndex index = new CommandIndex(commands, categories);
+
+        assertEquals(Collections.singletonList(ping), index.getCommands(index.getDefaultPrefixes(), "!pong"));
+        assertEquals(Collections.singletonList(ping), index.getRawCommands("!pong"));
+        assertEquals(Collections.singletonList(ping), index.getLazyCommands("pong"));
+    }
+
+    @Test
+    public void testIgnoredCommandsAreNotLazilyIndexed() {
+        CommandIndex index = new CommandIndex(commands, categories);
+
+        assertEquals(Collections.singletonList(hidden), index.getRawCommands("!secret"));
+        assertTrue(index.getLazyCommands("secret").isEmpty());
+    }
+
+    @Test
+    public void testRebuiltIndexDoesNotIncludeUnregisteredCommands() {
+        CommandIndex index = new CommandIndex(commands, categories);
+
+        commands.remove(ping);
+        CommandIndex rebuilt = new CommandIndex(commands, categories);
+
+        assertTrue(rebuilt.getCommands(rebuilt.getDefaultPrefixes(), "!ping").isEmpty());
+        assertTrue(rebuilt.getRawCommands("!pong").isEmpty());
+        assertTrue(rebuilt.getLazyCommands("ping").isEmpty());
+        assertEquals(Collections.singletonList(help), rebuilt.getCommands(rebuilt.getDefaultPrefixes(), ">help"));
+
+        // The previous index is left untouched, so lookups that are still using it never see a half built index.
+        assertEquals(Collections.singletonList(ping), index.getCommands(index.getDefaultPrefixes(), "!ping"));
+    }
+
+    @Test
+    public void testGuildPrefixesOverrideTheDefaultPrefixes() {
+        CommandIndex index = new CommandIndex(commands, categories);
+
+        CommandIndex.PrefixTable prefixes = index.getPrefixes(guildId, category -> category == fun ? "?" : category.getPrefix());
+
+        assertEquals(Collections.singletonList(help), index.getCommands(prefixes, "?help"));
+        assertEquals(Collections.singletonList(ping), index.getCommands(prefixes, "!ping"));
+        assertTrue(index.getCommands(prefixes, ">help").isEmpty());
+    }
+
+    @Test
+    public void testCategoriesSharingAGuildPrefixAreAllMatched() {
+        CommandIndex index = new CommandIndex(commands, categories);
+
+        CommandIndex.PrefixTable prefixes = index.getPrefixes(guildId, category -> "!");
+
+        assertEquals(Collections.singletonList(ping), index.getCommands(prefixes, "!ping"));
+        assertEquals(Collections.singletonList(help), index.getCommands(prefixes, "!help"));
+    }
+
+    @Test
+    public void testGuildPrefixesAreCachedUntilForgotten() {
+        CommandIndex index = new CommandIndex(commands, categories);
+        AtomicInteger builds = new AtomicInteger();
+
+        index.getPrefixes(guildId, category -> {
+            builds.incrementAndGet();
+            return category == fun ? "?" : category.getPrefix();
+        });
+
+        CommandIndex.PrefixTable prefixes = index.getPrefixes(guildId, category -> {
+            builds.incrementAndGet();
+            return category == fun ? "$" : category.getPrefix();
+        });
+
+        assertEquals(categories.size(), builds.get());
+        assertEquals(Collections.singletonList(help), index.getCommands(prefixes, "?help"));
+
+        index.forgetPrefixes(guildId);
+
+        prefixes = index.getPrefixes(guildId, category -> category == fun ? "$" : category.getPrefix());
+
+        assertEquals(Collections.singletonList(help), index.getCommands(prefixes, "$help"));
+        assertTrue(index.getCommands(prefixes, "?help").isEmpty());
+    }
+
+    @Test
+    public void testForgettingPrefixesOnlyAffectsTheGivenGuild() {
+        CommandIndex index = new CommandIndex(commands, categories);
+
+        index.getPrefixes(guildId, category -> "?");
+        index.getPrefixes("987654321", category -> "?");
+
+        index.forgetPrefixes("987654321");
+
+        CommandIndex.PrefixTable prefixes = index.getPrefixes(guildId, Category::getPrefix);
+        assertEquals(Collections.singletonList(help), index.getCommands(prefixes, "?help"));
+
+        prefixes = index.getPrefixes("987654321", Category::getPrefix);
+        assertEquals(Collections.singletonList(help), index.getCommands(prefixes, ">help"));
+    }
+
+    private static class TestCommand extends Command {
+
+        private final String name;
+        private final CommandPriority priority;
+        private final List<String> triggers;
+
+        TestCommand(String name, CommandPriority priority, String... triggers) {
+            super((Xeus) null);
+
+            this.name = name;
+            this.priority = priority;
+            this.triggers = Arrays.asList(triggers);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public List<String> getTriggers() {
+            return triggers;
+        }
+
+        @Override
+        public CommandPriority getCommandPriority() {
+            return priority;
+        }
+
+        @Override
+        public boolean onCommand(CommandMessage context, String[] args) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.database;
+
+import com.avairebot.BaseTest;
+import com.avairebot.database.fakes.FakeBatchConnection;
+import com.avairebot.database.fakes.FakeBatchDatabaseManager;
+import com.pinewoodbuilders.database.persistence.PlayerWriteBehind;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayerWriteBehindTests extends BaseTest {
+
+    private FakeBatchDatabaseManager dbm;
+    private PlayerWriteBehind writeBehind;
+
+    @Before
+    public void setUp() {
+        dbm = new FakeBatchDatabaseManager();
+        writeBehind = new PlayerWriteBehind();
+    }
+
+    @Test
+    public void testExperienceForTheSamePlayerIsCoalesced() {
+        writeBehind.addExperience(1L, 10L, 5, false);
+        writeBehind.addExperience(1L, 10L, 7, true);
+        writeBehind.addExperience(2L, 10L, 3, false);
+
+        assertEquals(2, writeBehind.getPendingWrites());
+        assertEquals(2, writeBehind.flush(dbm));
+        assertEquals(0, writeBehind.getPendingWrites());
+
+        List<FakeBatchConnection.Batch> batches = dbm.getBatchConnection().getCommittedBatches();
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).getRows().size());
+        assertTrue(batches.get(0).getRows().contains(Arrays.asList(5L, 12L, "1", "10")));
+        assertTrue(batches.get(0).getRows().contains(Arrays.asList(3L, 3L, "2", "10")));
+    }
+
+    @Test
+    public void testActivationsForTheSamePlayerAreCoalesced() {
+        writeBehind.markActive(1L, 10L);
+        writeBehind.markActive(1L, 10L);
+
+        assertEquals(1, writeBehind.flush(dbm));
+
+        List<FakeBatchConnection.Batch> batches = dbm.getBatchConnection().getCommittedBatches();
+        assertEquals(1, batches.size());
+        assertEquals(Arrays.asList("1", "10"), batches.get(0).getRows().get(0));
+    }
+
+    @Test
+    public void testExperienceIsFlushedBeforeActivations() {
+        writeBehind.markActive(1L, 10L);
+        writeBehind.addExperience(1L, 10L, 5, false);
+
+        assertEquals(2, writeBehind.flush(dbm));
+
+        List<FakeBatchConnection.Batch> batches = dbm.getBatchConnection().getCommittedBatches();
+        assertEquals(2, batches.size());
+        assertTrue(batches.get(0).getQuery().contains("`experience` = ? + `experience`"));
+        assertTrue(batches.get(1).getQuery().contains("`active` = 1"));
+    }
+
+    @Test
+    public void testFailedExperienceBatchesAreRestored() {
+        writeBehind.addExperience(1L, 10L, 5, false);
+
+        dbm.getBatchConnection().failNextBatches(1);
+
+        assertEquals(0, writeBehind.flush(dbm));
+        assertTrue(dbm.getBatchConnection().getCommittedBatches().isEmpty());
+        assertEquals(1, writeBehind.getPendingWrites());
+        assertEquals(5, writeBehind.getExperienceAccumulator().getPendingExperience(1L, 10L));
+
+        writeBehind.addExperience(1L, 10L, 2, false);
+
+        assertEquals(1, writeBehind.flush(dbm));
+        assertEquals(0, writeBehind.getPendingWrites());
+        assertEquals(
+            Arrays.asList(7L, 7L, "1", "10"),
+            dbm.getBatchConnection().getCommittedBatches().get(0).getRows().get(0)
+        );
+    }
+
+    @Test
+    public void testFailedActivationBatchesAreRestored() {
+        writeBehind.markActive(1L, 10L);
+
+        dbm.getBatchConnection().failNextBatches(1);
+
+        assertEquals(0, writeBehind.flush(dbm));
+        assertEquals(1, writeBehind.getPendingWrites());
+
+        assertEquals(1, writeBehind.flush(dbm));
+        assertEquals(0, writeBehind.getPendingWrites());
+    }
+
+    @Test
+    public void testFailedBatchesDoesNotStopLaterWrites() {
+        writeBehind.addExperience(1L, 10L, 5, false);
+        writeBehind.markActive(2L, 10L);
+
+        dbm.getBatchConnection().failNextBatches(1);
+
+        assertEquals(1, writeBehind.flush(dbm));
+        assertEquals(1, writeBehind.getPendingWrites());
+        assertEquals(5, writeBehind.getExperienceAccumulator().getPendingExperience(1L, 10L));
+
+        List<FakeBatchConnection.Batch> batches = dbm.getBatchConnection().getCommittedBatches();
+        assertEquals(1, batches.size());
+        assertTrue(batches.get(0).getQuery().contains("`active` = 1"));
+    }
+}
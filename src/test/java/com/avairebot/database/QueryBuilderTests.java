@@ -27,6 +27,9 @@ import com.pinewoodbuilders.database.query.QueryBuilder;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class QueryBuilderTests extends BaseTest {
@@ -96,6 +99,26 @@ public class QueryBuilderTests extends BaseTest {
         );
     }
 
+    @Test
+    public void testPreparedWhereClausesUsePlaceholders() {
+        QueryBuilder query = makeQuery().where("test", "thing")
+            .andWhere("permission_level", ">", 9001);
+
+        assertEquals(
+            "SELECT * FROM `test` WHERE `test` = ? AND `permission_level` > ?;",
+            query.toPreparedSQL()
+        );
+        assertEquals(Arrays.asList("thing", 9001), query.getBindings());
+    }
+
+    @Test
+    public void testPreparedWhereClausesStoreBooleansAsNumbers() {
+        QueryBuilder query = makeQuery().where("sent", false);
+
+        assertEquals("SELECT * FROM `test` WHERE `sent` = ?;", query.toPreparedSQL());
+        assertEquals(Collections.singletonList(0), query.getBindings());
+    }
+
     private QueryBuilder makeQuery() {
         return dbm.newQueryBuilder("test");
     }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.database.fakes;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class FakeBatchConnection {
+
+    private final List<Batch> committed = Collections.synchronizedList(new ArrayList<>());
+
+    private int failingBatches = 0;
+
+    public synchronized void failNextBatches(int amount) {
+        failingBatches = amount;
+    }
+
+    public List<Batch> getCommittedBatches() {
+        return new ArrayList<>(committed);
+    }
+
+    public Connection createConnection() {
+        List<Batch> pending = new ArrayList<>();
+
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "prepareStatement":
+                    Batch batch = new Batch((String) args[0]);
+                    pending.add(batch);
+                    return createStatement(batch);
+
+                case "commit":
+                    committed.addAll(pending);
+                    pending.clear();
+                    return null;
+
+                case "rollback":
+                    pending.clear();
+                    return null;
+
+                case "getAutoCommit":
+                case "isClosed":
+                    return false;
+
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private PreparedStatement createStatement(Batch batch) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{PreparedStatement.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "setString":
+                case "setLong":
+                    parameters.put((Integer) args[0], args[1]);
+                    return null;
+
+                case "addBatch":
+                    batch.rows.add(new ArrayList<>(parameters.values()));
+                    parameters.clear();
+                    return null;
+
+                case "executeBatch":
+                    synchronized (this) {
+                        if (failingBatches > 0) {
+                            failingBatches--;
+                            throw new SQLException("Fake batch failure");
+                        }
+                    }
+                    return new int[batch.rows.size()];
+
+                case "isClosed":
+                    return false;
+
+                default:
+                    return null;
+            }
+        });
+    }
+
+    public static class Batch {
+
+        private final String query;
+        private final List<List<Object>> rows = new ArrayList<>();
+
+        Batch(String query) {
+            this.query = query;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public List<List<Object>> getRows() {
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.imagegen;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.contracts.imagegen.Renderer;
+import com.pinewoodbuilders.imagegen.RenderExecutor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RenderExecutorTests extends BaseTest {
+
+    private static final AtomicInteger counter = new AtomicInteger();
+
+    private CountDownLatch release;
+    private RenderExecutor executor;
+
+    @Before
+    public void setUp() {
+        release = new CountDownLatch(1);
+        executor = new RenderExecutor(1, 1);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testRendersAreQueuedWhileTheThreadsAreBusy() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<byte[]> running = executor.renderToBytes(new BlockingRenderer(null, started));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<byte[]> queued = executor.renderToBytes(new BlockingRenderer(null, null));
+        assertEquals(1, executor.getQueue().size());
+        assertFalse(queued.isDone());
+
+        release.countDown();
+
+        assertArrayEquals(new byte[]{1}, running.join());
+        assertArrayEquals(new byte[]{1}, queued.join());
+    }
+
+    @Test
+    public void testRendersAreRejectedWhenTheQueueIsFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+
+        executor.renderToBytes(new BlockingRenderer(null, started));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.renderToBytes(new BlockingRenderer(null, null));
+
+        CompletableFuture<byte[]> rejected = executor.renderToBytes(new BlockingRenderer(null, null));
+        assertTrue(rejected.isCompletedExceptionally());
+
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        assertTrue(exception.getCause() instanceof RejectedExecutionException);
+        assertEquals(1, executor.getQueue().size());
+    }
+
+    @Test
+    public void testRejectedRendersAreNotCached() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        String cacheKey = "render-executor-test-" + counter.incrementAndGet();
+
+        CompletableFuture<byte[]> running = executor.renderToBytes(new BlockingRenderer(null, started));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<byte[]> queued = executor.renderToBytes(new BlockingRenderer(null, null));
+
+        assertTrue(executor.renderToBytes(new BlockingRenderer(cacheKey, null)).isCompletedExceptionally());
+
+        release.countDown();
+        running.join();
+        queued.join();
+
+        assertArrayEquals(new byte[]{1}, executor.renderToBytes(new BlockingRenderer(cacheKey, null)).join());
+    }
+
+    @Test
+    public void testIdenticalRendersInProgressAreOnlyRenderedOnce() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        String cacheKey = "render-executor-test-" + counter.incrementAndGet();
+
+        BlockingRenderer first = new BlockingRenderer(cacheKey, started);
+        BlockingRenderer second = new BlockingRenderer(cacheKey, null);
+
+        CompletableFuture<byte[]> future = executor.renderToBytes(first);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertSame(future, executor.renderToBytes(second));
+
+        release.countDown();
+        future.join();
+
+        assertEquals(1, first.renders.get());
+        assertEquals(0, second.renders.get());
+    }
+
+    private class BlockingRenderer extends Renderer {
+
+        private final String cacheKey;
+        private final CountDownLatch started;
+        private final AtomicInteger renders = new AtomicInteger();
+
+        BlockingRenderer(String cacheKey, CountDownLatch started) {
+            this.cacheKey = cacheKey;
+            this.started = started;
+        }
+
+        @Override
+        public boolean canRender() {
+            return true;
+        }
+
+        @Override
+        public String getCacheKey() {
+            return cacheKey;
+        }
+
+        @Override
+        protected BufferedImage handleRender() {
+            return null;
+        }
+
+        @Override
+        public byte[] renderToBytes() {
+            renders.incrementAndGet();
+            if (started != null) {
+                started.countDown();
+            }
+
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new byte[]{1};
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.level;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.level.ExperienceAccumulator;
+import com.pinewoodbuilders.level.ExperienceEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExperienceAccumulatorTests extends BaseTest {
+
+    private ExperienceAccumulator accumulator;
+
+    @Before
+    public void setUp() {
+        accumulator = new ExperienceAccumulator();
+    }
+
+    @Test
+    public void testRewardsForTheSamePlayerAreCoalesced() {
+        accumulator.add(1L, 10L, 15, false);
+        accumulator.add(1L, 10L, 12, false);
+        accumulator.add(1L, 20L, 11, false);
+
+        assertEquals(27, accumulator.getPendingExperience(1L, 10L));
+        assertEquals(11, accumulator.getPendingExperience(1L, 20L));
+        assertEquals(0, accumulator.getPendingExperience(2L, 10L));
+        assertEquals(2, accumulator.size());
+    }
+
+    @Test
+    public void testExcludedRewardsAreOnlyAddedToGlobalExperience() {
+        accumulator.add(1L, 10L, 15, false);
+        accumulator.add(1L, 10L, 12, true);
+
+        List<ExperienceEntity> entities = accumulator.drain();
+
+        assertEquals(1, entities.size());
+        assertEquals(27, entities.get(0).getExperience());
+        assertEquals(15, entities.get(0).getLocalExperience());
+    }
+
+    @Test
+    public void testDrainEmptiesTheAccumulator() {
+        accumulator.add(1L, 10L, 15, false);
+        accumulator.add(2L, 10L, 15, false);
+
+        assertEquals(2, accumulator.drain().size());
+        assertTrue(accumulator.isEmpty());
+        assertEquals(0, accumulator.getPendingExperience(1L, 10L));
+    }
+
+    @Test
+    public void testRestoredEntitiesAreMergedWithNewRewards() {
+        accumulator.add(1L, 10L, 15, false);
+        List<ExperienceEntity> entities = accumulator.drain();
+
+        accumulator.add(1L, 10L, 10, true);
+        accumulator.restore(entities);
+
+        ExperienceEntity entity = accumulator.drain().get(0);
+        assertEquals(25, entity.getExperience());
+        assertEquals(15, entity.getLocalExperience());
+    }
+}
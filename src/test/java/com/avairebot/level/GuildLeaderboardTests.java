@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.level;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.level.GuildLeaderboard;
+import com.pinewoodbuilders.level.LeaderboardEntry;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GuildLeaderboardTests extends BaseTest {
+
+    private static LeaderboardEntry entry(long userId, long experience) {
+        return new LeaderboardEntry(userId, experience, "user" + userId, "user" + userId, "0001", null);
+    }
+
+    private static GuildLeaderboard leaderboard() {
+        return new GuildLeaderboard(Arrays.asList(
+            entry(1, 500), entry(2, 300), entry(3, 300), entry(4, 100), entry(5, 900)
+        ));
+    }
+
+    @Test
+    public void testRanksAreOrderedByExperience() {
+        GuildLeaderboard leaderboard = leaderboard();
+
+        assertEquals(1, leaderboard.getRank(5));
+        assertEquals(2, leaderboard.getRank(1));
+        assertEquals(5, leaderboard.getRank(4));
+        assertEquals(-1, leaderboard.getRank(6));
+    }
+
+    @Test
+    public void testPlayersWithTheSameExperienceShareRank() {
+        GuildLeaderboard leaderboard = leaderboard();
+
+        assertEquals(3, leaderboard.getRank(2));
+        assertEquals(3, leaderboard.getRank(3));
+    }
+
+    @Test
+    public void testUpdateMovesPlayers() {
+        GuildLeaderboard leaderboard = leaderboard();
+
+        leaderboard.update(entry(4, 1000));
+        assertEquals(1, leaderboard.getRank(4));
+        assertEquals(2, leaderboard.getRank(5));
+
+        leaderboard.update(entry(5, 50));
+        assertEquals(5, leaderboard.getRank(5));
+        assertEquals(4, leaderboard.getTop(4).size());
+        assertEquals(4L, leaderboard.getTop(1).get(0).getUserId());
+    }
+
+    @Test
+    public void testUpdateAddsAndRemoveRemovesPlayers() {
+        GuildLeaderboard leaderboard = leaderboard();
+
+        leaderboard.update(entry(6, 400));
+        assertEquals(6, leaderboard.size());
+        assertEquals(3, leaderboard.getRank(6));
+
+        leaderboard.remove(1);
+        assertEquals(5, leaderboard.size());
+        assertEquals(2, leaderboard.getRank(6));
+        assertNull(leaderboard.getEntry(1));
+    }
+
+    @Test
+    public void testTopIsSorted() {
+        GuildLeaderboard leaderboard = new GuildLeaderboard(new ArrayList<>());
+        for (int i = 0; i < 100; i++) {
+            leaderboard.update(entry(i, (i * 37) % 50));
+        }
+
+        List<LeaderboardEntry> top = leaderboard.getTop(200);
+        assertEquals(100, top.size());
+        for (int i = 1; i < top.size(); i++) {
+            assertTrue(top.get(i - 1).getExperience() >= top.get(i).getExperience());
+        }
+    }
+}
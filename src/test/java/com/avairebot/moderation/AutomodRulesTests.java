@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.moderation;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.moderation.filter.AutomodRules;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AutomodRulesTests extends BaseTest {
+
+    @Test
+    public void testMassMentionIsCheckedFirst() {
+        AutomodRules rules = new AutomodRules(3, 2, 2);
+
+        assertEquals(AutomodRules.Violation.MASS_MENTION, rules.check("aa :a: :b:", 3));
+        assertEquals(AutomodRules.Violation.CHARACTER_SPAM, rules.check("aa :a: :b:", 2));
+    }
+
+    @Test
+    public void testCharacterSpamIsCaseInsensitiveAndStopsAtNewLines() {
+        AutomodRules rules = new AutomodRules(0, 4, 0);
+
+        assertEquals(AutomodRules.Violation.CHARACTER_SPAM, rules.check("heLLlLo", 0));
+        assertNull(rules.check("helllo", 0));
+        assertNull(rules.check("aa\naa", 0));
+    }
+
+    @Test
+    public void testCustomEmojisAreCounted() {
+        AutomodRules rules = new AutomodRules(0, 0, 2);
+
+        assertEquals(AutomodRules.Violation.EMOJI_SPAM, rules.check("hi :smile: :wave:", 0));
+        assertNull(rules.check("hi :smile: there", 0));
+        assertNull(rules.check("ratio 1: 2 and 3 :4", 0));
+    }
+
+    @Test
+    public void testDisabledRulesAreNeverTriggered() {
+        AutomodRules rules = new AutomodRules(0, 0, 0);
+
+        assertNull(rules.check("aaaaaaaa :a: :b: :c:", 50));
+    }
+
+    @Test
+    public void testContainsLink() {
+        assertTrue(AutomodRules.containsLink("check https://example.org out"));
+        assertTrue(AutomodRules.containsLink("example.org/some/path"));
+        assertTrue(AutomodRules.containsLink("go to google.nl"));
+        assertFalse(AutomodRules.containsLink("example.org and more"));
+        assertFalse(AutomodRules.containsLink("just a normal message"));
+    }
+
+    @Test
+    public void testStripSymbols() {
+        assertEquals("hello world", AutomodRules.stripSymbols("h!e@l#l$o w[o]r\\l{d}", AutomodRules.GLOBAL_FILTER_SYMBOLS));
+        assertEquals("a.b,c", AutomodRules.stripSymbols("a.b,c", AutomodRules.GLOBAL_FILTER_SYMBOLS));
+        assertEquals("abc", AutomodRules.stripSymbols("a.b,c", AutomodRules.LOCAL_FILTER_SYMBOLS));
+    }
+}
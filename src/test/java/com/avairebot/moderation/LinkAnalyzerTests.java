@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.moderation;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.moderation.global.filter.LinkAnalyzer;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.HttpUrl;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LinkAnalyzerTests extends BaseTest {
+
+    @Test
+    public void testExtractLinks() {
+        assertEquals(
+            Arrays.asList("https://example.org/path", "www.example.com"),
+            LinkAnalyzer.extractLinks("see https://example.org/path and www.example.com for more")
+        );
+    }
+
+    @Test
+    public void testTopPrivateDomainIsCachedByHost() {
+        HttpUrl url = HttpUrl.parse("https://cdn.files.example.co.uk/file.png");
+
+        assertEquals("example.co.uk", LinkAnalyzer.getTopPrivateDomain(url));
+        assertEquals("example.co.uk", LinkAnalyzer.getTopPrivateDomain(url));
+        assertNull(LinkAnalyzer.getTopPrivateDomain(HttpUrl.parse("http://127.0.0.1/")));
+        assertNull(LinkAnalyzer.getTopPrivateDomain(HttpUrl.parse("http://127.0.0.1/")));
+    }
+
+    @Test
+    public void testPartialRedirectChainIsReturnedWhenAHopFails() throws IOException {
+        String unreachable = "http://127.0.0.1:" + findClosedPort() + "/gone";
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/start", exchange -> {
+            exchange.getResponseHeaders().add("Location", "/next");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        server.createContext("/next", exchange -> {
+            exchange.getResponseHeaders().add("Location", unreachable);
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        server.start();
+
+        try {
+            String base = "http://127.0.0.1:" + server.getAddress().getPort();
+
+            assertEquals(
+                Arrays.asList(base + "/start", base + "/next", unreachable),
+                new LinkAnalyzer().resolveRedirects(base + "/start").join()
+            );
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testUnreachableLinksFailToResolve() throws IOException {
+        String unreachable = "http://127.0.0.1:" + findClosedPort() + "/gone";
+
+        assertThrows(CompletionException.class, () -> new LinkAnalyzer().resolveRedirects(unreachable).join());
+    }
+
+    private static int findClosedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+}
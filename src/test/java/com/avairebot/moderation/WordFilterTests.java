@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.moderation;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.moderation.filter.WordFilter;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WordFilterTests extends BaseTest {
+
+    @Test
+    public void testExactWordsOnlyMatchWholeWords() {
+        WordFilter filter = new WordFilter(Arrays.asList("Bad", "worse"), Collections.emptyList());
+
+        assertEquals("bad", filter.findExact("this is BAD"));
+        assertEquals("worse", filter.findExact("worse  than before"));
+        assertNull(filter.findExact("badly written"));
+        assertNull(filter.findExact(""));
+    }
+
+    @Test
+    public void testWildcardWordsMatchAnywhere() {
+        WordFilter filter = new WordFilter(Collections.emptyList(), Arrays.asList("he", "she", "hers", "his", ""));
+
+        assertEquals("she", filter.findWildcard("usHErs"));
+        assertEquals("he", filter.findWildcard("the end"));
+        assertEquals("his", filter.findWildcard("this"));
+        assertNull(filter.findWildcard("nothing to see"));
+    }
+
+    @Test
+    public void testShorterWordsInsideLongerWordsAreMatched() {
+        WordFilter filter = new WordFilter(Collections.emptyList(), Arrays.asList("abcd", "bc"));
+
+        assertEquals("bc", filter.findWildcard("xabcx"));
+        assertEquals("bc", filter.findWildcard("abcd"));
+        assertTrue(new WordFilter(null, null).isEmpty());
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.permissions;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.database.collection.Collection;
+import com.pinewoodbuilders.permissions.GroupModeratorSet;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GroupModeratorSetTests extends BaseTest {
+
+    @Test
+    public void testModeratorsAreMatchedByDiscordAndRobloxId() {
+        GroupModeratorSet moderators = new GroupModeratorSet(new Collection(Arrays.asList(
+            moderator(30L, 300L, false, false),
+            moderator(10L, 100L, true, false),
+            moderator(20L, 200L, false, true),
+            moderator(10L, 101L, false, false)
+        )));
+
+        assertEquals(4, moderators.size());
+        assertTrue(moderators.contains(10L));
+        assertFalse(moderators.contains(40L));
+
+        assertTrue(moderators.isModerator(10L, 100L));
+        assertTrue(moderators.isModerator(10L, 101L));
+        assertFalse(moderators.isModerator(10L, 200L));
+
+        assertTrue(moderators.isLeadership(10L, 100L));
+        assertFalse(moderators.isLeadership(10L, 101L));
+
+        assertTrue(moderators.isGlobalAdmin(20L, 200L));
+        assertFalse(moderators.isGlobalAdmin(30L, 300L));
+    }
+
+    private Map<String, Object> moderator(long discordId, long robloxId, boolean isLead, boolean isAdmin) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("discord_id", discordId);
+        row.put("roblox_id", robloxId);
+        row.put("is_global_lead", isLead);
+        row.put("is_global_admin", isAdmin);
+
+        return row;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.permissions;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.database.transformers.GuildSettingsTransformer;
+import com.pinewoodbuilders.permissions.PermissionRoleIndex;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PermissionRoleIndexTests extends BaseTest {
+
+    private GuildSettingsTransformer transformer;
+
+    @Before
+    public void setUp() {
+        transformer = new GuildSettingsTransformer(null);
+    }
+
+    @Test
+    public void testIndexIsReusedWhileTheRolesAreUnchanged() {
+        assertSame(transformer.getPermissionRoles(), transformer.getPermissionRoles());
+    }
+
+    @Test
+    public void testIndexIsRebuiltWhenRolesAreAdded() {
+        PermissionRoleIndex index = transformer.getPermissionRoles();
+        transformer.getLeadRoles().add(1L);
+
+        assertNotSame(index, transformer.getPermissionRoles());
+    }
+
+    @Test
+    public void testIndexIsRebuiltWhenRolesAreRemoved() {
+        transformer.getHRRoles().add(1L);
+        transformer.getGroupShoutRoles().addAll(List.of(2L, 3L));
+
+        PermissionRoleIndex index = transformer.getPermissionRoles();
+        transformer.getHRRoles().remove(1L);
+        assertNotSame(index, transformer.getPermissionRoles());
+
+        index = transformer.getPermissionRoles();
+        transformer.getGroupShoutRoles().removeIf(roleId -> roleId == 2L);
+        assertNotSame(index, transformer.getPermissionRoles());
+
+        index = transformer.getPermissionRoles();
+        Iterator<Long> iterator = transformer.getGroupShoutRoles().iterator();
+        iterator.next();
+        iterator.remove();
+        assertNotSame(index, transformer.getPermissionRoles());
+
+        assertTrue(transformer.getHRRoles().isEmpty());
+        assertTrue(transformer.getGroupShoutRoles().isEmpty());
+    }
+}
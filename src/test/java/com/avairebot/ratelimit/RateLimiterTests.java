@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.ratelimit;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.ratelimit.RateLimitKey;
+import com.pinewoodbuilders.ratelimit.RateLimiter;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTests extends BaseTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final RateLimiter limiter = new RateLimiter("test", 100, clock::get);
+    private final RateLimitKey key = new RateLimitKey(0, 1L, 2L, "ping");
+
+    @Test
+    public void testAllowsBurstUpToTheLimit() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0L, limiter.tryAcquire(key, 3, 3000));
+        }
+        assertTrue(limiter.tryAcquire(key, 3, 3000) > 0);
+    }
+
+    @Test
+    public void testRecoversAfterTheEmissionInterval() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(key, 3, 3000);
+        }
+
+        long retryAfter = limiter.tryAcquire(key, 3, 3000);
+        assertEquals(1000L, retryAfter);
+
+        clock.addAndGet(retryAfter);
+        assertEquals(0L, limiter.tryAcquire(key, 3, 3000));
+        assertTrue(limiter.tryAcquire(key, 3, 3000) > 0);
+    }
+
+    @Test
+    public void testKeysAreIndependent() {
+        RateLimitKey other = new RateLimitKey(0, 1L, 2L, "pong");
+
+        assertEquals(0L, limiter.tryAcquire(key, 1, 1000));
+        assertTrue(limiter.tryAcquire(key, 1, 1000) > 0);
+        assertEquals(0L, limiter.tryAcquire(other, 1, 1000));
+        assertEquals(key, new RateLimitKey(0, 1L, 2L, "ping"));
+    }
+
+    @Test
+    public void testReleaseGivesBackTheRequest() {
+        assertEquals(0L, limiter.tryAcquire(key, 1, 1000));
+        limiter.release(key, 1, 1000);
+        assertEquals(0L, limiter.tryAcquire(key, 1, 1000));
+    }
+
+    @Test
+    public void testResetOnlySucceedsOnce() {
+        limiter.tryAcquire(key, 1, 1000);
+
+        assertTrue(limiter.reset(key));
+        assertFalse(limiter.reset(key));
+        assertEquals(0L, limiter.tryAcquire(key, 1, 1000));
+    }
+
+    @Test
+    public void testEvictIdleRemovesRecoveredKeys() {
+        limiter.tryAcquire(key, 1, 1000);
+        limiter.tryAcquire(new RateLimitKey(1, 5L), 1, 5000);
+
+        clock.addAndGet(1000);
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.size());
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.reactionrole;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.reactionrole.ReactionRoleIndex;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReactionRoleIndexTests extends BaseTest {
+
+    @Test
+    public void testRolesCanBeLookedUpByMessageAndEmote() {
+        ReactionRoleIndex index = ReactionRoleIndex.of(Map.of(
+            1L, Map.of(10L, 100L, 11L, 101L),
+            2L, Map.of(10L, 200L)
+        ));
+
+        assertEquals(2, index.size());
+        assertEquals(Long.valueOf(101L), index.getRoleId(1L, 11L));
+        assertEquals(Long.valueOf(200L), index.getRoleId(2L, 10L));
+        assertNull(index.getRoleId(2L, 11L));
+        assertNull(index.getRoleId(3L, 10L));
+    }
+
+    @Test
+    public void testUpdatingAMessageLeavesTheOriginalIndexAlone() {
+        ReactionRoleIndex index = ReactionRoleIndex.of(Map.of(1L, Map.of(10L, 100L)));
+        ReactionRoleIndex updated = index.withMessage(1L, Map.of(10L, 150L));
+
+        assertEquals(Long.valueOf(100L), index.getRoleId(1L, 10L));
+        assertEquals(Long.valueOf(150L), updated.getRoleId(1L, 10L));
+    }
+
+    @Test
+    public void testMessagesWithoutRolesAreRemoved() {
+        ReactionRoleIndex index = ReactionRoleIndex.of(Map.of(1L, Map.of(10L, 100L)));
+
+        ReactionRoleIndex updated = index.withMessage(1L, Collections.emptyMap());
+        assertTrue(updated.isEmpty());
+        assertSame(ReactionRoleIndex.EMPTY, updated);
+        assertSame(updated, updated.withMessage(5L, Collections.emptyMap()));
+    }
+}
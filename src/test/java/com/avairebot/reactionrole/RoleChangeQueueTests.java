@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.reactionrole;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.reactionrole.RoleChange;
+import com.pinewoodbuilders.reactionrole.RoleChangeQueue;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoleChangeQueueTests extends BaseTest {
+
+    @Test
+    public void testChangesForTheSameMemberAreMerged() {
+        RoleChangeQueue queue = new RoleChangeQueue(5, 50);
+
+        queue.add(1, 10, 100);
+        queue.add(1, 10, 101);
+        queue.remove(1, 10, 102);
+        assertEquals(1, queue.size());
+
+        List<RoleChange> changes = queue.poll();
+        assertEquals(1, changes.size());
+        assertEquals(Set.of(100L, 101L), changes.get(0).getRolesToAdd());
+        assertEquals(Set.of(102L), changes.get(0).getRolesToRemove());
+    }
+
+    @Test
+    public void testLatestActionForARoleWins() {
+        RoleChangeQueue queue = new RoleChangeQueue(5, 50);
+
+        queue.add(1, 10, 100);
+        queue.remove(1, 10, 100);
+
+        RoleChange change = queue.poll().get(0);
+        assertEquals(Collections.emptySet(), change.getRolesToAdd());
+        assertEquals(Set.of(100L), change.getRolesToRemove());
+    }
+
+    @Test
+    public void testGuildBudgetLimitsRequestsInFlight() {
+        RoleChangeQueue queue = new RoleChangeQueue(2, 50);
+
+        for (int userId = 0; userId < 5; userId++) {
+            queue.add(1, userId, 100);
+        }
+
+        List<RoleChange> changes = queue.poll();
+        assertEquals(2, changes.size());
+        assertTrue(queue.poll().isEmpty());
+
+        queue.release(changes.get(0));
+        assertEquals(1, queue.poll().size());
+        assertEquals(2, queue.getInFlight());
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void testGlobalBudgetIsSharedRoundRobin() {
+        RoleChangeQueue queue = new RoleChangeQueue(10, 3);
+
+        for (int userId = 0; userId < 5; userId++) {
+            queue.add(1, userId, 100);
+            queue.add(2, userId, 200);
+        }
+
+        List<RoleChange> changes = queue.poll();
+        assertEquals(3, changes.size());
+        assertEquals(1, changes.get(0).getGuildId());
+        assertEquals(2, changes.get(1).getGuildId());
+        assertEquals(1, changes.get(2).getGuildId());
+    }
+
+    @Test
+    public void testMembersWithRequestsInFlightAreHeldBack() {
+        RoleChangeQueue queue = new RoleChangeQueue(5, 50);
+
+        queue.add(1, 10, 100);
+        RoleChange first = queue.poll().get(0);
+
+        queue.add(1, 10, 101);
+        queue.add(1, 11, 100);
+
+        List<RoleChange> changes = queue.poll();
+        assertEquals(1, changes.size());
+        assertEquals(11, changes.get(0).getUserId());
+
+        queue.release(first);
+        changes = queue.poll();
+        assertEquals(1, changes.size());
+        assertEquals(10, changes.get(0).getUserId());
+        assertEquals(Set.of(101L), changes.get(0).getRolesToAdd());
+    }
+
+    @Test
+    public void testReleasingEverythingEmptiesTheQueue() {
+        RoleChangeQueue queue = new RoleChangeQueue(5, 50);
+
+        queue.add(1, 10, 100);
+        for (RoleChange change : queue.poll()) {
+            queue.release(change);
+        }
+
+        assertEquals(0, queue.size());
+        assertEquals(0, queue.getInFlight());
+        assertTrue(queue.poll().isEmpty());
+    }
+}
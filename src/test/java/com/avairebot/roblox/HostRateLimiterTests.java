@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.roblox;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.roblox.http.HostRateLimiter;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HostRateLimiterTests extends BaseTest {
+
+    private static final String HOST = "groups.roblox.com";
+
+    private HostRateLimiter limiter;
+
+    @Before
+    public void setUp() {
+        limiter = new HostRateLimiter(1000, 8000);
+    }
+
+    @Test
+    public void testUnknownHostsAreAllowed() {
+        assertEquals(0, limiter.reserve(HOST, 0));
+        assertEquals(0, limiter.reserve(HOST, 0));
+    }
+
+    @Test
+    public void testRequestsAreHeldBackWhenTheWindowIsUsedUp() {
+        limiter.update(HOST, 0, 200, "2", "10", null);
+
+        assertEquals(0, limiter.reserve(HOST, 100));
+        assertEquals(0, limiter.reserve(HOST, 200));
+        assertEquals(9700, limiter.reserve(HOST, 300));
+
+        assertEquals(0, limiter.reserve(HOST, 10000));
+    }
+
+    @Test
+    public void testHostsAreTrackedSeparately() {
+        limiter.update(HOST, 0, 200, "0", "10", null);
+
+        assertEquals(10000, limiter.reserve(HOST, 0));
+        assertEquals(0, limiter.reserve("users.roblox.com", 0));
+    }
+
+    @Test
+    public void testRetryAfterIsUsedForRateLimitedResponses() {
+        limiter.update(HOST, 0, 429, null, "5", "3");
+
+        assertEquals(3000, limiter.reserve(HOST, 0));
+        assertEquals(0, limiter.reserve(HOST, 3000));
+    }
+
+    @Test
+    public void testRateLimitedResponsesWithoutHeadersBackOffExponentially() {
+        limiter.update(HOST, 0, 429, null, null, null);
+        assertEquals(1000, limiter.reserve(HOST, 0));
+
+        limiter.update(HOST, 1000, 429, null, null, null);
+        assertEquals(2000, limiter.reserve(HOST, 1000));
+
+        limiter.update(HOST, 3000, 429, null, null, null);
+        limiter.update(HOST, 3000, 429, null, null, null);
+        limiter.update(HOST, 3000, 429, null, null, null);
+        assertEquals(8000, limiter.reserve(HOST, 3000));
+
+        limiter.update(HOST, 11000, 200, null, null, null);
+        limiter.update(HOST, 11000, 429, null, null, null);
+        assertEquals(1000, limiter.reserve(HOST, 11000));
+    }
+
+    @Test
+    public void testHeadersWithPoliciesAreParsed() {
+        limiter.update(HOST, 0, 200, "0, 0;w=60", "60, 60;w=60", null);
+
+        assertEquals(60000, limiter.reserve(HOST, 0));
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.roblox;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.roblox.http.BufferedResponse;
+import com.pinewoodbuilders.roblox.http.RobloxHttpClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.Request;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RobloxHttpClientTests extends BaseTest {
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ScheduledExecutorService scheduler;
+    private RobloxHttpClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+
+        server.createContext("/slow", exchange -> {
+            requests.incrementAndGet();
+            sleep(200);
+            respond(exchange, 200, "slow");
+        });
+
+        server.createContext("/limited", exchange -> {
+            if (requests.incrementAndGet() == 1) {
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                respond(exchange, 429, "");
+                return;
+            }
+            respond(exchange, 200, "limited");
+        });
+
+        server.createContext("/window", exchange -> {
+            requests.incrementAndGet();
+            exchange.getResponseHeaders().add("x-ratelimit-remaining", "0");
+            exchange.getResponseHeaders().add("x-ratelimit-reset", "1");
+            respond(exchange, 200, "window");
+        });
+
+        server.start();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        client = new RobloxHttpClient(scheduler);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testIdenticalRequestsInFlightAreCoalesced() {
+        List<CompletableFuture<BufferedResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(client.send(request("/slow")));
+        }
+
+        for (CompletableFuture<BufferedResponse> future : futures) {
+            BufferedResponse response = future.join();
+
+            assertEquals(200, response.getCode());
+            assertEquals("slow", response.getBody());
+        }
+        assertEquals(1, requests.get());
+
+        client.send(request("/slow")).join();
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testRateLimitedRequestsAreRetriedAfterTheRetryAfterHeader() {
+        long start = System.currentTimeMillis();
+        BufferedResponse response = client.send(request("/limited")).join();
+
+        assertEquals(200, response.getCode());
+        assertEquals("limited", response.getBody());
+        assertEquals(2, requests.get());
+        assertTrue(System.currentTimeMillis() - start >= 900);
+    }
+
+    @Test
+    public void testRequestsAreHeldBackUntilTheRateLimitWindowResets() {
+        client.send(request("/window?first")).join();
+
+        long start = System.currentTimeMillis();
+        BufferedResponse response = client.send(request("/window?second")).join();
+
+        assertEquals("window", response.getBody());
+        assertEquals(2, requests.get());
+        assertTrue(System.currentTimeMillis() - start >= 900);
+    }
+
+    private Request request(String path) {
+        return new Request.Builder()
+            .url("http://127.0.0.1:" + server.getAddress().getPort() + path)
+            .build();
+    }
+
+    private static void respond(HttpExchange exchange, int code, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(code, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream stream = exchange.getResponseBody()) {
+            stream.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
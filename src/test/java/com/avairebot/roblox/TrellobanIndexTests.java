@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.roblox;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.contracts.kronos.TrellobanLabels;
+import com.pinewoodbuilders.roblox.kronos.TrellobanDelta;
+import com.pinewoodbuilders.roblox.kronos.TrellobanIndex;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrellobanIndexTests extends BaseTest {
+
+    @Test
+    public void testBansCanBeLookedUpByRobloxId() {
+        TrellobanIndex index = new TrellobanIndex(Map.of(
+            1L, List.of(TrellobanLabels.EXPLOITING),
+            2L, List.of()
+        ), 100L);
+
+        assertTrue(index.isBanned(1L));
+        assertTrue(index.isBanned(2L));
+        assertFalse(index.isBanned(3L));
+        assertEquals(List.of(TrellobanLabels.EXPLOITING), index.getLabels(1L));
+        assertTrue(index.getLabels(3L).isEmpty());
+    }
+
+    @Test
+    public void testIndexIsNotChangedByTheSourceMap() {
+        Map<Long, List<TrellobanLabels>> bans = new HashMap<>();
+        bans.put(1L, new ArrayList<>(List.of(TrellobanLabels.TIMED_BAN)));
+
+        TrellobanIndex index = new TrellobanIndex(bans, 100L);
+        bans.get(1L).add(TrellobanLabels.EXPLOITING);
+        bans.put(2L, List.of());
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(TrellobanLabels.TIMED_BAN), index.getLabels(1L));
+        assertThrows(UnsupportedOperationException.class, () -> index.getLabels(1L).add(TrellobanLabels.UNKNOWN));
+    }
+
+    @Test
+    public void testDiffReturnsTheChangesBetweenRefreshes() {
+        TrellobanIndex previous = new TrellobanIndex(Map.of(
+            1L, List.of(TrellobanLabels.TIMED_BAN),
+            2L, List.of(TrellobanLabels.EXPLOITING),
+            3L, List.of()
+        ), 100L);
+
+        TrellobanIndex current = new TrellobanIndex(Map.of(
+            1L, List.of(TrellobanLabels.TIMED_BAN),
+            2L, List.of(TrellobanLabels.EXPLOITING, TrellobanLabels.ABUSIVE_BEHAVIOR),
+            4L, List.of()
+        ), 200L);
+
+        TrellobanDelta delta = current.diff(5L, previous);
+        assertEquals(Set.of(4L), delta.getAdded());
+        assertEquals(Set.of(3L), delta.getRemoved());
+        assertEquals(Set.of(2L), delta.getChanged());
+        assertEquals(200L, delta.getCreatedAt());
+        assertFalse(delta.isEmpty());
+
+        assertTrue(current.diff(5L, current).isEmpty());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.scheduler;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.scheduler.expiry.ExpiryScheduler;
+import com.pinewoodbuilders.scheduler.expiry.TimingWheel;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpirySchedulerTests extends BaseTest {
+
+    private static final long START = 1_600_000_000_000L;
+    private static final long RETRY_DELAY = TimeUnit.MINUTES.toMillis(1);
+
+    private List<String> fired;
+    private TimingWheel wheel;
+
+    // Mirrors Xeus#areWeReadyYet, which is false while the shard manager is absent.
+    private AtomicBoolean ready;
+    private ExpiryScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        fired = new ArrayList<>();
+        wheel = new TimingWheel(1, TimeUnit.SECONDS, Runnable::run, START);
+        ready = new AtomicBoolean(false);
+        scheduler = new ExpiryScheduler(wheel, ready::get, RETRY_DELAY);
+    }
+
+    @Test
+    public void testPastDueTaskIsRetriedWhileTheBotIsNotReady() {
+        AtomicReference<TimingWheel.Timeout> schedule = new AtomicReference<>();
+        scheduler.schedule(START - TimeUnit.DAYS.toMillis(1), schedule::set, () -> fired.add("a"));
+
+        TimingWheel.Timeout original = schedule.get();
+
+        wheel.advance(START + 1_000);
+        assertTrue(fired.isEmpty());
+        assertNotSame(original, schedule.get());
+        assertTrue(schedule.get().isPending());
+        assertEquals(1, wheel.size());
+
+        wheel.advance(START + RETRY_DELAY);
+        assertTrue(fired.isEmpty());
+        assertTrue(schedule.get().isPending());
+
+        ready.set(true);
+
+        wheel.advance(START + 1_000 + RETRY_DELAY);
+        assertEquals(1, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testTaskRunsOnceDeadlineIsReachedWhenTheBotIsReady() {
+        ready.set(true);
+        scheduler.schedule(START + 5_000, timeout -> { }, () -> fired.add("a"));
+
+        wheel.advance(START + 4_000);
+        assertTrue(fired.isEmpty());
+
+        wheel.advance(START + 5_000);
+        assertEquals(1, fired.size());
+    }
+
+    @Test
+    public void testCancellingTheRetriedTimeoutStopsTheTask() {
+        AtomicReference<TimingWheel.Timeout> schedule = new AtomicReference<>();
+        scheduler.schedule(START, schedule::set, () -> fired.add("a"));
+
+        wheel.advance(START + 1_000);
+        assertTrue(schedule.get().cancel());
+
+        ready.set(true);
+        wheel.advance(START + 1_000 + RETRY_DELAY);
+
+        assertTrue(fired.isEmpty());
+        assertEquals(0, wheel.size());
+    }
+}
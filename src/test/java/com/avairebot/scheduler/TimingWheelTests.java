@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of Xeus.
+ *
+ * Xeus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Xeus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Xeus.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avairebot.scheduler;
+
+import com.avairebot.BaseTest;
+import com.pinewoodbuilders.scheduler.expiry.TimingWheel;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTests extends BaseTest {
+
+    private static final long START = 1_600_000_000_000L;
+
+    private List<String> fired;
+    private TimingWheel wheel;
+
+    @Before
+    public void setUp() {
+        fired = new ArrayList<>();
+        wheel = new TimingWheel(1, TimeUnit.SECONDS, Runnable::run, START);
+    }
+
+    @Test
+    public void testTimeoutFiresOnceDeadlineIsReached() {
+        wheel.schedule(START + 10_000, () -> fired.add("a"));
+
+        wheel.advance(START + 9_000);
+        assertTrue(fired.isEmpty());
+
+        wheel.advance(START + 10_000);
+        assertEquals(1, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testDeadlinesInThePastFireOnTheNextTick() {
+        wheel.schedule(START - 60_000, () -> fired.add("a"));
+
+        wheel.advance(START);
+        assertTrue(fired.isEmpty());
+
+        wheel.advance(START + 1_000);
+        assertEquals(1, fired.size());
+    }
+
+    @Test
+    public void testCancelledTimeoutsAreNeverFired() {
+        TimingWheel.Timeout timeout = wheel.schedule(START + 5_000, () -> fired.add("a"));
+        wheel.schedule(START + 5_000, () -> fired.add("b"));
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertFalse(timeout.isPending());
+        assertEquals(1, wheel.size());
+
+        wheel.advance(START + 5_000);
+        assertEquals(1, fired.size());
+        assertEquals("b", fired.get(0));
+    }
+
+    @Test
+    public void testTimeoutsCascadeDownFromHigherLevels() {
+        long[] delays = {63, 64, 65, 4_095, 4_096, 4_097, 300_000, 3_000_000, 40_000_000};
+
+        for (long delay : delays) {
+            wheel.schedule(START + delay * 1000L, () -> fired.add(String.valueOf(delay)));
+        }
+
+        for (long delay : delays) {
+            wheel.advance(START + (delay - 1) * 1000L);
+            assertFalse(fired.contains(String.valueOf(delay)), "fired early: " + delay);
+
+            wheel.advance(START + delay * 1000L);
+            assertTrue(fired.contains(String.valueOf(delay)), "not fired: " + delay);
+        }
+
+        assertEquals(delays.length, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testExpiredTimeoutsCannotBeCancelled() {
+        TimingWheel.Timeout timeout = wheel.schedule(START + 2_000, () -> fired.add("a"));
+
+        wheel.advance(START + 2_000);
+        assertFalse(timeout.isPending());
+        assertFalse(timeout.cancel());
+    }
+}